@@ -0,0 +1,69 @@
+package com.felipemelantonio.motorunneriot.benchmarks;
+
+import com.badlogic.gdx.Gdx;
+import com.felipemelantonio.motorunneriot.headless.HeadlessBootstrap;
+import com.felipemelantonio.motorunneriot.sim.Cenario;
+import com.felipemelantonio.motorunneriot.sim.GameSimulation;
+import com.felipemelantonio.motorunneriot.sim.ScriptedRiderInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CenarioBenchmark
+ * ================
+ * Partida inteira de um cenário roteirizado (assets/cenarios) como carga
+ * fixa: mesmo trânsito inicial, mesma seed e mesma entrada em toda
+ * chamada, então a diferença entre dois commits é só o custo do código.
+ *
+ * - carga-fase3: 20 s da fase 3 com a IA de spawn ligada (o caso pesado);
+ * - paredao-fase3-fuga: trânsito fixo sem spawns (movimento + colisão);
+ * - moedas-fase1: coleta de moedas.
+ *
+ * Cada chamada cria a partida (criaSimulacao) e joga a duração do cenário
+ * em passos de 1/60 s; o tempo por frame é o resultado dividido pelo
+ * número de frames (duracao x 60).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CenarioBenchmark {
+
+    private static final float DT = 1f / 60f;
+
+    @Param({ "carga-fase3", "paredao-fase3-fuga", "moedas-fase1" })
+    public String cenario;
+
+    private Cenario carregado;
+    private int frames;
+
+    @Setup
+    public void setup() {
+        HeadlessBootstrap.init();
+        String json = Gdx.files.internal(Cenario.PASTA + "/" + cenario + ".json").readString("UTF-8");
+        carregado = Cenario.fromJson(json);
+        frames = Math.round(carregado.getDuracao() / DT);
+    }
+
+    @Benchmark
+    public long joga() {
+        GameSimulation sim = carregado.criaSimulacao(false);
+        ScriptedRiderInput entrada = carregado.criaEntrada();
+        for (int i = 0; i < frames && !sim.isOver(); i++)
+            sim.step(DT, entrada.poll(sim, DT));
+        return sim.getChecksum().value();
+    }
+}
@@ -0,0 +1,114 @@
+package com.felipemelantonio.motorunneriot.benchmarks;
+
+import com.felipemelantonio.motorunneriot.utils.EntityBuffer;
+import com.felipemelantonio.motorunneriot.utils.EntityKernels;
+import com.felipemelantonio.motorunneriot.utils.ScalarEntityKernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EntityKernelsBenchmark
+ * ======================
+ * Compara a versão escalar e a SIMD (Vector API) dos EntityKernels com 16
+ * (uma partida normal), 256 e 4096 entidades, para ver a partir de quando o
+ * SIMD compensa.
+ *
+ * As entidades são espalhadas como no jogo: 4 faixas, Y entre -100 e a altura
+ * de uma tela 1080p + margem de spawn, tamanhos parecidos com os sprites.
+ *
+ * O buffer é o mesmo estado que a GameSimulation usa (as posições moram
+ * nele; não há cópia dos objetos antes dos kernels). `frame` roda a
+ * sequência de um frame do jogo: advance, corte de quem saiu da tela, fase
+ * larga contra a moto e as duas consultas do spawnWave. O dt troca de sinal
+ * a cada chamada para as entidades não saírem todas da tela.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EntityKernelsBenchmark {
+
+    @Param({ "16", "256", "4096" })
+    public int entities;
+
+    @Param({ "scalar", "vector" })
+    public String impl;
+
+    private EntityKernels kernels;
+    private final EntityBuffer buffer = new EntityBuffer();
+    private final float[] topY = new float[4];
+    private int[] out;
+    private float dt = 1f / 60f;
+
+    @Setup
+    public void setup() {
+        kernels = "vector".equals(impl) ? EntityKernels.vector() : new ScalarEntityKernels();
+        if (kernels == null)
+            throw new IllegalStateException("Vector API indisponível (rodar com --add-modules jdk.incubator.vector)");
+
+        Random rng = new Random(42);
+        buffer.clear();
+        for (int i = 0; i < entities; i++) {
+            int lane = rng.nextInt(4);
+            float y = -100f + rng.nextFloat() * 1300f;
+            float vel = 60f + rng.nextFloat() * 200f;
+            buffer.add(500f + lane * 230f, y, y + 25f, 49f, 93f, lane, vel, 0L, 0L);
+        }
+        out = new int[entities];
+    }
+
+    @Benchmark
+    public float advance() {
+        dt = -dt;
+        kernels.advance(buffer, dt, 420f);
+        return buffer.y[0];
+    }
+
+    @Benchmark
+    public int frame() {
+        dt = -dt;
+        kernels.advance(buffer, dt, 420f);
+        int n = kernels.collectBelow(buffer, 0f, out);
+        n += kernels.collectSweptOverlaps(buffer, 705f, 80f, 757f, 181f, out);
+        n += kernels.laneOccupancy(buffer, 261f, 601f);
+        kernels.topYByLane(buffer, 4, topY);
+        return n;
+    }
+
+    @Benchmark
+    public int sweptOverlaps() {
+        // Região varrida por uma moto parada em y = 80, na faixa 1
+        return kernels.collectSweptOverlaps(buffer, 705f, 80f, 757f, 181f, out);
+    }
+
+    @Benchmark
+    public int offscreenCull() {
+        return kernels.collectBelow(buffer, 0f, out);
+    }
+
+    @Benchmark
+    public int dangerZoneOccupancy() {
+        // Zona de perigo do spawnWave: motoTop + 80 .. motoTop + 420
+        return kernels.laneOccupancy(buffer, 261f, 601f);
+    }
+
+    @Benchmark
+    public float[] topYByLane() {
+        kernels.topYByLane(buffer, 4, topY);
+        return topY;
+    }
+}
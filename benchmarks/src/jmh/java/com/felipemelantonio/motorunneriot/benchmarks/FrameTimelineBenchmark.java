@@ -0,0 +1,90 @@
+package com.felipemelantonio.motorunneriot.benchmarks;
+
+import com.badlogic.gdx.Gdx;
+import com.felipemelantonio.motorunneriot.headless.HeadlessBootstrap;
+import com.felipemelantonio.motorunneriot.sim.Cenario;
+import com.felipemelantonio.motorunneriot.sim.GameSimulation;
+import com.felipemelantonio.motorunneriot.sim.ScriptedRiderInput;
+import com.felipemelantonio.motorunneriot.utils.FrameTimeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FrameTimelineBenchmark
+ * ======================
+ * Quanto custam os cronômetros do FrameTimeline, ligados e desligados:
+ * - par: um inicio()/fim() sozinho (o custo por seção);
+ * - partida: o cenário carga-fase3 inteiro (mesma carga do
+ * CenarioBenchmark), com as seções NIVEL/SPAWN/ENTIDADES/COLISAO do step.
+ *
+ * Comparando ligado=false com a mesma partida antes dos cronômetros (ou
+ * com o CenarioBenchmark) sai o custo "desligado", que deve ficar no ruído;
+ * ligado=true mostra o custo de gravar.
+ *
+ * O @Setup de um estado Scope.Thread roda na thread do benchmark, então é
+ * ela que liga (só a thread que ligou grava).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FrameTimelineBenchmark {
+
+    private static final float DT = 1f / 60f;
+
+    @Param({ "false", "true" })
+    public boolean ligado;
+
+    private Cenario carregado;
+    private int frames;
+
+    @Setup
+    public void setup() {
+        HeadlessBootstrap.init();
+        String json = Gdx.files.internal(Cenario.PASTA + "/carga-fase3.json").readString("UTF-8");
+        carregado = Cenario.fromJson(json);
+        frames = Math.round(carregado.getDuracao() / DT);
+        if (ligado)
+            FrameTimeline.liga();
+        else
+            FrameTimeline.desliga();
+    }
+
+    @TearDown
+    public void tearDown() {
+        FrameTimeline.desliga();
+    }
+
+    @Benchmark
+    public void par() {
+        FrameTimeline.inicio(FrameTimeline.SPAWN);
+        FrameTimeline.fim(FrameTimeline.SPAWN);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long partida() {
+        GameSimulation sim = carregado.criaSimulacao(false);
+        ScriptedRiderInput entrada = carregado.criaEntrada();
+        for (int i = 0; i < frames && !sim.isOver(); i++) {
+            FrameTimeline.inicioFrame();
+            sim.step(DT, entrada.poll(sim, DT));
+            FrameTimeline.fimFrame();
+        }
+        return sim.getChecksum().value();
+    }
+}
@@ -0,0 +1,67 @@
+package com.felipemelantonio.motorunneriot.benchmarks;
+
+import com.felipemelantonio.motorunneriot.utils.DifficultyParams;
+import com.felipemelantonio.motorunneriot.utils.LevelManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LevelManagerBenchmark
+ * =====================
+ * Custo das curvas de dificuldade, nas duas versões (float com Math.exp e
+ * ponto fixo com a rampa tabelada do FixedPoint):
+ * - curvasDoFrame: o que a GameSimulation consulta em TODO frame
+ * (worldSpeedPx e spawnInterval);
+ * - curvasDoSpawn: o que o spawnWave consulta a cada onda (laneGapPx,
+ * pDouble e rivalSpeedFactor).
+ *
+ * O tempo da fase fica parado em cada @Param (começo, meio e "platô" da
+ * rampa) para o resultado não depender de quanto o benchmark já rodou.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LevelManagerBenchmark {
+
+    @Param({ "1", "3" })
+    public int fase;
+
+    @Param({ "0", "30", "120" })
+    public float tempo;
+
+    @Param({ "false", "true" })
+    public boolean deterministic;
+
+    private LevelManager level;
+
+    @Setup
+    public void setup() {
+        level = new LevelManager(fase, new Random(42), deterministic, DifficultyParams.padrao());
+        level.update(tempo);
+    }
+
+    @Benchmark
+    public float curvasDoFrame() {
+        return level.worldSpeedPx() + level.spawnInterval();
+    }
+
+    @Benchmark
+    public float curvasDoSpawn() {
+        return level.laneGapPx() + level.pDouble() + level.rivalSpeedFactor();
+    }
+}
@@ -0,0 +1,81 @@
+package com.felipemelantonio.motorunneriot.benchmarks;
+
+import com.felipemelantonio.motorunneriot.utils.Metricas;
+import com.felipemelantonio.motorunneriot.utils.MetricasHttp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MetricasBenchmark
+ * =================
+ * Custo das Metricas na thread do jogo, sozinha e com alguém lendo:
+ * - sozinho: um frame (inicioFrame + fimFrame) sem leitor;
+ * - comLeitor: o mesmo frame enquanto outra thread copia retratos sem
+ * parar (foto(), o que o /metrics faz a cada raspagem, só que o tempo
+ * todo). Como o jogo não espera o leitor, "comLeitor:jogo" deve ficar
+ * perto de "sozinho"; "comLeitor:leitor" mostra quanto custa um retrato;
+ * - texto: o corpo inteiro do /metrics (roda na thread virtual do HTTP).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class MetricasBenchmark {
+
+    private final long[] foto = new long[Metricas.TAMANHO];
+
+    @Setup
+    public void setup() {
+        Metricas.liga();
+    }
+
+    @TearDown
+    public void tearDown() {
+        Metricas.desliga();
+    }
+
+    @Benchmark
+    @Group("sozinho")
+    public void frame() {
+        Metricas.inicioFrame();
+        Metricas.fimFrame(1f / 60f, true);
+    }
+
+    @Benchmark
+    @Group("comLeitor")
+    @GroupThreads(1)
+    public void jogo() {
+        Metricas.inicioFrame();
+        Metricas.fimFrame(1f / 60f, true);
+    }
+
+    @Benchmark
+    @Group("comLeitor")
+    @GroupThreads(1)
+    public long leitor() {
+        Metricas.foto(foto);
+        return foto[Metricas.FRAMES];
+    }
+
+    @Benchmark
+    @Group("texto")
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int texto() {
+        return MetricasHttp.texto().length();
+    }
+}
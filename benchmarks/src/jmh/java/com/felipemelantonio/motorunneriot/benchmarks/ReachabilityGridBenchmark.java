@@ -0,0 +1,85 @@
+package com.felipemelantonio.motorunneriot.benchmarks;
+
+import com.felipemelantonio.motorunneriot.sim.ReachabilityGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReachabilityGridBenchmark
+ * =========================
+ * Custo da ReachabilityGrid nos três pontos em que a GameSimulation a usa:
+ * - aceitaSpawn: conferir um candidato (insere, busca a rota, desfaz) —
+ * roda a cada carro que a IA quer criar;
+ * - avancaFrame: girar o relógio da grade em um frame de 60 fps;
+ * - reconstroi: refazer a grade inteira (quando a velocidade do mundo muda
+ * além da tolerância, ex.: pedalada).
+ *
+ * O trânsito imita uma tela 1080p: carros entre y = 200 e 1120, moto em
+ * y = 80..181, velocidades relativas de fase 2/3 (800–1200 px/s).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReachabilityGridBenchmark {
+
+    @Param({ "2", "3", "4" })
+    public int lanes;
+
+    @Param({ "4", "16" })
+    public int cars;
+
+    private ReachabilityGrid grid;
+    private int[] lane;
+    private float[] y, vel;
+
+    @Setup
+    public void setup() {
+        grid = new ReachabilityGrid(lanes);
+        grid.configuraMoto(80f, 181f, 18f, 450f);
+
+        Random rng = new Random(42);
+        lane = new int[cars];
+        y = new float[cars];
+        vel = new float[cars];
+        for (int i = 0; i < cars; i++) {
+            lane[i] = rng.nextInt(lanes);
+            y[i] = 200f + rng.nextFloat() * 920f;
+            vel[i] = 800f + rng.nextFloat() * 400f;
+        }
+        reconstroi();
+    }
+
+    @Benchmark
+    public boolean aceitaSpawn() {
+        return grid.aceita(lanes / 2, 1120f, 92f, 1000f, 0);
+    }
+
+    @Benchmark
+    public ReachabilityGrid avancaFrame() {
+        grid.avanca(1f / 60f);
+        return grid;
+    }
+
+    @Benchmark
+    public ReachabilityGrid reconstroi() {
+        grid.limpa();
+        for (int i = 0; i < cars; i++)
+            grid.adiciona(lane[i], y[i], 92f, vel[i]);
+        return grid;
+    }
+}
@@ -0,0 +1,154 @@
+package com.felipemelantonio.motorunneriot.sim;
+
+import com.badlogic.gdx.utils.Array;
+import com.felipemelantonio.motorunneriot.entities.Carro;
+import com.felipemelantonio.motorunneriot.entities.Moeda;
+import com.felipemelantonio.motorunneriot.headless.HeadlessBootstrap;
+import com.felipemelantonio.motorunneriot.utils.DifficultyParams;
+import com.felipemelantonio.motorunneriot.utils.GameRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SpawnBenchmark
+ * ==============
+ * Escolha de faixas da IA de trânsito (DefaultSpawnStrategy, chamada pela
+ * GameSimulation):
+ * - spawnWave: uma onda completa (zona de perigo, faixas livres, regras
+ * por fase, conferência na ReachabilityGrid, até dois carros);
+ * - spawnCoin: escolha de faixa e criação de uma moeda;
+ * - pickLaneWeighted: só o sorteio ponderado por dwell/proximidade.
+ *
+ * Fica no pacote sim (no source set do JMH) porque esses métodos são
+ * package-private (spawnWave/spawnCoin da simulação, pickLaneWeighted da
+ * estratégia). Depois de cada spawn medido, descartaSpawnsDesde()
+ * devolve a pista ao trânsito inicial: toda chamada parte do mesmo estado.
+ *
+ * Trânsito: `carros` = 8 (partida normal) ou 128 (estresse), fora da zona
+ * de perigo à frente da moto e abaixo da altura de spawn: as faixas ficam
+ * livres no topo e a onda passa por todas as regras (com 128 carros a
+ * ReachabilityGrid costuma recusar o carro, e essa recusa é o que se mede).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpawnBenchmark {
+
+    @Param({ "1", "2", "3" })
+    public int fase;
+
+    @Param({ "8", "128" })
+    public int carros;
+
+    private GameSimulation sim;
+    private DefaultSpawnStrategy estrategia;
+    private Random rng;
+    private List<Integer> todasFaixas;
+    private int carrosIniciais, moedasIniciais;
+
+    @Setup
+    public void setup() {
+        sim = TrafegoFixo.cria(fase, carros, 0, true);
+        estrategia = (DefaultSpawnStrategy) sim.getSpawnStrategy();
+        rng = new Random(42);
+        todasFaixas = new ArrayList<>();
+        for (int l = 0; l < sim.getLaneCenters().length; l++)
+            todasFaixas.add(l);
+        carrosIniciais = sim.getCarros().size;
+        moedasIniciais = sim.getMoedas().size;
+    }
+
+    @Benchmark
+    public int spawnWave() {
+        sim.spawnWave();
+        int n = sim.getCarros().size;
+        sim.descartaSpawnsDesde(carrosIniciais, moedasIniciais);
+        return n;
+    }
+
+    @Benchmark
+    public int spawnCoin() {
+        sim.spawnCoin();
+        int n = sim.getMoedas().size;
+        sim.descartaSpawnsDesde(carrosIniciais, moedasIniciais);
+        return n;
+    }
+
+    @Benchmark
+    public int pickLaneWeighted() {
+        return estrategia.pickLaneWeighted(rng, todasFaixas, sim.getMoto().getCurrentLaneIndex());
+    }
+
+    /**
+     * TrafegoFixo
+     * -----------
+     * Monta uma GameSimulation com um número fixo de carros e moedas (também
+     * usada pelo TrafegoBenchmark).
+     */
+    static final class TrafegoFixo {
+
+        static final float LARGURA = 1920f, ALTURA = 1080f;
+
+        private TrafegoFixo() {
+        }
+
+        /**
+         * @param foraDaZona carros só abaixo/acima da zona de perigo do
+         *                   spawnWave (moto.topo + 80 .. + 420)
+         */
+        static GameSimulation cria(int fase, int nCarros, int nMoedas, boolean foraDaZona) {
+            HeadlessBootstrap.init();
+            GameSimulation sim = new GameSimulation(fase, new GameRandom(42), false, LARGURA, ALTURA,
+                    DifficultyParams.padrao());
+            sim.setInvulneravel(true);
+            // Alguns segundos de jogo: LevelManager, dwell e moto num estado real
+            for (int f = 0; f < 600; f++)
+                sim.step(1f / 60f, RiderInput.NONE_MASK);
+
+            sim.limpaTrafego();
+            Random rng = new Random(7);
+            float[] centros = sim.getLaneCenters();
+            float vel = sim.getWorldSpeed();
+            float motoTopo = sim.getMoto().getBounds().y + sim.getMoto().getBounds().height;
+            for (int i = 0; i < nCarros; i++) {
+                int lane = i % centros.length;
+                float y = 10f + rng.nextFloat() * (ALTURA - 300f);
+                if (foraDaZona && y + 92f > motoTopo + 80f && y < motoTopo + 420f)
+                    y = (i & 1) == 0 ? motoTopo - 10f : motoTopo + 430f;
+                sim.adicionaCarro(new Carro(lane, y, vel * 0.4f, centros, rng));
+            }
+            for (int i = 0; i < nMoedas; i++)
+                sim.adicionaMoeda(new Moeda(centros, i % centros.length, 10f + rng.nextFloat() * (ALTURA - 300f)));
+
+            // Um frame curtíssimo (prevY = y em todos); depois a grade de
+            // alcance é refeita com o trânsito novo
+            sim.step(1e-4f, RiderInput.NONE_MASK);
+            Array<Carro> lista = sim.getCarros();
+            ReachabilityGrid grade = sim.getAlcance();
+            grade.limpa();
+            for (int i = 0; i < lista.size; i++) {
+                Carro c = lista.get(i);
+                grade.adiciona(c.getLaneIndex(), c.getBounds().y, c.getBounds().height,
+                        sim.getWorldSpeed() + c.getVelocidade());
+            }
+            return sim;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.felipemelantonio.motorunneriot.sim;
+
+import com.badlogic.gdx.utils.Array;
+import com.felipemelantonio.motorunneriot.entities.Carro;
+import com.felipemelantonio.motorunneriot.entities.Moeda;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TrafegoBenchmark
+ * ================
+ * Os laços por frame da GameSimulation, sem a IA de spawn:
+ * - moveTrafego: movimento de carros e moedas (kernel sobre o EntityBuffer), relógio da ReachabilityGrid e
+ * remoção do que saiu da tela;
+ * - bateuEmCarro: fase larga (kernel de sobreposição varrida) + colisão
+ * contínua e máscara de pixels dos candidatos;
+ * - coletaMoedas: o mesmo teste contra as moedas (sem removê-las: a moto
+ * fica numa faixa sem moeda, então mede-se a fase larga).
+ *
+ * `carros` = 8 (partida normal) ou 256 (estresse), com metade disso em
+ * moedas. A simulação é invulnerável, então com 256 carros o teste estreito
+ * roda de verdade (sempre há carro encostando na moto).
+ *
+ * Para o número de entidades não cair, o que moveTrafego remove volta para
+ * o topo da tela em seguida (mesmos objetos, sem alocar). Esse reaproveitamento
+ * entra na medida, mas custa bem menos que o próprio update.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrafegoBenchmark {
+
+    private static final float DT = 1f / 60f;
+
+    @Param({ "1", "3" })
+    public int fase;
+
+    @Param({ "8", "256" })
+    public int carros;
+
+    private GameSimulation sim;
+    private Carro[] frota;
+    private Moeda[] moedas;
+
+    @Setup
+    public void setup() {
+        sim = SpawnBenchmark.TrafegoFixo.cria(fase, carros, carros / 2, false);
+        frota = sim.getCarros().toArray(Carro.class);
+        // A moeda que a moto coletar some de vez; sem moedas na faixa da moto,
+        // coletaMoedas mede só a fase larga, sempre com as mesmas moedas
+        int faixaMoto = sim.getMoto().getCurrentLaneIndex();
+        Array<Moeda> lista = sim.getMoedas();
+        for (int i = lista.size - 1; i >= 0; i--)
+            if (lista.get(i).getLaneIndex() == faixaMoto)
+                sim.removeMoeda(i);
+        moedas = lista.toArray(Moeda.class);
+    }
+
+    @Benchmark
+    public int moveTrafego() {
+        sim.moveTrafego(DT, 0L);
+        recicla();
+        return sim.getCarros().size;
+    }
+
+    @Benchmark
+    public boolean bateuEmCarro() {
+        return sim.bateuEmCarro();
+    }
+
+    @Benchmark
+    public int coletaMoedas() {
+        sim.coletaMoedas();
+        return sim.getMoedasColetadas();
+    }
+
+    // Devolve ao topo da tela o que saiu por baixo
+    private void recicla() {
+        if (sim.getCarros().size < frota.length) {
+            for (Carro c : frota) {
+                if (c.getBounds().y + c.getBounds().height < 0f) {
+                    c.reposiciona(c.getBounds().y + SpawnBenchmark.TrafegoFixo.ALTURA);
+                    sim.adicionaCarro(c);
+                }
+            }
+        }
+        if (sim.getMoedas().size < moedas.length) {
+            for (Moeda m : moedas) {
+                if (m.getBounds().y + m.getBounds().height < 0f) {
+                    m.reposiciona(m.getBounds().y + SpawnBenchmark.TrafegoFixo.ALTURA);
+                    sim.adicionaMoeda(m);
+                }
+            }
+        }
+    }
+}
@@ -1,7 +1,18 @@
 package com.felipemelantonio.motorunneriot;
 
 import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.Screen;
+import com.felipemelantonio.motorunneriot.entities.Carro;
+import com.felipemelantonio.motorunneriot.entities.Moeda;
 import com.felipemelantonio.motorunneriot.screens.MenuScreen;
+import com.felipemelantonio.motorunneriot.screens.PerfOverlay;
+import com.felipemelantonio.motorunneriot.utils.FrameTimeline;
+import com.felipemelantonio.motorunneriot.utils.GravadorDeVoo;
+import com.felipemelantonio.motorunneriot.utils.JfrEventos;
+import com.felipemelantonio.motorunneriot.utils.Metricas;
+import com.felipemelantonio.motorunneriot.utils.MetricasHttp;
 
 /**
  * MotoRunnerGame
@@ -15,9 +26,36 @@ import com.felipemelantonio.motorunneriot.screens.MenuScreen;
  * A classe Game já vem do LibGDX e possui:
  * setScreen(tela) → troca para uma nova tela
  * getScreen() → retorna a tela atual
+ *
+ * O setScreen() da Game só chama hide() na tela antiga; ninguém liberava
+ * as texturas, fontes e SpriteBatch dela (Menu → Seleção, GameOver → Jogo...)
+ * e num totem ligado por dias a memória ia subindo. Aqui o setScreen()
+ * também chama dispose() na tela que saiu: as telas só trocam de tela e
+ * NUNCA chamam dispose() em si mesmas.
+ *
+ * F3 (em qualquer tela) liga/desliga o PerfOverlay: FPS, percentis do
+ * tempo de frame, CPU de simulação x render, contadores do GLProfiler e
+ * heap. Ele é medido e desenhado aqui, em volta do render() da tela ativa.
+ *
+ * F4 liga a gravação do FrameTimeline (tempo de cada subsistema no frame)
+ * e, apertando de novo, exporta o trace (JSON do Chrome) e desliga.
+ *
+ * Com uma gravação JFR rodando (lwjgl3/jfr/motorunner.jfc), o render() e
+ * o setScreen() também emitem os eventos motorunner.Frame e
+ * motorunner.TrocaDeTela (ver JfrEventos).
+ *
+ * O GravadorDeVoo guarda os últimos segundos de jogo frame a frame; F5
+ * despeja esse buffer num arquivo (ele também despeja sozinho num frame
+ * acima do orçamento e quando uma exceção chega no launcher).
+ *
+ * Com -Dmotorunner.metrics.port=PORTA sobe o endpoint Prometheus em
+ * localhost (MetricasHttp); o tempo de frame e a tela ativa vêm daqui.
  */
 public class MotoRunnerGame extends Game {
 
+    // Overlay de desempenho (F3), o mesmo para todas as telas
+    private PerfOverlay perf;
+
     /**
      * create()
      * --------
@@ -28,6 +66,9 @@ public class MotoRunnerGame extends Game {
      */
     @Override
     public void create() {
+        perf = new PerfOverlay();
+        FrameTimeline.ligaSePedido();
+        MetricasHttp.iniciaSePedido();
 
         // Assim que o jogo abre, já vai direto para a tela de MENU.
         // O "this" é a referência do próprio jogo,
@@ -35,4 +76,94 @@ public class MotoRunnerGame extends Game {
         // chamar setScreen() para trocar para outra.
         setScreen(new MenuScreen(this));
     }
+
+    /**
+     * render()
+     * --------
+     * Um frame: F3 liga/desliga o overlay de desempenho, a tela ativa
+     * desenha (Game.render) e o overlay mede e desenha por cima.
+     *
+     * Com a renderização contínua desligada (pausa, GameOver, LevelComplete)
+     * o frame só acontece quando chega input: o delta dele é o tempo parado,
+     * não um intervalo de frame. Por isso o intervalo só entra nas medidas
+     * se a renderização estava contínua no COMEÇO do frame (o frame em que
+     * ela volta ao normal ainda mede o tempo parado; o seguinte, não).
+     */
+    @Override
+    public void render() {
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3))
+            perf.alterna();
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F4))
+            alternaTimeline();
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F5))
+            GravadorDeVoo.despeja("manual", null);
+        boolean continuo = Gdx.graphics.isContinuousRendering();
+        GravadorDeVoo.inicioFrame(getScreen(), Gdx.graphics.getDeltaTime());
+        JfrEventos.Frame jfr = JfrEventos.inicioFrame();
+        FrameTimeline.inicioFrame();
+        Metricas.inicioFrame();
+        perf.inicioFrame();
+        super.render();
+        perf.fimFrame(getScreen(), continuo);
+        Metricas.fimFrame(Gdx.graphics.getDeltaTime(), continuo);
+        FrameTimeline.fimFrame();
+        GravadorDeVoo.fimFrame();
+        JfrEventos.fimFrame(jfr, getScreen(), Gdx.graphics.getDeltaTime());
+    }
+
+    // F4: liga a gravação; apertando de novo, exporta o que gravou e desliga
+    private void alternaTimeline() {
+        if (!FrameTimeline.isLigado()) {
+            FrameTimeline.liga();
+            Gdx.app.log("MotoRunnerGame", "FrameTimeline gravando (F4 de novo exporta)");
+        } else {
+            FrameTimeline.desliga();
+            FrameTimeline.exporta("manual");
+        }
+    }
+
+    /** Overlay de desempenho (a GameScreen informa o tempo de simulação). */
+    public PerfOverlay getPerfOverlay() {
+        return perf;
+    }
+
+    /**
+     * setScreen(tela)
+     * ---------------
+     * Troca de tela (hide() na antiga, show() na nova) e libera a antiga.
+     *
+     * Quem chama de dentro do render() de uma tela deve sair do render() logo
+     * em seguida: a própria tela já foi liberada.
+     */
+    @Override
+    public void setScreen(Screen screen) {
+        JfrEventos.TrocaDeTela jfr = JfrEventos.inicioTroca();
+        FrameTimeline.inicio(FrameTimeline.TRANSICAO);
+        GravadorDeVoo.evento(GravadorDeVoo.TROCA_TELA);
+        Screen anterior = getScreen();
+        super.setScreen(screen);
+        if (anterior != null && anterior != screen)
+            anterior.dispose();
+        FrameTimeline.fim(FrameTimeline.TRANSICAO);
+        JfrEventos.fimTroca(jfr, anterior, screen);
+        Metricas.tela(screen);
+    }
+
+    /**
+     * dispose()
+     * ---------
+     * Fechando o jogo: libera a tela atual, as texturas compartilhadas e o
+     * overlay de desempenho, e derruba o endpoint de métricas.
+     */
+    @Override
+    public void dispose() {
+        Screen atual = getScreen();
+        super.dispose(); // hide() na tela atual
+        if (atual != null)
+            atual.dispose();
+        Carro.disposeStatic();
+        Moeda.disposeStatic();
+        perf.dispose();
+        MetricasHttp.para();
+    }
 }
@@ -3,6 +3,7 @@ package com.felipemelantonio.motorunneriot.entities;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.felipemelantonio.motorunneriot.utils.Carregador;
 
 /**
  * Classe responsável pelo fundo da pista.
@@ -29,7 +30,7 @@ public class Background {
      * @param speedPx  -- velocidade do scroll
      */
     public Background(String fileName, float speedPx) {
-        this.texture = new Texture(fileName);
+        this.texture = Carregador.textura(fileName);
 
         // Filtro linear evita serrilhado e tremidas quando o fundo rola rápido
         this.texture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
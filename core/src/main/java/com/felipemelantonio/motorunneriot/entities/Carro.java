@@ -5,9 +5,17 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Array;
+import com.felipemelantonio.motorunneriot.utils.Carregador;
+import com.felipemelantonio.motorunneriot.utils.CollisionMask;
+import com.felipemelantonio.motorunneriot.utils.LaneLayout;
 import java.util.Random;
 
-public class Carro {
+/**
+ * Carro do trânsito. A posição fica no EntityBuffer da simulação enquanto
+ * ele está na pista (ver Entidade); aqui ficam o modelo sorteado e a
+ * máscara de colisão.
+ */
+public final class Carro extends Entidade {
 
     // =========================
     // TEXTURAS E SORTEIO
@@ -22,38 +30,46 @@ public class Carro {
     private static Array<Texture> texturasCarros;
 
     /**
-     * Flag de controle para saber se as texturas já foram carregadas.
-     * Evita carregamento repetido.
+     * Arquivos de todos os modelos de carro disponíveis.
+     * A posição no array é o "índice do modelo", usado tanto para a textura
+     * quanto para a máscara de colisão.
      */
-    private static boolean texturasCarregadas = false;
+    private static final String[] ARQUIVOS_CARROS = {
+            "carro.png", "carro2.png", "carro3.png", "carro4.png",
+            "carro5.png", "carro6.png", "carro7.png"
+    };
+
+    /**
+     * Máscaras de colisão (alpha) de cada modelo, na mesma ordem de
+     * ARQUIVOS_CARROS. Ficam em cache dentro do CollisionMask, então não são
+     * recriadas quando as texturas são recarregadas.
+     *
+     * São carregadas separadamente das texturas: a simulação (GameSimulation)
+     * só precisa das máscaras e do tamanho de cada modelo, e pode rodar sem
+     * GPU (simulador headless).
+     */
+    private static volatile CollisionMask[] mascarasCarros;
 
     /**
-     * Objeto Random usado para sortear qual modelo de carro será usado
-     * em cada instância criada.
+     * Flag de controle para saber se as texturas já foram carregadas.
+     * Evita carregamento repetido.
      */
-    private static final Random random = new Random();
+    private static boolean texturasCarregadas = false;
 
     // =========================
     // ATRIBUTOS DE INSTÂNCIA
     // =========================
 
     /**
-     * Textura específica desse carro (uma das opções em texturasCarros).
+     * Modelo sorteado para esse carro (índice em ARQUIVOS_CARROS).
+     * A textura só é buscada no draw().
      */
-    private final Texture texturaCarro;
+    private final int modelo;
 
     /**
-     * Retângulo que representa a posição e o tamanho do carro na tela.
-     * É usado tanto para desenhar quanto para colisão.
+     * Máscara de colisão do modelo sorteado (compartilhada entre instâncias).
      */
-    private final Rectangle bounds;
-
-    /**
-     * Velocidade “extra” do carro em pixels por segundo.
-     * Além dessa velocidade, ele ainda é somado com a velocidade do mundo
-     * (worldSpeed).
-     */
-    private final float velocidadePx;
+    private final CollisionMask mascara;
 
     /**
      * Fator de escala da imagem do carro.
@@ -67,11 +83,6 @@ public class Carro {
      */
     private final float[] lanesX;
 
-    /**
-     * Índice da faixa em que esse carro está (0, 1, 2...).
-     */
-    private final int laneIndex;
-
     // =========================
     // INICIALIZAÇÃO ESTÁTICA
     // =========================
@@ -93,17 +104,30 @@ public class Carro {
         if (!texturasCarregadas) {
             texturasCarros = new Array<>();
 
-            // Aqui registramos todas as variações de carros disponíveis.
-            texturasCarros.add(new Texture("carro.png"));
-            texturasCarros.add(new Texture("carro2.png"));
-            texturasCarros.add(new Texture("carro3.png"));
-            texturasCarros.add(new Texture("carro4.png"));
-            texturasCarros.add(new Texture("carro5.png"));
-            texturasCarros.add(new Texture("carro6.png"));
-            texturasCarros.add(new Texture("carro7.png"));
+            // Aqui registramos todas as variações de carros disponíveis
+            for (String arquivo : ARQUIVOS_CARROS) {
+                texturasCarros.add(Carregador.textura(arquivo));
+            }
 
             texturasCarregadas = true;
         }
+        initMasksIfNeeded();
+    }
+
+    /**
+     * Carrega as máscaras de colisão de todos os modelos (na escala de
+     * desenho) apenas uma vez. Não usa a GPU.
+     *
+     * synchronized: o simulador headless cria carros em várias threads.
+     */
+    public static synchronized void initMasksIfNeeded() {
+        if (mascarasCarros == null) {
+            CollisionMask[] mascaras = new CollisionMask[ARQUIVOS_CARROS.length];
+            for (int i = 0; i < ARQUIVOS_CARROS.length; i++) {
+                mascaras[i] = CollisionMask.forSprite(ARQUIVOS_CARROS[i], SCALE);
+            }
+            mascarasCarros = mascaras;
+        }
     }
 
     // =========================
@@ -118,152 +142,107 @@ public class Carro {
      * @param velocidadeCarroPx velocidade “própria” do carro em px/s
      * @param laneCount         quantidade de faixas (2, 3 ou 4)
      * @param insetFactor       porcentagem de margem lateral da pista
+     * @param sorteio           Random usado para sortear o modelo do carro
+     *                          (GameRandom.Stream.CAR_SPRITE na GameScreen)
      */
     public Carro(int laneIndex,
             float startY,
             float velocidadeCarroPx,
             int laneCount,
-            float insetFactor) {
-
-        // Garante que as texturas já foram carregadas.
-        initTexturesIfNeeded();
-
-        // Sorteia uma textura aleatória para esse carro específico.
-        this.texturaCarro = texturasCarros.random();
+            float insetFactor,
+            Random sorteio) {
+        this(laneIndex, startY, velocidadeCarroPx,
+                LaneLayout.computeLaneCenters(Math.max(2, laneCount), insetFactor, Gdx.graphics.getWidth()),
+                sorteio);
+    }
 
-        // Pega a largura da tela atual.
-        float screenWidth = Gdx.graphics.getWidth();
+    /**
+     * Construtor usado pela simulação (GameSimulation): recebe os centros das
+     * faixas já calculados, então não depende do Gdx.graphics nem da GPU.
+     *
+     * @param laneIndex         índice da faixa em que o carro vai nascer
+     * @param startY            posição inicial em Y (normalmente acima da tela)
+     * @param velocidadeCarroPx velocidade “própria” do carro em px/s
+     * @param centers           X central de cada faixa (LaneLayout)
+     * @param sorteio           Random usado para sortear o modelo do carro
+     */
+    public Carro(int laneIndex,
+            float startY,
+            float velocidadeCarroPx,
+            float[] centers,
+            Random sorteio) {
 
-        // Calcula a margem lateral da pista (para não encostar na borda da tela).
-        float margem = screenWidth * insetFactor;
+        // Garante que as máscaras (e o tamanho de cada modelo) já foram carregadas.
+        initMasksIfNeeded();
+        CollisionMask[] mascaras = mascarasCarros;
 
-        // Largura “útil” da pista (onde os carros realmente circulam).
-        float larguraPista = screenWidth - (margem * 2);
-
-        // =========================
-        // CÁLCULO DOS CENTROS DAS FAIXAS
-        // =========================
-        //
-        // A ideia é transformar a largura da pista em várias faixas (lanes),
-        // e para cada lane calcular uma coordenada X central.
-        //
-        // Usamos a mesma lógica de faixas que a Moto, para que tudo fique alinhado.
-
-        float[] centers;
-        switch (Math.max(2, laneCount)) { // garante pelo menos 2 faixas
-            case 4: {
-                // Com 4 faixas, uso frações fixas da pista: 1/8, 3/8, 5/8, 7/8
-                float[] frac = new float[] { 1f / 8f, 3f / 8f, 5f / 8f, 7f / 8f };
-                centers = new float[] {
-                        margem + larguraPista * frac[0],
-                        margem + larguraPista * frac[1],
-                        margem + larguraPista * frac[2],
-                        margem + larguraPista * frac[3]
-                };
-                break;
-            }
-            case 3: {
-                // Com 3 faixas, divido a pista em 4 partes e uso as posições 1, 2 e 3.
-                float esp = larguraPista / 4f;
-                centers = new float[] {
-                        margem + esp * 1f,
-                        margem + esp * 2f,
-                        margem + esp * 3f
-                };
-                break;
-            }
-            default: {
-                // Com 2 faixas, divido a pista em 3 partes e uso 1 e 2.
-                float esp = larguraPista / 3f;
-                centers = new float[] {
-                        margem + esp * 1f,
-                        margem + esp * 2f
-                };
-                break;
-            }
-        }
+        // Sorteia um modelo aleatório para esse carro específico
+        // (textura e máscara de colisão andam juntas).
+        this.modelo = sorteio.nextInt(mascaras.length);
+        this.mascara = mascaras[modelo];
 
         // =========================
         // DIMENSÕES DO CARRO
         // =========================
 
-        // Aplica o SCALE para reduzir ou aumentar o tamanho da textura na tela.
-        float width = texturaCarro.getWidth() * SCALE;
-        float height = texturaCarro.getHeight() * SCALE;
+        // Aplica o SCALE para reduzir ou aumentar o tamanho do PNG na tela.
+        // (o tamanho de origem vem da máscara, que é igual ao da textura)
+        float width = mascara.getSourceWidth() * SCALE;
+        float height = mascara.getSourceHeight() * SCALE;
 
         // Garante que o laneIndex esteja dentro do intervalo válido [0,
         // centers.length-1].
-        this.laneIndex = Math.max(0, Math.min(laneIndex, centers.length - 1));
+        int faixa = Math.max(0, Math.min(laneIndex, centers.length - 1));
 
         // Pega a coordenada X central da faixa escolhida.
-        float laneX = centers[this.laneIndex];
+        float laneX = centers[faixa];
 
         // Guarda o array de centros para referência futura (se precisar).
         this.lanesX = centers;
 
-        // Cria o retângulo de colisão/desenho do carro.
+        // Posição e tamanho do retângulo de colisão/desenho do carro.
         // Colocamos o X de forma que o centro do retângulo fique alinhado com o centro
         // da faixa.
-        this.bounds = new Rectangle(
-                laneX - width / 2f, // X (centralizado na faixa)
+        // A velocidade tem um mínimo para o carro não ficar "parado" em relação ao
+        // cenário: se a passada for muito baixa, garantimos pelo menos 60 px/s.
+        inicia(laneX - width / 2f, // X (centralizado na faixa)
                 startY, // Y inicial (vem de cima)
                 width, // largura em tela
-                height // altura em tela
-        );
-
-        // Define a velocidade mínima para o carro não ficar "parado" em relação ao
-        // cenário.
-        // Se a velocidade passada for muito baixa, garantimos pelo menos 60 px/s.
-        this.velocidadePx = Math.max(60f, velocidadeCarroPx);
-    }
-
-    /**
-     * Construtor alternativo de compatibilidade.
-     * Assume um cenário padrão com 4 faixas e inset 0.15f.
-     * Útil quando não queremos passar todos os parâmetros.
-     */
-    public Carro(int laneIndex, float startY, float velocidadeCarroPx) {
-        this(laneIndex, startY, velocidadeCarroPx, 4, 0.15f);
+                height, // altura em tela
+                faixa,
+                Math.max(60f, velocidadeCarroPx));
     }
 
     // =========================
-    // ATUALIZAÇÃO E DESENHO
+    // DESENHO
     // =========================
 
-    /**
-     * Atualiza a posição do carro ao longo do tempo.
-     *
-     * @param dt           delta time (tempo entre um frame e outro)
-     * @param worldSpeedPx velocidade do "mundo" (velocidade base da fase)
-     */
-    public void update(float dt, float worldSpeedPx) {
-        // O carro desce na tela de acordo com:
-        // - a velocidade do mundo (worldSpeedPx)
-        // - a velocidade própria do carro (velocidadePx)
-        //
-        // Somamos as duas velocidades para ter a sensação de fluxo de trânsito.
-        bounds.y -= (worldSpeedPx + velocidadePx) * dt;
-    }
+    // O movimento (mundo + velocidade própria, em float ou em ponto fixo) é
+    // feito pela GameSimulation direto no EntityBuffer, para todos os carros
+    // de uma vez (EntityKernels.advance / EntityBuffer.advanceFixed).
 
     /**
      * Desenha o carro na tela usando o SpriteBatch.
      */
     public void draw(SpriteBatch batch) {
-        batch.draw(texturaCarro, bounds.x, bounds.y, bounds.width, bounds.height);
+        // As texturas só são carregadas quando algo é desenhado de verdade
+        initTexturesIfNeeded();
+        Rectangle r = getBounds();
+        batch.draw(texturasCarros.get(modelo), r.x, r.y, r.width, r.height);
     }
 
     // =========================
     // GETTERS
     // =========================
 
-    /** Retorna o retângulo de colisão/posição do carro. */
-    public Rectangle getBounds() {
-        return bounds;
+    /** Máscara de colisão pixel a pixel do modelo deste carro. */
+    public CollisionMask getMascara() {
+        return mascara;
     }
 
-    /** Retorna o índice da faixa em que o carro se encontra. */
-    public int getLaneIndex() {
-        return laneIndex;
+    /** Velocidade própria do carro (px/s), somada à velocidade do mundo. */
+    public float getVelocidade() {
+        return velocidadePx;
     }
 
     // =========================
@@ -0,0 +1,119 @@
+package com.felipemelantonio.motorunneriot.entities;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.felipemelantonio.motorunneriot.utils.EntityBuffer;
+import com.felipemelantonio.motorunneriot.utils.FixedPoint;
+
+/**
+ * Entidade
+ * ========
+ * Base de Carro e Moeda: o que desce pela pista junto com o mundo.
+ *
+ * Enquanto está na pista (entre liga() e solta()), a posição NÃO mora no
+ * objeto: mora na linha `indice` do EntityBuffer da GameSimulation, que move
+ * todas as entidades de uma vez por frame (EntityKernels.advance, SIMD
+ * quando disponível). O objeto vira uma "vista" daquela linha: getBounds()
+ * e getPrevY() leem de lá.
+ *
+ * Fora da pista (recém-criada, ou depois de solta()) a posição fica nos
+ * campos do próprio objeto, e liga() copia tudo para o buffer.
+ *
+ * Quem mantém a lista e o buffer alinhados (linha i = objeto i) é a
+ * GameSimulation: só ela chama liga(), solta() e setIndice().
+ */
+public abstract class Entidade {
+
+    /**
+     * Retângulo de colisão/desenho. X, largura e altura não mudam; o Y é
+     * copiado do buffer a cada getBounds() (escrever nele não move nada:
+     * use reposiciona()).
+     */
+    protected final Rectangle bounds = new Rectangle();
+
+    /** Faixa em que a entidade está (0, 1, 2...). */
+    protected int laneIndex;
+
+    /** Velocidade própria (px/s), somada à do mundo (0 nas moedas). */
+    protected float velocidadePx;
+
+    // Posição enquanto fora do buffer
+    private float prevY;
+    private long yFx;
+    private long velocidadeFx;
+
+    // Linha do buffer (null = fora da pista)
+    private EntityBuffer buffer;
+    private int indice;
+
+    /** Posição e tamanho iniciais (chamado pelo construtor da subclasse). */
+    protected final void inicia(float x, float y, float largura, float altura, int faixa, float velocidade) {
+        bounds.set(x, y, largura, altura);
+        prevY = y;
+        yFx = FixedPoint.fromFloat(y);
+        laneIndex = faixa;
+        velocidadePx = velocidade;
+        velocidadeFx = FixedPoint.fromFloat(velocidade);
+    }
+
+    // =========================
+    // BUFFER (só a GameSimulation)
+    // =========================
+
+    /** Entra na pista: copia o estado para o fim do buffer. */
+    public void liga(EntityBuffer b) {
+        solta();
+        indice = b.add(bounds.x, bounds.y, prevY, bounds.width, bounds.height, laneIndex, velocidadePx, yFx,
+                velocidadeFx);
+        buffer = b;
+    }
+
+    /** Sai da pista: traz a posição de volta para o objeto. */
+    public void solta() {
+        if (buffer == null)
+            return;
+        bounds.y = buffer.y[indice];
+        prevY = buffer.prevY[indice];
+        yFx = buffer.yFx[indice];
+        buffer = null;
+    }
+
+    /** A linha mudou (alguém antes dela foi removido). */
+    public void setIndice(int i) {
+        indice = i;
+    }
+
+    // =========================
+    // POSIÇÃO
+    // =========================
+
+    /** Retângulo de colisão/posição, com o Y atual. */
+    public Rectangle getBounds() {
+        if (buffer != null)
+            bounds.y = buffer.y[indice];
+        return bounds;
+    }
+
+    /** Posição Y no início do último frame (usada na colisão contínua). */
+    public float getPrevY() {
+        return buffer != null ? buffer.prevY[indice] : prevY;
+    }
+
+    /** Coloca a entidade parada em outro Y (prevY = y). */
+    public void reposiciona(float y) {
+        long fx = FixedPoint.fromFloat(y);
+        bounds.y = y;
+        if (buffer != null) {
+            buffer.y[indice] = y;
+            buffer.prevY[indice] = y;
+            buffer.yFx[indice] = fx;
+        } else {
+            prevY = y;
+            yFx = fx;
+        }
+    }
+
+    /** Retorna o índice da faixa em que a entidade se encontra. */
+    public int getLaneIndex() {
+        return laneIndex;
+    }
+}
@@ -1,16 +1,19 @@
 package com.felipemelantonio.motorunneriot.entities;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Rectangle;
+import com.felipemelantonio.motorunneriot.utils.Carregador;
+import com.felipemelantonio.motorunneriot.utils.CollisionMask;
 
 /**
  * Representa uma moeda coletável do jogo.
  * Ela desce pela pista alinhada às faixas (igual aos carros),
  * e o jogador coleta ao encostar na hitbox.
+ * Enquanto está na pista, a posição fica no EntityBuffer da simulação
+ * (ver Entidade).
  */
-public class Moeda {
+public final class Moeda extends Entidade {
 
     // ============================================================
     // TEXTURA ÚNICA COMPARTILHADA ENTRE TODAS AS INSTÂNCIAS
@@ -23,6 +26,12 @@ public class Moeda {
      */
     private static Texture texture;
 
+    /**
+     * Máscara de colisão (alpha) da moeda, compartilhada por todas.
+     * Carregada à parte da textura: a simulação headless só precisa dela.
+     */
+    private static volatile CollisionMask mascara;
+
     /** Flag usada para garantir que a textura só será carregada uma vez. */
     private static boolean loaded = false;
 
@@ -30,12 +39,6 @@ public class Moeda {
     // ATRIBUTOS DA MOEDA
     // ============================================================
 
-    /** Retângulo de colisão e posição da moeda. */
-    private final Rectangle bounds;
-
-    /** Faixa em que a moeda nasceu (0, 1, 2...). */
-    private final int laneIndex;
-
     /** Escala para ajustar o tamanho da moeda na tela. */
     private static final float SCALE = 0.06f;
 
@@ -49,7 +52,7 @@ public class Moeda {
      */
     public static void initIfNeeded() {
         if (!loaded) {
-            texture = new Texture("moeda.png"); // arquivo dentro da pasta assets/
+            texture = Carregador.textura("moeda.png"); // arquivo dentro da pasta assets/
 
             // Ativa filtro linear: evita serrilhado e deixa o sprite mais suave.
             texture.setFilter(Texture.TextureFilter.Linear,
@@ -57,6 +60,18 @@ public class Moeda {
 
             loaded = true;
         }
+        initMaskIfNeeded();
+    }
+
+    /**
+     * Carrega só a máscara de colisão (na mesma escala em que a moeda é
+     * desenhada). Não usa a GPU; synchronized porque o simulador headless
+     * cria moedas em várias threads.
+     */
+    public static synchronized void initMaskIfNeeded() {
+        if (mascara == null) {
+            mascara = CollisionMask.forSprite("moeda.png", SCALE);
+        }
     }
 
     // ============================================================
@@ -72,64 +87,54 @@ public class Moeda {
      */
     public Moeda(float[] laneCenters, int laneIndex, float startY) {
 
-        // Garante que a textura já foi carregada.
-        initIfNeeded();
+        // Garante que a máscara já foi carregada (a textura fica para o draw).
+        initMaskIfNeeded();
 
-        // Calcula largura e altura da moeda após aplicar a escala.
-        float w = texture.getWidth() * SCALE;
-        float h = texture.getHeight() * SCALE;
+        // Calcula largura e altura da moeda após aplicar a escala
+        // (o tamanho do PNG vem da máscara, igual ao da textura).
+        float w = mascara.getSourceWidth() * SCALE;
+        float h = mascara.getSourceHeight() * SCALE;
 
         // Garante que laneIndex está dentro do intervalo válido.
         float xCenter = laneCenters[Math.max(0, Math.min(laneIndex, laneCenters.length - 1))];
 
-        // Salva a faixa original
-        this.laneIndex = laneIndex;
-
         /**
-         * Cria o retângulo da moeda:
+         * Posiciona o retângulo da moeda:
          * - Centraliza na faixa (X)
          * - Começa no Y informado (normalmente acima da tela)
          * - Define largura/altura de acordo com o sprite escalado
+         * - Salva a faixa original
+         * - Sem velocidade própria: só acompanha o worldSpeed
          */
-        this.bounds = new Rectangle(
-                xCenter - w / 2f, // centraliza
+        inicia(xCenter - w / 2f, // centraliza
                 startY, // nasce acima da tela
                 w,
-                h);
-    }
-
-    // ============================================================
-    // ATUALIZAÇÃO DA MOEDA
-    // ============================================================
-
-    /**
-     * Atualiza a moeda descendo junto com o mundo.
-     * A moeda não tem velocidade própria — ela apenas acompanha
-     * o worldSpeed (velocidade da fase).
-     */
-    public void update(float dt, float worldSpeedPx) {
-        bounds.y -= worldSpeedPx * dt;
+                h,
+                laneIndex,
+                0f);
     }
 
     // ============================================================
     // DESENHO
     // ============================================================
 
+    // A moeda desce junto com o mundo (sem velocidade própria); quem move é
+    // a GameSimulation, direto no EntityBuffer de todas as moedas.
+
     /** Desenha a moeda na posição atual. */
     public void draw(SpriteBatch batch) {
-        batch.draw(texture, bounds.x, bounds.y, bounds.width, bounds.height);
+        initIfNeeded();
+        Rectangle r = getBounds();
+        batch.draw(texture, r.x, r.y, r.width, r.height);
     }
 
     // ============================================================
     // GETTERS
     // ============================================================
 
-    public Rectangle getBounds() {
-        return bounds;
-    }
-
-    public int getLaneIndex() {
-        return laneIndex;
+    /** Máscara de colisão pixel a pixel da moeda. */
+    public CollisionMask getMascara() {
+        return mascara;
     }
 
     // ============================================================
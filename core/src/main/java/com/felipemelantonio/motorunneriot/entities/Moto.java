@@ -1,11 +1,14 @@
 package com.felipemelantonio.motorunneriot.entities;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Interpolation;
 import com.badlogic.gdx.math.Rectangle;
+import com.felipemelantonio.motorunneriot.sim.RiderInput;
+import com.felipemelantonio.motorunneriot.utils.Carregador;
+import com.felipemelantonio.motorunneriot.utils.CollisionMask;
+import com.felipemelantonio.motorunneriot.utils.LaneLayout;
 // REMOVIDO: import com.felipemelantonio.motorunneriot.utils.IoTInput;
 
 /**
@@ -15,11 +18,19 @@ import com.badlogic.gdx.math.Rectangle;
  * - se move lateralmente entre faixas com uma animação suave;
  * - ajusta a velocidade com base na velocidade do mundo + um “esforço”
  * simulado.
+ *
+ * A moto não lê o teclado: quem decide trocar de faixa é um RiderInput
+ * (teclado na GameScreen, piloto automático, política do simulador
+ * headless), que chega aqui como máscara de ações no update().
+ * A textura só é carregada no primeiro draw(), então a moto também funciona
+ * na simulação sem GPU.
  */
 public class Moto {
 
-    private Texture texture;
+    private Texture texture; // carregada no primeiro draw()
+    private CollisionMask mascara; // colisão pixel a pixel (vem do alpha do PNG)
     private Rectangle bounds;
+    private float prevX, prevY; // posição no início do último update (colisão contínua)
     private float velocidade; // px/s
 
     private int currentLaneIndex;
@@ -30,6 +41,7 @@ public class Moto {
     private float[] lanesX;
     private int laneCount;
     private float insetFactor;
+    private float screenWidth; // largura da tela usada nas faixas
 
     private boolean controlsEnabled = true;
 
@@ -45,14 +57,23 @@ public class Moto {
     }
 
     public Moto(int laneCount, float insetFactor) {
-        texture = new Texture("moto.png");
-        float width = texture.getWidth() * SCALE;
-        float height = texture.getHeight() * SCALE;
+        this(laneCount, insetFactor, Gdx.graphics.getWidth());
+    }
+
+    /**
+     * Construtor sem Gdx.graphics: a largura da tela vem de quem cria
+     * (GameSimulation, que também roda sem janela).
+     */
+    public Moto(int laneCount, float insetFactor, float screenWidth) {
+        mascara = initMaskIfNeeded();
+        float width = mascara.getSourceWidth() * SCALE;
+        float height = mascara.getSourceHeight() * SCALE;
 
         this.laneCount = Math.max(2, laneCount);
         this.insetFactor = insetFactor;
+        this.screenWidth = screenWidth;
 
-        lanesX = computeLaneCenters(this.laneCount, this.insetFactor);
+        lanesX = LaneLayout.computeLaneCenters(this.laneCount, this.insetFactor, screenWidth);
 
         currentLaneIndex = this.laneCount / 2;
         float x = lanesX[currentLaneIndex] - width / 2f;
@@ -61,53 +82,59 @@ public class Moto {
         bounds = new Rectangle(x, y, width, height);
 
         targetX = bounds.x;
+        prevX = x;
+        prevY = y;
         velocidade = 0f;
     }
 
-    private float[] computeLaneCenters(int laneCount, float inset) {
-        float screenWidth = Gdx.graphics.getWidth();
-        float margem = screenWidth * inset;
-        float larguraPista = screenWidth - (margem * 2);
-
-        switch (laneCount) {
-            case 4: {
-                float[] f = new float[] { 1f / 8f, 3f / 8f, 5f / 8f, 7f / 8f };
-                return new float[] {
-                        margem + larguraPista * f[0],
-                        margem + larguraPista * f[1],
-                        margem + larguraPista * f[2],
-                        margem + larguraPista * f[3]
-                };
-            }
-            case 3: {
-                float esp = larguraPista / 4f;
-                return new float[] {
-                        margem + esp * 1f,
-                        margem + esp * 2f,
-                        margem + esp * 3f
-                };
-            }
-            default: {
-                float esp = larguraPista / 3f;
-                return new float[] {
-                        margem + esp * 1f,
-                        margem + esp * 2f
-                };
-            }
+    /**
+     * Máscara de colisão da moto (na escala de desenho). Não usa a GPU; o
+     * simulador headless chama antes de abrir as threads.
+     */
+    public static CollisionMask initMaskIfNeeded() {
+        return CollisionMask.forSprite("moto.png", SCALE);
+    }
+
+    /**
+     * Recalcula as faixas para uma nova largura de tela (resize).
+     */
+    public void setScreenWidth(float screenWidth) {
+        if (screenWidth != this.screenWidth) {
+            this.screenWidth = screenWidth;
+            lanesX = LaneLayout.computeLaneCenters(this.laneCount, this.insetFactor, screenWidth);
+            targetX = lanesX[currentLaneIndex] - bounds.width / 2f;
         }
     }
 
+    /**
+     * Update das telas de menu: sem ações do jogador, acompanhando a largura
+     * atual da janela.
+     */
     public void update(float delta, float worldSpeed) {
-        // Recalcula faixas se a resolução mudar
-        lanesX = computeLaneCenters(this.laneCount, this.insetFactor);
+        setScreenWidth(Gdx.graphics.getWidth());
+        update(delta, worldSpeed, RiderInput.NONE_MASK);
+    }
 
-        // Movimentação lateral entre faixas (setas)
+    /**
+     * update(delta, worldSpeed, acoes)
+     * --------------------------------
+     * Avança a moto um frame.
+     *
+     * @param acoes máscara de RiderInput (LEFT/RIGHT = trocar de faixa neste
+     *              frame); ignorada se os controles estiverem desligados
+     */
+    public void update(float delta, float worldSpeed, int acoes) {
+        // Guarda onde a moto estava antes de andar neste frame
+        prevX = bounds.x;
+        prevY = bounds.y;
+
+        // Movimentação lateral entre faixas
         if (controlsEnabled) {
-            if (Gdx.input.isKeyJustPressed(Input.Keys.LEFT) && currentLaneIndex > 0) {
+            if ((acoes & RiderInput.LEFT) != 0 && currentLaneIndex > 0) {
                 currentLaneIndex--;
                 targetX = lanesX[currentLaneIndex] - bounds.width / 2f;
             }
-            if (Gdx.input.isKeyJustPressed(Input.Keys.RIGHT) && currentLaneIndex < lanesX.length - 1) {
+            if ((acoes & RiderInput.RIGHT) != 0 && currentLaneIndex < lanesX.length - 1) {
                 currentLaneIndex++;
                 targetX = lanesX[currentLaneIndex] - bounds.width / 2f;
             }
@@ -132,7 +159,20 @@ public class Moto {
         update(delta, 0f);
     }
 
+    /**
+     * Coloca a moto direto numa faixa, já assentada (sem a animação da
+     * troca). Usado pelos cenários roteirizados (Cenario).
+     */
+    public void colocaNaFaixa(int lane) {
+        currentLaneIndex = Math.max(0, Math.min(lane, lanesX.length - 1));
+        targetX = lanesX[currentLaneIndex] - bounds.width / 2f;
+        bounds.x = targetX;
+        prevX = targetX;
+    }
+
     public void draw(SpriteBatch batch) {
+        if (texture == null)
+            texture = Carregador.textura("moto.png");
         batch.draw(texture, bounds.x, bounds.y, bounds.width, bounds.height);
     }
 
@@ -140,10 +180,36 @@ public class Moto {
         return currentLaneIndex;
     }
 
+    public int getLaneCount() {
+        return laneCount;
+    }
+
+    /** X central de cada faixa (para quem precisa alinhar algo às faixas). */
+    public float[] getLanesX() {
+        return lanesX;
+    }
+
+    /** Taxa da interpolação lateral entre faixas (fração por segundo). */
+    public float getMoveSpeed() {
+        return moveSpeed;
+    }
+
     public Rectangle getBounds() {
         return bounds;
     }
 
+    public CollisionMask getMascara() {
+        return mascara;
+    }
+
+    public float getPrevX() {
+        return prevX;
+    }
+
+    public float getPrevY() {
+        return prevY;
+    }
+
     public float getVelocidade() {
         return this.velocidade;
     }
@@ -3,12 +3,12 @@ package com.felipemelantonio.motorunneriot.screens;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.felipemelantonio.motorunneriot.MotoRunnerGame;
+import com.felipemelantonio.motorunneriot.utils.Carregador;
 
 /**
  * GameOverScreen
@@ -26,6 +26,12 @@ import com.felipemelantonio.motorunneriot.MotoRunnerGame;
  *
  * Ela implementa a interface Screen do LibGDX, então participa do ciclo de vida
  * de telas do framework (show, render, resize, pause, resume, hide, dispose).
+ *
+ * Como nada nela se mexe, o conteúdo é desenhado uma vez só num
+ * FrameBuffer (QuadroEstatico) e, enquanto ela está na tela, o libGDX
+ * fica em renderização NÃO contínua: só há frame quando chega input (ou
+ * a janela muda de tamanho). Num totem parado no Game Over, CPU e GPU
+ * ficam ociosas em vez de redesenhar a mesma imagem 60 vezes por segundo.
  */
 public class GameOverScreen implements Screen {
 
@@ -53,6 +59,9 @@ public class GameOverScreen implements Screen {
     // Guardar esse valor permite reiniciar exatamente essa fase.
     private int fase;
 
+    // Fundo + textos prontos num FrameBuffer (refeito só no resize)
+    private final QuadroEstatico quadro = new QuadroEstatico(this::desenhaConteudo);
+
     /**
      * Construtor da tela de Game Over.
      *
@@ -79,6 +88,7 @@ public class GameOverScreen implements Screen {
         // Poderíamos compartilhar um único batch global entre telas,
         // mas usar um batch aqui torna a tela independente.
         batch = new SpriteBatch();
+        game.getPerfOverlay().observa(batch); // render calls no overlay F3
 
         // Cria uma fonte básica padrão do LibGDX.
         // Ela usa um bitmap interno simples, suficiente para textos de HUD.
@@ -87,21 +97,20 @@ public class GameOverScreen implements Screen {
         // Carrega a imagem de fundo da tela de Game Over.
         // É importante que "gameover-image.jpg" esteja na pasta assets do projeto.
         // Essa imagem normalmente cobre a tela inteira com uma arte de "Game Over".
-        background = new Texture("gameover-image.jpg");
+        background = Carregador.textura("gameover-image.jpg");
     }
 
     /**
      * render(delta)
      * --------------
-     * Método chamado em todo frame enquanto esta tela está ativa.
+     * Chamado a cada frame enquanto esta tela está ativa, que aqui (sem
+     * renderização contínua) quer dizer: quando chega input ou a janela
+     * muda de tamanho.
      *
      * Funções principais neste método:
-     * 1) Limpar a tela com uma cor de fundo (preto)
-     * 2) Desenhar:
-     * - a imagem de fundo de Game Over
-     * - o texto da distância final
-     * - as instruções ENTER / ESC
-     * 3) Ler input do teclado para:
+     * 1) Copiar para a tela o quadro pronto (fundo + textos), desenhado uma
+     * vez só em desenhaConteudo()
+     * 2) Ler input do teclado para:
      * - ENTER → reiniciar a fase atual
      * - ESC → voltar ao menu principal
      *
@@ -110,11 +119,38 @@ public class GameOverScreen implements Screen {
      */
     @Override
     public void render(float delta) {
-        // 1) Limpa a tela, definindo a cor de fundo como preto (RGBA = 0,0,0,1).
-        // Isso garante que não restem resíduos de telas anteriores.
-        Gdx.gl.glClearColor(0, 0, 0, 1);
-        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        // 1) Limpa a tela e desenha o quadro pronto (na primeira vez, desenha
+        // o conteúdo no FrameBuffer antes)
+        quadro.desenha(batch);
+
+        // 2) Leitura das teclas (INPUT)
+        // Importante fazer isso FORA do batch.begin()/end().
+
+        // Se o jogador apertou ENTER nesse frame:
+        // - criamos uma nova GameScreen com a mesma fase que ele estava
+        // - usamos game.setScreen(...) para trocar para ela
+        // Dessa forma, o jogo é reiniciado na mesma fase em que ele perdeu.
+        if (Gdx.input.isKeyJustPressed(Input.Keys.ENTER)) {
+            game.setScreen(new GameScreen(game, fase));
+            return; // esta tela já foi liberada pelo setScreen()
+        }
+
+        // Se o jogador apertou ESC nesse frame:
+        // - trocamos a tela atual pela tela de menu principal (MenuScreen)
+        if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE))
+            game.setScreen(new MenuScreen(game));
+    }
 
+    /**
+     * desenhaConteudo()
+     * -----------------
+     * O desenho de verdade da tela, chamado pelo QuadroEstatico com o
+     * FrameBuffer ligado (na primeira vez e depois de um resize):
+     * - a imagem de fundo de Game Over
+     * - o texto da distância final
+     * - as instruções ENTER / ESC
+     */
+    private void desenhaConteudo() {
         // Captura a largura e a altura atuais da tela.
         // Isso permite desenhar elementos que se adaptam a qualquer resolução.
         float screenWidth = Gdx.graphics.getWidth();
@@ -124,17 +160,17 @@ public class GameOverScreen implements Screen {
         // Tudo que for desenhado entre begin() e end() será enviado à GPU.
         batch.begin();
 
-        // 2) Desenha a imagem de fundo ocupando a tela inteira.
+        // 1) Desenha a imagem de fundo ocupando a tela inteira.
         // Posição (0,0) é o canto inferior esquerdo no sistema de coordenadas padrão do
         // LibGDX.
         // Usamos screenWidth e screenHeight para esticar a textura no tamanho da tela.
         batch.draw(background, 0, 0, screenWidth, screenHeight);
 
-        // 3) Configura o tamanho da fonte.
+        // 2) Configura o tamanho da fonte.
         // Aumentamos um pouco a escala da fonte para a leitura ficar confortável.
         font.getData().setScale(1.1f);
 
-        // 4) Preparamos os textos que serão exibidos na parte inferior da tela.
+        // 3) Preparamos os textos que serão exibidos na parte inferior da tela.
         // texto2 → mostra a distância final percorrida
         // texto3 → instrução para reiniciar (ENTER)
         // texto4 → instrução para voltar ao menu (ESC)
@@ -142,7 +178,7 @@ public class GameOverScreen implements Screen {
         String texto3 = "ENTER - Reiniciar";
         String texto4 = "ESC - Menu Principal";
 
-        // 5) GlyphLayout é usado para calcular largura/altura de um texto com a fonte
+        // 4) GlyphLayout é usado para calcular largura/altura de um texto com a fonte
         // atual.
         // Aqui usamos para saber a largura de cada texto e assim centralizar o
         // conjunto.
@@ -165,38 +201,37 @@ public class GameOverScreen implements Screen {
         // Coordenada Y para desenhar os textos (próximo do rodapé da tela).
         float y = 50f;
 
-        // 6) Desenha os textos lado a lado, começando em startX.
+        // 5) Desenha os textos lado a lado, começando em startX.
         float currentX = startX;
 
-        // 6.1) Desenha o texto da distância.
+        // 5.1) Desenha o texto da distância.
         font.draw(batch, layout2, currentX, y);
         // Avança o X: largura do texto + espaço.
         currentX += layout2.width + espaco;
 
-        // 6.2) Desenha o texto com a instrução do ENTER.
+        // 5.2) Desenha o texto com a instrução do ENTER.
         font.draw(batch, layout3, currentX, y);
         currentX += layout3.width + espaco;
 
-        // 6.3) Desenha o texto com a instrução do ESC.
+        // 5.3) Desenha o texto com a instrução do ESC.
         font.draw(batch, layout4, currentX, y);
 
-        // Finaliza o desenho deste frame.
+        // Finaliza o desenho do quadro.
         batch.end();
+    }
 
-        // 7) Leitura das teclas (INPUT)
-        // Importante fazer isso FORA do batch.begin()/end().
+    // Consultas (usadas pelo ScreenHarness do módulo headless)
+    public int getFase() {
+        return fase;
+    }
 
-        // Se o jogador apertou ENTER nesse frame:
-        // - criamos uma nova GameScreen com a mesma fase que ele estava
-        // - usamos game.setScreen(...) para trocar para ela
-        // Dessa forma, o jogo é reiniciado na mesma fase em que ele perdeu.
-        if (Gdx.input.isKeyJustPressed(Input.Keys.ENTER))
-            game.setScreen(new GameScreen(game, fase));
+    public float getDistanciaFinal() {
+        return distanciaFinal;
+    }
 
-        // Se o jogador apertou ESC nesse frame:
-        // - trocamos a tela atual pela tela de menu principal (MenuScreen)
-        if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE))
-            game.setScreen(new MenuScreen(game));
+    /** Quantas vezes o conteúdo foi desenhado (1, a não ser que haja resize). */
+    public int getQuadrosRefeitos() {
+        return quadro.getRefeitos();
     }
 
     /**
@@ -207,6 +242,7 @@ public class GameOverScreen implements Screen {
      * - SpriteBatch
      * - BitmapFont
      * - Texture de fundo
+     * - FrameBuffer do quadro pronto
      *
      * Isso é importante para evitar vazamento de memória, especialmente em GPU.
      */
@@ -215,37 +251,38 @@ public class GameOverScreen implements Screen {
         batch.dispose(); // Libera o SpriteBatch
         font.dispose(); // Libera a fonte
         background.dispose(); // Libera a textura de fundo
+        quadro.dispose(); // Libera o FrameBuffer com o quadro pronto
     }
 
     // ================== Métodos restantes do ciclo de vida da Screen
     // ==================
-    // No momento, essa tela não precisa reagir a esses eventos, então eles ficam
-    // vazios.
-    // Mesmo vazios, eles são obrigatórios porque fazem parte da interface Screen.
 
     /**
      * show()
      * -------
      * Chamado automaticamente quando essa tela é configurada como a tela ativa
      * via game.setScreen(new GameOverScreen(...)).
-     * Aqui poderíamos, por exemplo, reiniciar timers ou tocar uma música
-     * específica,
-     * mas como essa tela já é totalmente inicializada no construtor, não há lógica
-     * extra.
+     * Os recursos já foram criados no construtor; aqui só desligamos a
+     * renderização contínua (a partir de agora, só há frame com input) e
+     * pedimos um frame para o quadro aparecer.
      */
     @Override
     public void show() {
+        Gdx.graphics.setContinuousRendering(false);
+        Gdx.graphics.requestRendering();
     }
 
     /**
      * resize(width, height)
      * ----------------------
-     * Chamado quando a janela é redimensionada.
-     * Não precisamos ajustar nada aqui porque já usamos a largura/altura dinâmica
-     * no render(), então o layout se adapta automaticamente.
+     * Chamado quando a janela é redimensionada: ajusta a projeção ao novo
+     * tamanho e joga fora o quadro pronto (ele é refeito no próximo frame,
+     * que o próprio resize já provoca).
      */
     @Override
     public void resize(int width, int height) {
+        batch.getProjectionMatrix().setToOrtho2D(0, 0, width, height);
+        quadro.invalida();
     }
 
     /**
@@ -274,10 +311,11 @@ public class GameOverScreen implements Screen {
      * ------
      * Chamado quando essa tela deixa de ser a tela ativa,
      * porque outra tela foi chamada com setScreen().
-     * Geralmente a limpeza pesada fica em dispose(), então aqui não é necessário
-     * nada.
+     * A limpeza pesada fica em dispose(); aqui só devolvemos a renderização
+     * contínua para a próxima tela (jogo, menu).
      */
     @Override
     public void hide() {
+        Gdx.graphics.setContinuousRendering(true);
     }
 }
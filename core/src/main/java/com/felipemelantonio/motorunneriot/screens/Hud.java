@@ -0,0 +1,172 @@
+package com.felipemelantonio.motorunneriot.screens;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.felipemelantonio.motorunneriot.sim.AutopilotInput;
+import com.felipemelantonio.motorunneriot.sim.GameSimulation;
+import com.felipemelantonio.motorunneriot.utils.Numeros;
+
+/**
+ * Hud
+ * ===
+ * Textos da partida no canto da GameScreen (fase, distância, velocidades,
+ * boost, moedas, ajuda e a linha do piloto automático), SEM lixo por frame.
+ *
+ * Antes, cada frame montava sete Strings com + e String.format (Formatter,
+ * Matcher, byte[]... uns 2 KB por frame) e o font.draw(String) refazia o
+ * layout dos glifos de todas elas, mesmo com os números parados.
+ *
+ * Agora cada linha tem:
+ * - um StringBuilder e um GlyphLayout criados uma vez;
+ * - a "chave" do que ela mostra: o número inteiro ou em ponto fixo
+ * (boost em centésimos = Numeros.fixo) que aparece no texto.
+ *
+ * Por frame, o Hud só calcula as chaves; o texto e o layout de uma linha
+ * são refeitos quando a chave dela muda (a distância muda ~10x por
+ * segundo, a fase e a ajuda nunca). Desenhar um GlyphLayout pronto é só
+ * copiar os vértices dos glifos para o batch.
+ *
+ * O layout guarda a escala da fonte: se alguém mudar a escala (o menu de
+ * pausa muda), todas as linhas são refeitas na próxima vez.
+ */
+public final class Hud {
+
+    // Linhas, de cima para baixo
+    private static final int FASE = 0;
+    private static final int DISTANCIA = 1;
+    private static final int VELOCIDADE_BASE = 2;
+    private static final int BOOST = 3;
+    private static final int VELOCIDADE_FINAL = 4;
+    private static final int MOEDAS = 5;
+    private static final int AJUDA = 6;
+    private static final int AUTO = 7;
+    private static final int LINHAS = 8;
+
+    private static final float X = 10f;
+    private static final float TOPO = 10f; // distância da primeira linha ao topo da tela
+    private static final float ENTRE_LINHAS = 20f;
+
+    private static final String AJUDA_TEXTO =
+            "ESPAÇO/PEDAL = Aceleração  |  P = Pausar  |  F = Piloto automático  |  ESC = Menu";
+
+    private final BitmapFont font;
+    private final Linha[] linhas = new Linha[LINHAS];
+    private float escala = Float.NaN; // escala da fonte dos layouts prontos
+
+    // Quantas vezes alguma linha foi refeita (para medir; não entra no desenho)
+    private long relayouts;
+
+    public Hud(BitmapFont font) {
+        this.font = font;
+        for (int i = 0; i < LINHAS; i++)
+            linhas[i] = new Linha();
+    }
+
+    /**
+     * Desenha o HUD (batch já em begin()).
+     *
+     * @param autopilot piloto automático pilotando agora, ou null (sem a linha AUTO)
+     * @param alturaTela altura da tela em pixels
+     */
+    public void desenha(Batch batch, GameSimulation sim, int fase, AutopilotInput autopilot, boolean attract,
+            float alturaTela) {
+        if (font.getData().scaleX != escala) {
+            escala = font.getData().scaleX;
+            for (Linha l : linhas)
+                l.valida = false;
+        }
+
+        Linha l = linhas[FASE];
+        if (l.mudou(fase, 0))
+            layout(l.inicio().append("Fase: ").append(fase), l);
+
+        int distancia = (int) sim.getDistancia(), meta = (int) sim.getMeta();
+        l = linhas[DISTANCIA];
+        if (l.mudou(distancia, meta))
+            layout(l.inicio().append("Distância: ").append(distancia).append(" m (Meta: ").append(meta)
+                    .append(" m)"), l);
+
+        int base = (int) sim.getWorldSpeedBase();
+        l = linhas[VELOCIDADE_BASE];
+        if (l.mudou(base, 0))
+            layout(l.inicio().append("Velocidade base: ").append(base).append(" px/s"), l);
+
+        long boost = Numeros.fixo(sim.getWorldSpeedBoost(), 2); // centésimos
+        l = linhas[BOOST];
+        if (l.mudou(boost, 0))
+            layout(Numeros.appendFixo(l.inicio().append("Boost: x"), boost, 2), l);
+
+        int velocidade = (int) sim.getWorldSpeed();
+        l = linhas[VELOCIDADE_FINAL];
+        if (l.mudou(velocidade, 0))
+            layout(l.inicio().append("Velocidade final: ").append(velocidade).append(" px/s"), l);
+
+        int moedas = sim.getMoedasColetadas();
+        l = linhas[MOEDAS];
+        if (l.mudou(moedas, 0))
+            layout(l.inicio().append("Moedas: ").append(moedas), l);
+
+        l = linhas[AJUDA];
+        if (l.mudou(0, 0))
+            layout(l.inicio().append(AJUDA_TEXTO), l);
+
+        // Piloto automático: profundidade da busca e latência da última decisão
+        int n = LINHAS - 1;
+        if (autopilot != null) {
+            int passos = autopilot.getLastDepth();
+            long us = autopilot.getLastNanos() / 1000;
+            long media = (long) (autopilot.getMediaNanos() / 1000);
+            l = linhas[AUTO];
+            if (l.mudou(passos * 2L + (attract ? 1 : 0), us << 32 | (media & 0xFFFFFFFFL))) {
+                StringBuilder sb = l.inicio();
+                if (attract)
+                    sb.append("DEMONSTRAÇÃO - ");
+                sb.append("AUTO: ").append(passos).append(" passos (");
+                Numeros.appendDecimal(sb, passos * AutopilotInput.STEP_S, 1).append(" s) | ");
+                sb.append(us).append(" µs (média ").append(media).append(" µs)");
+                layout(sb, l);
+            }
+            n = LINHAS;
+        }
+
+        float y = alturaTela - TOPO;
+        for (int i = 0; i < n; i++) {
+            font.draw(batch, linhas[i].layout, X, y);
+            y -= ENTRE_LINHAS;
+        }
+    }
+
+    private void layout(StringBuilder texto, Linha l) {
+        l.layout.setText(font, texto);
+        relayouts++;
+    }
+
+    /** Linhas refeitas desde a criação (as ferramentas comparam com os frames). */
+    public long getRelayouts() {
+        return relayouts;
+    }
+
+    // Uma linha: texto, layout pronto e a chave do que está nele
+    private static final class Linha {
+        final StringBuilder texto = new StringBuilder(96);
+        final GlyphLayout layout = new GlyphLayout();
+        long chaveA, chaveB;
+        boolean valida;
+
+        /** true (e guarda a chave nova) se o texto precisa ser refeito. */
+        boolean mudou(long a, long b) {
+            if (valida && a == chaveA && b == chaveB)
+                return false;
+            chaveA = a;
+            chaveB = b;
+            valida = true;
+            return true;
+        }
+
+        StringBuilder inicio() {
+            texto.setLength(0);
+            return texto;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.felipemelantonio.motorunneriot.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.felipemelantonio.motorunneriot.sim.GameSimulation;
+import com.felipemelantonio.motorunneriot.sim.RiderInput;
+
+/**
+ * KeyboardInput
+ * =============
+ * O jogador de verdade: setas trocam de faixa e ESPAÇO "pedala".
+ * Mesma leitura que antes ficava espalhada entre Moto.update() e
+ * GameScreen.render() (isKeyJustPressed = uma ação por toque).
+ */
+public final class KeyboardInput implements RiderInput {
+
+    @Override
+    public int poll(GameSimulation sim, float dt) {
+        int acoes = NONE_MASK;
+        if (Gdx.input.isKeyJustPressed(Input.Keys.LEFT))
+            acoes |= LEFT;
+        if (Gdx.input.isKeyJustPressed(Input.Keys.RIGHT))
+            acoes |= RIGHT;
+        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE))
+            acoes |= BOOST;
+        return acoes;
+    }
+}
@@ -11,6 +11,7 @@ import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.felipemelantonio.motorunneriot.MotoRunnerGame;
+import com.felipemelantonio.motorunneriot.utils.Carregador;
 
 /**
  * LevelCompleteScreen
@@ -30,6 +31,11 @@ import com.felipemelantonio.motorunneriot.MotoRunnerGame;
  * - ESC → também volta pro menu
  * - Desenhar um retângulo semitransparente atrás do texto
  * para melhorar a legibilidade (overlay por cima da imagem).
+ *
+ * Tudo isso é estático: o conteúdo é desenhado uma vez só num FrameBuffer
+ * (QuadroEstatico) e a tela roda com renderização NÃO contínua (só há
+ * frame quando chega input ou a janela muda de tamanho), como a
+ * GameOverScreen.
  */
 public class LevelCompleteScreen implements Screen {
 
@@ -53,6 +59,9 @@ public class LevelCompleteScreen implements Screen {
     private Texture background; // imagem de fundo de "level up"
     private ShapeRenderer shapeRenderer; // usado para desenhar o retângulo semitransparente
 
+    // Fundo + retângulo + textos prontos num FrameBuffer (refeito só no resize)
+    private final QuadroEstatico quadro = new QuadroEstatico(this::desenhaConteudo);
+
     /**
      * Construtor da tela de "fase concluída".
      *
@@ -89,6 +98,7 @@ public class LevelCompleteScreen implements Screen {
     public void show() {
         // Cria um SpriteBatch só para esta tela.
         batch = new SpriteBatch();
+        game.getPerfOverlay().observa(batch); // render calls no overlay F3
 
         // Cria duas fontes:
         // - fontBig: usada para o texto central (poderia exibir "Fase X Concluída", por
@@ -99,7 +109,7 @@ public class LevelCompleteScreen implements Screen {
 
         // Carrega a imagem de fundo da tela de nível concluído.
         // Essa textura normalmente é uma arte de "Level Complete" ou "Parabéns".
-        background = new Texture("levelup.png"); // imagem de fundo em fullscreen
+        background = Carregador.textura("levelup.png"); // imagem de fundo em fullscreen
 
         // ShapeRenderer será usado para desenhar o retângulo semitransparente
         // atrás dos textos do rodapé, melhorando a leitura.
@@ -110,38 +120,78 @@ public class LevelCompleteScreen implements Screen {
         // - Informações em branco
         fontBig.setColor(Color.GOLD);
         fontSmall.setColor(Color.WHITE);
+
+        // Daqui em diante só há frame com input; pede um para o quadro aparecer
+        Gdx.graphics.setContinuousRendering(false);
+        Gdx.graphics.requestRendering();
     }
 
     /**
      * render(delta)
      * --------------
-     * Chamado em todo frame enquanto essa tela está ativa.
+     * Chamado a cada frame enquanto essa tela está ativa (sem renderização
+     * contínua: quando chega input ou a janela muda de tamanho).
      *
      * Fluxo:
-     * 1) Limpa a tela.
-     * 2) Desenha a imagem de fundo.
-     * 3) Calcula os textos e suas larguras (para centralizar tudo no rodapé).
-     * 4) Desenha um retângulo semitransparente atrás dos textos do rodapé.
-     * 5) Desenha os textos por cima do retângulo.
-     * 6) Desenha uma mensagem central de destaque (fontBig).
-     * 7) Lê o input do jogador (teclas) e faz a navegação entre telas.
+     * 1) Copia para a tela o quadro pronto (desenhado uma vez só em
+     * desenhaConteudo()).
+     * 2) Lê o input do jogador (teclas) e faz a navegação entre telas.
      */
     @Override
     public void render(float delta) {
-        // 1) Limpa a tela com a cor preta.
-        Gdx.gl.glClearColor(0, 0, 0, 1);
-        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        // 1) Limpa a tela e desenha o quadro pronto (na primeira vez, desenha
+        // o conteúdo no FrameBuffer antes)
+        quadro.desenha(batch);
+
+        // 2) Navegação (input de teclado)
+        // Aqui definimos o que acontece quando o jogador aperta cada tecla.
+
+        // (uma troca por frame: o setScreen() já libera esta tela)
+
+        // ENTER ou ESPAÇO → volta para o Menu principal
+        if (Gdx.input.isKeyJustPressed(Input.Keys.ENTER) ||
+                Gdx.input.isKeyJustPressed(Input.Keys.SPACE))
+            game.setScreen(new MenuScreen(game));
+
+        // R → repetir a mesma fase que acabou de ser concluída
+        else if (Gdx.input.isKeyJustPressed(Input.Keys.R))
+            game.setScreen(new GameScreen(game, fase));
+
+        // 1, 2 ou 3 → ir direto para uma fase específica
+        else if (Gdx.input.isKeyJustPressed(Input.Keys.NUM_1))
+            game.setScreen(new GameScreen(game, 1));
+        else if (Gdx.input.isKeyJustPressed(Input.Keys.NUM_2))
+            game.setScreen(new GameScreen(game, 2));
+        else if (Gdx.input.isKeyJustPressed(Input.Keys.NUM_3))
+            game.setScreen(new GameScreen(game, 3));
+
+        // ESC → também volta para o Menu
+        else if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE))
+            game.setScreen(new MenuScreen(game));
+    }
 
+    /**
+     * desenhaConteudo()
+     * -----------------
+     * O desenho de verdade da tela, chamado pelo QuadroEstatico com o
+     * FrameBuffer ligado (na primeira vez e depois de um resize):
+     * 1) Desenha a imagem de fundo.
+     * 2) Calcula os textos e suas larguras (para centralizar tudo no rodapé).
+     * 3) Desenha um retângulo semitransparente atrás dos textos do rodapé.
+     * 4) Desenha os textos por cima do retângulo.
+     * 5) Desenha uma mensagem central de destaque (fontBig).
+     */
+    private void desenhaConteudo() {
         // Pega dimensões atuais da tela para desenhar em qualquer resolução.
         float screenWidth = Gdx.graphics.getWidth();
         float screenHeight = Gdx.graphics.getHeight();
 
-        // 2) Desenha a imagem de fundo em fullscreen.
+        // 1) Desenha a imagem de fundo em fullscreen.
         batch.begin();
         batch.draw(background, 0, 0, screenWidth, screenHeight);
         batch.end();
 
-        // 3) Prepara os textos que aparecerão no rodapé (informações e atalhos).
+        // 2) Prepara os textos que aparecerão no rodapé (informações e atalhos).
         String texto2 = "Distância: " + distanciaFinal + " m";
         String texto3 = "Moedas: " + moedas;
         String texto4 = "ENTER / ESPAÇO — Menu";
@@ -176,7 +226,7 @@ public class LevelCompleteScreen implements Screen {
         // Altura (Y) onde os textos do rodapé serão desenhados
         float y = 50f; // próximo ao rodapé
 
-        // 4) Desenha um retângulo preto semitransparente atrás dos textos
+        // 3) Desenha um retângulo preto semitransparente atrás dos textos
         // para aumentar contraste e legibilidade.
 
         // Altura do retângulo
@@ -201,7 +251,7 @@ public class LevelCompleteScreen implements Screen {
         // Desabilita blend depois de desenhar formas semitransparentes
         Gdx.gl.glDisable(GL20.GL_BLEND);
 
-        // 5) Desenha os textos do rodapé por cima do retângulo
+        // 4) Desenha os textos do rodapé por cima do retângulo
         batch.begin();
 
         float currentX = startX;
@@ -227,7 +277,7 @@ public class LevelCompleteScreen implements Screen {
 
         batch.end();
 
-        // 6) Mensagem central de destaque (texto grande no meio da tela)
+        // 5) Mensagem central de destaque (texto grande no meio da tela)
         // Aqui você deixou a string vazia, mas poderia ser algo como:
         // "FASE " + fase + " CONCLUÍDA!"
         batch.begin();
@@ -236,39 +286,26 @@ public class LevelCompleteScreen implements Screen {
         // Você pode trocar por um texto real se quiser mostrar algo na apresentação.
         fontBig.draw(batch, " " + " ", screenWidth / 2f - 180, screenHeight / 2f + 80);
         batch.end();
-
-        // 7) Navegação (input de teclado)
-        // Aqui definimos o que acontece quando o jogador aperta cada tecla.
-
-        // ENTER ou ESPAÇO → volta para o Menu principal
-        if (Gdx.input.isKeyJustPressed(Input.Keys.ENTER) ||
-                Gdx.input.isKeyJustPressed(Input.Keys.SPACE))
-            game.setScreen(new MenuScreen(game));
-
-        // R → repetir a mesma fase que acabou de ser concluída
-        if (Gdx.input.isKeyJustPressed(Input.Keys.R))
-            game.setScreen(new GameScreen(game, fase));
-
-        // 1, 2 ou 3 → ir direto para uma fase específica
-        if (Gdx.input.isKeyJustPressed(Input.Keys.NUM_1))
-            game.setScreen(new GameScreen(game, 1));
-        if (Gdx.input.isKeyJustPressed(Input.Keys.NUM_2))
-            game.setScreen(new GameScreen(game, 2));
-        if (Gdx.input.isKeyJustPressed(Input.Keys.NUM_3))
-            game.setScreen(new GameScreen(game, 3));
-
-        // ESC → também volta para o Menu
-        if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE))
-            game.setScreen(new MenuScreen(game));
     }
 
-    // Métodos padrão da Screen que não precisam de lógica específica aqui.
-    // Eles são obrigatórios pela interface, então declaramos vazios.
-
+    /**
+     * resize(width, height)
+     * ----------------------
+     * Ajusta as projeções ao novo tamanho e joga fora o quadro pronto (ele
+     * é refeito no próximo frame, que o próprio resize já provoca).
+     */
     @Override
     public void resize(int width, int height) {
+        if (batch == null)
+            return;
+        batch.getProjectionMatrix().setToOrtho2D(0, 0, width, height);
+        shapeRenderer.getProjectionMatrix().setToOrtho2D(0, 0, width, height);
+        quadro.invalida();
     }
 
+    // Métodos padrão da Screen que não precisam de lógica específica aqui.
+    // Eles são obrigatórios pela interface, então declaramos vazios.
+
     @Override
     public void pause() {
     }
@@ -277,8 +314,28 @@ public class LevelCompleteScreen implements Screen {
     public void resume() {
     }
 
+    // Saindo desta tela: a próxima (jogo, menu) volta a ter frames contínuos
     @Override
     public void hide() {
+        Gdx.graphics.setContinuousRendering(true);
+    }
+
+    // Consultas (usadas pelo ScreenHarness do módulo headless)
+    public int getFase() {
+        return fase;
+    }
+
+    public int getDistanciaFinal() {
+        return distanciaFinal;
+    }
+
+    public int getMoedas() {
+        return moedas;
+    }
+
+    /** Quantas vezes o conteúdo foi desenhado (1, a não ser que haja resize). */
+    public int getQuadrosRefeitos() {
+        return quadro.getRefeitos();
     }
 
     /**
@@ -289,6 +346,7 @@ public class LevelCompleteScreen implements Screen {
      * - as duas fontes
      * - textura de fundo
      * - ShapeRenderer
+     * - FrameBuffer do quadro pronto
      *
      * É chamado quando a tela não será mais usada, evitando vazamento de memória.
      */
@@ -304,5 +362,6 @@ public class LevelCompleteScreen implements Screen {
             background.dispose();
         if (shapeRenderer != null)
             shapeRenderer.dispose();
+        quadro.dispose();
     }
 }
@@ -12,6 +12,7 @@ import com.badlogic.gdx.math.Rectangle;
 import com.felipemelantonio.motorunneriot.MotoRunnerGame;
 import com.felipemelantonio.motorunneriot.entities.Background;
 import com.felipemelantonio.motorunneriot.entities.Moto;
+import com.felipemelantonio.motorunneriot.utils.Carregador;
 
 /**
  * LevelSelectScreen
@@ -102,6 +103,7 @@ public class LevelSelectScreen implements Screen {
     @Override
     public void show() {
         batch = new SpriteBatch();
+        game.getPerfOverlay().observa(batch); // render calls no overlay F3
 
         // Fonte para a dica ("1/2/3 navegar ...") no rodapé.
         hint = new BitmapFont();
@@ -117,10 +119,10 @@ public class LevelSelectScreen implements Screen {
         moto.setControlsEnabled(false);
 
         // Carrega as texturas do título e dos botões de nível.
-        texTitulo = new Texture("Selecionar.png");
-        texN1 = new Texture("Nivel1.png");
-        texN2 = new Texture("Nivel2.png");
-        texN3 = new Texture("Nivel3.png");
+        texTitulo = Carregador.textura("Selecionar.png");
+        texN1 = Carregador.textura("Nivel1.png");
+        texN2 = Carregador.textura("Nivel2.png");
+        texN3 = Carregador.textura("Nivel3.png");
 
         // Define filtros LINEAR nas texturas para ficarem mais suaves ao redimensionar.
         texTitulo.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
@@ -201,6 +203,9 @@ public class LevelSelectScreen implements Screen {
 
         // Lê input de mouse/teclado (troca de fase, ESC, etc.)
         handleInput();
+        // Trocou de tela: esta já foi liberada pelo setScreen()
+        if (game.getScreen() != this)
+            return;
 
         // Limpa a tela antes de desenhar
         Gdx.gl.glClearColor(0, 0, 0, 1);
@@ -274,16 +279,16 @@ public class LevelSelectScreen implements Screen {
             }
         }
 
-        // Navegação por teclado: números 1, 2, 3
+        // Navegação por teclado: números 1, 2, 3 e ESC volta para o menu principal
+        // (uma troca por frame: o setScreen() já libera esta tela, e duas
+        // teclas no mesmo frame criariam uma GameScreen que nunca joga)
         if (Gdx.input.isKeyJustPressed(Input.Keys.NUM_1))
             game.setScreen(new GameScreen(game, 1));
-        if (Gdx.input.isKeyJustPressed(Input.Keys.NUM_2))
+        else if (Gdx.input.isKeyJustPressed(Input.Keys.NUM_2))
             game.setScreen(new GameScreen(game, 2));
-        if (Gdx.input.isKeyJustPressed(Input.Keys.NUM_3))
+        else if (Gdx.input.isKeyJustPressed(Input.Keys.NUM_3))
             game.setScreen(new GameScreen(game, 3));
-
-        // ESC volta para a tela de menu principal
-        if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE))
+        else if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE))
             game.setScreen(new MenuScreen(game));
     }
 
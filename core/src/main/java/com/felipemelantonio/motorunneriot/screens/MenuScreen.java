@@ -12,6 +12,8 @@ import com.badlogic.gdx.math.Rectangle;
 import com.felipemelantonio.motorunneriot.MotoRunnerGame;
 import com.felipemelantonio.motorunneriot.entities.Background;
 import com.felipemelantonio.motorunneriot.entities.Moto;
+import com.felipemelantonio.motorunneriot.utils.Carregador;
+import com.felipemelantonio.motorunneriot.utils.GameRandom;
 
 /**
  * MenuScreen
@@ -23,6 +25,8 @@ import com.felipemelantonio.motorunneriot.entities.Moto;
  * - desenho uma moto andando no fundo só pra dar vida
  * - desenho o logo e os botões "Jogar" e "Sair"
  * - trato o input do mouse/teclado para trocar de tela ou sair do jogo
+ * - se ninguém mexer em nada por IDLE_ATTRACT_S segundos, abro o modo
+ * demonstração (GameScreen com o piloto automático numa fase sorteada)
  *
  * Essa classe IMPLEMENTA a interface Screen do LibGDX, então o ciclo de vida é:
  * - show() -> chamado quando essa tela vira a tela ativa
@@ -65,6 +69,10 @@ public class MenuScreen implements Screen {
     // Velocidade usada para animar o fundo e a moto no menu
     private float roadSpeed = 280f;
 
+    // Tempo parado no menu até abrir o modo demonstração
+    private static final float IDLE_ATTRACT_S = 20f;
+    private float idle;
+
     // Posição X/Y e tamanho (largura/altura) do logo na tela.
     // São calculados no método layout().
     private float _logoX, _logoY, _logoW, _logoH;
@@ -93,6 +101,7 @@ public class MenuScreen implements Screen {
     public void show() {
         // Cria o SpriteBatch e as fontes
         batch = new SpriteBatch();
+        game.getPerfOverlay().observa(batch); // render calls no overlay F3
         font = new BitmapFont();
         small = new BitmapFont();
 
@@ -130,7 +139,7 @@ public class MenuScreen implements Screen {
      * loadOrNull(path)
      * ----------------
      * Tenta carregar uma textura do arquivo indicado.
-     * - Se o arquivo existe → retorna new Texture(path)
+     * - Se o arquivo existe → retorna a textura (Carregador.textura)
      * - Se NÃO existe ou der erro → retorna null
      *
      * Isso evita o jogo CRASHAR se esquecer de copiar uma imagem para o assets.
@@ -139,7 +148,7 @@ public class MenuScreen implements Screen {
         try {
             if (!Gdx.files.internal(path).exists())
                 return null;
-            return new Texture(path);
+            return Carregador.textura(path);
         } catch (Exception e) {
             return null;
         }
@@ -246,6 +255,23 @@ public class MenuScreen implements Screen {
 
         // Processa teclas e cliques do usuário
         handleInput();
+        // Trocou de tela: esta já foi liberada pelo setScreen()
+        if (game.getScreen() != this)
+            return;
+
+        // Menu parado por muito tempo: o autopilot joga uma fase de demonstração
+        if (Gdx.input.isKeyPressed(Input.Keys.ANY_KEY) || Gdx.input.isTouched()) {
+            idle = 0f;
+        } else {
+            idle += dt;
+            if (idle >= IDLE_ATTRACT_S) {
+                idle = 0f;
+                // Fase sorteada pelo GameRandom (com -Dmotorunner.seed, sempre a mesma)
+                int faseDemo = 1 + GameRandom.newSession().stream(GameRandom.Stream.ATTRACT).nextInt(3);
+                game.setScreen(new GameScreen(game, faseDemo, true));
+                return;
+            }
+        }
 
         // Limpa a tela com preto
         Gdx.gl.glClearColor(0, 0, 0, 1);
@@ -322,6 +348,7 @@ public class MenuScreen implements Screen {
         if (Gdx.input.isKeyJustPressed(Input.Keys.ENTER) ||
                 Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
             game.setScreen(new LevelSelectScreen(game));
+            return; // esta tela já foi liberada pelo setScreen()
         }
 
         // ESC encerra o jogo
@@ -356,7 +383,7 @@ public class MenuScreen implements Screen {
     @Override
     public void hide() {
         // Chamado quando outra tela entra no lugar.
-        // Quem chama setScreen() geralmente em seguida chama dispose().
+        // O MotoRunnerGame.setScreen() chama dispose() logo em seguida.
     }
 
     /**
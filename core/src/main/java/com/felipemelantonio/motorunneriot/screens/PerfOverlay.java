@@ -0,0 +1,298 @@
+package com.felipemelantonio.motorunneriot.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.felipemelantonio.motorunneriot.sim.GameSimulation;
+import com.felipemelantonio.motorunneriot.utils.Numeros;
+
+import java.util.Arrays;
+
+/**
+ * PerfOverlay
+ * ===========
+ * Overlay de desempenho (F3) por cima de QUALQUER tela: o MotoRunnerGame
+ * chama inicioFrame()/fimFrame() em volta do render() da tela ativa.
+ *
+ * Mostra:
+ * - FPS e percentis (p50/p95/p99/máx) do tempo entre frames numa janela
+ * deslizante de JANELA frames;
+ * - tempo de CPU do frame dividido em simulação (GameScreen informa o
+ * sim.step) e o resto (desenho, som, input);
+ * - contadores do GLProfiler por frame: draw calls, binds de textura,
+ * trocas de shader e vértices, mais os render calls do SpriteBatch da
+ * tela (cada tela registra o seu com observa());
+ * - carros e moedas vivos (só na GameScreen) e heap usada.
+ *
+ * Para custar pouco:
+ * - o GLProfiler (que embrulha todas as chamadas GL) só fica ligado com o
+ * overlay aberto;
+ * - as amostras vão para arrays de primitivos e o texto é refeito só
+ * ATUALIZACOES_POR_S vezes por segundo, em StringBuilders reaproveitados
+ * (nada de String.format nem de concatenação por frame);
+ * - os contadores GL são lidos ANTES de o próprio overlay desenhar, então
+ * não entram na conta.
+ */
+public final class PerfOverlay {
+
+    /** Frames na janela dos percentis (~5 s a 60 FPS). */
+    public static final int JANELA = 300;
+
+    /** Quantas vezes por segundo os números do overlay mudam. */
+    public static final int ATUALIZACOES_POR_S = 4;
+
+    private static final int LINHAS = 6;
+
+    private boolean visivel;
+
+    // GL: criado na primeira vez que o overlay abre
+    private GLProfiler profiler;
+    private SpriteBatch batch;
+    private BitmapFont font;
+
+    // Janela deslizante do tempo entre frames (ms)
+    private final float[] janela = new float[JANELA];
+    private final float[] ordenada = new float[JANELA]; // cópia para os percentis
+    private int amostras; // quantas posições da janela já têm valor
+    private int proxima; // próxima posição a escrever
+
+    // Frame atual
+    private long inicioNanos;
+    private long simNanos;
+    private SpriteBatch observado; // batch da tela ativa
+    private int renderCallsAntes;
+
+    // Somas do período desde a última atualização do texto
+    private int framesPeriodo;
+    private float segundosPeriodo;
+    private long simPeriodo, cpuPeriodo;
+    private long drawsPeriodo, bindsPeriodo, shadersPeriodo, renderCallsPeriodo;
+    private double verticesPeriodo;
+    private int carros = -1, moedas = -1;
+    private float drawsPorFrame; // do último período (ferramentas)
+
+    private final StringBuilder[] linhas = new StringBuilder[LINHAS];
+
+    public PerfOverlay() {
+        for (int i = 0; i < LINHAS; i++)
+            linhas[i] = new StringBuilder(96);
+    }
+
+    /** Liga/desliga o overlay (e o GLProfiler junto). */
+    public void alterna() {
+        setVisivel(!visivel);
+    }
+
+    public void setVisivel(boolean v) {
+        if (v == visivel)
+            return;
+        visivel = v;
+        if (v) {
+            if (profiler == null) {
+                profiler = new GLProfiler(Gdx.graphics);
+                batch = new SpriteBatch();
+                font = new BitmapFont();
+                font.setColor(Color.YELLOW);
+            }
+            profiler.enable();
+            profiler.reset();
+            zeraPeriodo();
+            amostras = proxima = 0;
+            linhas[0].setLength(0);
+            linhas[0].append("medindo...");
+            for (int i = 1; i < LINHAS; i++)
+                linhas[i].setLength(0);
+        } else {
+            profiler.disable();
+        }
+    }
+
+    public boolean isVisivel() {
+        return visivel;
+    }
+
+    // ===================== Medição (chamada pelo MotoRunnerGame) =====================
+
+    /** Antes do render() da tela. */
+    public void inicioFrame() {
+        if (!visivel)
+            return;
+        profiler.reset();
+        simNanos = 0;
+        renderCallsAntes = observado != null ? observado.totalRenderCalls : 0;
+        inicioNanos = System.nanoTime();
+    }
+
+    /**
+     * A tela informa o SpriteBatch dela (no show()). O renderCalls do batch
+     * zera a cada begin(); o totalRenderCalls só cresce, então a diferença
+     * entre o começo e o fim do frame dá os render calls do frame inteiro.
+     */
+    public void observa(SpriteBatch b) {
+        observado = b;
+        renderCallsAntes = b.totalRenderCalls; // troca de tela no meio do frame
+    }
+
+    /** A GameScreen informa quanto do frame foi sim.step() (soma, se houver mais de um). */
+    public void simulacao(long nanos) {
+        simNanos += nanos;
+    }
+
+    /**
+     * Depois do render() da tela: guarda as medidas do frame, refaz o texto
+     * se deu o período e desenha o overlay por cima.
+     *
+     * @param tela            a tela ativa agora (a GameScreen dá as entidades vivas)
+     * @param intervaloValido false se o delta do frame é tempo parado (frame
+     *                        acordado por input sem renderização contínua):
+     *                        ele fica fora da janela de frame ms
+     */
+    public void fimFrame(Screen tela, boolean intervaloValido) {
+        if (!visivel)
+            return;
+        long cpu = System.nanoTime() - inicioNanos;
+        float dt = Gdx.graphics.getDeltaTime();
+
+        if (intervaloValido) {
+            janela[proxima] = dt * 1000f;
+            proxima = (proxima + 1) % JANELA;
+            if (amostras < JANELA)
+                amostras++;
+            segundosPeriodo += dt;
+        }
+
+        // Contadores GL antes de o overlay desenhar
+        framesPeriodo++;
+        cpuPeriodo += cpu;
+        simPeriodo += simNanos;
+        drawsPeriodo += profiler.getDrawCalls();
+        bindsPeriodo += profiler.getTextureBindings();
+        shadersPeriodo += profiler.getShaderSwitches();
+        verticesPeriodo += profiler.getVertexCount().total;
+        if (observado != null)
+            renderCallsPeriodo += observado.totalRenderCalls - renderCallsAntes;
+        if (tela instanceof GameScreen) {
+            GameSimulation sim = ((GameScreen) tela).getSimulation();
+            carros = sim.getCarros().size;
+            moedas = sim.getMoedas().size;
+        } else {
+            carros = moedas = -1;
+        }
+
+        if (segundosPeriodo >= 1f / ATUALIZACOES_POR_S) {
+            atualizaTexto();
+            zeraPeriodo();
+        }
+        desenha();
+    }
+
+    private void zeraPeriodo() {
+        framesPeriodo = 0;
+        segundosPeriodo = 0f;
+        simPeriodo = cpuPeriodo = 0;
+        drawsPeriodo = bindsPeriodo = shadersPeriodo = renderCallsPeriodo = 0;
+        verticesPeriodo = 0;
+    }
+
+    // ===================== Texto =====================
+
+    private void atualizaTexto() {
+        // Percentis: cópia da janela ordenada (primitivos, sem alocar)
+        System.arraycopy(janela, 0, ordenada, 0, amostras);
+        Arrays.sort(ordenada, 0, amostras);
+        float f = framesPeriodo;
+
+        StringBuilder sb = linhas[0];
+        sb.setLength(0);
+        sb.append("FPS ").append(Gdx.graphics.getFramesPerSecond()).append(" | frame ms p50 ");
+        Numeros.appendDecimal(sb, percentil(50), 1).append(" p95 ");
+        Numeros.appendDecimal(sb, percentil(95), 1).append(" p99 ");
+        Numeros.appendDecimal(sb, percentil(99), 1).append(" máx ");
+        Numeros.appendDecimal(sb, ordenada[amostras - 1], 1).append(" (").append(amostras).append(" frames)");
+
+        sb = linhas[1];
+        sb.setLength(0);
+        sb.append("CPU ms/frame: simulação ");
+        Numeros.appendDecimal(sb, simPeriodo / f / 1e6f, 2).append(" | render ");
+        Numeros.appendDecimal(sb, (cpuPeriodo - simPeriodo) / f / 1e6f, 2);
+
+        sb = linhas[2];
+        sb.setLength(0);
+        drawsPorFrame = drawsPeriodo / f;
+        sb.append("GL/frame: draws ");
+        Numeros.appendDecimal(sb, drawsPorFrame, 1).append(" | binds ");
+        Numeros.appendDecimal(sb, bindsPeriodo / f, 1).append(" | shaders ");
+        Numeros.appendDecimal(sb, shadersPeriodo / f, 1).append(" | vértices ");
+        sb.append(Math.round(verticesPeriodo / f)).append(" | renderCalls ");
+        Numeros.appendDecimal(sb, renderCallsPeriodo / f, 1);
+
+        sb = linhas[3];
+        sb.setLength(0);
+        sb.append("Entidades: ");
+        if (carros >= 0)
+            sb.append("carros ").append(carros).append(" | moedas ").append(moedas);
+        else
+            sb.append('-');
+
+        Runtime rt = Runtime.getRuntime();
+        long usada = rt.totalMemory() - rt.freeMemory();
+        sb = linhas[4];
+        sb.setLength(0);
+        sb.append("Heap: ");
+        Numeros.appendDecimal(sb, usada / (1024f * 1024f), 1).append(" / ");
+        Numeros.appendDecimal(sb, rt.maxMemory() / (1024f * 1024f), 0).append(" MB");
+
+        sb = linhas[5];
+        sb.setLength(0);
+        sb.append("F3 = fechar");
+    }
+
+    // Percentil p (0..100) da janela ordenada (vizinho mais próximo)
+    private float percentil(int p) {
+        int i = (int) Math.ceil(p / 100.0 * amostras) - 1;
+        return ordenada[Math.max(0, Math.min(amostras - 1, i))];
+    }
+
+    private void desenha() {
+        float w = Gdx.graphics.getWidth();
+        float h = Gdx.graphics.getHeight();
+        batch.getProjectionMatrix().setToOrtho2D(0, 0, w, h); // acompanha resize
+        batch.begin();
+        float y = h * 0.5f;
+        float linha = font.getLineHeight();
+        for (int i = 0; i < LINHAS; i++) {
+            font.draw(batch, linhas[i], 10, y);
+            y -= linha;
+        }
+        batch.end();
+    }
+
+    // ===================== Leituras (ferramentas) =====================
+
+    /** Draw calls por frame (média do último período) segundo o GLProfiler. */
+    public float getDrawCallsPorFrame() {
+        return drawsPorFrame;
+    }
+
+    /** Linha i do texto atual do overlay. */
+    public CharSequence getLinha(int i) {
+        return linhas[i];
+    }
+
+    public void dispose() {
+        if (profiler != null && profiler.isEnabled())
+            profiler.disable();
+        visivel = false;
+        if (batch != null)
+            batch.dispose();
+        if (font != null)
+            font.dispose();
+        batch = null;
+        font = null;
+        profiler = null;
+        observado = null;
+    }
+}
@@ -0,0 +1,89 @@
+package com.felipemelantonio.motorunneriot.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * QuadroEstatico
+ * ==============
+ * Conteúdo de uma tela que não muda (GameOver, LevelComplete) desenhado
+ * UMA vez num FrameBuffer e, dali em diante, copiado para a tela com um
+ * único draw.
+ *
+ * O desenho de verdade (fundo em tela cheia, textos, retângulo com blend)
+ * fica no Runnable passado no construtor; ele roda com o FrameBuffer
+ * ligado na primeira vez e depois de invalida() (a tela chama no resize).
+ *
+ * O FrameBuffer tem o tamanho do back buffer (em HiDPI sai nítido) e o
+ * desenho continua usando as coordenadas de sempre (getWidth/getHeight):
+ * o viewport do FrameBuffer estica um no outro.
+ *
+ * A cópia para a tela é feita com o blend DESLIGADO: o retângulo
+ * semitransparente e as bordas das letras deixam alpha < 1 no
+ * FrameBuffer, e com blend a imagem sairia escurecida pelo preto de fundo.
+ */
+public final class QuadroEstatico implements Disposable {
+
+    private final Runnable desenho;
+    private FrameBuffer fbo;
+    private TextureRegion quadro;
+    private int refeitos; // quantas vezes o desenho rodou (para as ferramentas)
+
+    /** @param desenho desenha o conteúdo da tela (batch fora de begin()) */
+    public QuadroEstatico(Runnable desenho) {
+        this.desenho = desenho;
+    }
+
+    /** Desenha o quadro na tela, refazendo o conteúdo se preciso. */
+    public void desenha(SpriteBatch batch) {
+        if (fbo == null)
+            refaz();
+
+        Gdx.gl.glClearColor(0, 0, 0, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        batch.disableBlending();
+        batch.begin();
+        batch.draw(quadro, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        batch.end();
+        batch.enableBlending();
+    }
+
+    /** O conteúdo mudou (ou a tela mudou de tamanho): refaz no próximo desenha(). */
+    public void invalida() {
+        if (fbo != null) {
+            fbo.dispose();
+            fbo = null;
+        }
+    }
+
+    /** Quantas vezes o conteúdo foi desenhado no FrameBuffer. */
+    public int getRefeitos() {
+        return refeitos;
+    }
+
+    private void refaz() {
+        int largura = Math.max(1, Gdx.graphics.getBackBufferWidth());
+        int altura = Math.max(1, Gdx.graphics.getBackBufferHeight());
+        fbo = new FrameBuffer(Pixmap.Format.RGBA8888, largura, altura, false);
+        // A textura do FrameBuffer fica de cabeça para baixo (origem embaixo)
+        quadro = new TextureRegion(fbo.getColorBufferTexture());
+        quadro.flip(false, true);
+
+        fbo.begin();
+        Gdx.gl.glClearColor(0, 0, 0, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        desenho.run();
+        fbo.end();
+        refeitos++;
+    }
+
+    @Override
+    public void dispose() {
+        invalida();
+    }
+}
@@ -0,0 +1,415 @@
+package com.felipemelantonio.motorunneriot.sim;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.felipemelantonio.motorunneriot.entities.Carro;
+import com.felipemelantonio.motorunneriot.entities.Moeda;
+import com.felipemelantonio.motorunneriot.entities.Moto;
+
+/**
+ * AutopilotInput
+ * ==============
+ * Piloto automático com "olhar à frente" (lookahead): a cada frame prevê
+ * alguns segundos do trânsito que já está na pista e escolhe a rota de
+ * faixas (e as pedaladas) mais segura que também pega moedas.
+ *
+ * Modelo de previsão
+ * ------------------
+ * - O tempo é dividido em passos de STEP_S segundos (profundidade = número
+ * de passos olhados à frente).
+ * - Cada carro desce com (velocidade do mundo + velocidade própria); cada
+ * moeda desce com a velocidade do mundo. Carros que ainda vão nascer não
+ * são conhecidos.
+ * - Uma troca de faixa leva menos que um passo; durante o passo da troca a
+ * moto é considerada nas DUAS faixas (conservador).
+ * - O boost muda a velocidade do mundo, então cada "plano de pedalada"
+ * (nunca, só agora, sempre) gera um deslocamento diferente do trânsito.
+ *
+ * Busca
+ * -----
+ * Para cada plano de pedalada, uma programação dinâmica de trás para frente
+ * sobre (passo, faixa) avalia TODAS as rotas de faixas do horizonte:
+ * V[t][l] = melhor valor partindo da faixa l no passo t. Rotas que batem
+ * recebem uma penalidade menor quanto mais tarde batem (sobreviver mais é
+ * melhor), moedas somam pontos e trocar de faixa custa um pouco.
+ *
+ * A profundidade cresce um passo por vez (aprofundamento iterativo) até
+ * MAX_DEPTH ou até estourar o orçamento de tempo do frame; vale a última
+ * profundidade completa. Com orçamento 0 não há corte por tempo e a decisão
+ * só depende do estado (útil no simulador com --deterministic).
+ *
+ * Métricas: profundidade, latência (ns) e células avaliadas de cada decisão,
+ * mais acumulados (média e máximo) para o HUD e o simulador.
+ */
+public final class AutopilotInput implements RiderInput {
+
+    /** Duração de um passo da previsão (s). */
+    public static final float STEP_S = 0.2f;
+
+    /** Profundidade máxima (passos): 20 x 0.2 s = 4 s à frente. */
+    public static final int MAX_DEPTH = 20;
+
+    /** Orçamento padrão por decisão: 1 ms. */
+    public static final long DEFAULT_BUDGET_NANOS = 1_000_000L;
+
+    // Planos de pedalada avaliados
+    private static final int PLANO_SEM_BOOST = 0;
+    private static final int PLANO_BOOST_AGORA = 1;
+    private static final int PLANO_BOOST_SEMPRE = 2;
+    private static final int PLANOS = 3;
+
+    // Pesos da avaliação
+    private static final float BATIDA = -1000f; // rota que bate...
+    private static final float SOBREVIDA_POR_PASSO = 20f; // ...vale um pouco mais por passo sobrevivido
+    private static final float MOEDA = 5f;
+    private static final float TROCA_DE_FAIXA = 0.5f;
+    private static final float FOLGA = 3f; // bônus pela faixa livre à frente no fim do horizonte
+    private static final float FOLGA_MAX_PX = 600f;
+    private static final float PROGRESSO_POR_PX = 0.01f; // distância extra ganha com o boost
+
+    // Margem de segurança vertical em volta da moto (px)
+    private static final float MARGEM_PX = 12f;
+
+    // Quão perto do centro da faixa a moto precisa estar para aceitar outra troca
+    private static final float ASSENTADA_PX = 6f;
+
+    private final long budgetNanos;
+    private final int maxDepth; // até onde olhar (passos); MAX_DEPTH = o máximo
+
+    // ==== Retrato do trânsito (reaproveitado a cada decisão, sem alocar) ====
+    private int nCarros;
+    private int[] carLane = new int[32];
+    private float[] carY = new float[32];
+    private float[] carH = new float[32];
+    private float[] carV = new float[32];
+    private int nMoedas;
+    private int[] coinLane = new int[16];
+    private float[] coinMid = new float[16];
+
+    // Deslocamento do mundo no início de cada passo, por plano
+    private final float[][] desloc = new float[PLANOS][MAX_DEPTH + 1];
+    // livre[t][l]: a faixa l não tem carro cruzando a moto no passo t
+    private final boolean[][] livre;
+    // moedas[t][l]: moedas que cruzam a moto na faixa l no passo t
+    private final int[][] moedas;
+    // Programação dinâmica: valor e primeira faixa da melhor rota
+    private final float[][] valor;
+    private final int[][] proxima;
+    private final float[] folga;
+
+    private float sinceBoost = STEP_S; // tempo desde a última pedalada
+
+    // ==== Métricas ====
+    private int lastDepth;
+    private long lastNanos;
+    private long lastCells;
+    private long decisoes;
+    private long somaNanos;
+    private long maxNanos;
+    private long somaDepth;
+
+    public AutopilotInput() {
+        this(DEFAULT_BUDGET_NANOS);
+    }
+
+    /**
+     * @param budgetNanos orçamento de tempo por decisão; 0 = sem limite
+     *                    (sempre MAX_DEPTH, decisão reproduzível)
+     */
+    public AutopilotInput(long budgetNanos) {
+        this(budgetNanos, MAX_DEPTH);
+    }
+
+    /**
+     * @param maxDepth quantos passos de STEP_S olhar à frente (1..MAX_DEPTH);
+     *                 menos passos = piloto mais "míope" (ver SkilledRiderInput)
+     */
+    public AutopilotInput(long budgetNanos, int maxDepth) {
+        this.budgetNanos = budgetNanos;
+        this.maxDepth = Math.max(1, Math.min(MAX_DEPTH, maxDepth));
+        int maxLanes = 4;
+        livre = new boolean[MAX_DEPTH][maxLanes];
+        moedas = new int[MAX_DEPTH][maxLanes];
+        valor = new float[MAX_DEPTH + 1][maxLanes];
+        proxima = new int[MAX_DEPTH][maxLanes];
+        folga = new float[maxLanes];
+    }
+
+    @Override
+    public int poll(GameSimulation sim, float dt) {
+        sinceBoost += dt;
+        if (sim.isFinishing() || sim.isOver())
+            return NONE_MASK;
+
+        long inicio = System.nanoTime();
+        long cells = 0;
+
+        Moto moto = sim.getMoto();
+        Rectangle rm = moto.getBounds();
+        int laneCount = sim.getLaneCount();
+        int lane = moto.getCurrentLaneIndex();
+        float[] centros = sim.getLaneCenters();
+
+        // Ainda no meio de uma troca? Então a faixa de onde saiu também conta
+        // no primeiro passo, e não pedimos outra troca agora.
+        float alvoX = centros[lane] - rm.width / 2f;
+        boolean assentada = Math.abs(rm.x - alvoX) <= ASSENTADA_PX;
+        int faixaAnterior = laneDaPosicao(centros, rm.x + rm.width / 2f);
+
+        retrato(sim);
+
+        float motoBase = rm.y - MARGEM_PX;
+        float motoTopo = rm.y + rm.height + MARGEM_PX;
+        float motoMeio = rm.y + rm.height / 2f;
+
+        int melhorFaixa = lane;
+        int melhorPlano = PLANO_SEM_BOOST;
+        int depth = 0;
+
+        // Aprofundamento iterativo: cada profundidade é uma busca completa.
+        // Sem orçamento não há por que subir aos poucos: vai direto ao máximo.
+        int primeira = budgetNanos > 0 ? 1 : maxDepth;
+        for (int h = primeira; h <= maxDepth; h++) {
+            float melhorValor = Float.NEGATIVE_INFINITY;
+            int faixaH = lane;
+            int planoH = PLANO_SEM_BOOST;
+
+            for (int plano = 0; plano < PLANOS; plano++) {
+                deslocamentos(plano, h, sim.getWorldSpeedBase(), sim.getWorldSpeedBoost());
+                cells += avaliaCelulas(plano, h, laneCount, motoBase, motoTopo, motoMeio);
+                if (faixaAnterior != lane)
+                    livre[0][lane] &= livre[0][faixaAnterior];
+
+                float v = programacaoDinamica(plano, h, laneCount, lane, assentada);
+                // Prefere o plano mais simples em caso de empate
+                if (v > melhorValor) {
+                    melhorValor = v;
+                    faixaH = proxima[0][lane];
+                    planoH = plano;
+                }
+            }
+
+            melhorFaixa = faixaH;
+            melhorPlano = planoH;
+            depth = h;
+
+            if (budgetNanos > 0 && System.nanoTime() - inicio >= budgetNanos)
+                break;
+        }
+
+        int acoes = NONE_MASK;
+        if (assentada && melhorFaixa < lane)
+            acoes |= LEFT;
+        else if (assentada && melhorFaixa > lane)
+            acoes |= RIGHT;
+        if (melhorPlano != PLANO_SEM_BOOST && sinceBoost >= STEP_S) {
+            acoes |= BOOST;
+            sinceBoost = 0f;
+        }
+
+        long nanos = System.nanoTime() - inicio;
+        lastDepth = depth;
+        lastNanos = nanos;
+        lastCells = cells;
+        decisoes++;
+        somaNanos += nanos;
+        somaDepth += depth;
+        if (nanos > maxNanos)
+            maxNanos = nanos;
+        return acoes;
+    }
+
+    /** Copia posição/velocidade de carros e moedas para os arrays do retrato. */
+    private void retrato(GameSimulation sim) {
+        Array<Carro> carros = sim.getCarros();
+        if (carLane.length < carros.size) {
+            int cap = Math.max(carros.size, carLane.length * 2);
+            carLane = new int[cap];
+            carY = new float[cap];
+            carH = new float[cap];
+            carV = new float[cap];
+        }
+        nCarros = carros.size;
+        for (int i = 0; i < nCarros; i++) {
+            Carro c = carros.get(i);
+            carLane[i] = c.getLaneIndex();
+            carY[i] = c.getBounds().y;
+            carH[i] = c.getBounds().height;
+            carV[i] = c.getVelocidade();
+        }
+
+        Array<Moeda> lista = sim.getMoedas();
+        if (coinLane.length < lista.size) {
+            int cap = Math.max(lista.size, coinLane.length * 2);
+            coinLane = new int[cap];
+            coinMid = new float[cap];
+        }
+        nMoedas = lista.size;
+        for (int i = 0; i < nMoedas; i++) {
+            Moeda m = lista.get(i);
+            coinLane[i] = m.getLaneIndex();
+            coinMid[i] = m.getBounds().y + m.getBounds().height / 2f;
+        }
+    }
+
+    /**
+     * Deslocamento acumulado do mundo (px) no início de cada passo, seguindo
+     * as mesmas regras de boost da GameSimulation (pedalada soma, decai com o
+     * tempo, limitado em BOOST_MAX).
+     */
+    private void deslocamentos(int plano, int h, float base, float boost0) {
+        float[] s = desloc[plano];
+        float b = boost0;
+        s[0] = 0f;
+        for (int t = 0; t < h; t++) {
+            boolean pedala = plano == PLANO_BOOST_SEMPRE || (plano == PLANO_BOOST_AGORA && t == 0);
+            if (pedala)
+                b = Math.min(GameSimulation.BOOST_MAX, b + GameSimulation.BOOST_STEP);
+            float bFim = Math.max(1f, b - GameSimulation.BOOST_DECAY * STEP_S);
+            s[t + 1] = s[t] + base * (b + bFim) * 0.5f * STEP_S;
+            b = bFim;
+        }
+    }
+
+    /**
+     * Preenche livre[t][l] e moedas[t][l] para o plano: um carro "ocupa" a
+     * faixa no passo t se o caminho dele durante o passo cruza a faixa
+     * vertical da moto (com margem).
+     *
+     * @return número de células avaliadas (métrica)
+     */
+    private int avaliaCelulas(int plano, int h, int laneCount, float motoBase, float motoTopo,
+            float motoMeio) {
+        float[] s = desloc[plano];
+        for (int t = 0; t < h; t++) {
+            for (int l = 0; l < laneCount; l++) {
+                livre[t][l] = true;
+                moedas[t][l] = 0;
+            }
+            float t0 = t * STEP_S, t1 = (t + 1) * STEP_S;
+            for (int i = 0; i < nCarros; i++) {
+                float yIni = carY[i] - s[t] - carV[i] * t0;
+                float yFim = carY[i] - s[t + 1] - carV[i] * t1;
+                if (yFim < motoTopo && yIni + carH[i] > motoBase)
+                    livre[t][carLane[i]] = false;
+            }
+            for (int i = 0; i < nMoedas; i++) {
+                float mIni = coinMid[i] - s[t];
+                float mFim = coinMid[i] - s[t + 1];
+                if (mIni >= motoMeio && mFim < motoMeio)
+                    moedas[t][coinLane[i]]++;
+            }
+        }
+
+        // Folga de cada faixa no fim do horizonte: distância até o próximo
+        // carro acima da moto (faixa vazia = folga máxima)
+        float tFim = h * STEP_S;
+        for (int l = 0; l < laneCount; l++)
+            folga[l] = FOLGA_MAX_PX;
+        for (int i = 0; i < nCarros; i++) {
+            float y = carY[i] - s[h] - carV[i] * tFim;
+            float gap = y - motoTopo;
+            if (gap >= 0f && gap < folga[carLane[i]])
+                folga[carLane[i]] = gap;
+        }
+        return h * laneCount;
+    }
+
+    /**
+     * Programação dinâmica de trás para frente sobre (passo, faixa).
+     * A moto pode ficar, ir uma faixa para a esquerda ou uma para a direita a
+     * cada passo; no passo de uma troca ela precisa das duas faixas livres.
+     *
+     * @return valor da melhor rota partindo da faixa atual
+     */
+    private float programacaoDinamica(int plano, int h, int laneCount, int lane, boolean assentada) {
+        float progresso = desloc[plano][h] * PROGRESSO_POR_PX;
+        for (int l = 0; l < laneCount; l++)
+            valor[h][l] = FOLGA * folga[l] / FOLGA_MAX_PX + progresso;
+
+        for (int t = h - 1; t >= 0; t--) {
+            for (int l = 0; l < laneCount; l++) {
+                float melhor = Float.NEGATIVE_INFINITY;
+                int melhorL = l;
+                // Ordem: ficar, esquerda, direita (empate = ficar)
+                for (int d = 0; d < 3; d++) {
+                    int nl = d == 0 ? l : d == 1 ? l - 1 : l + 1;
+                    if (nl < 0 || nl >= laneCount)
+                        continue;
+                    // No primeiro passo, sem trocar se a moto ainda não assentou
+                    if (t == 0 && l == lane && nl != l && !assentada)
+                        continue;
+                    float v;
+                    if (!livre[t][l] || !livre[t][nl])
+                        v = BATIDA + SOBREVIDA_POR_PASSO * t;
+                    else
+                        v = valor[t + 1][nl] + MOEDA * moedas[t][nl] - (nl != l ? TROCA_DE_FAIXA : 0f);
+                    if (v > melhor) {
+                        melhor = v;
+                        melhorL = nl;
+                    }
+                }
+                valor[t][l] = melhor;
+                proxima[t][l] = melhorL;
+            }
+        }
+        return valor[0][lane];
+    }
+
+    // Faixa cujo centro está mais perto de x
+    private static int laneDaPosicao(float[] centros, float x) {
+        int melhor = 0;
+        for (int l = 1; l < centros.length; l++) {
+            if (Math.abs(centros[l] - x) < Math.abs(centros[melhor] - x))
+                melhor = l;
+        }
+        return melhor;
+    }
+
+    // =================== Métricas ===================
+
+    /** Profundidade (passos de STEP_S) alcançada na última decisão. */
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    /** Tempo gasto na última decisão (ns). */
+    public long getLastNanos() {
+        return lastNanos;
+    }
+
+    /** Células (passo x faixa) avaliadas na última decisão. */
+    public long getLastCells() {
+        return lastCells;
+    }
+
+    public long getDecisoes() {
+        return decisoes;
+    }
+
+    public long getSomaNanos() {
+        return somaNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getSomaDepth() {
+        return somaDepth;
+    }
+
+    /** Latência média por decisão (ns). */
+    public double getMediaNanos() {
+        return decisoes == 0 ? 0 : (double) somaNanos / decisoes;
+    }
+
+    /** Profundidade média por decisão. */
+    public double getMediaDepth() {
+        return decisoes == 0 ? 0 : (double) somaDepth / decisoes;
+    }
+
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+}
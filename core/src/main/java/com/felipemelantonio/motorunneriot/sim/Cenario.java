@@ -0,0 +1,290 @@
+package com.felipemelantonio.motorunneriot.sim;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.felipemelantonio.motorunneriot.utils.DifficultyParams;
+import com.felipemelantonio.motorunneriot.utils.GameRandom;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Cenario
+ * =======
+ * Uma situação de trânsito descrita num arquivo, carregada direto na
+ * GameSimulation: em vez de jogar até acontecer "um quase-paredão na fase 3
+ * com a moto na faixa 0", o arquivo diz onde está cada carro.
+ *
+ * Serve para:
+ * - reproduzir um bug de trânsito (-Dmotorunner.cenario=ARQUIVO na GameScreen);
+ * - teste de regressão (ScenarioRunner do módulo headless confere o "espera");
+ * - carga fixa de benchmark (CenarioBenchmark).
+ *
+ * Formato (JSON; só "fase" é obrigatório):
+ *
+ * {
+ *   "nome": "paredao-fase3",
+ *   "descricao": "texto livre",
+ *   "fase": 3,
+ *   "tempo": 40.0,            // tempo da fase no LevelManager (s)
+ *   "faixaMoto": 0,
+ *   "seed": 7,                // sub-fluxos da partida (modelos, moedas...)
+ *   "spawns": false,          // IA de spawn continua criando carros/moedas?
+ *   "invulneravel": false,    // colisões só contam (cargas de benchmark)
+ *   "duracao": 4.0,           // segundos jogados pelo ScenarioRunner
+ *   "largura": 1920, "altura": 1080,
+ *   "carros": [ { "faixa": 1, "y": 700, "velocidade": 150 } ],
+ *   "moedas": [ { "faixa": 0, "y": 500 } ],
+ *   "entrada": [ { "t": 0.3, "acao": "RIGHT" }, { "t": 1.0, "acao": "LEFT+BOOST" } ],
+ *   "espera": { "estado": "COLISAO", "antesDe": 3.0, "moedas": 1 }
+ * }
+ *
+ * - y em px a partir da base da tela (a moto fica em y = 80), como na
+ * simulação; velocidade = velocidade PRÓPRIA do carro (px/s, mínimo 60),
+ * somada à do mundo como nos carros da IA;
+ * - "acao": LEFT, RIGHT e BOOST, combináveis com '+';
+ * - "espera" (opcional): estado final (JOGANDO, FINALIZANDO, COLISAO,
+ * CONCLUIDA), "antesDe" = o estado tem que ser alcançado antes desse
+ * instante, "moedas" = mínimo de moedas coletadas.
+ */
+public final class Cenario {
+
+    /** Propriedade de sistema: a GameScreen joga este cenário em vez de uma partida nova. */
+    public static final String PROPERTY = "motorunner.cenario";
+
+    /** Pasta interna (assets) com os cenários de regressão. */
+    public static final String PASTA = "cenarios";
+
+    private String nome = "cenario";
+    private String descricao = "";
+    private int fase = 1;
+    private float tempo;
+    private int faixaMoto = -1; // -1 = faixa do meio (padrão da Moto)
+    private long seed = 1L;
+    private boolean spawns = true;
+    private boolean invulneravel;
+    private float duracao = 5f;
+    private float largura = 1920f, altura = 1080f;
+
+    private final Array<float[]> carros = new Array<>(); // { faixa, y, velocidade }
+    private final Array<float[]> moedas = new Array<>(); // { faixa, y }
+    private float[] instantes = new float[0];
+    private int[] acoes = new int[0];
+
+    // "espera"
+    private GameSimulation.Estado esperaEstado;
+    private float esperaAntesDe = -1f;
+    private int esperaMoedas = -1;
+
+    private Cenario() {
+    }
+
+    // ==================== Carregar ====================
+
+    /** Lê um arquivo de cenário (caminho do sistema de arquivos). */
+    public static Cenario carrega(Path arquivo) throws IOException {
+        Cenario c = fromJson(new String(Files.readAllBytes(arquivo), StandardCharsets.UTF_8));
+        if (c.nome.equals("cenario")) {
+            String f = arquivo.getFileName().toString();
+            c.nome = f.endsWith(".json") ? f.substring(0, f.length() - 5) : f;
+        }
+        return c;
+    }
+
+    /**
+     * Cenário pedido por -Dmotorunner.cenario (ou null). Arquivo quebrado
+     * não trava o jogo: loga e devolve null (partida normal).
+     */
+    public static Cenario doSistema() {
+        String caminho = System.getProperty(PROPERTY);
+        if (caminho == null || caminho.trim().isEmpty())
+            return null;
+        try {
+            return carrega(Paths.get(caminho.trim()));
+        } catch (IOException | RuntimeException e) {
+            if (Gdx.app != null)
+                Gdx.app.log("Cenario", "Cenário inválido (" + e.getMessage() + "), jogando normal");
+            return null;
+        }
+    }
+
+    /**
+     * Lê um JSON no formato descrito acima.
+     *
+     * @throws IllegalArgumentException se faltar a fase ou uma ação for desconhecida
+     */
+    public static Cenario fromJson(String json) {
+        JsonValue raiz = new JsonReader().parse(json);
+        if (!raiz.has("fase"))
+            throw new IllegalArgumentException("cenário sem \"fase\"");
+
+        Cenario c = new Cenario();
+        c.nome = raiz.getString("nome", c.nome);
+        c.descricao = raiz.getString("descricao", c.descricao);
+        c.fase = Math.max(1, Math.min(3, raiz.getInt("fase")));
+        c.tempo = raiz.getFloat("tempo", 0f);
+        c.faixaMoto = raiz.getInt("faixaMoto", -1);
+        c.seed = raiz.getLong("seed", 1L);
+        c.spawns = raiz.getBoolean("spawns", true);
+        c.invulneravel = raiz.getBoolean("invulneravel", false);
+        c.duracao = raiz.getFloat("duracao", c.duracao);
+        c.largura = raiz.getFloat("largura", c.largura);
+        c.altura = raiz.getFloat("altura", c.altura);
+
+        JsonValue lista = raiz.get("carros");
+        if (lista != null)
+            for (JsonValue v = lista.child; v != null; v = v.next)
+                c.carros.add(new float[] { v.getInt("faixa"), v.getFloat("y"), v.getFloat("velocidade", 60f) });
+
+        lista = raiz.get("moedas");
+        if (lista != null)
+            for (JsonValue v = lista.child; v != null; v = v.next)
+                c.moedas.add(new float[] { v.getInt("faixa"), v.getFloat("y") });
+
+        lista = raiz.get("entrada");
+        if (lista != null) {
+            c.instantes = new float[lista.size];
+            c.acoes = new int[lista.size];
+            int i = 0;
+            for (JsonValue v = lista.child; v != null; v = v.next, i++) {
+                c.instantes[i] = v.getFloat("t");
+                c.acoes[i] = parseAcao(v.getString("acao"));
+                if (i > 0 && c.instantes[i] < c.instantes[i - 1])
+                    throw new IllegalArgumentException("\"entrada\" fora de ordem em t=" + c.instantes[i]);
+            }
+        }
+
+        JsonValue espera = raiz.get("espera");
+        if (espera != null) {
+            if (espera.has("estado"))
+                c.esperaEstado = GameSimulation.Estado.valueOf(espera.getString("estado").trim().toUpperCase());
+            c.esperaAntesDe = espera.getFloat("antesDe", -1f);
+            c.esperaMoedas = espera.getInt("moedas", -1);
+        }
+        return c;
+    }
+
+    // "LEFT+BOOST" -> LEFT | BOOST
+    private static int parseAcao(String texto) {
+        int mascara = RiderInput.NONE_MASK;
+        for (String parte : texto.split("\\+")) {
+            switch (parte.trim().toUpperCase()) {
+                case "LEFT":
+                    mascara |= RiderInput.LEFT;
+                    break;
+                case "RIGHT":
+                    mascara |= RiderInput.RIGHT;
+                    break;
+                case "BOOST":
+                    mascara |= RiderInput.BOOST;
+                    break;
+                default:
+                    throw new IllegalArgumentException("ação desconhecida: " + parte);
+            }
+        }
+        return mascara;
+    }
+
+    // ==================== Montar a partida ====================
+
+    /** Partida no tamanho de tela do cenário, com a seed do cenário. */
+    public GameSimulation criaSimulacao(boolean deterministic) {
+        return criaSimulacao(new GameRandom(seed), deterministic, largura, altura, DifficultyParams.atual());
+    }
+
+    /**
+     * Partida já no começo do cenário: tempo da fase, faixa da moto, carros
+     * e moedas na pista.
+     *
+     * @param screenW largura da tela (as faixas se ajustam; o y dos carros não)
+     */
+    public GameSimulation criaSimulacao(GameRandom random, boolean deterministic, float screenW, float screenH,
+            DifficultyParams dificuldade) {
+        GameSimulation sim = new GameSimulation(fase, random, deterministic, screenW, screenH, dificuldade);
+        sim.preparaCenario(tempo, faixaMoto >= 0 ? faixaMoto : sim.getLaneCount() / 2, spawns);
+        sim.setInvulneravel(invulneravel);
+        for (int i = 0; i < carros.size; i++) {
+            float[] c = carros.get(i);
+            sim.colocaCarro((int) c[0], c[1], c[2]);
+        }
+        for (int i = 0; i < moedas.size; i++) {
+            float[] m = moedas.get(i);
+            sim.colocaMoeda((int) m[0], m[1]);
+        }
+        return sim;
+    }
+
+    /** Piloto com o roteiro de "entrada" (um novo a cada partida). */
+    public ScriptedRiderInput criaEntrada() {
+        return new ScriptedRiderInput(instantes, acoes);
+    }
+
+    // ==================== Conferir o resultado ====================
+
+    /**
+     * Confere o "espera" do cenário.
+     *
+     * @param sim       partida depois de jogada
+     * @param instante  quando o estado final foi alcançado (s), ou a duração
+     *                  jogada se ela ainda estava JOGANDO
+     * @return null se passou (ou não há "espera"), senão o motivo da falha
+     */
+    public String confere(GameSimulation sim, float instante) {
+        if (esperaEstado != null && sim.getEstado() != esperaEstado)
+            return "estado " + sim.getEstado() + ", esperado " + esperaEstado;
+        if (esperaAntesDe >= 0f && instante > esperaAntesDe)
+            return String.format(Locale.ROOT, "%s em %.2f s, esperado antes de %.2f s",
+                    sim.getEstado(), instante, esperaAntesDe);
+        if (esperaMoedas >= 0 && sim.getMoedasColetadas() < esperaMoedas)
+            return sim.getMoedasColetadas() + " moedas, esperado pelo menos " + esperaMoedas;
+        return null;
+    }
+
+    public boolean temEspera() {
+        return esperaEstado != null || esperaAntesDe >= 0f || esperaMoedas >= 0;
+    }
+
+    // ==================== Consultas ====================
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public int getFase() {
+        return fase;
+    }
+
+    public float getTempo() {
+        return tempo;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public float getDuracao() {
+        return duracao;
+    }
+
+    public float getLargura() {
+        return largura;
+    }
+
+    public float getAltura() {
+        return altura;
+    }
+
+    public boolean temEntrada() {
+        return instantes.length > 0;
+    }
+}
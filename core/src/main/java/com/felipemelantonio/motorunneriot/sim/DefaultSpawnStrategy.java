@@ -0,0 +1,584 @@
+package com.felipemelantonio.motorunneriot.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * DefaultSpawnStrategy
+ * --------------------
+ * A IA de trânsito do jogo (antes eram métodos privados da GameScreen e
+ * depois da GameSimulation): spawnWave, tryForceStickSpawn,
+ * pickLaneWeighted, findAdjacentFreeLane e spawnCoin, com as mesmas regras
+ * e a mesma ordem de sorteios. Mesma seed + mesmo input = mesma partida de
+ * antes da extração (mesmo checksum).
+ *
+ * Resumo das regras:
+ * - zona de perigo à frente da moto: não fecha a última faixa livre;
+ * - fase 1 (2 faixas): puxa para a faixa do jogador, mas nunca mais que
+ * F1_STREAK_CAP ondas seguidas do lado oposto;
+ * - fases 2/3: sorteio ponderado por dwell e proximidade, e depois de
+ * F23_STREAK_CAP ondas longe do jogador força uma perto;
+ * - quem fica parado na faixa ganha um carro "despertador" à frente.
+ *
+ * Toda onda e todo despertador vão para o SpawnTrace da partida
+ * (SpawnCommands.trace()): zona de perigo, topos, candidatas, pesos,
+ * regra usada, resultado e contadores. Gravar não sorteia nada, então a
+ * partida continua a mesma.
+ */
+public final class DefaultSpawnStrategy implements SpawnStrategy {
+
+    // ==== IA de distribuição de carros ====
+    // laneDwell guarda, para cada faixa, quanto tempo a moto fica naquela faixa.
+    // Isso serve para a IA "perceber" que o jogador está abusando de uma faixa
+    // e reagir, às vezes trazendo carros pra essa faixa.
+    private float[] laneDwell;
+
+    // Constantes usadas para controlar como o laneDwell cresce e diminui
+    private static final float DWELL_DECAY = 0.6f; // quão rápido o "peso" da faixa cai quando o jogador sai dela
+    private static final float DWELL_CAP = 6.0f; // valor máximo de acumulação de dwell
+
+    // Controle específico para fase 1 com 2 faixas:
+    // evita ficar spawnando SEMPRE na faixa oposta do jogador, o que seria injusto.
+    private int f1OppositeStreak = 0; // quantas vezes seguidas spawnou na faixa oposta
+    private static final int F1_STREAK_CAP = 2; // limite antes da IA começar a corrigir isso
+    private static final float F1_DWELL_BIAS_S = 1.2f; // tempo de dwell mínimo para usar o viés pró-faixa do jogador
+
+    // Controle para fases 2 e 3:
+    // evita a situação de spawnar carros muito tempo longe do jogador,
+    // deixando o jogo "fácil" e sem necessidade de desviar.
+    private int f23NonPlayerStreak = 0; // quantas vezes seguidas spawnou longe do jogador
+    private static final int F23_STREAK_CAP = 3; // limite antes de forçar spawn mais próximo ao jogador
+
+    // Força geral das preferências da IA ao escolher faixa no pickLaneWeighted()
+    private static final float BIAS_STRENGTH = 1.2f;
+
+    // Fatores de queda (falloff) conforme a distância da faixa do jogador:
+    // faixas mais próximas (dist = 0 ou 1) recebem mais peso que faixas muito
+    // distantes.
+    private static final float ADJ_FALLOFF_NEAR = 1.0f; // mesma faixa do jogador
+    private static final float ADJ_FALLOFF_ADJ = 0.7f; // faixa adjacente ao jogador
+    private static final float ADJ_FALLOFF_FAR = 0.35f; // faixa mais distante
+
+    // Controle para saber quanto tempo o jogador está na MESMA faixa (para IA
+    // "cutucar")
+    private int lastLane = -1; // última faixa em que a moto estava
+    private float sameLaneTime = 0f; // há quanto tempo está na mesma faixa
+
+    private static final float STICK_THRESHOLD = 1.2f; // tempo mínimo para considerar "grudado" na faixa
+    private static final float STICK_COOLDOWN_SECS = 1.4f; // tempo mínimo entre uma "forçada" e outra
+    private static final float STICK_SAFE_FRONT_PX = 200f; // distância mínima à frente da moto para spawn seguro
+
+    private float stickCooldown = 0f; // conta quanto falta para poder "forçar" outro spawn de stick
+
+    // Zona de perigo à frente da moto (px acima do topo dela): carros com o
+    // meio aqui dentro "bloqueiam" a faixa (o overlay F2 desenha a mesma faixa)
+    public static final float ZONA_PERIGO_DE = 80f;
+    public static final float ZONA_PERIGO_ATE = 420f;
+
+    // Carro mais alto de cada faixa (reaproveitado: o kernel sobrescreve tudo)
+    private float[] topYByLane;
+
+    @Override
+    public String nome() {
+        return SpawnStrategies.PADRAO;
+    }
+
+    @Override
+    public void reinicia(SpawnView pista) {
+        lastLane = pista.getFaixaMoto();
+        sameLaneTime = 0f;
+        for (int i = 0; i < dwell(pista).length; i++)
+            laneDwell[i] = 0f;
+    }
+
+    @Override
+    public void atualiza(SpawnView pista, float dt) {
+        // ---- Controle de dwell (tempo na mesma faixa) ----
+        int laneNow = pista.getFaixaMoto();
+        if (laneNow == lastLane)
+            sameLaneTime += dt; // continua na mesma faixa, aumenta contador
+        else {
+            sameLaneTime = 0f; // mudou de faixa, zera
+            lastLane = laneNow;
+        }
+
+        // Para cada faixa:
+        // - na faixa atual, aumentamos dwell
+        // - nas outras faixas, fazemos o dwell decair com o tempo
+        float[] dwell = dwell(pista);
+        for (int i = 0; i < dwell.length; i++) {
+            if (i == laneNow)
+                dwell[i] = Math.min(DWELL_CAP, dwell[i] + dt);
+            else
+                dwell[i] = Math.max(0f, dwell[i] - dt * DWELL_DECAY);
+        }
+
+        // Reduz o cooldown do sistema de "forçar spawn"
+        if (stickCooldown > 0f)
+            stickCooldown -= dt;
+    }
+
+    private float[] dwell(SpawnView pista) {
+        if (laneDwell == null)
+            laneDwell = new float[pista.getLaneCount()];
+        return laneDwell;
+    }
+
+    private float[] topos(SpawnView pista) {
+        if (topYByLane == null)
+            topYByLane = new float[pista.getLaneCount()];
+        pista.topoPorFaixa(topYByLane);
+        return topYByLane;
+    }
+
+    // ===================== SPAWN / IA DE TRÂNSITO =====================
+
+    /**
+     * spawnWave()
+     * -----------
+     * Este é o método principal de IA de trânsito.
+     *
+     * Responsabilidades:
+     * - Decide em quais faixas os novos carros vão aparecer
+     * - Evita formar "paredões" impossíveis (sempre deixa rota de fuga)
+     * - Considera uma "zona de perigo" à frente da moto para não empilhar
+     * muitos carros ali de uma vez
+     * - Usa dwell (tempo em cada faixa) para variar o comportamento por fase
+     * - Tem regras diferentes para fase 1 (2 faixas) e fases 2/3 (3 ou 4 faixas)
+     *
+     * (O antigo "spawnTimer = -0.35f" da fase 1 não veio junto: o step()
+     * zerava o cronômetro logo depois da onda, então ele nunca teve efeito.)
+     */
+    @Override
+    public void onda(SpawnView pista, SpawnCommands comandos) {
+        int laneCount = pista.getLaneCount();
+        int fase = pista.getFase();
+        Random rng = pista.getRngTrafego();
+        float spawnYBase = pista.getSpawnY(); // spawn logo acima da parte visível da tela
+
+        int playerLane = pista.getFaixaMoto();
+
+        // Registro desta decisão na caixa-preta (fechado em cada saída)
+        SpawnTrace trace = comandos.trace();
+        int s = trace.abre(SpawnTrace.ONDA, pista.getTempo(), laneCount, playerLane);
+
+        // ===== 1) Identificar carros já na "zona de perigo" à frente da moto =====
+        float motoTop = pista.getMotoTopo();
+        float dangerStart = motoTop + ZONA_PERIGO_DE; // início da zone de perigo
+        float dangerEnd = motoTop + ZONA_PERIGO_ATE; // fim da zona de perigo
+
+        // laneBlocked[l] = true se a faixa l tem algum carro dentro da zona de perigo
+        // (o meio do carro entre dangerStart e dangerEnd). O kernel devolve uma
+        // máscara de bits com as faixas ocupadas.
+        int blockedMask = pista.faixasOcupadas(dangerStart, dangerEnd);
+        boolean[] laneBlocked = new boolean[laneCount];
+        int blockedCount = Integer.bitCount(blockedMask);
+        for (int l = 0; l < laneCount; l++)
+            laneBlocked[l] = (blockedMask & (1 << l)) != 0;
+        trace.zona(s, dangerStart, dangerEnd, blockedMask);
+
+        // Se TODAS as faixas já têm carro na zona de perigo, não é seguro spawnar nada.
+        if (blockedCount >= laneCount) {
+            fecha(trace, s, SpawnTrace.TODAS_BLOQUEADAS, playerLane);
+            return;
+        }
+
+        // Para cada faixa, calculamos a posição Y do carro mais alto (mais perto do
+        // topo)
+        float[] topYByLane = topos(pista);
+
+        // Espaçamento vertical mínimo entre carros em uma mesma faixa
+        float minGap = pista.getGapMinimo();
+        trace.topos(s, topYByLane, minGap);
+
+        // Lista de faixas livres para spawn, respeitando o minGap
+        List<Integer> livres = new ArrayList<>();
+        for (int l = 0; l < laneCount; l++)
+            if ((spawnYBase - topYByLane[l]) > minGap)
+                livres.add(l);
+        if (livres.isEmpty()) {
+            fecha(trace, s, SpawnTrace.SEM_ESPACO, playerLane);
+            return;
+        }
+        int comEspaco = mascara(livres);
+
+        // ===== 2) Evita formar "paredão" perto da moto =====
+        // Situação: se quase todas as faixas já estão ocupadas na zona de perigo,
+        // não queremos FECHAR a única faixa livre com spawn novo.
+        // Então limitamos o spawn a faixas que já estão bloqueadas.
+        if (blockedCount >= laneCount - 1) {
+            List<Integer> filtered = new ArrayList<>();
+            for (int l : livres) {
+                if (laneBlocked[l]) {
+                    filtered.add(l);
+                }
+            }
+            if (!filtered.isEmpty()) {
+                // agora só spawnamos em faixas já "ocupadas" na zona
+                livres = filtered;
+            }
+            // Além disso, mais abaixo desativamos o doubleSpawn.
+        }
+        trace.candidatas(s, comEspaco, mascara(livres));
+
+        boolean isPhase1 = (fase == 1);
+        boolean twoLanes = (laneCount == 2);
+
+        // ===== 2a) Escolha da primeira faixa (lane1) com regras especiais por fase
+        // =====
+        int lane1;
+        byte regra;
+        if (isPhase1 && twoLanes) {
+            // FASE 1, duas faixas:
+            // Regras mais cuidadosas para não ficar injusto
+            int opposite = 1 - playerLane; // faixa oposta à do jogador
+            boolean playerLaneFree = livres.contains(playerLane);
+            boolean dwellHigh = dwell(pista)[playerLane] >= F1_DWELL_BIAS_S;
+            boolean blockOppStreak = (f1OppositeStreak >= F1_STREAK_CAP);
+
+            // Se o jogador está muito tempo na mesma faixa OU já spawnamos demais do outro
+            // lado,
+            // favorecemos spawnar na faixa do jogador.
+            if (playerLaneFree && (dwellHigh || blockOppStreak)) {
+                lane1 = playerLane;
+                regra = dwellHigh ? SpawnTrace.REGRA_JOGADOR : SpawnTrace.REGRA_SEQUENCIA_F1;
+            } else {
+                // Caso contrário, há uma chance de 65% de spawnar na faixa do jogador
+                if (playerLaneFree && rng.nextFloat() < 0.65f) {
+                    lane1 = playerLane;
+                    regra = SpawnTrace.REGRA_JOGADOR;
+                } else {
+                    lane1 = livres.get(rng.nextInt(livres.size()));
+                    regra = SpawnTrace.REGRA_SORTEIO;
+                }
+            }
+
+            // Atualiza contagem de quantas vezes seguidas spawnamos na faixa oposta
+            if (lane1 == opposite)
+                f1OppositeStreak++;
+            else
+                f1OppositeStreak = 0;
+
+        } else {
+            // FASES 2 e 3:
+            // Usamos pickLaneWeighted, que considera dwell e proximidade ao jogador
+            // (os pesos desta escolha vão para a caixa-preta)
+            lane1 = pickLaneWeighted(rng, livres, playerLane, trace, s);
+            regra = SpawnTrace.REGRA_PESOS;
+
+            // Se spawnar muito tempo longe do jogador, o jogo fica fácil demais,
+            // então contamos esse "nonPlayerStreak"
+            boolean nearPlayer = (Math.abs(lane1 - playerLane) <= 1);
+            if (!nearPlayer)
+                f23NonPlayerStreak++;
+            else
+                f23NonPlayerStreak = 0;
+
+            // Se spawnou longe do jogador muitas vezes seguidas,
+            // forçamos um spawn mais próximo dele (pra manter desafio constante)
+            if (f23NonPlayerStreak >= F23_STREAK_CAP) {
+                List<Integer> near = new ArrayList<>();
+                for (int l : livres)
+                    if (Math.abs(l - playerLane) <= 1)
+                        near.add(l);
+                if (!near.isEmpty()) {
+                    lane1 = near.get(rng.nextInt(near.size()));
+                    regra = SpawnTrace.REGRA_SEQUENCIA_F23;
+                }
+                f23NonPlayerStreak = 0;
+            }
+        }
+
+        // Finalmente, cria o primeiro carro da onda
+        // (se ele fechar todas as rotas de fuga, a onda é cancelada)
+        trace.escolha(s, regra, lane1, spawnYBase);
+        if (!comandos.carro(lane1, spawnYBase)) {
+            fecha(trace, s, SpawnTrace.RECUSADO_GRADE, playerLane);
+            return;
+        }
+        // Remove essa faixa da lista de faixas livres (já usamos)
+        livres.remove((Integer) lane1);
+
+        // ===== 3) Regras do doubleSpawn (segundo carro na mesma onda) =====
+        // Em geral, permitimos doubleSpawn, MENOS na fase 1 com 2 faixas,
+        // pois isso aumenta muito o risco de injustiça.
+        boolean allowDouble = !(isPhase1 && twoLanes);
+
+        // Se já estamos quase em "paredão" na zona de perigo, desativamos o doubleSpawn
+        if (blockedCount >= laneCount - 1) {
+            allowDouble = false;
+        }
+
+        // doubleSpawn acontece com uma certa probabilidade vinda do LevelManager
+        // (pDouble)
+        boolean doubleSpawn = allowDouble &&
+                rng.nextFloat() < pista.getChanceDuplo() && !livres.isEmpty();
+        if (doubleSpawn) {
+            int lane2 = (fase >= 2)
+                    ? pickLaneWeighted(rng, livres, playerLane)
+                    : livres.get(rng.nextInt(livres.size()));
+
+            // jitter vertical: deslocamento para não ficar colado em y com o primeiro carro
+            float jitter = 70f + rng.nextFloat() * 110f;
+            float y2 = spawnYBase + jitter;
+            float minDeltaY = 140f;
+            if (Math.abs(jitter) < minDeltaY)
+                y2 = spawnYBase + minDeltaY;
+
+            // Se o segundo carro cair na faixa do jogador, garantimos uma distância mínima
+            // na frente da moto para não spawnar em cima dela
+            if (lane2 == playerLane) {
+                float safeStart = motoTop + STICK_SAFE_FRONT_PX;
+                if (y2 < safeStart)
+                    y2 = safeStart;
+            }
+            trace.segundo(s, lane2, y2);
+            if (!comandos.carro(lane2, y2)) {
+                fecha(trace, s, SpawnTrace.SEGUNDO_RECUSADO, playerLane);
+                return;
+            }
+        }
+        fecha(trace, s, SpawnTrace.CRIADO, playerLane);
+    }
+
+    // Fecha o registro da caixa-preta com o resultado e os contadores de agora
+    private void fecha(SpawnTrace trace, int s, byte resultado, int playerLane) {
+        trace.contadores(s, f1OppositeStreak, f23NonPlayerStreak, sameLaneTime,
+                laneDwell != null ? laneDwell[playerLane] : 0f);
+        trace.resultado(s, resultado);
+    }
+
+    // Máscara de bits das faixas da lista (sem alocar: só desempacota)
+    private static int mascara(List<Integer> faixas) {
+        int m = 0;
+        for (int i = 0; i < faixas.size(); i++)
+            m |= 1 << faixas.get(i);
+        return m;
+    }
+
+    /**
+     * tryForceStickSpawn()
+     * --------------------
+     * Objetivo: se o jogador ficar "parado" demais na mesma faixa (sem trocar),
+     * essa IA tenta criar um carro numa posição segura à frente dele para forçar
+     * que ele desvie.
+     *
+     * Regras de segurança:
+     * - só entra se sameLaneTime passar de STICK_THRESHOLD
+     * - respeita um cooldown (stickCooldown) para não repetir o tempo todo
+     * - nunca spawnar colado em cima da moto
+     * - tenta considerar faixas adjacentes se a faixa atual estiver sem espaço
+     */
+    @Override
+    public void avulsos(SpawnView pista, SpawnCommands comandos) {
+        // Condições para ativar:
+        // - jogador ficou tempo suficiente na mesma faixa
+        // - já passou o cooldown desde a última forçada
+        if (sameLaneTime < STICK_THRESHOLD || stickCooldown > 0f)
+            return;
+
+        int laneCount = pista.getLaneCount();
+        int targetLane = pista.getFaixaMoto();
+        float spawnYBase = pista.getSpawnY();
+
+        // O despertador "disparou": registro na caixa-preta
+        SpawnTrace trace = comandos.trace();
+        int s = trace.abre(SpawnTrace.DESPERTADOR, pista.getTempo(), laneCount, targetLane);
+
+        // Calcula o carro mais alto em cada faixa
+        float[] topYByLane = topos(pista);
+
+        float minGap = pista.getGapMinimo();
+        trace.topos(s, topYByLane, minGap);
+
+        // Primeiro tentamos spawnar na faixa atual do jogador
+        int chosenLane = targetLane;
+        byte regra = SpawnTrace.REGRA_FAIXA_MOTO;
+
+        // Se não há espaço vertical suficiente nessa faixa, procuramos uma faixa
+        // adjacente
+        if ((spawnYBase - topYByLane[targetLane]) <= minGap) {
+            int alt = findAdjacentFreeLane(laneCount, spawnYBase, topYByLane, minGap, targetLane);
+            if (alt != -1) {
+                chosenLane = alt;
+                regra = SpawnTrace.REGRA_ADJACENTE;
+            } else {
+                // nenhuma faixa adjacente segura, então desistimos
+                fecha(trace, s, SpawnTrace.SEM_FAIXA, targetLane);
+                return;
+            }
+        }
+
+        // Calculamos uma posição Y segura: pelo menos STICK_SAFE_FRONT_PX à frente da
+        // moto
+        float motoTop = pista.getMotoTopo();
+        float y = Math.max(spawnYBase, motoTop + STICK_SAFE_FRONT_PX);
+
+        // Ajuste especial para fase 1 com 2 faixas:
+        // se a outra faixa tem um carro muito perto, aumentamos a distância.
+        if (pista.getFase() == 1 && laneCount == 2) {
+            int other = 1 - chosenLane;
+            float otherTop = topYByLane[other];
+            if (otherTop > 0 && (y - otherTop) < 160f)
+                y = otherTop + 180f;
+        }
+
+        // Faz o spawn do carro "despertador" (a grade de alcance pode recusar;
+        // mesmo assim o cooldown começa, para não insistir todo frame)
+        trace.escolha(s, regra, chosenLane, y);
+        boolean criado = comandos.carroForcado(chosenLane, y);
+        fecha(trace, s, criado ? SpawnTrace.CRIADO : SpawnTrace.RECUSADO_GRADE, targetLane);
+        sameLaneTime = 0f; // zera o tempo grudado
+        stickCooldown = STICK_COOLDOWN_SECS; // inicia o cooldown
+    }
+
+    /**
+     * findAdjacentFreeLane()
+     * ----------------------
+     * Procura uma faixa próxima (para a esquerda ou direita) da "center"
+     * que tenha espaço suficiente para spawnar (respeitando minGap).
+     *
+     * Retorna o índice da faixa ou -1 se não encontrar nenhuma.
+     */
+    static int findAdjacentFreeLane(int laneCount, float spawnYBase, float[] topYByLane,
+            float minGap, int center) {
+        for (int d = 1; d < laneCount; d++) {
+            int l = center - d;
+            if (l >= 0 && (spawnYBase - topYByLane[l]) > minGap)
+                return l;
+            int r = center + d;
+            if (r < laneCount && (spawnYBase - topYByLane[r]) > minGap)
+                return r;
+        }
+        return -1;
+    }
+
+    /**
+     * spawnCoin()
+     * -----------
+     * Responsável por spawnar uma moeda em uma faixa:
+     * - evita spawnar colada em carros
+     * - prefere faixas perto do jogador
+     * - mantém um espaçamento vertical mínimo
+     */
+    @Override
+    public void moeda(SpawnView pista, SpawnCommands comandos) {
+        int laneCount = pista.getLaneCount();
+        Random coinRng = pista.getRngMoedas();
+        float spawnYBase = pista.getSpawnY();
+
+        // Calcula o carro mais alto em cada faixa
+        float[] topYByLane = topos(pista);
+
+        // Gap mínimo para moedas (um pouco mais flexível que carro)
+        float minGapCoin = Math.max(120f, pista.getGapMinimo() * 0.65f);
+
+        // Lista de faixas com espaço para moeda
+        List<Integer> livres = new ArrayList<>();
+        for (int l = 0; l < laneCount; l++)
+            if ((spawnYBase - topYByLane[l]) > minGapCoin)
+                livres.add(l);
+        if (livres.isEmpty())
+            return;
+
+        int playerLane = pista.getFaixaMoto();
+
+        // Escolha da faixa da moeda:
+        // 60% de chance de cair na faixa do jogador (se estiver livre),
+        // 30% de chance de cair em faixas próximas,
+        // 10% de chance de cair em qualquer outra livre.
+        int lane;
+        List<Integer> near = new ArrayList<>();
+        for (int l : livres)
+            if (Math.abs(l - playerLane) <= 1)
+                near.add(l);
+
+        float r = coinRng.nextFloat();
+        if (livres.contains(playerLane) && r < 0.60f)
+            lane = playerLane;
+        else if (!near.isEmpty() && r < 0.90f)
+            lane = near.get(coinRng.nextInt(near.size()));
+        else
+            lane = livres.get(coinRng.nextInt(livres.size()));
+
+        // Ajuste extra de segurança em relação ao carro da mesma faixa
+        float extraSafe = 60f;
+        if ((spawnYBase - topYByLane[lane]) < (minGapCoin + extraSafe)) {
+            // Tenta mudar para uma faixa perto que tenha espaço extra
+            for (int l : near) {
+                if ((spawnYBase - topYByLane[l]) > (minGapCoin + extraSafe)) {
+                    lane = l;
+                    break;
+                }
+            }
+        }
+
+        // Spawna uma moeda no centro da faixa selecionada
+        comandos.moeda(lane, spawnYBase);
+    }
+
+    /**
+     * pickLaneWeighted()
+     * -------------------
+     * Dado um conjunto de faixas candidatas e a faixa do jogador,
+     * escolhe UMA faixa aleatoriamente, mas aplicando PESOS.
+     *
+     * O peso leva em conta:
+     * - dwell (quanto tempo o jogador ficou naquela faixa) → evita monotonia
+     * - quão perto a faixa está da faixa do jogador → dá mais relevância
+     */
+    int pickLaneWeighted(Random rng, List<Integer> candidates, int playerLane) {
+        return pickLaneWeighted(rng, candidates, playerLane, null, -1);
+    }
+
+    // Idem, anotando o peso de cada candidata no registro `slot` do trace (se houver)
+    private int pickLaneWeighted(Random rng, List<Integer> candidates, int playerLane, SpawnTrace trace,
+            int slot) {
+        // Se só tem uma candidata, não precisa sortear
+        if (candidates.size() == 1)
+            return candidates.get(0);
+
+        float total = 0f;
+        float[] weights = new float[candidates.size()];
+
+        // Calcula o peso de cada faixa candidata
+        for (int i = 0; i < candidates.size(); i++) {
+            int lane = candidates.get(i);
+
+            // dwell normalizado entre 0 e 1
+            float dwellNorm = (DWELL_CAP <= 0f || laneDwell == null)
+                    ? 0f
+                    : Math.min(1f, laneDwell[lane] / DWELL_CAP);
+
+            // Distância em número de faixas até o jogador
+            int dist = Math.abs(lane - playerLane);
+
+            // Quanto mais perto do jogador, maior é o falloff
+            float falloff = (dist == 0) ? ADJ_FALLOFF_NEAR
+                    : (dist == 1) ? ADJ_FALLOFF_ADJ
+                            : ADJ_FALLOFF_FAR;
+
+            // Peso base 1.0 + componente dependente do dwell e da proximidade
+            float w = 1.0f + BIAS_STRENGTH * dwellNorm * falloff;
+            weights[i] = w;
+            total += w;
+            if (trace != null)
+                trace.peso(slot, lane, w);
+        }
+
+        // Sorteio proporcional ao peso:
+        // gera um número de 0 até total e anda acumulando até encontrar a faixa
+        // correspondente
+        float r = rng.nextFloat() * total;
+        float acc = 0f;
+        for (int i = 0; i < weights.length; i++) {
+            acc += weights[i];
+            if (r <= acc)
+                return candidates.get(i);
+        }
+
+        // Fallback (caso a soma de floats dê algum problema de arredondamento)
+        return candidates.get(candidates.size() - 1);
+    }
+}
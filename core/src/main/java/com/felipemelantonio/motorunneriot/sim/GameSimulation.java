@@ -0,0 +1,1199 @@
+package com.felipemelantonio.motorunneriot.sim;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+import com.felipemelantonio.motorunneriot.entities.Carro;
+import com.felipemelantonio.motorunneriot.entities.Entidade;
+import com.felipemelantonio.motorunneriot.entities.Moeda;
+import com.felipemelantonio.motorunneriot.entities.Moto;
+import com.felipemelantonio.motorunneriot.utils.CollisionMask;
+import com.felipemelantonio.motorunneriot.utils.DifficultyParams;
+import com.felipemelantonio.motorunneriot.utils.EntityBuffer;
+import com.felipemelantonio.motorunneriot.utils.EntityKernels;
+import com.felipemelantonio.motorunneriot.utils.FixedPoint;
+import com.felipemelantonio.motorunneriot.utils.FrameTimeline;
+import com.felipemelantonio.motorunneriot.utils.GameRandom;
+import com.felipemelantonio.motorunneriot.utils.JfrEventos;
+import com.felipemelantonio.motorunneriot.utils.LaneLayout;
+import com.felipemelantonio.motorunneriot.utils.LevelManager;
+import com.felipemelantonio.motorunneriot.utils.SimChecksum;
+import com.felipemelantonio.motorunneriot.utils.SweptCollision;
+
+import java.util.Random;
+
+/**
+ * GameSimulation
+ * --------------
+ * A LÓGICA de uma partida, separada da tela:
+ * - moto, carros e moedas (posição, colisão, coleta);
+ * - velocidade do mundo (LevelManager + boost/pedalada);
+ * - quando nascem carros e moedas (o ONDE é da SpawnStrategy);
+ * - distância, meta e animação de fim de fase;
+ * - checksum do estado (SimChecksum).
+ *
+ * Não desenha nada, não toca som e não lê o teclado: as ações chegam como
+ * máscara de RiderInput em step(). Também não usa Gdx.graphics/Gdx.input,
+ * então a mesma classe roda:
+ * - dentro da GameScreen (que só desenha o estado e troca de tela);
+ * - no simulador headless, várias partidas ao mesmo tempo, uma por thread.
+ *
+ * Cada instância é independente (aleatoriedade própria via GameRandom); os
+ * únicos dados estáticos compartilhados são as máscaras de colisão, que são
+ * só leitura depois de carregadas.
+ */
+public final class GameSimulation {
+
+    /** Em que ponto a partida está. */
+    public enum Estado {
+        JOGANDO, // partida normal
+        FINALIZANDO, // meta atingida: trânsito some e a moto sobe sozinha
+        COLISAO, // bateu em um carro (fim, vai para o GameOver)
+        CONCLUIDA // animação de fim de fase terminou (vai para o LevelComplete)
+    }
+
+    // Número da fase atual (1, 2 ou 3), já clampado no construtor
+    private final int fase;
+
+    // Tamanho da "tela" em que a partida acontece (px). Na GameScreen é o
+    // tamanho da janela; no simulador headless é configurável.
+    private float screenW;
+    private float screenH;
+
+    private Estado estado = Estado.JOGANDO;
+
+    // Entidades principais do jogo
+    private final Moto moto; // moto controlada pelo RiderInput
+    private final Array<Carro> carros = new Array<>(); // carros inimigos na pista
+    private final Array<Moeda> moedas = new Array<>(); // moedas ativas na pista
+
+    // Número de faixas da pista (varia conforme a fase)
+    private final int laneCount;
+
+    // Fator de margem da pista nas laterais (quanto "sobra" de borda sem faixa)
+    private final float insetFactor;
+
+    // X central de cada faixa (recalculado no resize)
+    private float[] laneCenters;
+
+    // ==== Estado das entidades em arrays + kernels (SIMD quando disponível) ====
+    // A posição de cada carro/moeda na pista mora num EntityBuffer (arrays
+    // primitivos); os objetos das listas são vistas da linha de mesmo índice
+    // (ver Entidade). Os laços que passam por TODOS eles a cada frame
+    // (movimento, remoção fora da tela, colisão larga, ocupação das faixas)
+    // rodam direto sobre os arrays, sem cópia. Toda entrada/saída da pista
+    // passa por adiciona*/remove* para lista e buffer andarem juntos.
+    private final EntityKernels kernels = EntityKernels.get();
+    private final EntityBuffer carBuf = new EntityBuffer();
+    private final EntityBuffer coinBuf = new EntityBuffer();
+    private int[] idxScratch = new int[32]; // índices devolvidos pelos kernels
+
+    // ==== MOEDAS ====
+    private float coinSpawnTimer; // cronômetro para decidir quando gerar a próxima moeda
+    private final float coinIntervalBase; // intervalo base entre spawns de moeda (por fase)
+    private int moedasColetadas = 0; // contador de moedas que o jogador já pegou na fase
+
+    // ==== Sistema de velocidade global ====
+    // A ideia é: LevelManager define uma velocidade base da fase,
+    // e o jogador ainda pode multiplicar isso com "boost" (como se
+    // pedalasse/acelerasse).
+    private float worldSpeedBase; // velocidade base da fase (px/s), vinda do LevelManager
+    private float worldSpeedBoost; // multiplicador de boost (1.0 = normal, > 1.0 = mais rápido)
+    private float worldSpeed; // velocidade final usada em tudo (fundo, carros, moedas, distância)
+
+    // Controle de tempo para spawn de carros
+    private float spawnTimer;
+
+    // Distância percorrida na fase (em "metros" do jogo)
+    // É calculada com base na velocidade e no tempo.
+    private float distancia;
+
+    // ==== Modo determinístico (-Dmotorunner.deterministic=true) ====
+    // Velocidade, boost, distância e posições passam a ser calculados em ponto
+    // fixo (FixedPoint). Os floats acima continuam existindo, mas viram só uma
+    // cópia para o HUD e para o desenho.
+    private final boolean deterministic;
+    private long worldSpeedBoostFx;
+    private long worldSpeedFx;
+    private long distanciaFx;
+
+    // Checksum do estado da simulação (impresso no fim da partida junto com a
+    // seed). Mesma seed + mesmo input no modo determinístico = mesmo checksum.
+    private final SimChecksum checksum = new SimChecksum();
+
+    // LevelManager é um controlador de dificuldade:
+    // - define velocidade base do mundo
+    // - define intervalo de spawn
+    // - define probabilidade de double spawn etc.
+    private final LevelManager level;
+
+    // Aleatoriedade da partida: uma semente só e um sub-fluxo por finalidade.
+    private final GameRandom random;
+
+    // Sub-fluxos usados aqui:
+    // - rng: escolha de faixas da IA de trânsito (spawnWave e cia.)
+    // - coinRng: escolha de faixa das moedas
+    // - spriteRng: modelo (textura) de cada carro criado
+    private final Random rng;
+    private final Random coinRng;
+    private final Random spriteRng;
+
+    // ==== IA de trânsito ====
+    // A SpawnStrategy decide onde nascem carros e moedas; ela enxerga a
+    // partida pela `pista` (só leitura) e pede spawns pelos `comandos`.
+    private SpawnStrategy estrategia;
+    private final Pista pista = new Pista();
+    private final Comandos comandos = new Comandos();
+    private final SpawnTrace trace = new SpawnTrace(); // últimas decisões (overlay F2, logs)
+
+    // Contadores de spawn (ferramentas de validação olham quando mudam)
+    private int ondas; // ondas do spawnWave que criaram pelo menos um carro
+    private int spawnsForcados; // carros fora das ondas (ex.: despertador)
+    private int carrosGerados; // todos os carros criados (os novos ficam no fim da lista)
+    private int spawnsRejeitados; // candidatos recusados pela ReachabilityGrid
+
+    // Grade tempo x faixa de ocupação na altura da moto: todo spawn é
+    // conferido nela e só é recusado se fechar TODAS as rotas de fuga.
+    // É refeita quando a velocidade do mundo muda mais que a tolerância
+    // (os tempos de passagem dos carros dependem dela).
+    private final ReachabilityGrid alcance;
+    private float alcanceVelocidade; // worldSpeed da última reconstrução
+    private static final float ALCANCE_TOLERANCIA = 0.04f;
+
+    // Invulnerável: colisões são só contadas, a partida segue (validação da IA
+    // de spawn até o fim da fase, sem depender de quem pilota sobreviver)
+    private boolean invulneravel;
+    private int colisoesIgnoradas;
+
+    // Cenários roteirizados (Cenario) podem desligar a IA de spawn para que
+    // só o trânsito descrito no arquivo fique na pista
+    private boolean spawnsLigados = true;
+
+    // Controle de "finalização" da fase (estado FINALIZANDO)
+    private float finishTimer = 0f;
+
+    // Flag para indicar se já limpamos todo o trânsito (carros + moedas) na fase de
+    // finalização
+    private boolean clearedTraffic = false;
+
+    // Tempos usados na animação de finalização:
+    // - FINISH_CLEAR_TIME: tempo escoando carros normalmente antes de limpar
+    // - FINISH_ASCEND_TIME: tempo que a moto sobe sozinha para fora da tela
+    private static final float FINISH_CLEAR_TIME = 0.7f;
+    private static final float FINISH_ASCEND_TIME = 2.0f;
+
+    // ==== CONSTANTES DO BOOST GLOBAL (ESPAÇO/PEDAL) ====
+    // BOOST_STEP: cada apertada no ESPAÇO aumenta um pouco a velocidade
+    // BOOST_DECAY: a cada frame, o boost vai diminuindo até voltar a 1.0
+    // BOOST_MAX: limite máximo para não ficar absurdo
+    // (públicas para quem prevê o movimento, como o AutopilotInput)
+    public static final float BOOST_STEP = 0.06f; // cada pedalada = +6% de velocidade
+    public static final float BOOST_DECAY = 0.18f; // desacelera levemente ao longo do tempo
+    public static final float BOOST_MAX = 1.25f; // limite de 125% da velocidade base
+
+    // As mesmas constantes em ponto fixo, para o modo determinístico
+    private static final long BOOST_STEP_FX = FixedPoint.fromFloat(BOOST_STEP);
+    private static final long BOOST_DECAY_FX = FixedPoint.fromFloat(BOOST_DECAY);
+    private static final long BOOST_MAX_FX = FixedPoint.fromFloat(BOOST_MAX);
+
+    // Fator de conversão px → "metros do jogo" usado na distância
+    private static final float METROS_POR_PX = 0.035f;
+    private static final long METROS_POR_PX_FX = FixedPoint.fromFloat(METROS_POR_PX);
+
+    /**
+     * Cria uma partida nova.
+     *
+     * @param faseSelecionada fase desejada (clampada para 1..3)
+     * @param random          aleatoriedade da partida (uma semente)
+     * @param deterministic   liga o modo de ponto fixo (FixedPoint)
+     * @param screenW         largura da "tela" em px
+     * @param screenH         altura da "tela" em px
+     */
+    public GameSimulation(int faseSelecionada, GameRandom random, boolean deterministic,
+            float screenW, float screenH) {
+        this(faseSelecionada, random, deterministic, screenW, screenH, DifficultyParams.atual());
+    }
+
+    /**
+     * Mesma coisa, com as constantes de dificuldade explícitas (o
+     * DifficultyTuner testa vários conjuntos ao mesmo tempo).
+     */
+    public GameSimulation(int faseSelecionada, GameRandom random, boolean deterministic,
+            float screenW, float screenH, DifficultyParams dificuldade) {
+        this.fase = Math.max(1, Math.min(3, faseSelecionada));
+        this.random = random;
+        this.deterministic = deterministic;
+        this.screenW = screenW;
+        this.screenH = screenH;
+
+        rng = random.stream(GameRandom.Stream.TRAFFIC);
+        coinRng = random.stream(GameRandom.Stream.COINS);
+        spriteRng = random.stream(GameRandom.Stream.CAR_SPRITE);
+
+        // Máscaras de colisão de Carro e Moeda (sem texturas: não precisa de GPU)
+        Carro.initMasksIfNeeded();
+        Moeda.initMaskIfNeeded();
+
+        // Configuração de faixas por fase:
+        // - quantidade de faixas
+        // - fator de margem lateral
+        switch (fase) {
+            case 1:
+                laneCount = 2;
+                insetFactor = 0.15f;
+                break;
+            case 2:
+                laneCount = 3;
+                insetFactor = 0.22f;
+                break;
+            default:
+                laneCount = 4;
+                insetFactor = 0.235f;
+                break;
+        }
+        laneCenters = LaneLayout.computeLaneCenters(laneCount, insetFactor, screenW);
+
+        // Cria a moto já posicionada em uma das faixas,
+        // a partir da quantidade de faixas e da margem lateral
+        moto = new Moto(laneCount, insetFactor, screenW);
+
+        // Cria o gerenciador de level/dificuldade para a fase atual
+        level = new LevelManager(fase, random.stream(GameRandom.Stream.RIVAL_SPEED), deterministic, dificuldade);
+
+        // IA de trânsito: a padrão, ou a pedida em -Dmotorunner.spawn
+        estrategia = SpawnStrategies.doSistema();
+
+        alcance = new ReachabilityGrid(laneCount);
+        configuraAlcance();
+
+        // Define o intervalo base entre moedas dependendo da fase:
+        // Fase 1 = moeda mais espaçada; fase 3 = um pouco mais frequente
+        coinIntervalBase = (fase == 1 ? 1.2f : fase == 2 ? 1.0f : 0.9f);
+
+        // Inicializa o LevelManager com dt 0 só para ele calcular a velocidade inicial
+        level.update(0f);
+        worldSpeedBase = level.worldSpeedPx();
+        worldSpeedBoost = 1f; // começa sem boost extra (x1.0)
+        worldSpeed = worldSpeedBase * worldSpeedBoost;
+        worldSpeedBoostFx = FixedPoint.ONE;
+        worldSpeedFx = FixedPoint.fromFloat(worldSpeedBase);
+        distanciaFx = 0L;
+    }
+
+    /**
+     * resize()
+     * --------
+     * Novo tamanho de tela: recalcula as faixas (moto e próximos spawns).
+     */
+    public void resize(float w, float h) {
+        if (w == screenW && h == screenH)
+            return;
+        screenW = w;
+        screenH = h;
+        laneCenters = LaneLayout.computeLaneCenters(laneCount, insetFactor, w);
+        moto.setScreenWidth(w);
+        configuraAlcance();
+    }
+
+    // Faixa vertical da moto e duração de uma troca (depende da largura das faixas)
+    private void configuraAlcance() {
+        Rectangle rm = moto.getBounds();
+        alcance.configuraMoto(rm.y, rm.y + rm.height, moto.getMoveSpeed(),
+                Math.abs(laneCenters[1] - laneCenters[0]));
+    }
+
+    /**
+     * Refaz a ReachabilityGrid a partir dos carros na pista, com a
+     * velocidade do mundo atual.
+     */
+    private void reconstroiAlcance() {
+        alcance.limpa();
+        for (int i = 0; i < carros.size; i++) {
+            Carro c = carros.get(i);
+            Rectangle r = c.getBounds();
+            alcance.adiciona(c.getLaneIndex(), r.y, r.height, worldSpeed + c.getVelocidade());
+        }
+        alcanceVelocidade = worldSpeed;
+    }
+
+    /**
+     * step(dt, acoes)
+     * ---------------
+     * Avança a partida um frame:
+     * - Atualização de tempo, velocidade e boost
+     * - Movimento da moto (acoes vindas do RiderInput)
+     * - Spawns de carros e moedas
+     * - Movimento/remoção de carros e moedas, coleta de moedas
+     * - Distância, colisão e fim de fase
+     *
+     * Depois de COLISAO ou CONCLUIDA não faz mais nada.
+     *
+     * @param dt    duração do frame em segundos (a GameScreen limita a 1/60)
+     * @param acoes máscara de RiderInput (LEFT, RIGHT, BOOST)
+     */
+    public void step(float dt, int acoes) {
+        if (isOver())
+            return;
+
+        // No modo determinístico, o dt é quantizado para ponto fixo uma vez só
+        // e todo o resto do frame usa esse mesmo valor inteiro
+        long dtFx = FixedPoint.fromFloat(dt);
+
+        // O gerenciador de level controla progressão de dificuldade com o tempo da fase
+        FrameTimeline.inicio(FrameTimeline.NIVEL);
+        level.update(dt);
+        FrameTimeline.fim(FrameTimeline.NIVEL);
+
+        // 1) Obtemos a velocidade BASE a partir do LevelManager
+        worldSpeedBase = level.worldSpeedPx();
+
+        boolean finishing = (estado == Estado.FINALIZANDO);
+
+        // 2) Atualiza o BOOST global (apenas se não estiver finalizando)
+        if (!finishing) {
+            // Quando o jogador "pedala" (ESPAÇO), aumentamos o multiplicador de velocidade
+            boolean pedalou = (acoes & RiderInput.BOOST) != 0;
+            if (deterministic) {
+                // Mesma regra abaixo, mas em ponto fixo
+                if (pedalou)
+                    worldSpeedBoostFx = Math.min(BOOST_MAX_FX, worldSpeedBoostFx + BOOST_STEP_FX);
+                worldSpeedBoostFx = Math.max(FixedPoint.ONE,
+                        worldSpeedBoostFx - FixedPoint.mul(BOOST_DECAY_FX, dtFx));
+                worldSpeedBoost = FixedPoint.toFloat(worldSpeedBoostFx);
+            } else {
+                if (pedalou) {
+                    worldSpeedBoost += BOOST_STEP;
+                    if (worldSpeedBoost > BOOST_MAX) {
+                        worldSpeedBoost = BOOST_MAX; // não passa do máximo
+                    }
+                }
+
+                // Mesmo se o jogador não apertar nada, o boost vai voltando aos poucos para
+                // 1.0
+                worldSpeedBoost -= BOOST_DECAY * dt;
+                if (worldSpeedBoost < 1f) {
+                    worldSpeedBoost = 1f;
+                }
+            }
+        }
+
+        // 3) Calcula a velocidade FINAL: base * boost (essa é a que realmente se usa no
+        // jogo)
+        if (deterministic) {
+            worldSpeedFx = FixedPoint.mul(FixedPoint.fromFloat(worldSpeedBase), worldSpeedBoostFx);
+            worldSpeed = FixedPoint.toFloat(worldSpeedFx);
+        } else {
+            worldSpeed = worldSpeedBase * worldSpeedBoost;
+        }
+
+        // ================= LÓGICA PRINCIPAL DO JOGO (quando não está finalizando)
+        // =================
+        if (!finishing) {
+
+            // Atualiza a moto, passando dt, velocidade do mundo e as ações do frame
+            FrameTimeline.inicio(FrameTimeline.ENTIDADES);
+            moto.update(dt, worldSpeed, acoes);
+            FrameTimeline.fim(FrameTimeline.ENTIDADES);
+
+            // A IA de trânsito acompanha o jogador (tempo em cada faixa,
+            // cooldowns) antes de decidir qualquer spawn deste frame
+            FrameTimeline.inicio(FrameTimeline.SPAWN);
+            estrategia.atualiza(pista, dt);
+
+            // ---- Spawn de carros por tempo (ondas) ----
+            spawnTimer += dt;
+            if (spawnsLigados && spawnTimer >= level.spawnInterval()) {
+                // Quando o timer atinge o intervalo, a estratégia cria a onda
+                spawnWave();
+                spawnTimer = 0f;
+            }
+
+            // Spawns fora das ondas (na padrão: o carro "despertador" para quem
+            // fica muito tempo na mesma faixa)
+            if (spawnsLigados)
+                estrategia.avulsos(pista, comandos);
+
+            // ---- Spawn de moedas ----
+            coinSpawnTimer += dt;
+
+            // Intervalo atual de moedas: começa em coinIntervalBase e diminui levemente
+            // conforme a fase avança (tempo do LevelManager).
+            float coinIntervalNow = Math.max(0.55f,
+                    coinIntervalBase - 0.35f * clamp01(level.getTime() / 60f));
+            if (spawnsLigados && coinSpawnTimer >= coinIntervalNow) {
+                spawnCoin();
+                coinSpawnTimer = 0f;
+            }
+            FrameTimeline.fim(FrameTimeline.SPAWN);
+        }
+
+        // ================= Atualização de carros e moedas =================
+        FrameTimeline.inicio(FrameTimeline.ENTIDADES);
+        moveTrafego(dt, dtFx);
+
+        // ================= Coleta de moedas (apenas antes do fim de fase)
+        // =================
+        if (!finishing)
+            coletaMoedas();
+        FrameTimeline.fim(FrameTimeline.ENTIDADES);
+
+        // ================= Distância, fim de fase e colisões =================
+        // Distância cresce com a velocidade final e o tempo
+        // (METROS_POR_PX = 0.035f é um fator de conversão px → "metros do jogo")
+        if (deterministic) {
+            distanciaFx += FixedPoint.mul(FixedPoint.mul(worldSpeedFx, dtFx), METROS_POR_PX_FX);
+            distancia = FixedPoint.toFloat(distanciaFx);
+        } else {
+            distancia += worldSpeed * dt * METROS_POR_PX;
+        }
+
+        // Alimenta o checksum com o estado deste frame
+        acumulaChecksum();
+
+        float meta = getMeta(); // meta de metros para essa fase
+
+        // Quando atinge a meta e ainda não estava finalizando, entra no modo de
+        // finalização
+        if (!finishing && distancia >= meta) {
+            estado = Estado.FINALIZANDO;
+            finishing = true;
+            finishTimer = 0f;
+            clearedTraffic = false;
+        }
+
+        if (!finishing) {
+            // ===== MODO NORMAL (antes de bater a meta): colisão leva ao GameOver =====
+            // Usamos colisão contínua (swept): compara o movimento da moto e do
+            // carro durante o frame inteiro, e não só as posições finais.
+            // Com velocidades altas (fase 3 + boost) o teste discreto podia
+            // deixar o carro passar "por dentro" da moto sem detectar.
+            // Depois do teste de retângulos, confirmamos com as máscaras de
+            // pixels para ignorar as bordas transparentes dos sprites.
+            FrameTimeline.inicio(FrameTimeline.COLISAO);
+            boolean bateu = bateuEmCarro();
+            FrameTimeline.fim(FrameTimeline.COLISAO);
+            if (bateu) {
+                estado = Estado.COLISAO;
+                JfrEventos.colisao(fase, level.getTime(), distancia, worldSpeed, moto.getCurrentLaneIndex(),
+                        moedasColetadas, carros.size);
+                return;
+            }
+        } else {
+            // ===== MODO FINALIZAÇÃO (depois de bater a meta) =====
+            finishTimer += dt;
+
+            // 1) Primeiro, deixa o trânsito descer por um pequeno tempo
+            if (!clearedTraffic && finishTimer >= FINISH_CLEAR_TIME) {
+                // Depois disso, limpa tudo para a moto subir sozinha
+                esvazia(carros, carBuf);
+                esvazia(moedas, coinBuf);
+                alcance.limpa();
+                clearedTraffic = true;
+            }
+
+            // 2) A partir de certo momento, moto começa a subir sozinha (animação de
+            // vitória)
+            if (finishTimer >= FINISH_CLEAR_TIME) {
+                moto.getBounds().y += dt * 260f;
+            }
+
+            // 3) Quando termina o tempo de animação, a fase está concluída
+            if (finishTimer >= FINISH_CLEAR_TIME + FINISH_ASCEND_TIME) {
+                estado = Estado.CONCLUIDA;
+            }
+        }
+    }
+
+    /**
+     * moveTrafego()
+     * -------------
+     * Move carros e moedas um frame, gira a ReachabilityGrid e remove o que
+     * saiu da tela. (Separado do step() para os benchmarks medirem só este
+     * laço.)
+     */
+    void moveTrafego(float dt, long dtFx) {
+        // Todos os carros descem (worldSpeed + velocidade própria) * dt, direto
+        // nos arrays do buffer
+        if (deterministic)
+            carBuf.advanceFixed(dtFx, worldSpeedFx);
+        else
+            kernels.advance(carBuf, dt, worldSpeed);
+
+        // A grade de alcance anda junto; se a velocidade mudou demais desde a
+        // última reconstrução, os tempos previstos já não valem: refaz.
+        alcance.avanca(dt);
+        if (Math.abs(worldSpeed - alcanceVelocidade) > ALCANCE_TOLERANCIA * alcanceVelocidade)
+            reconstroiAlcance();
+
+        // Remove carros que saíram totalmente da tela (otimização).
+        // O kernel devolve os índices em ordem crescente; removemos de trás
+        // pra frente para não bagunçar os índices que faltam.
+        int n = kernels.collectBelow(carBuf, 0f, idxScratch);
+        remove(carros, carBuf, idxScratch, n);
+
+        // Moedas: só a velocidade do mundo (vel = 0 no buffer)
+        if (deterministic)
+            coinBuf.advanceFixed(dtFx, worldSpeedFx);
+        else
+            kernels.advance(coinBuf, dt, worldSpeed);
+
+        // Remove moedas que saíram da tela
+        n = kernels.collectBelow(coinBuf, 0f, idxScratch);
+        remove(moedas, coinBuf, idxScratch, n);
+    }
+
+    /**
+     * coletaMoedas()
+     * --------------
+     * Remove (e conta) as moedas que a moto tocou neste frame.
+     */
+    void coletaMoedas() {
+        // Fase larga vetorizada: só as moedas cujo caminho no frame cruza o
+        // caminho da moto viram candidatas para o teste completo
+        int n = collectMotoCandidates(coinBuf);
+        int coletadas = 0;
+        for (int k = 0; k < n; k++) {
+            int i = idxScratch[k];
+            Moeda m = moedas.get(i);
+
+            // Se a moto encosta na moeda em QUALQUER momento do frame
+            // (colisão contínua + máscara de pixels), considera como coleta.
+            // Assim a moeda não "atravessa" a moto quando o frame é longo.
+            // (Os índices coletados ficam no começo do próprio idxScratch,
+            // ainda em ordem crescente.)
+            if (tocaMoto(m.getBounds(), m.getPrevY(), m.getMascara()))
+                idxScratch[coletadas++] = i;
+        }
+        remove(moedas, coinBuf, idxScratch, coletadas);
+        moedasColetadas += coletadas;
+    }
+
+    /**
+     * bateuEmCarro()
+     * --------------
+     * A moto tocou algum carro neste frame?
+     * Usamos colisão contínua (swept): compara o movimento da moto e do
+     * carro durante o frame inteiro, e não só as posições finais. No modo
+     * invulnerável a batida só é contada.
+     */
+    boolean bateuEmCarro() {
+        int n = collectMotoCandidates(carBuf);
+        for (int k = 0; k < n; k++) {
+            Carro c = carros.get(idxScratch[k]);
+            if (tocaMoto(c.getBounds(), c.getPrevY(), c.getMascara())) {
+                if (invulneravel) {
+                    colisoesIgnoradas++;
+                    continue;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * acumulaChecksum()
+     * -----------------
+     * Mistura no checksum os valores que definem a simulação neste frame:
+     * tempo da fase, velocidade, distância, faixa/posição da moto e a
+     * faixa/posição de cada carro e moeda. Não aloca nada.
+     */
+    private void acumulaChecksum() {
+        checksum.add(deterministic ? level.getTimeFx() : Float.floatToIntBits(level.getTime()));
+        checksum.add(deterministic ? worldSpeedFx : Float.floatToIntBits(worldSpeed));
+        checksum.add(deterministic ? distanciaFx : Float.floatToIntBits(distancia));
+        checksum.add(moto.getCurrentLaneIndex());
+        checksum.add(moto.getBounds().x);
+        checksum.add(carros.size);
+        for (int i = 0; i < carros.size; i++) {
+            Carro c = carros.get(i);
+            checksum.add(c.getLaneIndex());
+            checksum.add(c.getBounds().y);
+        }
+        checksum.add(moedas.size);
+        for (int i = 0; i < moedas.size; i++)
+            checksum.add(moedas.get(i).getBounds().y);
+        checksum.add(moedasColetadas);
+        checksum.endFrame();
+    }
+
+    /**
+     * adicionaCarro() / adicionaMoeda()
+     * ---------------------------------
+     * Põe a entidade na pista: fim da lista e fim do buffer (mesmo índice).
+     * Não passa pela ReachabilityGrid (quem chama decide).
+     */
+    void adicionaCarro(Carro c) {
+        c.liga(carBuf);
+        carros.add(c);
+        ensureScratch(carros.size);
+    }
+
+    void adicionaMoeda(Moeda m) {
+        m.liga(coinBuf);
+        moedas.add(m);
+        ensureScratch(moedas.size);
+    }
+
+    /** Tira a i-ésima moeda da pista (sem contar como coletada). */
+    void removeMoeda(int i) {
+        idxScratch[0] = i;
+        remove(moedas, coinBuf, idxScratch, 1);
+    }
+
+    /** Tira todos os carros e moedas da pista (e da ReachabilityGrid). */
+    void limpaTrafego() {
+        esvazia(carros, carBuf);
+        esvazia(moedas, coinBuf);
+        alcance.limpa();
+    }
+
+    /**
+     * remove()
+     * --------
+     * Tira da pista as entidades idx[0..n-1] (em ordem crescente, como os
+     * kernels devolvem): da lista e do buffer, mantendo a ordem das que
+     * ficam, e renumera as vistas que andaram para trás.
+     */
+    private static <T extends Entidade> void remove(Array<T> lista, EntityBuffer buf, int[] idx, int n) {
+        if (n == 0)
+            return;
+        for (int k = 0; k < n; k++)
+            lista.get(idx[k]).solta();
+        for (int k = n - 1; k >= 0; k--)
+            lista.removeIndex(idx[k]);
+        buf.removeSorted(idx, n);
+        for (int i = idx[0]; i < lista.size; i++)
+            lista.get(i).setIndice(i);
+    }
+
+    private static <T extends Entidade> void esvazia(Array<T> lista, EntityBuffer buf) {
+        for (int i = 0; i < lista.size; i++)
+            lista.get(i).solta();
+        lista.clear();
+        buf.clear();
+    }
+
+    private void ensureScratch(int n) {
+        if (idxScratch.length < n)
+            idxScratch = new int[Math.max(n, idxScratch.length * 2)];
+    }
+
+    /**
+     * collectMotoCandidates()
+     * -----------------------
+     * Fase larga: escreve em idxScratch os índices das entidades cujo caminho
+     * vertical no frame cruza a região varrida pela moto (do início ao fim do
+     * frame). Só elas passam pelo tocaMoto().
+     */
+    private int collectMotoCandidates(EntityBuffer b) {
+        Rectangle rm = moto.getBounds();
+        float minX = Math.min(moto.getPrevX(), rm.x);
+        float maxX = Math.max(moto.getPrevX(), rm.x) + rm.width;
+        float minY = Math.min(moto.getPrevY(), rm.y);
+        float maxY = Math.max(moto.getPrevY(), rm.y) + rm.height;
+        return kernels.collectSweptOverlaps(b, minX, minY, maxX, maxY, idxScratch);
+    }
+
+    /**
+     * tocaMoto()
+     * ----------
+     * Teste de colisão da moto com um carro ou moeda, em duas etapas:
+     * 1) fase "larga": colisão contínua dos retângulos (SweptCollision).
+     * Na imensa maioria dos frames ela já responde "não" e paramos aqui.
+     * 2) fase "estreita": só quando os retângulos se encostam, comparamos as
+     * máscaras de pixels (CollisionMask) ao longo do movimento do frame,
+     * descartando as "batidas fantasmas" nas margens transparentes.
+     *
+     * A entidade só se move em Y, então o X do início do frame é o atual.
+     */
+    private boolean tocaMoto(Rectangle alvo, float alvoPrevY, CollisionMask alvoMascara) {
+        Rectangle rm = moto.getBounds();
+        float t = SweptCollision.timeOfImpact(rm, moto.getPrevX(), moto.getPrevY(),
+                alvo, alvo.x, alvoPrevY);
+        if (t == SweptCollision.NO_HIT)
+            return false;
+        return CollisionMask.sweptOverlaps(moto.getMascara(), rm, moto.getPrevX(), moto.getPrevY(),
+                alvoMascara, alvo, alvo.x, alvoPrevY, t);
+    }
+
+    /**
+     * getGoalMetersForFase
+     * ---------------------
+     * Função auxiliar que define quantos "metros" o jogador precisa percorrer
+     * para completar cada fase.
+     */
+    public static float getGoalMetersForFase(int f) {
+        switch (f) {
+            case 1:
+                return 500f;
+            case 2:
+                return 1000f;
+            case 3:
+                return 1000f;
+            default:
+                return 1200f;
+        }
+    }
+
+    // ===================== SPAWN / IA DE TRÂNSITO =====================
+
+    /**
+     * spawnWave()
+     * -----------
+     * Uma onda de carros (o intervalo de spawn do LevelManager venceu): quem
+     * escolhe as faixas é a SpawnStrategy. Conta como onda se pelo menos um
+     * carro entrou na pista.
+     *
+     * Com JFR gravando, emite motorunner.OndaDeSpawn (faixas e carros da
+     * onda; a duração é a decisão da estratégia).
+     */
+    void spawnWave() {
+        JfrEventos.OndaDeSpawn jfr = JfrEventos.inicioOnda();
+        int antes = carrosGerados;
+        estrategia.onda(pista, comandos);
+        int novos = carrosGerados - antes;
+        if (novos != 0)
+            ondas++;
+        if (jfr != null) {
+            // Os carros novos ficam no fim da lista: as faixas saem deles
+            int mascara = 0;
+            for (int i = carros.size - novos; i < carros.size; i++)
+                mascara |= 1 << carros.get(i).getLaneIndex();
+            JfrEventos.fimOnda(jfr, fase, level.getTime(), mascara, novos, carros.size);
+        }
+    }
+
+    /**
+     * spawnCoin()
+     * -----------
+     * O cronômetro das moedas venceu: a SpawnStrategy escolhe a faixa.
+     */
+    void spawnCoin() {
+        estrategia.moeda(pista, comandos);
+    }
+
+    /**
+     * spawnSingleAtLane()
+     * --------------------
+     * Spawna um único carro em uma faixa específica, em uma altura específica.
+     *
+     * A velocidade do carro é baseada na velocidade do mundo multiplicada por um
+     * fator
+     * de LevelManager (rivalSpeedFactor).
+     *
+     * Antes de entrar na pista, o carro é conferido na ReachabilityGrid: se
+     * com ele não sobra nenhuma rota de fuga para a moto, o spawn é recusado.
+     *
+     * @return true se o carro foi criado
+     */
+    // ================== CONTROLE DE VELOCIDADE DOS CARROS POR FASE
+    // ==================
+    private boolean spawnSingleAtLane(int lane, float spawnY) {
+        // velocidade base do carro (relacionada à velocidade do mundo)
+        float vCarBase = worldSpeed * level.rivalSpeedFactor();
+
+        // fator de redução conforme a fase
+        float slowFactor;
+        if (fase == 1) {
+            slowFactor = 0.8f; // Fase 1: mantém igual
+        } else if (fase == 2) {
+            slowFactor = 0.45f; // Fase 2: reduz ainda mais a velocidade
+        } else {
+            slowFactor = 0.38f; // Fase 3: fica mais lenta, mas ainda desafiante
+        }
+
+        // aplica a redução final
+        float vCar = vCarBase * slowFactor;
+
+        // cria o carro com a velocidade ajustada
+        Carro carro = new Carro(lane, spawnY, vCar, laneCenters, spriteRng);
+        float alturaCarro = carro.getBounds().height;
+        float velRelativa = worldSpeed + carro.getVelocidade();
+        if (!alcance.aceita(lane, spawnY, alturaCarro, velRelativa, moto.getCurrentLaneIndex())) {
+            spawnsRejeitados++;
+            return false;
+        }
+        alcance.adiciona(lane, spawnY, alturaCarro, velRelativa);
+        adicionaCarro(carro);
+        carrosGerados++;
+        return true;
+    }
+
+    /**
+     * descartaSpawnsDesde()
+     * ---------------------
+     * Desfaz os spawns feitos depois que a pista tinha `nCarros` carros e
+     * `nMoedas` moedas (tira da lista e da ReachabilityGrid). Só os
+     * benchmarks usam: assim cada spawnWave()/spawnCoin() medido parte do
+     * mesmo trânsito. Vale apenas se nenhum step() rodou desde o spawn.
+     */
+    void descartaSpawnsDesde(int nCarros, int nMoedas) {
+        for (int i = carros.size - 1; i >= nCarros; i--) {
+            Carro c = carros.get(i);
+            Rectangle r = c.getBounds();
+            alcance.remove(c.getLaneIndex(), r.y, r.height, worldSpeed + c.getVelocidade());
+        }
+        for (int i = nCarros; i < carros.size; i++)
+            carros.get(i).solta();
+        for (int i = nMoedas; i < moedas.size; i++)
+            moedas.get(i).solta();
+        carros.truncate(nCarros);
+        carBuf.truncate(nCarros);
+        moedas.truncate(nMoedas);
+        coinBuf.truncate(nMoedas);
+    }
+
+    // ==================== Cenários (Cenario) ====================
+
+    /**
+     * preparaCenario()
+     * ----------------
+     * Leva a partida recém-criada para o começo de um cenário: tempo da fase
+     * no LevelManager (e a velocidade do mundo que vem dele), faixa da moto
+     * e se a IA de spawn continua criando carros e moedas.
+     */
+    void preparaCenario(float tempoFase, int faixaMoto, boolean spawns) {
+        level.setTime(tempoFase);
+        worldSpeedBase = level.worldSpeedPx();
+        worldSpeed = worldSpeedBase * worldSpeedBoost;
+        worldSpeedFx = FixedPoint.mul(FixedPoint.fromFloat(worldSpeedBase), worldSpeedBoostFx);
+
+        moto.colocaNaFaixa(faixaMoto);
+        estrategia.reinicia(pista);
+
+        spawnsLigados = spawns;
+        reconstroiAlcance();
+    }
+
+    /** Põe um carro na pista (sem passar pela IA de spawn nem pela grade). */
+    void colocaCarro(int lane, float y, float velocidade) {
+        Carro c = new Carro(lane, y, velocidade, laneCenters, spriteRng);
+        Rectangle r = c.getBounds();
+        alcance.adiciona(c.getLaneIndex(), r.y, r.height, worldSpeed + c.getVelocidade());
+        adicionaCarro(c);
+    }
+
+    /** Põe uma moeda na pista. */
+    void colocaMoeda(int lane, float y) {
+        adicionaMoeda(new Moeda(laneCenters, lane, y));
+    }
+
+    // ==================== Pista (SpawnView) e Comandos ====================
+
+    /**
+     * Pista
+     * -----
+     * O que a SpawnStrategy enxerga da partida. Só repassa consultas (as de
+     * faixa vão para os EntityKernels); não aloca.
+     */
+    private final class Pista implements SpawnView {
+
+        @Override
+        public int getFase() {
+            return fase;
+        }
+
+        @Override
+        public int getLaneCount() {
+            return laneCount;
+        }
+
+        @Override
+        public float getScreenHeight() {
+            return screenH;
+        }
+
+        @Override
+        public int getFaixaMoto() {
+            return moto.getCurrentLaneIndex();
+        }
+
+        @Override
+        public float getMotoBase() {
+            return moto.getBounds().y;
+        }
+
+        @Override
+        public float getMotoTopo() {
+            return moto.getBounds().y + moto.getBounds().height;
+        }
+
+        @Override
+        public int getQuantidadeCarros() {
+            return carros.size;
+        }
+
+        @Override
+        public int getFaixaDoCarro(int i) {
+            return carros.get(i).getLaneIndex();
+        }
+
+        @Override
+        public float getYDoCarro(int i) {
+            return carros.get(i).getBounds().y;
+        }
+
+        @Override
+        public int faixasOcupadas(float yDe, float yAte) {
+            return kernels.laneOccupancy(carBuf, yDe, yAte);
+        }
+
+        @Override
+        public void topoPorFaixa(float[] saida) {
+            kernels.topYByLane(carBuf, laneCount, saida);
+        }
+
+        @Override
+        public float getTempo() {
+            return level.getTime();
+        }
+
+        @Override
+        public float getWorldSpeed() {
+            return worldSpeed;
+        }
+
+        @Override
+        public float getGapMinimo() {
+            return level.laneGapPx();
+        }
+
+        @Override
+        public float getChanceDuplo() {
+            return level.pDouble();
+        }
+
+        @Override
+        public Random getRngTrafego() {
+            return rng;
+        }
+
+        @Override
+        public Random getRngMoedas() {
+            return coinRng;
+        }
+    }
+
+    /**
+     * Comandos
+     * --------
+     * Spawns pedidos pela SpawnStrategy, aplicados na hora (carros passam
+     * pela ReachabilityGrid em spawnSingleAtLane).
+     */
+    private final class Comandos implements SpawnCommands {
+
+        @Override
+        public boolean carro(int faixa, float y) {
+            return spawnSingleAtLane(faixa, y);
+        }
+
+        @Override
+        public boolean carroForcado(int faixa, float y) {
+            if (!spawnSingleAtLane(faixa, y))
+                return false;
+            spawnsForcados++;
+            return true;
+        }
+
+        @Override
+        public void moeda(int faixa, float y) {
+            adicionaMoeda(new Moeda(laneCenters, faixa, y));
+        }
+
+        @Override
+        public SpawnTrace trace() {
+            return trace;
+        }
+    }
+
+    /**
+     * clamp01()
+     * ---------
+     * Função utilitária: limita um valor entre 0 e 1.
+     */
+    private static float clamp01(float v) {
+        return Math.max(0f, Math.min(1f, v));
+    }
+
+    // =================== Consultas (HUD, telas, simulador) ===================
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+    /** true depois de COLISAO ou CONCLUIDA: step() não faz mais nada. */
+    public boolean isOver() {
+        return estado == Estado.COLISAO || estado == Estado.CONCLUIDA;
+    }
+
+    /** true durante a animação de fim de fase. */
+    public boolean isFinishing() {
+        return estado == Estado.FINALIZANDO;
+    }
+
+    public int getFase() {
+        return fase;
+    }
+
+    /** Meta de distância (metros) desta fase. */
+    public float getMeta() {
+        return getGoalMetersForFase(fase);
+    }
+
+    public float getDistancia() {
+        return distancia;
+    }
+
+    public int getMoedasColetadas() {
+        return moedasColetadas;
+    }
+
+    /** Tempo da fase (segundos simulados), vindo do LevelManager. */
+    public float getTempo() {
+        return level.getTime();
+    }
+
+    public float getWorldSpeedBase() {
+        return worldSpeedBase;
+    }
+
+    public float getWorldSpeedBoost() {
+        return worldSpeedBoost;
+    }
+
+    public float getWorldSpeed() {
+        return worldSpeed;
+    }
+
+    public LevelManager getLevel() {
+        return level;
+    }
+
+    public int getLaneCount() {
+        return laneCount;
+    }
+
+    public float getInsetFactor() {
+        return insetFactor;
+    }
+
+    /** X central de cada faixa. */
+    public float[] getLaneCenters() {
+        return laneCenters;
+    }
+
+    public float getScreenWidth() {
+        return screenW;
+    }
+
+    public float getScreenHeight() {
+        return screenH;
+    }
+
+    public Moto getMoto() {
+        return moto;
+    }
+
+    /** Carros na pista. Somente leitura: quem muda a lista é a simulação. */
+    public Array<Carro> getCarros() {
+        return carros;
+    }
+
+    /** Moedas na pista. Somente leitura: quem muda a lista é a simulação. */
+    public Array<Moeda> getMoedas() {
+        return moedas;
+    }
+
+    /** Ondas do spawnWave que criaram carro desde o início da partida. */
+    public int getOndas() {
+        return ondas;
+    }
+
+    /**
+     * Carros criados desde o início da partida. Carros novos entram no fim
+     * de getCarros(), então os últimos (atual - anterior) são os do frame.
+     */
+    public int getCarrosGerados() {
+        return carrosGerados;
+    }
+
+    /** Spawns recusados porque fechariam todas as rotas de fuga. */
+    public int getSpawnsRejeitados() {
+        return spawnsRejeitados;
+    }
+
+    /** Grade de alcance usada para conferir os spawns. */
+    public ReachabilityGrid getAlcance() {
+        return alcance;
+    }
+
+    /** Carros criados fora das ondas (na padrão: os "despertadores"). */
+    public int getSpawnsForcados() {
+        return spawnsForcados;
+    }
+
+    /** IA de trânsito desta partida. */
+    public SpawnStrategy getSpawnStrategy() {
+        return estrategia;
+    }
+
+    /** Últimas decisões de spawn da partida (o que a estratégia registrou). */
+    public SpawnTrace getSpawnTrace() {
+        return trace;
+    }
+
+    /**
+     * O que a IA de trânsito enxerga da partida (só leitura): usado pelo
+     * overlay de depuração da GameScreen para desenhar zona de perigo e gaps
+     * com as mesmas consultas da estratégia.
+     */
+    public SpawnView getPista() {
+        return pista;
+    }
+
+    /**
+     * Troca a IA de trânsito (instância nova, só desta partida). Deve ser
+     * chamado antes do primeiro step(); ferramentas como o SpawnArena usam
+     * para comparar estratégias com as mesmas seeds.
+     */
+    public void setSpawnStrategy(SpawnStrategy estrategia) {
+        this.estrategia = estrategia;
+    }
+
+    /** A IA de spawn está criando carros e moedas? (false em alguns cenários) */
+    public boolean isSpawnsLigados() {
+        return spawnsLigados;
+    }
+
+    /**
+     * Liga o modo invulnerável: colisões não terminam a partida, só são
+     * contadas (ver getColisoesIgnoradas). Só para ferramentas de validação.
+     */
+    public void setInvulneravel(boolean invulneravel) {
+        this.invulneravel = invulneravel;
+    }
+
+    public int getColisoesIgnoradas() {
+        return colisoesIgnoradas;
+    }
+
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+
+    /** Semente da partida (para reproduzir a mesma sessão). */
+    public long getSeed() {
+        return random.getSeed();
+    }
+
+    /** Checksum do estado da simulação acumulado até agora. */
+    public SimChecksum getChecksum() {
+        return checksum;
+    }
+
+    /** Nome da implementação dos EntityKernels em uso (log). */
+    public String getKernelsName() {
+        return kernels.name();
+    }
+}
@@ -0,0 +1,39 @@
+package com.felipemelantonio.motorunneriot.sim;
+
+import java.util.Random;
+
+/**
+ * RandomRiderInput
+ * ================
+ * Piloto "ruído" para o simulador: troca de faixa e pedala ao acaso, em
+ * taxas médias por segundo. Não olha o trânsito; serve como referência
+ * de um jogador sem estratégia.
+ */
+public final class RandomRiderInput implements RiderInput {
+
+    private final Random rng;
+    private final float trocasPorSegundo;
+    private final float pedaladasPorSegundo;
+
+    /**
+     * @param rng                 Random próprio do piloto (não use os
+     *                            sub-fluxos da partida, senão o trânsito muda)
+     * @param trocasPorSegundo    média de trocas de faixa por segundo
+     * @param pedaladasPorSegundo média de pedaladas (BOOST) por segundo
+     */
+    public RandomRiderInput(Random rng, float trocasPorSegundo, float pedaladasPorSegundo) {
+        this.rng = rng;
+        this.trocasPorSegundo = trocasPorSegundo;
+        this.pedaladasPorSegundo = pedaladasPorSegundo;
+    }
+
+    @Override
+    public int poll(GameSimulation sim, float dt) {
+        int acoes = NONE_MASK;
+        if (rng.nextFloat() < trocasPorSegundo * dt)
+            acoes |= rng.nextBoolean() ? LEFT : RIGHT;
+        if (rng.nextFloat() < pedaladasPorSegundo * dt)
+            acoes |= BOOST;
+        return acoes;
+    }
+}
@@ -0,0 +1,241 @@
+package com.felipemelantonio.motorunneriot.sim;
+
+import java.util.Arrays;
+
+/**
+ * ReachabilityGrid
+ * ================
+ * Grade (tempo x faixa) de ocupação na altura da moto, usada pela
+ * GameSimulation para provar que um spawn NÃO fecha todas as saídas.
+ *
+ * Cada célula conta quantos carros estarão cruzando a faixa vertical da moto
+ * naquele intervalo de tempo (TICK_S) naquela faixa. O eixo do tempo é um
+ * anel: avanca(dt) só gira a origem e limpa a fatia que ficou no passado,
+ * e adicionar um carro só incrementa as células do intervalo em que ele
+ * passa pela moto. Nada é recalculado do zero a cada frame.
+ *
+ * Pergunta que a grade responde: partindo da faixa atual, existe uma
+ * sequência de trocas de faixa que chega ao fim do horizonte sem entrar em
+ * célula ocupada? A moto só troca uma faixa por vez, a troca dura
+ * `slotsTroca` fatias (tempo para o Moto.update assentar na faixa nova) e,
+ * durante a troca, ocupa as DUAS faixas (conservador).
+ *
+ * O tempo de passagem de cada carro é previsto com a velocidade do mundo
+ * do momento da inserção. Como o boost e o LevelManager mudam essa
+ * velocidade, os intervalos são alargados (MARGEM_RELATIVA + uma fatia de
+ * cada lado) e a simulação refaz a grade (limpa + adiciona de cada carro)
+ * quando a velocidade muda mais que a tolerância.
+ *
+ * Custo: O(faixas x fatias) por consulta, sem alocar (busca para frente com
+ * máscara de bits por fatia e "corridas livres" pré-calculadas por faixa).
+ */
+public final class ReachabilityGrid {
+
+    /** Duração de uma fatia de tempo (s). */
+    public static final float TICK_S = 1f / 30f;
+
+    /** Horizonte padrão (s): mais que o tempo de um carro recém-nascido chegar à moto. */
+    public static final float HORIZONTE_S = 6f;
+
+    // Alarga o intervalo de cada carro em ±8% (velocidade do mundo muda)
+    private static final float MARGEM_RELATIVA = 0.08f;
+
+    // Margem vertical em volta da moto (px)
+    private static final float MARGEM_PX = 4f;
+
+    // Distância ao centro da faixa para considerar a moto assentada (px)
+    private static final float ASSENTADA_PX = 6f;
+
+    private final int laneCount;
+    private final int fatias;
+    private final short[] ocupacao; // [fatia * laneCount + faixa], anel
+    private int origem; // fatia do "agora" no anel
+    private float fracao; // quanto da fatia atual já passou (s)
+
+    private float motoBase, motoTopo;
+    private int slotsTroca = 1;
+
+    // Rascunhos da consulta (reaproveitados)
+    private final int[] livreMask; // faixas livres por fatia (relativa ao agora)
+    private final short[] corridaLivre; // [fatia * laneCount + faixa] fatias livres seguidas a partir daqui
+    private final int[] alcancavel; // faixas onde a moto pode estar assentada por fatia
+
+    public ReachabilityGrid(int laneCount) {
+        this(laneCount, HORIZONTE_S);
+    }
+
+    public ReachabilityGrid(int laneCount, float horizonteS) {
+        this.laneCount = laneCount;
+        this.fatias = Math.max(2, (int) Math.ceil(horizonteS / TICK_S));
+        ocupacao = new short[fatias * laneCount];
+        livreMask = new int[fatias];
+        corridaLivre = new short[(fatias + 1) * laneCount];
+        alcancavel = new int[fatias];
+    }
+
+    /**
+     * Faixa vertical da moto e quanto tempo dura uma troca de faixa.
+     *
+     * @param moveSpeed     taxa da interpolação lateral do Moto.update (1/s)
+     * @param distanciaFaixas distância entre centros de faixas vizinhas (px)
+     */
+    public void configuraMoto(float motoBase, float motoTopo, float moveSpeed, float distanciaFaixas) {
+        this.motoBase = motoBase - MARGEM_PX;
+        this.motoTopo = motoTopo + MARGEM_PX;
+
+        // Frames (a 60 fps) até o resto da troca ficar abaixo de ASSENTADA_PX
+        float alfa = Math.min(1f, moveSpeed / 60f);
+        int frames = 1;
+        float resto = distanciaFaixas;
+        while (resto * (1f - alfa) > ASSENTADA_PX && frames < 120) {
+            resto *= 1f - alfa;
+            frames++;
+        }
+        slotsTroca = Math.max(1, (int) Math.ceil(frames / 60f / TICK_S));
+    }
+
+    /** Esquece todos os carros (ex.: finalização limpou a pista). */
+    public void limpa() {
+        Arrays.fill(ocupacao, (short) 0);
+        fracao = 0f;
+    }
+
+    /** Avança o relógio da grade: fatias que ficaram no passado são liberadas. */
+    public void avanca(float dt) {
+        fracao += dt;
+        while (fracao >= TICK_S) {
+            fracao -= TICK_S;
+            int base = origem * laneCount;
+            for (int l = 0; l < laneCount; l++)
+                ocupacao[base + l] = 0;
+            origem = (origem + 1) % fatias;
+        }
+    }
+
+    /**
+     * Registra um carro.
+     *
+     * @param velRelativa velocidade com que ele desce em relação à moto
+     *                    (mundo + velocidade própria, px/s)
+     */
+    public void adiciona(int lane, float y, float altura, float velRelativa) {
+        marca(lane, y, altura, velRelativa, 1);
+    }
+
+    /** Desfaz um adiciona() com os mesmos parâmetros. */
+    public void remove(int lane, float y, float altura, float velRelativa) {
+        marca(lane, y, altura, velRelativa, -1);
+    }
+
+    /**
+     * Um carro nessa posição ainda deixa rota para a moto?
+     * Insere, consulta e desfaz: a grade termina igual a como começou.
+     */
+    public boolean aceita(int lane, float y, float altura, float velRelativa, int faixaMoto) {
+        adiciona(lane, y, altura, velRelativa);
+        boolean ok = temRota(faixaMoto);
+        remove(lane, y, altura, velRelativa);
+        return ok;
+    }
+
+    // Soma `delta` nas fatias em que o carro cruza a faixa vertical da moto
+    private void marca(int lane, float y, float altura, float velRelativa, int delta) {
+        if (velRelativa <= 0f || lane < 0 || lane >= laneCount)
+            return;
+        float entra = (y - motoTopo) / velRelativa; // base do carro chega ao topo da moto
+        float sai = (y + altura - motoBase) / velRelativa; // topo do carro passa da base da moto
+        if (sai < 0f)
+            return; // já passou
+        entra = Math.max(0f, entra * (1f - MARGEM_RELATIVA));
+        sai = sai * (1f + MARGEM_RELATIVA);
+
+        int de = (int) ((entra + fracao) / TICK_S) - 1;
+        int ate = (int) ((sai + fracao) / TICK_S) + 1;
+        if (de < 0)
+            de = 0;
+        if (ate >= fatias)
+            ate = fatias - 1;
+        for (int s = de; s <= ate; s++) {
+            int i = ((origem + s) % fatias) * laneCount + lane;
+            ocupacao[i] = (short) (ocupacao[i] + delta);
+        }
+    }
+
+    /**
+     * Existe rota partindo de faixaMoto (assentada agora) até o fim do
+     * horizonte?
+     */
+    public boolean temRota(int faixaMoto) {
+        int todas = (1 << laneCount) - 1;
+        int ultimaOcupada = -1;
+        for (int s = 0; s < fatias; s++) {
+            int base = ((origem + s) % fatias) * laneCount;
+            int livre = todas;
+            for (int l = 0; l < laneCount; l++)
+                if (ocupacao[base + l] > 0)
+                    livre &= ~(1 << l);
+            livreMask[s] = livre;
+            if (livre != todas)
+                ultimaOcupada = s;
+        }
+        if (ultimaOcupada < 0)
+            return true;
+
+        // corridaLivre[s][l] = quantas fatias seguidas a faixa l fica livre a partir de s
+        for (int l = 0; l < laneCount; l++)
+            corridaLivre[fatias * laneCount + l] = (short) fatias;
+        for (int s = fatias - 1; s >= 0; s--) {
+            for (int l = 0; l < laneCount; l++) {
+                int i = s * laneCount + l;
+                corridaLivre[i] = (livreMask[s] & (1 << l)) != 0
+                        ? (short) Math.min(Short.MAX_VALUE, corridaLivre[i + laneCount] + 1)
+                        : 0;
+            }
+        }
+
+        for (int s = 0; s < fatias; s++)
+            alcancavel[s] = 0;
+        // Agora (fatia 0) a moto está na sua faixa, mesmo que um carro já
+        // esteja encostando: o que importa é se existe saída daqui pra frente
+        alcancavel[0] = 1 << faixaMoto;
+
+        for (int s = 0; s < fatias; s++) {
+            int aqui = alcancavel[s];
+            if (aqui == 0)
+                continue;
+            if (s > ultimaOcupada)
+                return true;
+            if (s + 1 >= fatias)
+                return true;
+            // Ficar na faixa
+            alcancavel[s + 1] |= aqui & livreMask[s + 1];
+            // Trocar para uma vizinha: as duas faixas livres durante a troca
+            int fim = s + slotsTroca;
+            for (int l = 0; l < laneCount; l++) {
+                if ((aqui & (1 << l)) == 0)
+                    continue;
+                int origemLivre = corridaLivre[(s + 1) * laneCount + l];
+                if (origemLivre < slotsTroca)
+                    continue;
+                if (l > 0 && corridaLivre[(s + 1) * laneCount + l - 1] >= slotsTroca)
+                    alcancavel[Math.min(fim, fatias - 1)] |= 1 << (l - 1);
+                if (l < laneCount - 1 && corridaLivre[(s + 1) * laneCount + l + 1] >= slotsTroca)
+                    alcancavel[Math.min(fim, fatias - 1)] |= 1 << (l + 1);
+            }
+        }
+        return false;
+    }
+
+    public int getLaneCount() {
+        return laneCount;
+    }
+
+    public int getFatias() {
+        return fatias;
+    }
+
+    /** Fatias que uma troca de faixa ocupa (as duas faixas ficam reservadas). */
+    public int getSlotsTroca() {
+        return slotsTroca;
+    }
+}
@@ -0,0 +1,43 @@
+package com.felipemelantonio.motorunneriot.sim;
+
+/**
+ * RiderInput
+ * ==========
+ * Quem "pilota" a moto: a cada frame devolve as ações apertadas NAQUELE
+ * frame, como uma máscara de bits (mesma ideia do isKeyJustPressed).
+ *
+ * Implementações:
+ * - KeyboardInput (screens): setas + ESPAÇO, o jogador de verdade;
+ * - RandomRiderInput: trocas de faixa e pedaladas ao acaso (simulador);
+ * - NONE: nunca aperta nada.
+ *
+ * Como a GameSimulation só enxerga essa interface, a mesma partida pode ser
+ * jogada por uma pessoa, por um piloto automático ou por milhares de
+ * sessões headless em paralelo.
+ */
+public interface RiderInput {
+
+    /** Nenhuma ação neste frame. */
+    int NONE_MASK = 0;
+
+    /** Trocar para a faixa da esquerda. */
+    int LEFT = 1;
+
+    /** Trocar para a faixa da direita. */
+    int RIGHT = 1 << 1;
+
+    /** "Pedalada": aumenta o boost de velocidade (ESPAÇO). */
+    int BOOST = 1 << 2;
+
+    /** Piloto que nunca aperta nada. */
+    RiderInput NONE = (sim, dt) -> NONE_MASK;
+
+    /**
+     * Ações deste frame.
+     *
+     * @param sim partida sendo jogada (somente leitura)
+     * @param dt  duração do frame, em segundos
+     * @return combinação de LEFT, RIGHT e BOOST
+     */
+    int poll(GameSimulation sim, float dt);
+}
@@ -0,0 +1,48 @@
+package com.felipemelantonio.motorunneriot.sim;
+
+/**
+ * ScriptedRiderInput
+ * ==================
+ * Piloto roteirizado: aperta ações em instantes fixos (segundos desde o
+ * começo da partida). É a "entrada" dos cenários (Cenario): o mesmo
+ * roteiro gera sempre os mesmos frames de input.
+ *
+ * Cada ação vale em UM frame só (como o isKeyJustPressed): o primeiro
+ * frame cujo começo já passou do instante pedido.
+ */
+public final class ScriptedRiderInput implements RiderInput {
+
+    private final float[] instantes; // em ordem crescente
+    private final int[] acoes;
+    private int proxima;
+    private float tempo;
+
+    /**
+     * @param instantes segundos desde o começo, em ordem crescente
+     * @param acoes     máscara de RiderInput de cada instante
+     */
+    public ScriptedRiderInput(float[] instantes, int[] acoes) {
+        this.instantes = instantes;
+        this.acoes = acoes;
+    }
+
+    @Override
+    public int poll(GameSimulation sim, float dt) {
+        int mascara = NONE_MASK;
+        while (proxima < instantes.length && instantes[proxima] <= tempo)
+            mascara |= acoes[proxima++];
+        tempo += dt;
+        return mascara;
+    }
+
+    /** Volta para o começo do roteiro (replay do mesmo cenário). */
+    public void reinicia() {
+        proxima = 0;
+        tempo = 0f;
+    }
+
+    /** O roteiro inteiro já foi apertado? */
+    public boolean terminou() {
+        return proxima >= instantes.length;
+    }
+}
@@ -0,0 +1,64 @@
+package com.felipemelantonio.motorunneriot.sim;
+
+/**
+ * SkilledRiderInput
+ * =================
+ * Piloto "humano" de habilidade configurável, para o simulador e o
+ * DifficultyTuner: por baixo é o AutopilotInput, mas
+ * - olha menos à frente quanto menor a habilidade (horizonte de 0.6 s a
+ * 4 s);
+ * - reage com atraso (de 0.35 s a 0.08 s): a decisão tomada agora só vira
+ * tecla depois do tempo de reação, e enquanto isso ele não decide outra
+ * troca de faixa.
+ *
+ * Habilidade 1.0 fica perto do autopilot puro; 0.0 é um jogador iniciante.
+ * Não usa relógio de parede: o resultado só depende da partida.
+ */
+public final class SkilledRiderInput implements RiderInput {
+
+    private static final float REACAO_INICIANTE_S = 0.35f;
+    private static final float REACAO_EXPERT_S = 0.08f;
+    private static final int HORIZONTE_INICIANTE = 3; // passos de AutopilotInput.STEP_S
+    private static final int HORIZONTE_EXPERT = AutopilotInput.MAX_DEPTH;
+
+    private final AutopilotInput cerebro;
+    private final float reacao;
+
+    // Ação decidida e ainda "a caminho do dedo"
+    private int pendente = NONE_MASK;
+    private float espera;
+
+    /** @param habilidade de 0 (iniciante) a 1 (expert) */
+    public SkilledRiderInput(float habilidade) {
+        float h = Math.max(0f, Math.min(1f, habilidade));
+        int horizonte = Math.round(HORIZONTE_INICIANTE + (HORIZONTE_EXPERT - HORIZONTE_INICIANTE) * h);
+        this.cerebro = new AutopilotInput(0L, horizonte);
+        this.reacao = REACAO_INICIANTE_S + (REACAO_EXPERT_S - REACAO_INICIANTE_S) * h;
+    }
+
+    @Override
+    public int poll(GameSimulation sim, float dt) {
+        if (pendente != NONE_MASK) {
+            espera -= dt;
+            if (espera > 0f)
+                return NONE_MASK;
+            int acoes = pendente;
+            pendente = NONE_MASK;
+            return acoes;
+        }
+        int decisao = cerebro.poll(sim, dt);
+        if (decisao == NONE_MASK)
+            return NONE_MASK;
+        pendente = decisao;
+        espera = reacao - dt;
+        if (espera > 0f)
+            return NONE_MASK;
+        pendente = NONE_MASK;
+        return decisao;
+    }
+
+    /** O autopilot por baixo (métricas de profundidade/latência). */
+    public AutopilotInput getCerebro() {
+        return cerebro;
+    }
+}
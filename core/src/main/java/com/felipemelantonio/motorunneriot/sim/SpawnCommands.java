@@ -0,0 +1,43 @@
+package com.felipemelantonio.motorunneriot.sim;
+
+/**
+ * SpawnCommands
+ * =============
+ * O que uma SpawnStrategy pode PEDIR para a GameSimulation criar.
+ *
+ * Os comandos são aplicados na hora, na ordem em que chegam: a resposta
+ * diz se o carro entrou na pista. Isso importa porque todo carro passa pela
+ * ReachabilityGrid, que recusa quem fecharia todas as rotas de fuga, e a
+ * estratégia padrão cancela o resto da onda quando o primeiro é recusado
+ * (sem sortear mais nada, o que mantém a sequência de aleatórios igual).
+ *
+ * Velocidade própria e modelo do carro continuam sendo decididos pela
+ * simulação (LevelManager + fase), não pela estratégia.
+ */
+public interface SpawnCommands {
+
+    /**
+     * Carro de uma onda.
+     *
+     * @return true se entrou na pista (false = recusado pela grade)
+     */
+    boolean carro(int faixa, float y);
+
+    /**
+     * Carro fora das ondas (ex.: "despertador" de quem fica parado na
+     * faixa). Contado à parte em getSpawnsForcados().
+     *
+     * @return true se entrou na pista
+     */
+    boolean carroForcado(int faixa, float y);
+
+    /** Moeda no centro da faixa. */
+    void moeda(int faixa, float y);
+
+    /**
+     * Caixa-preta das decisões de spawn desta partida. A estratégia pode
+     * registrar nela o que olhou para decidir (gravar não aloca); a padrão
+     * registra toda onda e todo despertador.
+     */
+    SpawnTrace trace();
+}
@@ -0,0 +1,245 @@
+package com.felipemelantonio.motorunneriot.sim;
+
+import com.badlogic.gdx.Gdx;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * SpawnStrategies
+ * ===============
+ * Catálogo das SpawnStrategy conhecidas, por nome:
+ * - "padrao": DefaultSpawnStrategy, a IA do jogo;
+ * - "uniforme": sorteia qualquer faixa com espaço, sem olhar o jogador
+ * (referência "ingênua": quanto as regras do padrão ajudam?);
+ * - "pressao": sempre mira a faixa do jogador ou a mais perto dela e
+ * cutuca mais cedo quem fica parado (o quão difícil o jogo fica só com a
+ * ReachabilityGrid garantindo a rota de fuga).
+ *
+ * O jogo usa a "padrao"; -Dmotorunner.spawn=NOME troca a estratégia nas
+ * partidas da GameScreen (teste de jogo). O SpawnArena do módulo headless
+ * joga todas lado a lado com as mesmas seeds.
+ */
+public final class SpawnStrategies {
+
+    /** Propriedade de sistema com o nome da estratégia das partidas. */
+    public static final String PROPERTY = "motorunner.spawn";
+
+    public static final String PADRAO = "padrao";
+    public static final String UNIFORME = "uniforme";
+    public static final String PRESSAO = "pressao";
+
+    /** Nomes aceitos por cria(), na ordem do catálogo. */
+    public static final List<String> NOMES = Collections.unmodifiableList(Arrays.asList(PADRAO, UNIFORME, PRESSAO));
+
+    private SpawnStrategies() {
+    }
+
+    /**
+     * Instância nova (uma por partida) da estratégia com esse nome.
+     *
+     * @throws IllegalArgumentException nome desconhecido
+     */
+    public static SpawnStrategy cria(String nome) {
+        switch (nome) {
+            case PADRAO:
+                return new DefaultSpawnStrategy();
+            case UNIFORME:
+                return new Uniforme();
+            case PRESSAO:
+                return new Pressao();
+            default:
+                throw new IllegalArgumentException("Estratégia de spawn desconhecida: " + nome + " (use: " + NOMES + ")");
+        }
+    }
+
+    /**
+     * A estratégia pedida em -Dmotorunner.spawn, ou a padrão. Nome inválido
+     * não pode travar o jogo: cai na padrão (com aviso no log).
+     */
+    public static SpawnStrategy doSistema() {
+        String nome = System.getProperty(PROPERTY);
+        if (nome == null || nome.trim().isEmpty())
+            return new DefaultSpawnStrategy();
+        try {
+            return cria(nome.trim());
+        } catch (IllegalArgumentException e) {
+            if (Gdx.app != null)
+                Gdx.app.log("SpawnStrategies", e.getMessage() + "; usando " + PADRAO);
+            return new DefaultSpawnStrategy();
+        }
+    }
+
+    // ==================== Ajudantes (sem alocar) ====================
+
+    // Máscara das faixas em que cabe um spawn em y (carro mais alto a mais de gap)
+    static int faixasComEspaco(float y, float[] topos, int laneCount, float gap) {
+        int mask = 0;
+        for (int l = 0; l < laneCount; l++)
+            if ((y - topos[l]) > gap)
+                mask |= 1 << l;
+        return mask;
+    }
+
+    // Uma faixa qualquer da máscara (não vazia), com a mesma chance para todas
+    static int sorteia(int mask, Random rng) {
+        int k = rng.nextInt(Integer.bitCount(mask));
+        for (int l = 0; ; l++) {
+            if ((mask & (1 << l)) != 0 && k-- == 0)
+                return l;
+        }
+    }
+
+    // A faixa da máscara mais perto de `alvo` (empate: a da esquerda)
+    static int maisPerto(int mask, int alvo, int laneCount) {
+        for (int d = 0; d < laneCount; d++) {
+            if (alvo - d >= 0 && (mask & (1 << (alvo - d))) != 0)
+                return alvo - d;
+            if (alvo + d < laneCount && (mask & (1 << (alvo + d))) != 0)
+                return alvo + d;
+        }
+        return -1;
+    }
+
+    /**
+     * Uniforme
+     * --------
+     * Onda: uma faixa com espaço sorteada por igual (e um segundo carro com a
+     * chance de duplo do LevelManager). Moeda: idem. Nada de zona de perigo,
+     * dwell ou despertador: só a ReachabilityGrid protege o jogador.
+     */
+    static final class Uniforme implements SpawnStrategy {
+        private float[] topos;
+
+        @Override
+        public String nome() {
+            return UNIFORME;
+        }
+
+        @Override
+        public void reinicia(SpawnView pista) {
+        }
+
+        @Override
+        public void atualiza(SpawnView pista, float dt) {
+            if (topos == null)
+                topos = new float[pista.getLaneCount()];
+        }
+
+        @Override
+        public void onda(SpawnView pista, SpawnCommands comandos) {
+            Random rng = pista.getRngTrafego();
+            float y = pista.getSpawnY();
+            pista.topoPorFaixa(topos);
+            int livres = faixasComEspaco(y, topos, pista.getLaneCount(), pista.getGapMinimo());
+            if (livres == 0)
+                return;
+            int faixa = sorteia(livres, rng);
+            if (!comandos.carro(faixa, y))
+                return;
+            livres &= ~(1 << faixa);
+            if (livres != 0 && rng.nextFloat() < pista.getChanceDuplo())
+                comandos.carro(sorteia(livres, rng), y + 140f + rng.nextFloat() * 110f);
+        }
+
+        @Override
+        public void avulsos(SpawnView pista, SpawnCommands comandos) {
+        }
+
+        @Override
+        public void moeda(SpawnView pista, SpawnCommands comandos) {
+            float y = pista.getSpawnY();
+            pista.topoPorFaixa(topos);
+            int livres = faixasComEspaco(y, topos, pista.getLaneCount(), Math.max(120f, pista.getGapMinimo() * 0.65f));
+            if (livres != 0)
+                comandos.moeda(sorteia(livres, pista.getRngMoedas()), y);
+        }
+    }
+
+    /**
+     * Pressao
+     * -------
+     * Onda: a faixa do jogador se tiver espaço, senão a mais perto dela; o
+     * segundo carro (chance de duplo) vai para a vizinha livre mais perto.
+     * Despertador: depois de 0.8 s parado na faixa, a cada 1 s. Moedas como
+     * na Uniforme.
+     */
+    static final class Pressao implements SpawnStrategy {
+        private static final float PARADO_S = 0.8f;
+        private static final float COOLDOWN_S = 1.0f;
+        private static final float FRENTE_PX = 200f;
+
+        private final Uniforme moedas = new Uniforme();
+        private float[] topos;
+        private int ultimaFaixa = -1;
+        private float parado;
+        private float cooldown;
+
+        @Override
+        public String nome() {
+            return PRESSAO;
+        }
+
+        @Override
+        public void reinicia(SpawnView pista) {
+            ultimaFaixa = pista.getFaixaMoto();
+            parado = 0f;
+            cooldown = 0f;
+        }
+
+        @Override
+        public void atualiza(SpawnView pista, float dt) {
+            if (topos == null)
+                topos = new float[pista.getLaneCount()];
+            moedas.atualiza(pista, dt);
+            int faixa = pista.getFaixaMoto();
+            if (faixa == ultimaFaixa)
+                parado += dt;
+            else {
+                parado = 0f;
+                ultimaFaixa = faixa;
+            }
+            if (cooldown > 0f)
+                cooldown -= dt;
+        }
+
+        @Override
+        public void onda(SpawnView pista, SpawnCommands comandos) {
+            int laneCount = pista.getLaneCount();
+            float y = pista.getSpawnY();
+            pista.topoPorFaixa(topos);
+            int livres = faixasComEspaco(y, topos, laneCount, pista.getGapMinimo());
+            if (livres == 0)
+                return;
+            int jogador = pista.getFaixaMoto();
+            int faixa = maisPerto(livres, jogador, laneCount);
+            if (!comandos.carro(faixa, y))
+                return;
+            livres &= ~(1 << faixa);
+            if (livres != 0 && pista.getRngTrafego().nextFloat() < pista.getChanceDuplo())
+                comandos.carro(maisPerto(livres, jogador, laneCount),
+                        Math.max(y + 140f, pista.getMotoTopo() + FRENTE_PX));
+        }
+
+        @Override
+        public void avulsos(SpawnView pista, SpawnCommands comandos) {
+            if (parado < PARADO_S || cooldown > 0f)
+                return;
+            float y = Math.max(pista.getSpawnY(), pista.getMotoTopo() + FRENTE_PX);
+            pista.topoPorFaixa(topos);
+            int livres = faixasComEspaco(y, topos, pista.getLaneCount(), pista.getGapMinimo());
+            int faixa = maisPerto(livres, pista.getFaixaMoto(), pista.getLaneCount());
+            if (faixa >= 0)
+                comandos.carroForcado(faixa, y);
+            parado = 0f;
+            cooldown = COOLDOWN_S;
+        }
+
+        @Override
+        public void moeda(SpawnView pista, SpawnCommands comandos) {
+            moedas.moeda(pista, comandos);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.felipemelantonio.motorunneriot.sim;
+
+/**
+ * SpawnStrategy
+ * =============
+ * A IA de trânsito: decide ONDE nascem carros e moedas.
+ *
+ * O QUANDO continua com a GameSimulation (intervalo de spawn do
+ * LevelManager e cronômetro das moedas). A cada frame de jogo normal (fora
+ * da animação de fim de fase) a simulação chama, nesta ordem:
+ * 1) atualiza(): contadores internos (tempo em cada faixa, cooldowns...);
+ * 2) onda(): só nos frames em que o intervalo de spawn venceu;
+ * 3) avulsos(): todo frame, para spawns fora das ondas;
+ * 4) moeda(): só quando o cronômetro das moedas venceu.
+ *
+ * Cada partida tem a sua instância (as estratégias guardam estado), e ela
+ * só é chamada pela thread que roda a partida. Toda a aleatoriedade deve
+ * vir de SpawnView.getRngTrafego()/getRngMoedas(): assim a mesma seed
+ * repete a mesma partida.
+ *
+ * Implementações: DefaultSpawnStrategy (a do jogo) e as alternativas de
+ * SpawnStrategies, comparadas lado a lado no SpawnArena (módulo headless).
+ */
+public interface SpawnStrategy {
+
+    /** Nome curto (logs, ferramentas, -Dmotorunner.spawn). */
+    String nome();
+
+    /**
+     * A partida foi levada para um ponto novo (cenário roteirizado): zera o
+     * que a estratégia aprendeu sobre o jogador.
+     */
+    void reinicia(SpawnView pista);
+
+    /** Começo de cada frame de jogo, logo depois de a moto andar. */
+    void atualiza(SpawnView pista, float dt);
+
+    /** O intervalo de spawn do LevelManager venceu: cria a onda de carros. */
+    void onda(SpawnView pista, SpawnCommands comandos);
+
+    /** Todo frame, depois da onda: carros fora das ondas (pode não fazer nada). */
+    void avulsos(SpawnView pista, SpawnCommands comandos);
+
+    /** O cronômetro das moedas venceu: cria (ou não) uma moeda. */
+    void moeda(SpawnView pista, SpawnCommands comandos);
+}
@@ -0,0 +1,437 @@
+package com.felipemelantonio.motorunneriot.sim;
+
+import com.felipemelantonio.motorunneriot.utils.Numeros;
+
+import java.util.Arrays;
+
+/**
+ * SpawnTrace
+ * ==========
+ * "Caixa-preta" da IA de trânsito: as últimas decisões de spawn de carro da
+ * partida, com tudo o que a estratégia olhou para decidir. Serve para
+ * responder "por que aquele carro nasceu ali?" depois de uma batida que o
+ * jogador achou injusta (log do fim de partida, overlay F2 da GameScreen,
+ * --replay do FairnessValidator).
+ *
+ * Cada registro guarda:
+ * - tipo (onda ou despertador), tempo da fase e faixa da moto;
+ * - zona de perigo (de/até) e as faixas bloqueadas nela (laneBlocked);
+ * - topo por faixa (topYByLane) e o gap mínimo do momento;
+ * - faixas com espaço, e as candidatas que sobraram depois do filtro de
+ * "paredão";
+ * - pesos do pickLaneWeighted (NaN = faixa não entrou no sorteio ponderado);
+ * - regra que escolheu a primeira faixa, faixas/alturas escolhidas e o
+ * resultado (criado, recusado pela grade, sem faixa...);
+ * - contadores de sequência (fase 1 e fases 2/3), tempo parado na faixa e
+ * dwell da faixa da moto.
+ *
+ * É um buffer circular de tamanho fixo, em arrays de primitivos (um array
+ * por campo): gravar não aloca nada e não mexe em nenhum sorteio, então
+ * fica ligado sempre, inclusive no jogo normal, sem mudar o checksum.
+ * Quando enche, o registro mais antigo é sobrescrito.
+ *
+ * Uso pela estratégia (mesma thread da partida):
+ *
+ * <pre>
+ * int s = trace.abre(SpawnTrace.ONDA, tempo, laneCount, faixaMoto);
+ * trace.zona(s, de, ate, bloqueadas);
+ * ...
+ * trace.resultado(s, SpawnTrace.CRIADO);
+ * </pre>
+ *
+ * Leitura: indice(0) é o registro mais novo, indice(tamanho() - 1) o mais
+ * antigo; os getters recebem esse índice de slot.
+ */
+public final class SpawnTrace {
+
+    /** Registros guardados por partida. */
+    public static final int CAPACIDADE_PADRAO = 128;
+
+    /** Máximo de faixas (fase 3). */
+    public static final int MAX_FAIXAS = 4;
+
+    // ==== Tipos de decisão ====
+    public static final byte ONDA = 0; // spawnWave
+    public static final byte DESPERTADOR = 1; // tryForceStickSpawn (anti-"grudado")
+
+    // ==== Regra que escolheu a primeira faixa ====
+    public static final byte REGRA_NENHUMA = 0; // não chegou a escolher
+    public static final byte REGRA_SORTEIO = 1; // sorteio simples entre as candidatas
+    public static final byte REGRA_JOGADOR = 2; // fase 1: faixa do jogador (dwell alto ou 65%)
+    public static final byte REGRA_SEQUENCIA_F1 = 3; // fase 1: muitas ondas seguidas do lado oposto
+    public static final byte REGRA_PESOS = 4; // fases 2/3: pickLaneWeighted
+    public static final byte REGRA_SEQUENCIA_F23 = 5; // fases 2/3: muitas ondas longe do jogador
+    public static final byte REGRA_FAIXA_MOTO = 6; // despertador na faixa da moto
+    public static final byte REGRA_ADJACENTE = 7; // despertador na vizinha livre
+
+    // ==== Resultado ====
+    public static final byte PENDENTE = 0; // aberto e não fechado (não deveria sobrar)
+    public static final byte CRIADO = 1; // o(s) carro(s) entrou(aram)
+    public static final byte RECUSADO_GRADE = 2; // a ReachabilityGrid recusou o primeiro carro
+    public static final byte SEGUNDO_RECUSADO = 3; // primeiro entrou, o segundo foi recusado
+    public static final byte TODAS_BLOQUEADAS = 4; // todas as faixas com carro na zona de perigo
+    public static final byte SEM_ESPACO = 5; // nenhuma faixa com gap mínimo no topo
+    public static final byte SEM_FAIXA = 6; // despertador: nem a faixa da moto nem vizinhas têm espaço
+
+    private static final String[] NOMES_TIPO = { "onda", "despertador" };
+    private static final String[] NOMES_REGRA = { "-", "sorteio", "jogador", "seq-f1", "pesos", "seq-f23",
+            "faixa-moto", "adjacente" };
+    private static final String[] NOMES_RESULTADO = { "pendente", "criado", "recusado-grade", "segundo-recusado",
+            "todas-bloqueadas", "sem-espaco", "sem-faixa" };
+
+    private final int capacidade;
+    private long total; // registros já abertos (o próximo slot é total % capacidade)
+
+    // Um array por campo (slot = posição no buffer circular)
+    private final float[] tempo;
+    private final byte[] tipo;
+    private final byte[] faixas; // laneCount da partida
+    private final byte[] faixaMoto;
+    private final float[] zonaDe, zonaAte;
+    private final byte[] bloqueadas; // máscara de bits
+    private final byte[] comEspaco; // máscara de bits
+    private final byte[] candidatas; // máscara de bits (depois do filtro de paredão)
+    private final float[] gap;
+    private final float[] topo; // [slot * MAX_FAIXAS + faixa]
+    private final float[] peso; // [slot * MAX_FAIXAS + faixa], NaN = sem peso
+    private final byte[] regra;
+    private final byte[] faixa1, faixa2; // -1 = nenhuma
+    private final float[] y1, y2;
+    private final byte[] resultado;
+    private final short[] sequenciaF1, sequenciaF23;
+    private final float[] tempoNaFaixa;
+    private final float[] dwellMoto;
+
+    public SpawnTrace() {
+        this(CAPACIDADE_PADRAO);
+    }
+
+    public SpawnTrace(int capacidade) {
+        if (capacidade <= 0)
+            throw new IllegalArgumentException("capacidade deve ser > 0: " + capacidade);
+        this.capacidade = capacidade;
+        tempo = new float[capacidade];
+        tipo = new byte[capacidade];
+        faixas = new byte[capacidade];
+        faixaMoto = new byte[capacidade];
+        zonaDe = new float[capacidade];
+        zonaAte = new float[capacidade];
+        bloqueadas = new byte[capacidade];
+        comEspaco = new byte[capacidade];
+        candidatas = new byte[capacidade];
+        gap = new float[capacidade];
+        topo = new float[capacidade * MAX_FAIXAS];
+        peso = new float[capacidade * MAX_FAIXAS];
+        regra = new byte[capacidade];
+        faixa1 = new byte[capacidade];
+        faixa2 = new byte[capacidade];
+        y1 = new float[capacidade];
+        y2 = new float[capacidade];
+        resultado = new byte[capacidade];
+        sequenciaF1 = new short[capacidade];
+        sequenciaF23 = new short[capacidade];
+        tempoNaFaixa = new float[capacidade];
+        dwellMoto = new float[capacidade];
+    }
+
+    // ===================== Gravação (sem alocar) =====================
+
+    /**
+     * Abre um registro novo (sobrescrevendo o mais antigo se o buffer estiver
+     * cheio) com os campos zerados.
+     *
+     * @return o slot do registro, para os setters abaixo
+     */
+    public int abre(byte tipoDecisao, float tempoFase, int laneCount, int faixaDaMoto) {
+        int s = (int) (total % capacidade);
+        total++;
+        tempo[s] = tempoFase;
+        tipo[s] = tipoDecisao;
+        faixas[s] = (byte) Math.min(laneCount, MAX_FAIXAS);
+        faixaMoto[s] = (byte) faixaDaMoto;
+        zonaDe[s] = zonaAte[s] = 0f;
+        bloqueadas[s] = comEspaco[s] = candidatas[s] = 0;
+        gap[s] = 0f;
+        Arrays.fill(topo, s * MAX_FAIXAS, (s + 1) * MAX_FAIXAS, Float.NEGATIVE_INFINITY);
+        Arrays.fill(peso, s * MAX_FAIXAS, (s + 1) * MAX_FAIXAS, Float.NaN);
+        regra[s] = REGRA_NENHUMA;
+        faixa1[s] = faixa2[s] = -1;
+        y1[s] = y2[s] = 0f;
+        resultado[s] = PENDENTE;
+        sequenciaF1[s] = sequenciaF23[s] = 0;
+        tempoNaFaixa[s] = dwellMoto[s] = 0f;
+        return s;
+    }
+
+    /** Zona de perigo à frente da moto e a máscara de faixas bloqueadas nela. */
+    public void zona(int s, float de, float ate, int mascaraBloqueadas) {
+        zonaDe[s] = de;
+        zonaAte[s] = ate;
+        bloqueadas[s] = (byte) mascaraBloqueadas;
+    }
+
+    /** Copia o topo de cada faixa (topYByLane) e o gap mínimo do momento. */
+    public void topos(int s, float[] topYByLane, float gapMinimo) {
+        System.arraycopy(topYByLane, 0, topo, s * MAX_FAIXAS, faixas[s]);
+        gap[s] = gapMinimo;
+    }
+
+    /** Faixas com espaço no topo e as candidatas finais (depois do filtro de paredão). */
+    public void candidatas(int s, int mascaraComEspaco, int mascaraCandidatas) {
+        comEspaco[s] = (byte) mascaraComEspaco;
+        candidatas[s] = (byte) mascaraCandidatas;
+    }
+
+    /** Peso dado à faixa pelo pickLaneWeighted. */
+    public void peso(int s, int faixa, float w) {
+        if (faixa >= 0 && faixa < MAX_FAIXAS)
+            peso[s * MAX_FAIXAS + faixa] = w;
+    }
+
+    /** Regra e faixa/altura do primeiro carro. */
+    public void escolha(int s, byte regraEscolha, int faixa, float y) {
+        regra[s] = regraEscolha;
+        faixa1[s] = (byte) faixa;
+        y1[s] = y;
+    }
+
+    /** Faixa/altura do segundo carro da onda (duplo). */
+    public void segundo(int s, int faixa, float y) {
+        faixa2[s] = (byte) faixa;
+        y2[s] = y;
+    }
+
+    /** Estado dos contadores da estratégia depois da decisão. */
+    public void contadores(int s, int seqF1, int seqF23, float tempoParado, float dwellDaMoto) {
+        sequenciaF1[s] = (short) seqF1;
+        sequenciaF23[s] = (short) seqF23;
+        tempoNaFaixa[s] = tempoParado;
+        dwellMoto[s] = dwellDaMoto;
+    }
+
+    public void resultado(int s, byte r) {
+        resultado[s] = r;
+    }
+
+    // ===================== Leitura =====================
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    /** Registros disponíveis (no máximo a capacidade). */
+    public int tamanho() {
+        return (int) Math.min(total, capacidade);
+    }
+
+    /** Registros abertos desde o começo (inclui os já sobrescritos). */
+    public long total() {
+        return total;
+    }
+
+    /** Slot do k-ésimo registro mais novo (0 = o último). */
+    public int indice(int k) {
+        if (k < 0 || k >= tamanho())
+            throw new IndexOutOfBoundsException("registro " + k + " de " + tamanho());
+        return (int) ((total - 1 - k) % capacidade);
+    }
+
+    public float getTempo(int s) {
+        return tempo[s];
+    }
+
+    public byte getTipo(int s) {
+        return tipo[s];
+    }
+
+    public int getLaneCount(int s) {
+        return faixas[s];
+    }
+
+    public int getFaixaMoto(int s) {
+        return faixaMoto[s];
+    }
+
+    public float getZonaDe(int s) {
+        return zonaDe[s];
+    }
+
+    public float getZonaAte(int s) {
+        return zonaAte[s];
+    }
+
+    /** Máscara de faixas com carro na zona de perigo (laneBlocked). */
+    public int getBloqueadas(int s) {
+        return bloqueadas[s];
+    }
+
+    public int getComEspaco(int s) {
+        return comEspaco[s];
+    }
+
+    public int getCandidatas(int s) {
+        return candidatas[s];
+    }
+
+    public float getGap(int s) {
+        return gap[s];
+    }
+
+    /** Topo da faixa (-infinito = faixa vazia). */
+    public float getTopo(int s, int faixa) {
+        return topo[s * MAX_FAIXAS + faixa];
+    }
+
+    /** Peso do pickLaneWeighted (NaN = a faixa não foi sorteada por peso). */
+    public float getPeso(int s, int faixa) {
+        return peso[s * MAX_FAIXAS + faixa];
+    }
+
+    public byte getRegra(int s) {
+        return regra[s];
+    }
+
+    public int getFaixa1(int s) {
+        return faixa1[s];
+    }
+
+    public float getY1(int s) {
+        return y1[s];
+    }
+
+    public int getFaixa2(int s) {
+        return faixa2[s];
+    }
+
+    public float getY2(int s) {
+        return y2[s];
+    }
+
+    public byte getResultado(int s) {
+        return resultado[s];
+    }
+
+    public int getSequenciaF1(int s) {
+        return sequenciaF1[s];
+    }
+
+    public int getSequenciaF23(int s) {
+        return sequenciaF23[s];
+    }
+
+    public float getTempoNaFaixa(int s) {
+        return tempoNaFaixa[s];
+    }
+
+    public float getDwellMoto(int s) {
+        return dwellMoto[s];
+    }
+
+    public static String nomeTipo(byte t) {
+        return NOMES_TIPO[t];
+    }
+
+    public static String nomeRegra(byte r) {
+        return NOMES_REGRA[r];
+    }
+
+    public static String nomeResultado(byte r) {
+        return NOMES_RESULTADO[r];
+    }
+
+    // ===================== Texto =====================
+
+    /**
+     * Uma linha curta do registro (overlay): tempo, tipo, faixa da moto,
+     * escolha e resultado. Só acrescenta ao StringBuilder (Numeros, sem
+     * String.format), então não aloca se ele já tiver capacidade.
+     */
+    public void resumo(int s, StringBuilder sb) {
+        Numeros.appendDecimal(sb, tempo[s], 1);
+        sb.append("s ").append(NOMES_TIPO[tipo[s]]).append(" moto=").append(faixaMoto[s]);
+        sb.append(" -> ");
+        if (faixa1[s] >= 0) {
+            sb.append(faixa1[s]);
+            if (faixa2[s] >= 0)
+                sb.append('+').append(faixa2[s]);
+            sb.append(" (").append(NOMES_REGRA[regra[s]]).append(") ");
+        }
+        sb.append(NOMES_RESULTADO[resultado[s]]);
+    }
+
+    /**
+     * O registro completo em uma linha (log, --replay). Zona e máscaras só
+     * aparecem nas ondas; pesos, só se houve sorteio ponderado.
+     */
+    public void detalha(int s, StringBuilder sb) {
+        resumo(s, sb);
+        int n = faixas[s];
+        sb.append(" |");
+        if (tipo[s] == ONDA) {
+            sb.append(" zona ").append((int) zonaDe[s]).append("..").append((int) zonaAte[s]);
+            sb.append(" bloq=");
+            appendMascara(sb, bloqueadas[s], n);
+            sb.append(" espaco=");
+            appendMascara(sb, comEspaco[s], n);
+            sb.append(" cand=");
+            appendMascara(sb, candidatas[s], n);
+        }
+        sb.append(" gap=").append((int) gap[s]).append(" topo=[");
+        for (int l = 0; l < n; l++) {
+            float t = topo[s * MAX_FAIXAS + l];
+            if (l > 0)
+                sb.append(' ');
+            if (t == Float.NEGATIVE_INFINITY)
+                sb.append('-');
+            else
+                sb.append((int) t);
+        }
+        sb.append(']');
+        if (temPesos(s)) {
+            sb.append(" pesos=[");
+            for (int l = 0; l < n; l++) {
+                float w = peso[s * MAX_FAIXAS + l];
+                if (l > 0)
+                    sb.append(' ');
+                if (Float.isNaN(w))
+                    sb.append('-');
+                else
+                    Numeros.appendDecimal(sb, w, 2);
+            }
+            sb.append(']');
+        }
+        if (faixa1[s] >= 0) {
+            sb.append(" y=").append((int) y1[s]);
+            if (faixa2[s] >= 0)
+                sb.append('/').append((int) y2[s]);
+        }
+        sb.append(" seqF1=").append(sequenciaF1[s]).append(" seqF23=").append(sequenciaF23[s]);
+        sb.append(" parado=");
+        Numeros.appendDecimal(sb, tempoNaFaixa[s], 1);
+        sb.append("s dwell=");
+        Numeros.appendDecimal(sb, dwellMoto[s], 1);
+        sb.append('s');
+    }
+
+    private boolean temPesos(int s) {
+        for (int l = 0; l < faixas[s]; l++)
+            if (!Float.isNaN(peso[s * MAX_FAIXAS + l]))
+                return true;
+        return false;
+    }
+
+    /** Os `max` registros mais recentes, do mais antigo para o mais novo, um por linha. */
+    public void imprime(StringBuilder sb, int max) {
+        int n = Math.min(max, tamanho());
+        for (int k = n - 1; k >= 0; k--) {
+            detalha(indice(k), sb);
+            sb.append('\n');
+        }
+    }
+
+    // Máscara como "0110" (faixa 0 primeiro)
+    private static void appendMascara(StringBuilder sb, int mascara, int n) {
+        for (int l = 0; l < n; l++)
+            sb.append((mascara & (1 << l)) != 0 ? '1' : '0');
+    }
+}
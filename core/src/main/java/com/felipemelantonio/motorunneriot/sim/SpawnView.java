@@ -0,0 +1,82 @@
+package com.felipemelantonio.motorunneriot.sim;
+
+import java.util.Random;
+
+/**
+ * SpawnView
+ * =========
+ * O que uma SpawnStrategy pode VER da partida: faixas, carros na pista,
+ * moto e curvas de dificuldade do momento. Só leitura: quem cria carro ou
+ * moeda é a GameSimulation, a partir dos SpawnCommands.
+ *
+ * As consultas de faixa (faixasOcupadas, topoPorFaixa) usam os mesmos
+ * EntityKernels da simulação (SIMD quando disponível) e não alocam.
+ */
+public interface SpawnView {
+
+    /** Fase da partida (1..3). */
+    int getFase();
+
+    int getLaneCount();
+
+    float getScreenHeight();
+
+    /** Altura (y) padrão de spawn: logo acima da parte visível da tela. */
+    default float getSpawnY() {
+        return getScreenHeight() + 40f;
+    }
+
+    // ==== Moto ====
+
+    int getFaixaMoto();
+
+    /** Y da base da moto (px). */
+    float getMotoBase();
+
+    /** Y do topo da moto (px). */
+    float getMotoTopo();
+
+    // ==== Carros na pista ====
+
+    int getQuantidadeCarros();
+
+    int getFaixaDoCarro(int i);
+
+    /** Y da base do carro i (px). */
+    float getYDoCarro(int i);
+
+    /**
+     * Máscara de bits das faixas com algum carro cujo meio está entre
+     * yDe e yAte (zona de perigo do spawnWave).
+     */
+    int faixasOcupadas(float yDe, float yAte);
+
+    /**
+     * Escreve em saida[faixa] o Y do carro mais alto de cada faixa
+     * (-infinito se a faixa está vazia). saida precisa ter pelo menos
+     * getLaneCount() posições.
+     */
+    void topoPorFaixa(float[] saida);
+
+    // ==== Dificuldade (LevelManager) ====
+
+    /** Tempo da fase (s). */
+    float getTempo();
+
+    /** Velocidade do mundo agora (px/s, com boost). */
+    float getWorldSpeed();
+
+    /** Espaço vertical mínimo entre carros na mesma faixa (px). */
+    float getGapMinimo();
+
+    /** Chance de a onda ter um segundo carro (0..1). */
+    float getChanceDuplo();
+
+    // ==== Aleatoriedade ====
+
+    /** Sub-fluxo TRAFFIC da partida (escolha de faixa dos carros). */
+    Random getRngTrafego();
+
+    /** Sub-fluxo COINS da partida (escolha de faixa das moedas). */
+    Random getRngMoedas();
+}
@@ -0,0 +1,68 @@
+package com.felipemelantonio.motorunneriot.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.glutils.FileTextureData;
+
+/**
+ * Carregador
+ * ==========
+ * Carga de texturas e áudio de assets/ com o evento JFR
+ * motorunner.CargaDeAsset (ver JfrEventos).
+ *
+ * textura(caminho) faz exatamente o que new Texture(caminho) faz por
+ * dentro (lê o arquivo, decodifica num Pixmap e cria a textura gerenciada
+ * com FileTextureData, sem mipmaps), só que em dois passos, para medir
+ * separado o que é CPU (decodificar o PNG/JPG) e o que é GPU (upload).
+ *
+ * Com as Metricas ligadas, as texturas também entram na conta de memória
+ * (motorunner_texture_bytes) até o dispose(). Continuam sendo Texture
+ * comuns: as Metricas percebem o dispose pelo handle GL zerado.
+ */
+public final class Carregador {
+
+    private Carregador() {
+    }
+
+    /** Mesmo que new Texture(caminho), medindo decodificação e upload. */
+    public static Texture textura(String caminho) {
+        JfrEventos.CargaDeAsset e = JfrEventos.inicioAsset();
+        FileHandle arquivo = Gdx.files.internal(caminho);
+        long t0 = System.nanoTime();
+        byte[] bytes = arquivo.readBytes();
+        Pixmap pixmap = new Pixmap(bytes, 0, bytes.length);
+        long pixels = pixmap.getPixels().capacity(); // largura x altura x bytes por pixel
+        long t1 = System.nanoTime();
+        // FileTextureData com o Pixmap já carregado: o Texture faz o upload e
+        // libera o Pixmap; num contexto GL perdido, recarrega do arquivo
+        Texture textura = new Texture(new FileTextureData(arquivo, pixmap, null, false));
+        long t2 = System.nanoTime();
+        Metricas.textura(textura, pixels);
+        JfrEventos.fimAsset(e, caminho, "textura", bytes.length, t1 - t0, t2 - t1);
+        return textura;
+    }
+
+    /** Gdx.audio.newSound, com o evento de carga. */
+    public static Sound som(String caminho) {
+        JfrEventos.CargaDeAsset e = JfrEventos.inicioAsset();
+        FileHandle arquivo = Gdx.files.internal(caminho);
+        long t0 = System.nanoTime();
+        Sound som = Gdx.audio.newSound(arquivo);
+        JfrEventos.fimAsset(e, caminho, "som", e != null ? arquivo.length() : 0, System.nanoTime() - t0, 0);
+        return som;
+    }
+
+    /** Gdx.audio.newMusic (streaming: só abre o arquivo), com o evento de carga. */
+    public static Music musica(String caminho) {
+        JfrEventos.CargaDeAsset e = JfrEventos.inicioAsset();
+        FileHandle arquivo = Gdx.files.internal(caminho);
+        long t0 = System.nanoTime();
+        Music musica = Gdx.audio.newMusic(arquivo);
+        JfrEventos.fimAsset(e, caminho, "musica", e != null ? arquivo.length() : 0, System.nanoTime() - t0, 0);
+        return musica;
+    }
+}
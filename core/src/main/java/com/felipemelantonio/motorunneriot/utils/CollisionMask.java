@@ -0,0 +1,211 @@
+package com.felipemelantonio.motorunneriot.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * CollisionMask
+ * =============
+ * Máscara de colisão "pixel a pixel" de um sprite, gerada a partir do canal
+ * alpha da imagem.
+ *
+ * Problema que resolve:
+ * - Os PNGs dos carros (ex.: carro.png) têm margens transparentes.
+ * - Usando só o Rectangle, a moto "bate" no vazio ao lado do carro
+ * (as famosas batidas fantasmas).
+ *
+ * Como funciona:
+ * - No carregamento, lemos o Pixmap UMA vez e reduzimos a imagem para o
+ * tamanho em que ela é desenhada (largura * SCALE da entidade).
+ * - Cada célula vira 1 bit: 1 = tem pixel opaco ali, 0 = transparente.
+ * - Os bits ficam em um long[] compacto, linha por linha (linha 0 = base do
+ * sprite, igual ao eixo Y do jogo).
+ * - As máscaras ficam em cache estático por arquivo + escala e são
+ * compartilhadas por todas as instâncias (não dependem da GPU, então
+ * continuam válidas mesmo depois do dispose das texturas).
+ *
+ * Uso: fase "estreita" (narrow phase). Só é chamada quando os retângulos já
+ * se sobrepuseram, então o custo comum do frame não muda.
+ */
+public final class CollisionMask {
+
+    // Alpha mínimo (0..255) para um pixel da imagem contar como "sólido"
+    private static final int ALPHA_THRESHOLD = 128;
+
+    // Cache compartilhado: "arquivo@escala" -> máscara
+    private static final ObjectMap<String, CollisionMask> cache = new ObjectMap<>();
+
+    private final int width; // largura da máscara em células (≈ pixels de tela)
+    private final int height; // altura da máscara em células
+    private final int sourceWidth; // largura do PNG original, em pixels
+    private final int sourceHeight; // altura do PNG original, em pixels
+    private final int wordsPerRow; // quantos longs cada linha ocupa
+    private final long[] bits;
+
+    private CollisionMask(int width, int height, int sourceWidth, int sourceHeight) {
+        this.width = width;
+        this.height = height;
+        this.sourceWidth = sourceWidth;
+        this.sourceHeight = sourceHeight;
+        this.wordsPerRow = (width + 63) >>> 6;
+        this.bits = new long[wordsPerRow * height];
+    }
+
+    /**
+     * forSprite(path, scale)
+     * ----------------------
+     * Devolve a máscara do arquivo na escala de desenho informada.
+     * Na primeira chamada lê o PNG e monta a máscara; nas seguintes usa o cache.
+     * É synchronized porque o simulador headless cria partidas em várias
+     * threads; no jogo normal só a thread de render chama.
+     */
+    public static synchronized CollisionMask forSprite(String path, float scale) {
+        String key = path + "@" + scale;
+        CollisionMask mask = cache.get(key);
+        if (mask == null) {
+            Pixmap pixmap = new Pixmap(Gdx.files.internal(path));
+            try {
+                mask = fromPixmap(pixmap, scale);
+            } finally {
+                pixmap.dispose();
+            }
+            cache.put(key, mask);
+        }
+        return mask;
+    }
+
+    /**
+     * fromPixmap(pixmap, scale)
+     * -------------------------
+     * Reduz o Pixmap para (largura * scale) x (altura * scale) células.
+     * Uma célula é sólida se QUALQUER pixel do bloco de origem for opaco:
+     * assim a redução nunca "abre buracos" no contorno do sprite.
+     */
+    public static CollisionMask fromPixmap(Pixmap pixmap, float scale) {
+        int srcW = pixmap.getWidth();
+        int srcH = pixmap.getHeight();
+        int w = Math.max(1, (int) Math.ceil(srcW * scale));
+        int h = Math.max(1, (int) Math.ceil(srcH * scale));
+        CollisionMask mask = new CollisionMask(w, h, srcW, srcH);
+
+        for (int my = 0; my < h; my++) {
+            // Linha 0 da máscara é a BASE do sprite; no Pixmap a linha 0 é o topo
+            int srcY0 = (h - 1 - my) * srcH / h;
+            int srcY1 = Math.max(srcY0 + 1, (h - my) * srcH / h);
+            for (int mx = 0; mx < w; mx++) {
+                int srcX0 = mx * srcW / w;
+                int srcX1 = Math.max(srcX0 + 1, (mx + 1) * srcW / w);
+                if (blockHasOpaquePixel(pixmap, srcX0, srcY0, srcX1, srcY1))
+                    mask.set(mx, my);
+            }
+        }
+        return mask;
+    }
+
+    private static boolean blockHasOpaquePixel(Pixmap pixmap, int x0, int y0, int x1, int y1) {
+        for (int y = y0; y < y1; y++) {
+            for (int x = x0; x < x1; x++) {
+                // getPixel devolve RGBA8888: o alpha fica no byte menos significativo
+                if ((pixmap.getPixel(x, y) & 0xff) >= ALPHA_THRESHOLD)
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    private void set(int x, int y) {
+        bits[y * wordsPerRow + (x >>> 6)] |= 1L << (x & 63);
+    }
+
+    /** true se a célula (x, y) é sólida; fora da máscara é sempre vazio. */
+    public boolean isSolid(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height)
+            return false;
+        return (bits[y * wordsPerRow + (x >>> 6)] & (1L << (x & 63))) != 0L;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Tamanho do PNG de origem (o mesmo de Texture.getWidth()/getHeight()).
+     * As entidades usam isso para calcular o tamanho em tela sem precisar
+     * carregar a textura (simulação sem GPU).
+     */
+    public int getSourceWidth() {
+        return sourceWidth;
+    }
+
+    public int getSourceHeight() {
+        return sourceHeight;
+    }
+
+    /**
+     * overlaps(...)
+     * -------------
+     * Teste pixel a pixel entre duas máscaras posicionadas no mundo.
+     * Percorre apenas a interseção dos dois retângulos, em passos de 1 px de
+     * tela, convertendo cada ponto para a célula de cada máscara.
+     */
+    public static boolean overlaps(CollisionMask a, float ax, float ay, float aw, float ah,
+            CollisionMask b, float bx, float by, float bw, float bh) {
+        float left = Math.max(ax, bx);
+        float right = Math.min(ax + aw, bx + bw);
+        float bottom = Math.max(ay, by);
+        float top = Math.min(ay + ah, by + bh);
+        if (left >= right || bottom >= top)
+            return false;
+
+        // Fatores de conversão "px de tela" -> "célula da máscara"
+        float aSx = a.width / aw, aSy = a.height / ah;
+        float bSx = b.width / bw, bSy = b.height / bh;
+
+        // Amostramos no centro de cada pixel da interseção
+        for (float y = bottom + 0.5f; y < top; y += 1f) {
+            int aRow = (int) ((y - ay) * aSy);
+            int bRow = (int) ((y - by) * bSy);
+            for (float x = left + 0.5f; x < right; x += 1f) {
+                if (a.isSolid((int) ((x - ax) * aSx), aRow)
+                        && b.isSolid((int) ((x - bx) * bSx), bRow))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * sweptOverlaps(...)
+     * ------------------
+     * Versão contínua do teste pixel a pixel, para usar depois do
+     * SweptCollision: parte do tempo de impacto dos retângulos (tEnter) e anda
+     * até o fim do frame em passos de no máximo 1 px de movimento relativo,
+     * testando as máscaras em cada posição intermediária.
+     *
+     * @param tEnter tempo de impacto devolvido por SweptCollision (0..1)
+     */
+    public static boolean sweptOverlaps(CollisionMask a, Rectangle ra, float aPrevX, float aPrevY,
+            CollisionMask b, Rectangle rb, float bPrevX, float bPrevY, float tEnter) {
+        float relDx = (ra.x - aPrevX) - (rb.x - bPrevX);
+        float relDy = (ra.y - aPrevY) - (rb.y - bPrevY);
+        float travel = Math.max(Math.abs(relDx), Math.abs(relDy)) * (1f - tEnter);
+        int steps = Math.max(1, (int) Math.ceil(travel));
+
+        for (int i = 0; i <= steps; i++) {
+            float t = tEnter + (1f - tEnter) * i / steps;
+            float ax = aPrevX + (ra.x - aPrevX) * t;
+            float ay = aPrevY + (ra.y - aPrevY) * t;
+            float bx = bPrevX + (rb.x - bPrevX) * t;
+            float by = bPrevY + (rb.y - bPrevY) * t;
+            if (overlaps(a, ax, ay, ra.width, ra.height, b, bx, by, rb.width, rb.height))
+                return true;
+        }
+        return false;
+    }
+}
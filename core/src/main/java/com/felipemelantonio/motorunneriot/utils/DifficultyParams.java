@@ -0,0 +1,193 @@
+package com.felipemelantonio.motorunneriot.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * DifficultyParams
+ * ================
+ * Constantes das curvas de dificuldade do LevelManager, por fase.
+ *
+ * Antes elas ficavam escritas direto nos switch do LevelManager; agora
+ * moram aqui para que possam ser carregadas de um JSON (gerado pelo
+ * DifficultyTuner do módulo headless, ou editado à mão).
+ *
+ * Cada curva tem a forma do LevelManager: inicio + delta * ramp(secs).
+ * - velocidade do mundo: base, add, secs
+ * - intervalo de spawn: start, min, secs (start - (start - min) * ramp)
+ * - chance de spawn duplo: inicio, add, secs
+ * - gap mínimo na faixa: inicio, delta, secs
+ *
+ * Formato do JSON (chaves que faltarem ficam com o valor padrão):
+ * { "fase1": { "velocidadeBase": 420, "velocidadeAdd": 420, ... }, "fase2": ... }
+ *
+ * Onde o jogo procura: -Dmotorunner.difficulty=CAMINHO, senão o arquivo
+ * interno "dificuldade.json" (em assets/), senão os valores padrão abaixo.
+ */
+public final class DifficultyParams {
+
+    /** Propriedade de sistema com o caminho de um JSON de dificuldade. */
+    public static final String PROPERTY = "motorunner.difficulty";
+
+    /** Arquivo interno (assets) carregado se existir. */
+    public static final String ARQUIVO_PADRAO = "dificuldade.json";
+
+    // Índices dos parâmetros (mesma ordem de NOMES)
+    public static final int VELOCIDADE_BASE = 0;
+    public static final int VELOCIDADE_ADD = 1;
+    public static final int VELOCIDADE_SECS = 2;
+    public static final int SPAWN_INICIO = 3;
+    public static final int SPAWN_MIN = 4;
+    public static final int SPAWN_SECS = 5;
+    public static final int DUPLO_INICIO = 6;
+    public static final int DUPLO_ADD = 7;
+    public static final int DUPLO_SECS = 8;
+    public static final int GAP_INICIO = 9;
+    public static final int GAP_DELTA = 10;
+    public static final int GAP_SECS = 11;
+    public static final int QUANTIDADE = 12;
+
+    /** Chaves do JSON, na ordem dos índices. */
+    public static final String[] NOMES = {
+            "velocidadeBase", "velocidadeAdd", "velocidadeSecs",
+            "spawnInicio", "spawnMin", "spawnSecs",
+            "duploInicio", "duploAdd", "duploSecs",
+            "gapInicio", "gapDelta", "gapSecs"
+    };
+
+    // Valores ajustados à mão (os que estavam no LevelManager):
+    // - velocidade: fase 1 acelera mais rápido (35 s), fases 2 e 3 começam
+    // mais rápidas mas sobem mais devagar (50 s / 55 s);
+    // - spawn: 1 carro a cada 1.10 s no começo da fase 1 até 0.45 s no fim;
+    // - duplo: fase 1 não tem spawn duplo;
+    // - gap: de 300 px (fácil) até ~180 px na fase 1.
+    private static final float[][] PADRAO = {
+            { 420f, 420f, 35f, 1.10f, 0.45f, 45f, 0.00f, 0.00f, 60f, 300f, -120f, 80f },
+            { 460f, 420f, 50f, 0.95f, 0.40f, 45f, 0.22f, 0.26f, 60f, 260f, -120f, 75f },
+            { 520f, 400f, 55f, 0.80f, 0.32f, 40f, 0.30f, 0.32f, 50f, 240f, -130f, 70f },
+    };
+
+    private static DifficultyParams atual;
+
+    private final float[][] valores = new float[3][QUANTIDADE];
+
+    private DifficultyParams() {
+    }
+
+    /** Os valores ajustados à mão. */
+    public static DifficultyParams padrao() {
+        DifficultyParams p = new DifficultyParams();
+        for (int f = 0; f < 3; f++)
+            System.arraycopy(PADRAO[f], 0, p.valores[f], 0, QUANTIDADE);
+        return p;
+    }
+
+    /**
+     * Parâmetros que o jogo usa: carregados uma vez (propriedade, arquivo
+     * interno ou padrão) e reaproveitados em todas as partidas.
+     */
+    public static synchronized DifficultyParams atual() {
+        if (atual == null)
+            atual = carregaConfigurado();
+        return atual;
+    }
+
+    private static DifficultyParams carregaConfigurado() {
+        try {
+            String caminho = System.getProperty(PROPERTY);
+            if (caminho != null && !caminho.trim().isEmpty()) {
+                String json = new String(Files.readAllBytes(Paths.get(caminho.trim())), StandardCharsets.UTF_8);
+                log("Dificuldade de " + caminho.trim());
+                return fromJson(json);
+            }
+            if (Gdx.files != null) {
+                FileHandle arquivo = Gdx.files.internal(ARQUIVO_PADRAO);
+                if (arquivo.exists()) {
+                    log("Dificuldade de " + ARQUIVO_PADRAO);
+                    return fromJson(arquivo.readString("UTF-8"));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // JSON quebrado não pode travar o jogo: volta para os valores padrão
+            log("Dificuldade inválida (" + e.getMessage() + "), usando os valores padrão");
+        }
+        return padrao();
+    }
+
+    private static void log(String msg) {
+        if (Gdx.app != null)
+            Gdx.app.log("DifficultyParams", msg);
+    }
+
+    /** Lê um JSON no formato descrito acima; o que faltar fica com o padrão. */
+    public static DifficultyParams fromJson(String json) {
+        DifficultyParams p = padrao();
+        JsonValue raiz = new JsonReader().parse(json);
+        for (int f = 1; f <= 3; f++) {
+            JsonValue fase = raiz.get("fase" + f);
+            if (fase == null)
+                continue;
+            for (int i = 0; i < QUANTIDADE; i++)
+                p.valores[f - 1][i] = fase.getFloat(NOMES[i], p.valores[f - 1][i]);
+        }
+        return p;
+    }
+
+    /** JSON legível (uma fase por bloco, uma chave por linha). */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder("{\n");
+        for (int f = 1; f <= 3; f++) {
+            sb.append("  \"fase").append(f).append("\": {\n");
+            for (int i = 0; i < QUANTIDADE; i++) {
+                sb.append("    \"").append(NOMES[i]).append("\": ")
+                        .append(String.format(Locale.ROOT, "%.4f", valores[f - 1][i]))
+                        .append(i + 1 < QUANTIDADE ? ",\n" : "\n");
+            }
+            sb.append("  }").append(f < 3 ? ",\n" : "\n");
+        }
+        return sb.append("}\n").toString();
+    }
+
+    /** Valor de um parâmetro (fase 1..3, índice VELOCIDADE_BASE..GAP_SECS). */
+    public float get(int fase, int param) {
+        return valores[clampFase(fase) - 1][param];
+    }
+
+    /** Cópia com um parâmetro trocado. */
+    public DifficultyParams com(int fase, int param, float valor) {
+        DifficultyParams p = copia();
+        p.valores[clampFase(fase) - 1][param] = valor;
+        return p;
+    }
+
+    /** Cópia com todos os parâmetros de uma fase trocados. */
+    public DifficultyParams comFase(int fase, float[] params) {
+        DifficultyParams p = copia();
+        System.arraycopy(params, 0, p.valores[clampFase(fase) - 1], 0, QUANTIDADE);
+        return p;
+    }
+
+    /** Parâmetros de uma fase (cópia). */
+    public float[] daFase(int fase) {
+        return valores[clampFase(fase) - 1].clone();
+    }
+
+    public DifficultyParams copia() {
+        DifficultyParams p = new DifficultyParams();
+        for (int f = 0; f < 3; f++)
+            System.arraycopy(valores[f], 0, p.valores[f], 0, QUANTIDADE);
+        return p;
+    }
+
+    private static int clampFase(int fase) {
+        return Math.max(1, Math.min(3, fase));
+    }
+}
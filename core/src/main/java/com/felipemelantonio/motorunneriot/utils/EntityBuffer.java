@@ -0,0 +1,144 @@
+package com.felipemelantonio.motorunneriot.utils;
+
+/**
+ * EntityBuffer
+ * ============
+ * Estado dos carros ou das moedas da pista em structure of arrays: um array
+ * primitivo por campo em vez de uma lista de objetos.
+ *
+ * É ESTE buffer que guarda a posição de quem está na pista: os objetos
+ * (Carro, Moeda) são só "vistas" de uma linha dele (ver Entidade). Assim os
+ * laços que rodam sobre TODAS as entidades a cada frame (movimento, remoção
+ * de quem saiu da tela, colisão larga, ocupação das faixas na zona de
+ * perigo) leem memória contínua e podem ser vetorizados (ver EntityKernels),
+ * sem nenhuma cópia dos objetos para cá.
+ *
+ * A linha i corresponde ao i-ésimo objeto da lista da GameSimulation; quem
+ * mexe na lista mexe no buffer junto (add/remove/truncate).
+ * Os arrays crescem sob demanda e nunca encolhem.
+ */
+public final class EntityBuffer {
+
+    public float[] x = new float[0]; // X (canto esquerdo)
+    public float[] y = new float[0]; // Y atual (base)
+    public float[] prevY = new float[0]; // Y no início do frame (colisão contínua)
+    public float[] w = new float[0]; // largura
+    public float[] h = new float[0]; // altura
+    public int[] lane = new int[0]; // faixa
+    public float[] vel = new float[0]; // velocidade própria (px/s), somada à do mundo
+    public long[] yFx = new long[0]; // Y em ponto fixo (modo determinístico)
+    public long[] velFx = new long[0]; // velocidade própria em ponto fixo
+    public int size;
+
+    public EntityBuffer() {
+        ensureCapacity(32);
+    }
+
+    /** Garante espaço para pelo menos n entidades (dobra de tamanho). */
+    public void ensureCapacity(int n) {
+        if (n <= x.length)
+            return;
+        int cap = Math.max(n, x.length * 2);
+        x = grow(x, cap);
+        y = grow(y, cap);
+        prevY = grow(prevY, cap);
+        w = grow(w, cap);
+        h = grow(h, cap);
+        vel = grow(vel, cap);
+        int[] l = new int[cap];
+        System.arraycopy(lane, 0, l, 0, size);
+        lane = l;
+        yFx = grow(yFx, cap);
+        velFx = grow(velFx, cap);
+    }
+
+    private float[] grow(float[] a, int cap) {
+        float[] b = new float[cap];
+        System.arraycopy(a, 0, b, 0, size);
+        return b;
+    }
+
+    private long[] grow(long[] a, int cap) {
+        long[] b = new long[cap];
+        System.arraycopy(a, 0, b, 0, size);
+        return b;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /** Descarta as linhas a partir de n (mantém as n primeiras). */
+    public void truncate(int n) {
+        if (n < size)
+            size = n;
+    }
+
+    /** Acrescenta uma entidade parada (sem velocidade própria) no fim do buffer. */
+    public int add(float x, float y, float prevY, float w, float h, int lane) {
+        return add(x, y, prevY, w, h, lane, 0f, FixedPoint.fromFloat(y), 0L);
+    }
+
+    /**
+     * Acrescenta uma entidade no fim do buffer.
+     *
+     * @return a linha em que ela ficou
+     */
+    public int add(float x, float y, float prevY, float w, float h, int lane, float vel, long yFx, long velFx) {
+        ensureCapacity(size + 1);
+        int i = size++;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.prevY[i] = prevY;
+        this.w[i] = w;
+        this.h[i] = h;
+        this.lane[i] = lane;
+        this.vel[i] = vel;
+        this.yFx[i] = yFx;
+        this.velFx[i] = velFx;
+        return i;
+    }
+
+    /**
+     * Remove as linhas idx[0..n-1] (em ordem crescente, como os kernels
+     * devolvem) numa passada só, mantendo a ordem das que ficam, igual ao
+     * Array.removeIndex da lista de objetos.
+     */
+    public void removeSorted(int[] idx, int n) {
+        if (n == 0)
+            return;
+        int dst = idx[0];
+        int k = 0;
+        for (int src = idx[0]; src < size; src++) {
+            if (k < n && idx[k] == src) {
+                k++;
+                continue;
+            }
+            x[dst] = x[src];
+            y[dst] = y[src];
+            prevY[dst] = prevY[src];
+            w[dst] = w[src];
+            h[dst] = h[src];
+            lane[dst] = lane[src];
+            vel[dst] = vel[src];
+            yFx[dst] = yFx[src];
+            velFx[dst] = velFx[src];
+            dst++;
+        }
+        size = dst;
+    }
+
+    /**
+     * Versão em ponto fixo do movimento (modo determinístico): cada entidade
+     * desce (mundo + velocidade própria) * dt, com a conta em inteiros, e o Y
+     * em float vira só uma cópia para desenho e colisão.
+     * (A versão em float está nos EntityKernels, onde pode ser vetorizada.)
+     */
+    public void advanceFixed(long dtFx, long worldSpeedFx) {
+        for (int i = 0; i < size; i++) {
+            prevY[i] = y[i];
+            yFx[i] -= FixedPoint.mul(worldSpeedFx + velFx[i], dtFx);
+            y[i] = FixedPoint.toFloat(yFx[i]);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.felipemelantonio.motorunneriot.utils;
+
+/**
+ * EntityKernels
+ * =============
+ * Os laços "quentes" que rodam sobre todas as entidades a cada frame,
+ * escritos sobre um EntityBuffer (arrays primitivos):
+ * - movimento (todas descem junto com o mundo);
+ * - colisão larga contra a moto (quem PODE ter encostado neste frame);
+ * - remoção de quem saiu pela parte de baixo da tela;
+ * - ocupação das faixas na zona de perigo (spawnWave);
+ * - carro mais alto de cada faixa (spawnWave, spawnCoin...).
+ *
+ * Há duas implementações:
+ * - ScalarEntityKernels: laços simples, funcionam em qualquer JVM.
+ * - VectorEntityKernels: SIMD com a Vector API (jdk.incubator.vector).
+ * Fica no source set core/src/vector/java, o único compilado com
+ * --add-modules jdk.incubator.vector (o resto do core compila sem o aviso
+ * de módulo incubado); por isso aqui ela só é citada pelo nome.
+ *
+ * A escolha é feita UMA vez, na primeira chamada de get():
+ * - usa a versão vetorial se o módulo jdk.incubator.vector estiver presente
+ * (JVM iniciada com --add-modules jdk.incubator.vector);
+ * - -Dmotorunner.simd=false força a versão escalar.
+ *
+ * As duas versões devolvem exatamente os mesmos resultados (mesmas contas de
+ * float, na mesma ordem), então trocar uma pela outra não muda a partida.
+ */
+public interface EntityKernels {
+
+    /** Propriedade de sistema para desligar o SIMD (-Dmotorunner.simd=false). */
+    String SIMD_PROPERTY = "motorunner.simd";
+
+    /**
+     * Move todas as entidades um frame: prevY recebe o Y atual e o Y desce
+     * (worldSpeed + vel) * dt. Mesma conta, na mesma ordem, que o antigo
+     * Carro.update()/Moeda.update().
+     */
+    void advance(EntityBuffer b, float dt, float worldSpeed);
+
+    /**
+     * Índices (em ordem crescente) das entidades que podem ter encostado na
+     * região [minX, maxX] x [minY, maxY] durante o frame, considerando o
+     * caminho vertical de cada uma (de prevY até y).
+     *
+     * @return quantos índices foram escritos em out
+     */
+    int collectSweptOverlaps(EntityBuffer b, float minX, float minY, float maxX, float maxY, int[] out);
+
+    /**
+     * Índices (em ordem crescente) das entidades totalmente abaixo de limitY
+     * (y + h menor que limitY).
+     *
+     * @return quantos índices foram escritos em out
+     */
+    int collectBelow(EntityBuffer b, float limitY, int[] out);
+
+    /**
+     * Máscara de bits das faixas que têm alguma entidade com o MEIO dentro da
+     * faixa vertical [start, end]. Bit l ligado = faixa l ocupada.
+     */
+    int laneOccupancy(EntityBuffer b, float start, float end);
+
+    /**
+     * Para cada faixa, o maior Y entre as entidades dela (o carro mais alto).
+     * Faixas vazias recebem Float.NEGATIVE_INFINITY.
+     */
+    void topYByLane(EntityBuffer b, int laneCount, float[] out);
+
+    /** Nome curto da implementação (para log e benchmarks). */
+    String name();
+
+    /** Implementação escolhida para esta JVM. */
+    static EntityKernels get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Uma instância nova da versão SIMD, ignorando -Dmotorunner.simd
+     * (benchmarks comparam as duas), ou null se esta JVM não pode usá-la.
+     */
+    static EntityKernels vector() {
+        return Holder.loadVector();
+    }
+
+    /** Carrega a implementação só na primeira chamada de get(). */
+    final class Holder {
+        private static final EntityKernels INSTANCE = select();
+
+        private Holder() {
+        }
+
+        private static EntityKernels select() {
+            if (!"false".equalsIgnoreCase(System.getProperty(SIMD_PROPERTY))) {
+                EntityKernels vector = loadVector();
+                if (vector != null)
+                    return vector;
+            }
+            return new ScalarEntityKernels();
+        }
+
+        private static EntityKernels loadVector() {
+            if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent())
+                return null;
+            try {
+                // Carregada por reflexão: se o módulo (ou o source set vector)
+                // não estiver disponível, a classe nem chega a ser ligada.
+                return (EntityKernels) Class
+                        .forName("com.felipemelantonio.motorunneriot.utils.VectorEntityKernels")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (Throwable t) {
+                // qualquer problema (classe, CPU, shapes) → quem chamou usa o escalar
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.felipemelantonio.motorunneriot.utils;
+
+/**
+ * FixedPoint
+ * ==========
+ * Aritmética de ponto fixo (16 bits de fração) para o MODO DETERMINÍSTICO da
+ * simulação.
+ *
+ * Por que:
+ * - No modo normal, posição, velocidade e distância são float e vão
+ * acumulando arredondamento a cada frame.
+ * - As curvas do LevelManager usam Math.exp, cujo resultado pode variar
+ * (dentro de 1 ulp) entre JVMs/CPUs, pois é uma função "intrínseca".
+ * - Com isso, uma sessão gravada não se repete bit a bit em outra máquina.
+ *
+ * No modo determinístico:
+ * - valores da simulação viram long com 16 bits de fração (1.0 = ONE);
+ * - somas e multiplicações são inteiras (resultado idêntico em qualquer JVM);
+ * - a rampa 1 - e^(-x) vem de uma TABELA montada com StrictMath (que tem
+ * resultado especificado bit a bit), com interpolação linear inteira.
+ *
+ * Ativado com -Dmotorunner.deterministic=true.
+ */
+public final class FixedPoint {
+
+    /** Propriedade de sistema que liga o modo determinístico. */
+    public static final String DETERMINISTIC_PROPERTY = "motorunner.deterministic";
+
+    public static final int FRACTION_BITS = 16;
+    public static final long ONE = 1L << FRACTION_BITS;
+
+    // ==== Tabela da rampa 1 - e^(-x) ====
+    // x vai de 0 até RAMP_MAX_X, com RAMP_STEPS_PER_UNIT amostras por unidade.
+    // Depois de x = 8 a curva já passou de 99,96%, então "satura" no último valor.
+    private static final int RAMP_MAX_X = 8;
+    private static final int RAMP_SHIFT = 6; // 2^6 = 64 amostras por unidade de x
+    private static final int RAMP_STEPS_PER_UNIT = 1 << RAMP_SHIFT;
+    private static final int RAMP_INDEX_SHIFT = FRACTION_BITS - RAMP_SHIFT;
+    private static final long RAMP_FRAC_MASK = (1L << RAMP_INDEX_SHIFT) - 1;
+    private static final long[] RAMP_TABLE = new long[RAMP_MAX_X * RAMP_STEPS_PER_UNIT + 1];
+
+    static {
+        for (int i = 0; i < RAMP_TABLE.length; i++) {
+            double x = (double) i / RAMP_STEPS_PER_UNIT;
+            RAMP_TABLE[i] = Math.round((1.0 - StrictMath.exp(-x)) * ONE);
+        }
+    }
+
+    private FixedPoint() {
+    }
+
+    /** true se o jogo foi iniciado com -Dmotorunner.deterministic=true. */
+    public static boolean deterministicMode() {
+        return Boolean.getBoolean(DETERMINISTIC_PROPERTY);
+    }
+
+    /** float -> ponto fixo (arredondando para o valor mais próximo). */
+    public static long fromFloat(float v) {
+        return Math.round((double) v * ONE);
+    }
+
+    /** ponto fixo -> float (para desenhar, HUD etc.). */
+    public static float toFloat(long fx) {
+        return (float) ((double) fx / ONE);
+    }
+
+    /** Inteiro -> ponto fixo. */
+    public static long fromInt(int v) {
+        return (long) v << FRACTION_BITS;
+    }
+
+    /** Multiplicação a * b em ponto fixo. */
+    public static long mul(long a, long b) {
+        return (a * b) >> FRACTION_BITS;
+    }
+
+    /** Divisão a / b em ponto fixo. */
+    public static long div(long a, long b) {
+        return (a << FRACTION_BITS) / b;
+    }
+
+    /**
+     * ramp(timeFx, secondsToMaxFx)
+     * ----------------------------
+     * Mesma curva do LevelManager.ramp(), 1 - e^(-time / secondsToMax), mas
+     * toda em inteiros: x = time / secondsToMax (divisão em ponto fixo) e o
+     * valor vem da tabela.
+     *
+     * O ritmo também vem em ponto fixo: os genes do DifficultyTuner dão
+     * segundos fracionários (ex.: 37.4) e truncar para int mudaria a curva.
+     *
+     * @param timeFx         tempo da fase em ponto fixo (segundos)
+     * @param secondsToMaxFx "ritmo" da curva em ponto fixo (segundos, >= 1)
+     * @return valor entre 0 e ONE
+     */
+    public static long ramp(long timeFx, long secondsToMaxFx) {
+        if (timeFx <= 0)
+            return 0;
+        long x = div(timeFx, Math.max(ONE, secondsToMaxFx));
+        int idx = (int) (x >> RAMP_INDEX_SHIFT);
+        if (idx >= RAMP_TABLE.length - 1)
+            return RAMP_TABLE[RAMP_TABLE.length - 1];
+        long frac = x & RAMP_FRAC_MASK;
+        long a = RAMP_TABLE[idx];
+        long b = RAMP_TABLE[idx + 1];
+        return a + (((b - a) * frac) >> RAMP_INDEX_SHIFT);
+    }
+}
@@ -0,0 +1,312 @@
+package com.felipemelantonio.motorunneriot.utils;
+
+import com.badlogic.gdx.Gdx;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * FrameTimeline
+ * =============
+ * Cronômetros por subsistema dentro do frame (input, LevelManager, spawn,
+ * entidades, colisão, desenho, troca de tela), para descobrir QUAL parte
+ * do render deu o pico, e não só que o FPS caiu.
+ *
+ * Uso (sempre aos pares, na thread do jogo):
+ *
+ * <pre>
+ * FrameTimeline.inicio(FrameTimeline.SPAWN);
+ * ...
+ * FrameTimeline.fim(FrameTimeline.SPAWN);
+ * </pre>
+ *
+ * Cada fim() grava um intervalo (seção, começo, duração, frame) num buffer
+ * circular de arrays de primitivos alocado uma vez, ao ligar. Desligado
+ * (o padrão), inicio()/fim() são só a leitura de um boolean estático: o
+ * custo medido fica no FrameTimelineBenchmark (módulo benchmarks).
+ *
+ * Só a thread que ligou grava: as ferramentas headless rodam várias
+ * GameSimulation em paralelo, e elas não podem bagunçar o buffer.
+ *
+ * Exportação no formato Chrome Trace Event (JSON, eventos "X"), que abre
+ * no chrome://tracing, no Perfetto (ui.perfetto.dev) e no speedscope:
+ * - sob demanda: F4 no jogo liga a gravação e, apertando de novo, exporta
+ * e desliga (ver MotoRunnerGame);
+ * - em "hitch": com a gravação ligada, um frame acima de
+ * -Dmotorunner.timeline.hitchMs (padrão 50 ms; 0 desliga) exporta sozinho
+ * (no máximo um arquivo a cada 10 s).
+ * A exportação copia o buffer para um segundo array (rápido) e escreve o
+ * arquivo numa thread separada, para o próprio dump não virar outro pico.
+ *
+ * -Dmotorunner.timeline=true liga a gravação desde a abertura do jogo;
+ * -Dmotorunner.timeline.dir=PASTA muda a pasta dos arquivos (padrão
+ * "traces", relativa à pasta de trabalho).
+ */
+public final class FrameTimeline {
+
+    public static final String PROPERTY = "motorunner.timeline";
+    public static final String HITCH_PROPERTY = "motorunner.timeline.hitchMs";
+    public static final String DIR_PROPERTY = "motorunner.timeline.dir";
+
+    // ==== Seções ====
+    public static final int FRAME = 0; // Game.render inteiro
+    public static final int TRANSICAO = 1; // setScreen (show da nova + dispose da antiga)
+    public static final int INPUT = 2; // RiderInput.poll (teclado ou autopilot)
+    public static final int SIMULACAO = 3; // GameSimulation.step inteiro
+    public static final int NIVEL = 4; // LevelManager.update
+    public static final int SPAWN = 5; // IA de trânsito (ondas, despertador, moedas)
+    public static final int ENTIDADES = 6; // moto, carros e moedas andando + coleta
+    public static final int COLISAO = 7; // teste de colisão da moto
+    public static final int DESENHO = 8; // SpriteBatch da GameScreen (fundo, entidades, HUD)
+    public static final int SECOES = 9;
+
+    private static final String[] NOMES = { "frame", "transicao", "input", "simulacao", "nivel", "spawn",
+            "entidades", "colisao", "desenho" };
+    private static final String[] CATEGORIAS = { "frame", "tela", "input", "sim", "sim", "sim", "sim", "sim",
+            "render" };
+
+    /** Intervalos guardados (potência de 2; ~ 1 min de jogo a 60 FPS). */
+    public static final int CAPACIDADE = 1 << 15;
+    private static final int MASCARA = CAPACIDADE - 1;
+
+    private static final long HITCH_INTERVALO_NS = 10_000_000_000L;
+
+    private static boolean ligado;
+    private static Thread dono;
+
+    // Buffer circular (alocado no primeiro liga())
+    private static long[] comeco;
+    private static long[] duracao;
+    private static byte[] secao;
+    private static int[] frameDe;
+    private static long total;
+    private static final long[] abertoEm = new long[SECOES];
+    private static int frame;
+
+    // Cópia para exportar fora da thread do jogo
+    private static long[] copiaComeco, copiaDuracao;
+    private static byte[] copiaSecao;
+    private static int[] copiaFrame;
+    private static final AtomicBoolean exportando = new AtomicBoolean();
+
+    private static long hitchNs = 50_000_000L;
+    private static long ultimoHitch = Long.MIN_VALUE / 2;
+
+    private FrameTimeline() {
+    }
+
+    // ===================== Liga / desliga =====================
+
+    /** Liga a gravação; só a thread que chamou grava. */
+    public static void liga() {
+        if (comeco == null) {
+            comeco = new long[CAPACIDADE];
+            duracao = new long[CAPACIDADE];
+            secao = new byte[CAPACIDADE];
+            frameDe = new int[CAPACIDADE];
+            copiaComeco = new long[CAPACIDADE];
+            copiaDuracao = new long[CAPACIDADE];
+            copiaSecao = new byte[CAPACIDADE];
+            copiaFrame = new int[CAPACIDADE];
+        }
+        hitchNs = (long) (Float.parseFloat(System.getProperty(HITCH_PROPERTY, "50")) * 1_000_000L);
+        total = 0;
+        for (int i = 0; i < SECOES; i++)
+            abertoEm[i] = 0;
+        dono = Thread.currentThread();
+        ligado = true;
+    }
+
+    /** Limite de hitch em ms (0 = não exporta sozinho); vale até o próximo liga(). */
+    public static void setHitchMs(float ms) {
+        hitchNs = (long) (ms * 1_000_000L);
+    }
+
+    public static void desliga() {
+        ligado = false;
+    }
+
+    public static boolean isLigado() {
+        return ligado;
+    }
+
+    /** Liga se -Dmotorunner.timeline=true (abertura do jogo). */
+    public static void ligaSePedido() {
+        if (Boolean.getBoolean(PROPERTY))
+            liga();
+    }
+
+    // ===================== Gravação =====================
+
+    public static void inicio(int s) {
+        if (!ligado || Thread.currentThread() != dono)
+            return;
+        abertoEm[s] = System.nanoTime();
+    }
+
+    public static void fim(int s) {
+        if (!ligado || Thread.currentThread() != dono)
+            return;
+        long agora = System.nanoTime();
+        long de = abertoEm[s];
+        if (de == 0)
+            return; // abriu antes de ligar
+        abertoEm[s] = 0;
+        int i = (int) (total & MASCARA);
+        total++;
+        comeco[i] = de;
+        duracao[i] = agora - de;
+        secao[i] = (byte) s;
+        frameDe[i] = frame;
+    }
+
+    /** Começo de um frame do jogo (MotoRunnerGame.render). */
+    public static void inicioFrame() {
+        if (!ligado)
+            return;
+        frame++;
+        inicio(FRAME);
+    }
+
+    /**
+     * Fim do frame: fecha a seção FRAME e, se ele passou do limite de hitch,
+     * exporta o que está no buffer (respeitando o intervalo mínimo).
+     */
+    public static void fimFrame() {
+        if (!ligado || Thread.currentThread() != dono)
+            return;
+        long de = abertoEm[FRAME];
+        fim(FRAME);
+        long agora = System.nanoTime();
+        if (de != 0 && hitchNs > 0 && agora - de > hitchNs && agora - ultimoHitch > HITCH_INTERVALO_NS) {
+            ultimoHitch = agora;
+            exporta("hitch");
+        }
+    }
+
+    // ===================== Exportação =====================
+
+    /** Intervalos disponíveis no buffer. */
+    public static int tamanho() {
+        return (int) Math.min(total, CAPACIDADE);
+    }
+
+    /**
+     * Copia o buffer e escreve o JSON numa thread separada, na pasta de
+     * -Dmotorunner.timeline.dir. Se já houver uma exportação em andamento,
+     * não faz nada.
+     *
+     * @return false se não exportou (desligado, vazio ou ocupado)
+     */
+    public static boolean exporta(String motivo) {
+        if (comeco == null || tamanho() == 0 || !exportando.compareAndSet(false, true))
+            return false;
+        int n = copia();
+        String nome = "trace-" + new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.ROOT).format(new Date()) + "-"
+                + motivo + ".json";
+        Path arquivo = Paths.get(System.getProperty(DIR_PROPERTY, "traces")).resolve(nome);
+        Thread t = new Thread(() -> {
+            try {
+                Files.createDirectories(arquivo.toAbsolutePath().getParent());
+                try (Writer w = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+                    escreveJson(w, copiaComeco, copiaDuracao, copiaSecao, copiaFrame, n);
+                }
+                log("Timeline (" + motivo + "): " + n + " intervalos em " + arquivo.toAbsolutePath());
+            } catch (IOException e) {
+                log("Timeline: falha ao gravar " + arquivo + ": " + e);
+            } finally {
+                exportando.set(false);
+            }
+        }, "frame-timeline-export");
+        t.setDaemon(true);
+        t.start();
+        return true;
+    }
+
+    /**
+     * Escreve o buffer atual como JSON, na thread que chamou (ferramentas
+     * headless, no fim da rodada).
+     */
+    public static void escreveJson(Writer out) throws IOException {
+        if (comeco == null)
+            throw new IllegalStateException("FrameTimeline nunca foi ligado");
+        while (!exportando.compareAndSet(false, true))
+            Thread.onSpinWait();
+        try {
+            int n = copia();
+            escreveJson(out instanceof BufferedWriter ? out : new BufferedWriter(out), copiaComeco, copiaDuracao,
+                    copiaSecao, copiaFrame, n);
+        } finally {
+            exportando.set(false);
+        }
+    }
+
+    // Copia o buffer (do mais antigo para o mais novo) para os arrays de cópia
+    private static int copia() {
+        int n = tamanho();
+        int primeiro = (int) ((total - n) & MASCARA);
+        int ate = Math.min(n, CAPACIDADE - primeiro);
+        System.arraycopy(comeco, primeiro, copiaComeco, 0, ate);
+        System.arraycopy(duracao, primeiro, copiaDuracao, 0, ate);
+        System.arraycopy(secao, primeiro, copiaSecao, 0, ate);
+        System.arraycopy(frameDe, primeiro, copiaFrame, 0, ate);
+        if (ate < n) {
+            System.arraycopy(comeco, 0, copiaComeco, ate, n - ate);
+            System.arraycopy(duracao, 0, copiaDuracao, ate, n - ate);
+            System.arraycopy(secao, 0, copiaSecao, ate, n - ate);
+            System.arraycopy(frameDe, 0, copiaFrame, ate, n - ate);
+        }
+        return n;
+    }
+
+    // Formato Chrome Trace Event: {"traceEvents":[...]}, tempos em µs
+    // relativos ao primeiro intervalo
+    private static void escreveJson(Writer w, long[] de, long[] dur, byte[] sec, int[] fr, int n)
+            throws IOException {
+        long base = Long.MAX_VALUE;
+        for (int i = 0; i < n; i++)
+            base = Math.min(base, de[i]);
+        w.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n");
+        w.write("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":1,\"args\":{\"name\":\"jogo\"}}");
+        for (int i = 0; i < n; i++) {
+            w.write(",\n{\"name\":\"");
+            w.write(NOMES[sec[i]]);
+            w.write("\",\"cat\":\"");
+            w.write(CATEGORIAS[sec[i]]);
+            w.write("\",\"ph\":\"X\",\"pid\":1,\"tid\":1,\"ts\":");
+            w.write(micros(de[i] - base));
+            w.write(",\"dur\":");
+            w.write(micros(dur[i]));
+            w.write(",\"args\":{\"frame\":");
+            w.write(Integer.toString(fr[i]));
+            w.write("}}");
+        }
+        w.write("\n]}\n");
+        w.flush();
+    }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1000.0);
+    }
+
+    private static void log(String msg) {
+        if (Gdx.app != null)
+            Gdx.app.log("FrameTimeline", msg);
+        else
+            System.out.println(msg);
+    }
+
+    /** Nome da seção (como aparece no trace). */
+    public static String nome(int s) {
+        return NOMES[s];
+    }
+}
@@ -0,0 +1,90 @@
+package com.felipemelantonio.motorunneriot.utils;
+
+import java.util.EnumMap;
+import java.util.Random;
+
+/**
+ * GameRandom
+ * ==========
+ * Fonte ÚNICA de aleatoriedade de uma partida.
+ *
+ * Antes cada parte do jogo tinha o seu próprio Random sem semente
+ * (GameScreen, LevelManager, Carro) e ainda usava o MathUtils global do
+ * LibGDX, então duas partidas nunca se repetiam.
+ *
+ * Agora:
+ * - Cada partida tem UMA semente (seed), que é impressa no log.
+ * - A partir dela derivamos um "sub-fluxo" (Random) independente para cada
+ * finalidade (faixas do trânsito, velocidade dos rivais, modelo do carro,
+ * moedas). Assim, sortear uma moeda a mais não muda a sequência do trânsito.
+ * - Mesma semente + mesmo input = mesma partida.
+ *
+ * Para repetir uma partida, rode o jogo com -Dmotorunner.seed=NUMERO
+ * (ou --seed=NUMERO no launcher desktop).
+ */
+public final class GameRandom {
+
+    /** Propriedade de sistema que fixa a semente de todas as partidas. */
+    public static final String SEED_PROPERTY = "motorunner.seed";
+
+    /** Finalidades que recebem um sub-fluxo próprio. */
+    public enum Stream {
+        TRAFFIC, // escolha de faixas na IA de trânsito (spawnWave e cia.)
+        RIVAL_SPEED, // fator de velocidade dos rivais (LevelManager)
+        CAR_SPRITE, // modelo/textura sorteado para cada carro
+        COINS, // faixa das moedas
+        ATTRACT // fase do modo demonstração (MenuScreen)
+    }
+
+    private final long seed;
+    private final EnumMap<Stream, Random> streams = new EnumMap<>(Stream.class);
+
+    public GameRandom(long seed) {
+        this.seed = seed;
+        for (Stream s : Stream.values()) {
+            // Cada sub-fluxo recebe uma semente "espalhada" a partir da principal,
+            // para que fluxos vizinhos não fiquem correlacionados.
+            streams.put(s, new Random(mix(seed + 0x9E3779B97F4A7C15L * (s.ordinal() + 1))));
+        }
+    }
+
+    /**
+     * newSession()
+     * ------------
+     * Cria o GameRandom de uma nova partida:
+     * - se a propriedade motorunner.seed estiver definida, usa essa semente;
+     * - senão, gera uma semente nova (e diferente a cada partida).
+     */
+    public static GameRandom newSession() {
+        return new GameRandom(resolveSeed());
+    }
+
+    /** Semente configurada em motorunner.seed, ou uma nova semente aleatória. */
+    public static long resolveSeed() {
+        String fixed = System.getProperty(SEED_PROPERTY);
+        if (fixed != null && !fixed.trim().isEmpty()) {
+            try {
+                return Long.parseLong(fixed.trim());
+            } catch (NumberFormatException e) {
+                // Semente inválida: cai para uma semente nova em vez de travar o jogo
+            }
+        }
+        return mix(System.nanoTime() ^ System.currentTimeMillis());
+    }
+
+    /** Sub-fluxo de uma finalidade. Sempre devolve o MESMO objeto Random. */
+    public Random stream(Stream s) {
+        return streams.get(s);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // Finalizador do SplitMix64: espalha bem os bits de uma semente simples
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,488 @@
+package com.felipemelantonio.motorunneriot.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * GravadorDeVoo
+ * =============
+ * "Caixa-preta" do totem: os últimos segundos de jogo, frame a frame,
+ * SEMPRE gravando, para quando ele engasgar ou cair sobrar o contexto.
+ *
+ * Por frame: dt, velocidade do mundo, boost, carros e moedas vivos,
+ * eventos (teclas do piloto, onda, despertador, spawn recusado, moeda,
+ * troca de tela, pausa), tempo de simulação e tempo do resto do render, e
+ * a tela ativa.
+ *
+ * Tudo fica em arrays de primitivos (um por campo) num buffer circular
+ * alocado uma vez: no caminho quente são só algumas escritas em array.
+ * Só a thread do jogo grava (a primeira que chamar inicioFrame()).
+ *
+ * O despejo copia o buffer (na thread que pediu) e escreve o arquivo numa
+ * thread separada, em -Dmotorunner.gravador.dir (padrão "gravador"):
+ * - F5 no jogo (motivo "manual");
+ * - frame acima de -Dmotorunner.gravador.orcamentoMs (padrão 50; 0
+ * desliga), no máximo um a cada 30 s. Frames com troca de tela não
+ * contam: carregar a tela nova é esperado (o JFR mostra esse tempo);
+ * - exceção que chega no Lwjgl3Launcher (motivo "excecao", com a pilha).
+ * Ficam só os MAX_ARQUIVOS despejos mais novos na pasta.
+ *
+ * Formato (.bin, DataOutputStream, colunas): ver escreve(); quem lê é
+ * le() (ferramenta headless LeGravador).
+ * -Dmotorunner.gravador=false desliga a gravação;
+ * -Dmotorunner.gravador.segundos=S muda a janela (padrão 30 s a 60 FPS).
+ */
+public final class GravadorDeVoo {
+
+    public static final String PROPERTY = "motorunner.gravador";
+    public static final String ORCAMENTO_PROPERTY = "motorunner.gravador.orcamentoMs";
+    public static final String DIR_PROPERTY = "motorunner.gravador.dir";
+    public static final String SEGUNDOS_PROPERTY = "motorunner.gravador.segundos";
+
+    /** Cabeçalho do arquivo ("MRGV") e versão do formato. */
+    public static final int MAGICO = 0x4D524756;
+    public static final int VERSAO = 1;
+
+    /** Despejos mantidos na pasta (os mais velhos são apagados). */
+    public static final int MAX_ARQUIVOS = 20;
+
+    // ==== Eventos do frame (bits) ====
+    // 0..2 = ações do piloto (RiderInput.LEFT/RIGHT/BOOST)
+    public static final int ONDA = 1 << 3; // uma onda criou carro(s)
+    public static final int DESPERTADOR = 1 << 4; // carro fora das ondas (anti-"grudado")
+    public static final int RECUSADO = 1 << 5; // a ReachabilityGrid recusou um spawn
+    public static final int MOEDA = 1 << 6; // moeda coletada
+    public static final int TROCA_TELA = 1 << 7; // setScreen neste frame
+    public static final int PAUSADO = 1 << 8; // GameScreen pausada
+    public static final int COLISAO = 1 << 9; // a moto bateu
+
+    private static final long INTERVALO_AUTO_NS = 30_000_000_000L;
+
+    private static boolean ligado = !"false".equals(System.getProperty(PROPERTY));
+    private static Thread dono;
+
+    // Buffer circular (alocado no primeiro frame)
+    private static int capacidade;
+    private static int mascara;
+    private static long[] tempo; // System.nanoTime do começo do frame
+    private static float[] dt;
+    private static float[] velocidade;
+    private static float[] boost;
+    private static short[] carros;
+    private static short[] moedas;
+    private static short[] eventos;
+    private static byte[] novosCarros;
+    private static int[] simNanos;
+    private static int[] renderNanos;
+    private static byte[] tela;
+    private static long total;
+    private static int atual; // posição do frame em andamento
+    private static long inicioNanos;
+
+    // Telas já vistas (o buffer guarda só o índice)
+    private static final List<Class<?>> telas = new ArrayList<>();
+    private static Class<?> ultimaClasse;
+    private static byte ultimoCodigo;
+
+    private static long orcamentoNs;
+    private static long ultimoAuto = Long.MIN_VALUE / 2;
+
+    // Cópia para escrever fora da thread do jogo
+    private static Despejo copia;
+    private static final AtomicBoolean despejando = new AtomicBoolean();
+    private static volatile Thread escritor;
+
+    private GravadorDeVoo() {
+    }
+
+    public static boolean isLigado() {
+        return ligado;
+    }
+
+    public static void setLigado(boolean l) {
+        ligado = l;
+    }
+
+    /** Limite do despejo automático em ms (0 = não despeja sozinho). */
+    public static void setOrcamentoMs(float ms) {
+        prepara();
+        orcamentoNs = (long) (ms * 1_000_000L);
+    }
+
+    private static void prepara() {
+        if (tempo != null)
+            return;
+        int segundos = Math.max(1, Integer.getInteger(SEGUNDOS_PROPERTY, 30));
+        capacidade = Integer.highestOneBit(segundos * 60 - 1) << 1; // potência de 2 >= S x 60
+        mascara = capacidade - 1;
+        tempo = new long[capacidade];
+        dt = new float[capacidade];
+        velocidade = new float[capacidade];
+        boost = new float[capacidade];
+        carros = new short[capacidade];
+        moedas = new short[capacidade];
+        eventos = new short[capacidade];
+        novosCarros = new byte[capacidade];
+        simNanos = new int[capacidade];
+        renderNanos = new int[capacidade];
+        tela = new byte[capacidade];
+        copia = new Despejo(capacidade);
+        orcamentoNs = (long) (Float.parseFloat(System.getProperty(ORCAMENTO_PROPERTY, "50")) * 1_000_000L);
+    }
+
+    // ===================== Gravação (thread do jogo) =====================
+
+    /** Começo do frame (MotoRunnerGame.render). */
+    public static void inicioFrame(Screen s, float deltaTime) {
+        if (!ligado)
+            return;
+        if (dono == null) {
+            prepara();
+            dono = Thread.currentThread();
+        } else if (Thread.currentThread() != dono) {
+            return;
+        }
+        inicioNanos = System.nanoTime();
+        int i = (int) (total & mascara);
+        atual = i;
+        total++;
+        tempo[i] = inicioNanos;
+        dt[i] = deltaTime;
+        velocidade[i] = 0f;
+        boost[i] = 0f;
+        carros[i] = 0;
+        moedas[i] = 0;
+        eventos[i] = 0;
+        novosCarros[i] = 0;
+        simNanos[i] = 0;
+        renderNanos[i] = 0;
+        tela[i] = codigo(s);
+    }
+
+    /**
+     * O passo da simulação deste frame (GameScreen).
+     *
+     * @param acoes          máscara do RiderInput
+     * @param eventosDoPasso bits ONDA/DESPERTADOR/... do passo
+     * @param novos          carros criados no passo
+     * @param nanos          tempo de input + sim.step
+     */
+    public static void simulacao(float worldSpeed, float worldBoost, int nCarros, int nMoedas, int acoes,
+            int eventosDoPasso, int novos, long nanos) {
+        if (!ligado || Thread.currentThread() != dono)
+            return;
+        int i = atual;
+        velocidade[i] = worldSpeed;
+        boost[i] = worldBoost;
+        carros[i] = (short) Math.min(nCarros, Short.MAX_VALUE);
+        moedas[i] = (short) Math.min(nMoedas, Short.MAX_VALUE);
+        eventos[i] |= (short) ((acoes & 7) | eventosDoPasso);
+        novosCarros[i] = (byte) Math.min(novos, Byte.MAX_VALUE);
+        simNanos[i] += (int) Math.min(nanos, Integer.MAX_VALUE);
+    }
+
+    /** Marca um evento no frame atual (ex.: PAUSADO, TROCA_TELA). */
+    public static void evento(int bits) {
+        if (!ligado || Thread.currentThread() != dono)
+            return;
+        eventos[atual] |= (short) bits;
+    }
+
+    /**
+     * Fim do frame: o resto do render e, se o frame estourou o orçamento,
+     * o despejo automático.
+     */
+    public static void fimFrame() {
+        if (!ligado || Thread.currentThread() != dono)
+            return;
+        long agora = System.nanoTime();
+        long frame = agora - inicioNanos;
+        int i = atual;
+        renderNanos[i] = (int) Math.min(Math.max(0, frame - simNanos[i]), Integer.MAX_VALUE);
+        if (orcamentoNs > 0 && frame > orcamentoNs && (eventos[i] & TROCA_TELA) == 0
+                && agora - ultimoAuto > INTERVALO_AUTO_NS) {
+            ultimoAuto = agora;
+            despeja("orcamento", null);
+        }
+    }
+
+    private static byte codigo(Screen s) {
+        if (s == null)
+            return -1;
+        Class<?> c = s.getClass();
+        if (c == ultimaClasse)
+            return ultimoCodigo;
+        int k = telas.indexOf(c);
+        if (k < 0) {
+            k = telas.size();
+            telas.add(c);
+        }
+        ultimaClasse = c;
+        ultimoCodigo = (byte) k;
+        return ultimoCodigo;
+    }
+
+    /** Frames no buffer. */
+    public static int tamanho() {
+        return (int) Math.min(total, capacidade);
+    }
+
+    // ===================== Despejo =====================
+
+    /**
+     * Copia o buffer e escreve o arquivo numa thread separada. Se já houver
+     * um despejo em andamento, não faz nada.
+     *
+     * @param erro exceção que motivou o despejo (a pilha vai no arquivo) ou null
+     * @return false se não despejou (vazio ou ocupado)
+     */
+    public static boolean despeja(String motivo, Throwable erro) {
+        if (tempo == null || tamanho() == 0 || !despejando.compareAndSet(false, true))
+            return false;
+        copia.preenche(motivo, erro != null ? pilha(erro) : "", System.currentTimeMillis());
+        String nome = "gravador-" + new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.ROOT).format(new Date()) + "-"
+                + motivo + ".bin";
+        Path pasta = Paths.get(System.getProperty(DIR_PROPERTY, "gravador"));
+        Thread t = new Thread(() -> {
+            Path arquivo = pasta.resolve(nome);
+            try {
+                Files.createDirectories(pasta);
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(arquivo))) {
+                    copia.escreve(out);
+                }
+                apagaAntigos(pasta);
+                log("Gravador (" + motivo + "): " + copia.n + " frames em " + arquivo.toAbsolutePath());
+            } catch (IOException e) {
+                log("Gravador: falha ao gravar " + arquivo + ": " + e);
+            } finally {
+                despejando.set(false);
+            }
+        }, "gravador-de-voo");
+        t.setDaemon(true);
+        escritor = t;
+        t.start();
+        return true;
+    }
+
+    /**
+     * Espera o despejo em andamento terminar (o launcher, antes de a JVM
+     * cair, e as ferramentas).
+     */
+    public static void aguarda(long ms) {
+        Thread t = escritor;
+        if (t == null)
+            return;
+        try {
+            t.join(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Mantém só os MAX_ARQUIVOS mais novos (o nome começa com a data)
+    private static void apagaAntigos(Path pasta) throws IOException {
+        List<Path> arquivos = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(pasta, "gravador-*.bin")) {
+            for (Path p : ds)
+                arquivos.add(p);
+        }
+        if (arquivos.size() <= MAX_ARQUIVOS)
+            return;
+        Collections.sort(arquivos);
+        for (int k = 0; k < arquivos.size() - MAX_ARQUIVOS; k++)
+            Files.deleteIfExists(arquivos.get(k));
+    }
+
+    private static String pilha(Throwable t) {
+        StringWriter sw = new StringWriter();
+        t.printStackTrace(new PrintWriter(sw));
+        return sw.toString();
+    }
+
+    private static void log(String msg) {
+        if (Gdx.app != null)
+            Gdx.app.log("GravadorDeVoo", msg);
+        else
+            System.out.println(msg);
+    }
+
+    /** Lê um arquivo escrito pelo despejo. */
+    public static Despejo le(InputStream in) throws IOException {
+        return Despejo.le(new DataInputStream(new BufferedInputStream(in)));
+    }
+
+    // ===================== Despejo (cópia / arquivo) =====================
+
+    /**
+     * Despejo
+     * -------
+     * Um retrato do buffer, do frame mais velho para o mais novo: é o que
+     * vai para o arquivo e o que le() devolve.
+     */
+    public static final class Despejo {
+        public String motivo;
+        public String erro; // pilha da exceção ("" se não houve)
+        public long quando; // System.currentTimeMillis do despejo
+        public String[] telas;
+        public int n;
+        public long[] tempo;
+        public float[] dt, velocidade, boost;
+        public short[] carros, moedas, eventos;
+        public byte[] novosCarros, tela;
+        public int[] simNanos, renderNanos;
+
+        Despejo(int cap) {
+            tempo = new long[cap];
+            dt = new float[cap];
+            velocidade = new float[cap];
+            boost = new float[cap];
+            carros = new short[cap];
+            moedas = new short[cap];
+            eventos = new short[cap];
+            novosCarros = new byte[cap];
+            tela = new byte[cap];
+            simNanos = new int[cap];
+            renderNanos = new int[cap];
+        }
+
+        // Copia o buffer circular (mais velho primeiro)
+        void preenche(String motivo, String erro, long quando) {
+            this.motivo = motivo;
+            this.erro = erro;
+            this.quando = quando;
+            telas = new String[GravadorDeVoo.telas.size()];
+            for (int k = 0; k < telas.length; k++)
+                telas[k] = GravadorDeVoo.telas.get(k).getSimpleName();
+            n = tamanho();
+            int primeiro = (int) ((total - n) & mascara);
+            int ate = Math.min(n, capacidade - primeiro);
+            copiaTrecho(primeiro, 0, ate);
+            if (ate < n)
+                copiaTrecho(0, ate, n - ate);
+        }
+
+        private void copiaTrecho(int de, int para, int qtd) {
+            System.arraycopy(GravadorDeVoo.tempo, de, tempo, para, qtd);
+            System.arraycopy(GravadorDeVoo.dt, de, dt, para, qtd);
+            System.arraycopy(GravadorDeVoo.velocidade, de, velocidade, para, qtd);
+            System.arraycopy(GravadorDeVoo.boost, de, boost, para, qtd);
+            System.arraycopy(GravadorDeVoo.carros, de, carros, para, qtd);
+            System.arraycopy(GravadorDeVoo.moedas, de, moedas, para, qtd);
+            System.arraycopy(GravadorDeVoo.eventos, de, eventos, para, qtd);
+            System.arraycopy(GravadorDeVoo.novosCarros, de, novosCarros, para, qtd);
+            System.arraycopy(GravadorDeVoo.tela, de, tela, para, qtd);
+            System.arraycopy(GravadorDeVoo.simNanos, de, simNanos, para, qtd);
+            System.arraycopy(GravadorDeVoo.renderNanos, de, renderNanos, para, qtd);
+        }
+
+        /**
+         * Formato: MAGICO, VERSAO, motivo, erro, quando, telas (qtd + nomes),
+         * n e então cada campo em coluna (n valores seguidos): tempo (ns,
+         * relativo ao primeiro frame), dt, velocidade, boost, carros, moedas,
+         * eventos, novosCarros, tela, simNanos, renderNanos.
+         */
+        void escreve(OutputStream os) throws IOException {
+            DataOutputStream out = new DataOutputStream(os);
+            out.writeInt(MAGICO);
+            out.writeShort(VERSAO);
+            out.writeUTF(motivo);
+            out.writeUTF(erro.length() > 16000 ? erro.substring(0, 16000) : erro);
+            out.writeLong(quando);
+            out.writeShort(telas.length);
+            for (String t : telas)
+                out.writeUTF(t);
+            out.writeInt(n);
+            long base = n > 0 ? tempo[0] : 0;
+            for (int i = 0; i < n; i++)
+                out.writeLong(tempo[i] - base);
+            for (int i = 0; i < n; i++)
+                out.writeFloat(dt[i]);
+            for (int i = 0; i < n; i++)
+                out.writeFloat(velocidade[i]);
+            for (int i = 0; i < n; i++)
+                out.writeFloat(boost[i]);
+            for (int i = 0; i < n; i++)
+                out.writeShort(carros[i]);
+            for (int i = 0; i < n; i++)
+                out.writeShort(moedas[i]);
+            for (int i = 0; i < n; i++)
+                out.writeShort(eventos[i]);
+            out.write(novosCarros, 0, n);
+            out.write(tela, 0, n);
+            for (int i = 0; i < n; i++)
+                out.writeInt(simNanos[i]);
+            for (int i = 0; i < n; i++)
+                out.writeInt(renderNanos[i]);
+            out.flush();
+        }
+
+        static Despejo le(DataInputStream in) throws IOException {
+            if (in.readInt() != MAGICO)
+                throw new IOException("não é um arquivo do GravadorDeVoo");
+            int versao = in.readShort();
+            if (versao != VERSAO)
+                throw new IOException("versão " + versao + " do formato (esperado " + VERSAO + ")");
+            String motivo = in.readUTF();
+            String erro = in.readUTF();
+            long quando = in.readLong();
+            String[] telas = new String[in.readShort()];
+            for (int k = 0; k < telas.length; k++)
+                telas[k] = in.readUTF();
+            int n = in.readInt();
+            Despejo d = new Despejo(n);
+            d.motivo = motivo;
+            d.erro = erro;
+            d.quando = quando;
+            d.telas = telas;
+            d.n = n;
+            for (int i = 0; i < n; i++)
+                d.tempo[i] = in.readLong();
+            for (int i = 0; i < n; i++)
+                d.dt[i] = in.readFloat();
+            for (int i = 0; i < n; i++)
+                d.velocidade[i] = in.readFloat();
+            for (int i = 0; i < n; i++)
+                d.boost[i] = in.readFloat();
+            for (int i = 0; i < n; i++)
+                d.carros[i] = in.readShort();
+            for (int i = 0; i < n; i++)
+                d.moedas[i] = in.readShort();
+            for (int i = 0; i < n; i++)
+                d.eventos[i] = in.readShort();
+            in.readFully(d.novosCarros, 0, n);
+            in.readFully(d.tela, 0, n);
+            for (int i = 0; i < n; i++)
+                d.simNanos[i] = in.readInt();
+            for (int i = 0; i < n; i++)
+                d.renderNanos[i] = in.readInt();
+            return d;
+        }
+
+        /** Nome da tela do frame i ("-" se nenhuma). */
+        public String nomeTela(int i) {
+            int k = tela[i];
+            return k >= 0 && k < telas.length ? telas[k] : "-";
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.felipemelantonio.motorunneriot.utils;
+
+import com.badlogic.gdx.Screen;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * JfrEventos
+ * ==========
+ * Eventos do JDK Flight Recorder do jogo, para uma gravação .jfr de um
+ * totem explicar um engasgo junto com GC, JIT e threads da própria JVM:
+ *
+ * - motorunner.TrocaDeTela: setScreen (de, para, duração);
+ * - motorunner.CargaDeAsset: textura/som carregado (caminho, bytes,
+ * decodificação e upload);
+ * - motorunner.OndaDeSpawn: onda de carros (fase, faixas, carros);
+ * - motorunner.Colisao: a moto bateu (fim de partida → GameOver);
+ * - motorunner.Frame: frame que passou do limite (threshold no .jfc).
+ *
+ * A configuração que liga tudo isso com pouco custo fica em
+ * lwjgl3/jfr/motorunner.jfc (ver o "run" do lwjgl3/build.gradle).
+ *
+ * Sem gravação rodando, cada ponto de emissão é só o isEnabled() de uma
+ * "sonda" (uma instância criada uma vez por tipo): não aloca evento nem
+ * monta String por frame. Os eventos não guardam pilha (@StackTrace(false)),
+ * que é a parte cara de um commit.
+ */
+public final class JfrEventos {
+
+    private JfrEventos() {
+    }
+
+    // ===================== Tipos de evento =====================
+
+    @Name("motorunner.TrocaDeTela")
+    @Label("Troca de tela")
+    @Category({ "MotoRunner", "Telas" })
+    @Description("setScreen: hide/dispose da tela antiga e show da nova")
+    @StackTrace(false)
+    public static final class TrocaDeTela extends Event {
+        @Label("De")
+        public String de;
+
+        @Label("Para")
+        public String para;
+    }
+
+    @Name("motorunner.CargaDeAsset")
+    @Label("Carga de asset")
+    @Category({ "MotoRunner", "Assets" })
+    @Description("Arquivo de assets/ carregado (textura ou áudio)")
+    @StackTrace(false)
+    public static final class CargaDeAsset extends Event {
+        @Label("Caminho")
+        public String caminho;
+
+        @Label("Tipo")
+        public String tipo;
+
+        @Label("Bytes")
+        @DataAmount
+        public long bytes;
+
+        @Label("Decodificação")
+        @Description("Leitura do arquivo e decodificação (PNG/JPG → Pixmap; áudio: a carga inteira)")
+        @Timespan(Timespan.NANOSECONDS)
+        public long decodificacao;
+
+        @Label("Upload")
+        @Description("Envio do Pixmap para a GPU (glTexImage2D)")
+        @Timespan(Timespan.NANOSECONDS)
+        public long upload;
+    }
+
+    @Name("motorunner.OndaDeSpawn")
+    @Label("Onda de spawn")
+    @Category({ "MotoRunner", "Simulação" })
+    @Description("Uma onda da SpawnStrategy (duração = decisão da IA de trânsito)")
+    @StackTrace(false)
+    public static final class OndaDeSpawn extends Event {
+        @Label("Fase")
+        public int fase;
+
+        @Label("Tempo da fase")
+        @Timespan(Timespan.MILLISECONDS)
+        public long tempoFase;
+
+        @Label("Faixas")
+        @Description("Faixas que receberam carro, ex.: \"0,2\" (vazio = onda cancelada)")
+        public String faixas;
+
+        @Label("Carros")
+        public int carros;
+
+        @Label("Carros na pista")
+        public int carrosNaPista;
+    }
+
+    @Name("motorunner.Colisao")
+    @Label("Colisão")
+    @Category({ "MotoRunner", "Simulação" })
+    @Description("A moto bateu num carro: fim da partida (GameOver)")
+    @StackTrace(false)
+    public static final class Colisao extends Event {
+        @Label("Fase")
+        public int fase;
+
+        @Label("Tempo da fase")
+        @Timespan(Timespan.MILLISECONDS)
+        public long tempoFase;
+
+        @Label("Distância (m)")
+        public float distancia;
+
+        @Label("Velocidade (px/s)")
+        public float velocidade;
+
+        @Label("Faixa da moto")
+        public int faixa;
+
+        @Label("Moedas")
+        public int moedas;
+
+        @Label("Carros na pista")
+        public int carrosNaPista;
+    }
+
+    @Name("motorunner.Frame")
+    @Label("Frame")
+    @Category({ "MotoRunner", "Render" })
+    @Description("Game.render de um frame (só os acima do threshold)")
+    @StackTrace(false)
+    @Threshold("20 ms") // padrão para gravações sem o motorunner.jfc
+    public static final class Frame extends Event {
+        @Label("Tela")
+        public String tela;
+
+        @Label("Intervalo")
+        @Description("Tempo desde o frame anterior (Gdx.graphics.getDeltaTime), inclui vsync")
+        @Timespan(Timespan.NANOSECONDS)
+        public long intervalo;
+    }
+
+    // Sondas: isEnabled() sem alocar um evento por chamada
+    private static final TrocaDeTela SONDA_TELA = new TrocaDeTela();
+    private static final CargaDeAsset SONDA_ASSET = new CargaDeAsset();
+    private static final OndaDeSpawn SONDA_ONDA = new OndaDeSpawn();
+    private static final Colisao SONDA_COLISAO = new Colisao();
+    private static final Frame SONDA_FRAME = new Frame();
+
+    // ===================== Emissão =====================
+
+    /** Começo de um setScreen; null se o evento estiver desligado. */
+    public static TrocaDeTela inicioTroca() {
+        if (!SONDA_TELA.isEnabled())
+            return null;
+        TrocaDeTela e = new TrocaDeTela();
+        e.begin();
+        return e;
+    }
+
+    public static void fimTroca(TrocaDeTela e, Screen de, Screen para) {
+        if (e == null)
+            return;
+        e.end();
+        if (e.shouldCommit()) {
+            e.de = nome(de);
+            e.para = nome(para);
+            e.commit();
+        }
+    }
+
+    /** Começo da carga de um asset; null se o evento estiver desligado. */
+    public static CargaDeAsset inicioAsset() {
+        if (!SONDA_ASSET.isEnabled())
+            return null;
+        CargaDeAsset e = new CargaDeAsset();
+        e.begin();
+        return e;
+    }
+
+    /**
+     * Fim da carga (o Carregador mede as duas partes).
+     *
+     * @param decodificacao nanos de leitura + decodificação
+     * @param upload        nanos de envio à GPU (0 para áudio)
+     */
+    public static void fimAsset(CargaDeAsset e, String caminho, String tipo, long bytes, long decodificacao,
+            long upload) {
+        if (e == null)
+            return;
+        e.end();
+        if (e.shouldCommit()) {
+            e.caminho = caminho;
+            e.tipo = tipo;
+            e.bytes = bytes;
+            e.decodificacao = decodificacao;
+            e.upload = upload;
+            e.commit();
+        }
+    }
+
+    /** Começo de uma onda; null se o evento estiver desligado. */
+    public static OndaDeSpawn inicioOnda() {
+        if (!SONDA_ONDA.isEnabled())
+            return null;
+        OndaDeSpawn e = new OndaDeSpawn();
+        e.begin();
+        return e;
+    }
+
+    /**
+     * @param mascaraFaixas bit i = a faixa i recebeu carro nesta onda
+     */
+    public static void fimOnda(OndaDeSpawn e, int fase, float tempoFase, int mascaraFaixas, int carros,
+            int carrosNaPista) {
+        if (e == null)
+            return;
+        e.end();
+        if (e.shouldCommit()) {
+            e.fase = fase;
+            e.tempoFase = (long) (tempoFase * 1000f);
+            e.faixas = faixas(mascaraFaixas);
+            e.carros = carros;
+            e.carrosNaPista = carrosNaPista;
+            e.commit();
+        }
+    }
+
+    public static void colisao(int fase, float tempoFase, float distancia, float velocidade, int faixa, int moedas,
+            int carrosNaPista) {
+        if (!SONDA_COLISAO.isEnabled())
+            return;
+        Colisao e = new Colisao();
+        if (e.shouldCommit()) {
+            e.fase = fase;
+            e.tempoFase = (long) (tempoFase * 1000f);
+            e.distancia = distancia;
+            e.velocidade = velocidade;
+            e.faixa = faixa;
+            e.moedas = moedas;
+            e.carrosNaPista = carrosNaPista;
+            e.commit();
+        }
+    }
+
+    /** Começo do frame; null se o evento estiver desligado. */
+    public static Frame inicioFrame() {
+        if (!SONDA_FRAME.isEnabled())
+            return null;
+        Frame e = new Frame();
+        e.begin();
+        return e;
+    }
+
+    /** Fim do frame: só grava se passou do threshold da configuração. */
+    public static void fimFrame(Frame e, Screen tela, float deltaTime) {
+        if (e == null)
+            return;
+        e.end();
+        if (e.shouldCommit()) {
+            e.tela = nome(tela);
+            e.intervalo = (long) (deltaTime * 1e9);
+            e.commit();
+        }
+    }
+
+    private static String nome(Screen tela) {
+        return tela == null ? "-" : tela.getClass().getSimpleName();
+    }
+
+    private static String faixas(int mascara) {
+        StringBuilder sb = new StringBuilder(8);
+        for (int i = 0; mascara >>> i != 0; i++) {
+            if ((mascara & (1 << i)) == 0)
+                continue;
+            if (sb.length() > 0)
+                sb.append(',');
+            sb.append(i);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.felipemelantonio.motorunneriot.utils;
+
+/**
+ * LaneLayout
+ * ==========
+ * Posição X do centro de cada faixa da pista.
+ *
+ * Antes essa conta estava copiada em Moto, Carro e GameScreen, sempre lendo
+ * Gdx.graphics.getWidth(). Agora a largura da tela entra como parâmetro, para
+ * que a simulação (GameSimulation) rode sem janela, inclusive em várias
+ * threads ao mesmo tempo.
+ */
+public final class LaneLayout {
+
+    private LaneLayout() {
+    }
+
+    /**
+     * computeLaneCenters()
+     * --------------------
+     * Retorna um array com as posições X centrais de cada faixa da pista,
+     * levando em conta:
+     * - a largura total da tela
+     * - a margem lateral (inset)
+     * - número de faixas (2, 3 ou 4; menos que 2 vira 2)
+     */
+    public static float[] computeLaneCenters(int laneCount, float inset, float screenWidth) {
+        float margem = screenWidth * inset;
+        float larguraPista = screenWidth - (margem * 2);
+
+        switch (laneCount) {
+            case 4: {
+                // Para 4 faixas, usamos frações fixas da largura da pista
+                float[] frac = new float[] { 1f / 8f, 3f / 8f, 5f / 8f, 7f / 8f };
+                return new float[] {
+                        margem + larguraPista * frac[0],
+                        margem + larguraPista * frac[1],
+                        margem + larguraPista * frac[2],
+                        margem + larguraPista * frac[3]
+                };
+            }
+            case 3: {
+                // Para 3 faixas, dividimos a pista em 4 partes e usamos os 3 pontos internos
+                float esp = larguraPista / 4f;
+                return new float[] {
+                        margem + esp * 1f,
+                        margem + esp * 2f,
+                        margem + esp * 3f
+                };
+            }
+            default: {
+                // Para 2 faixas, dividimos em 3 partes e usamos os 2 pontos internos
+                float esp = larguraPista / 3f;
+                return new float[] {
+                        margem + esp * 1f,
+                        margem + esp * 2f
+                };
+            }
+        }
+    }
+}
@@ -17,27 +17,71 @@ import java.util.Random;
  * Tudo depende:
  * - da fase (1, 2 ou 3)
  * - do tempo de jogo (time)
+ * - das constantes de cada curva (DifficultyParams: os valores ajustados à
+ * mão, ou um JSON gerado pelo DifficultyTuner)
  */
 public class LevelManager {
 
     // Quantos segundos o jogador já está vivo nessa fase
     private float time;
 
+    // Modo determinístico (ver FixedPoint): o tempo é acumulado em ponto fixo
+    // e as curvas usam a rampa tabelada em vez de Math.exp.
+    private final boolean deterministic;
+    private long timeFx;
+
     // Fase atual (1, 2 ou 3)
     private final int fase;
 
-    // Gerador de aleatório (usado na velocidade dos rivais)
-    private final Random rng = new Random();
+    // Constantes das curvas (base/add/secs de cada uma, por fase)
+    private final DifficultyParams params;
+
+    // Gerador de aleatório (usado na velocidade dos rivais).
+    // Vem do GameRandom da partida, para que a sequência seja reproduzível.
+    private final Random rng;
+
+    // Construtor com o sub-fluxo de aleatoriedade da partida
+    // (GameRandom.Stream.RIVAL_SPEED); a fase é clampada em [1..3]
+    public LevelManager(int fase, Random rng) {
+        this(fase, rng, FixedPoint.deterministicMode());
+    }
+
+    // Construtor completo: permite ligar o modo determinístico sem depender
+    // da propriedade de sistema (útil para simulações e replays)
+    public LevelManager(int fase, Random rng, boolean deterministic) {
+        this(fase, rng, deterministic, DifficultyParams.atual());
+    }
 
-    // Construtor: recebe fase e garante que esteja entre 1 e 3
-    public LevelManager(int fase) {
+    // Construtor com um conjunto de parâmetros explícito (tuner, simulações)
+    public LevelManager(int fase, Random rng, boolean deterministic, DifficultyParams params) {
+        this.params = params;
         this.fase = Math.max(1, Math.min(3, fase));
         this.time = 0f; // começa com 0 segundos
+        this.rng = rng;
+        this.deterministic = deterministic;
+        this.timeFx = 0L;
     }
 
     // Soma o tempo da fase a cada frame
     public void update(float delta) {
-        time += delta;
+        if (deterministic) {
+            // delta é quantizado para ponto fixo e somado como inteiro:
+            // nenhum erro de arredondamento se acumula ao longo da fase
+            timeFx += FixedPoint.fromFloat(delta);
+            time = FixedPoint.toFloat(timeFx);
+        } else {
+            time += delta;
+        }
+    }
+
+    // Pula direto para um instante da fase (cenários: "fase 3 aos 40 s")
+    public void setTime(float segundos) {
+        if (deterministic) {
+            timeFx = FixedPoint.fromFloat(segundos);
+            time = FixedPoint.toFloat(timeFx);
+        } else {
+            time = segundos;
+        }
     }
 
     /**
@@ -63,9 +107,29 @@ public class LevelManager {
         // Fórmula:
         // time pequeno → time/denom é pequeno → exp(-algo pequeno) ≈ 1 → 1 - 1 ≈ 0
         // time grande → time/denom grande → exp(-número grande) ≈ 0 → 1 - 0 ≈ 1
+        if (deterministic)
+            return FixedPoint.toFloat(FixedPoint.ramp(timeFx, FixedPoint.fromFloat(denom)));
         return (float) (1.0 - Math.exp(-time / denom));
     }
 
+    /**
+     * curve(from, delta, secondsToMax)
+     * --------------------------------
+     * Forma comum de todas as curvas desta classe: from + delta * ramp(secs).
+     *
+     * No modo determinístico a conta inteira é feita em ponto fixo
+     * (FixedPoint.mul) sobre a rampa tabelada, então o resultado é idêntico
+     * em qualquer JVM.
+     */
+    private float curve(float from, float delta, float secondsToMax) {
+        if (deterministic) {
+            long rampFx = FixedPoint.ramp(timeFx, FixedPoint.fromFloat(secondsToMax));
+            return FixedPoint.toFloat(FixedPoint.fromFloat(from)
+                    + FixedPoint.mul(FixedPoint.fromFloat(delta), rampFx));
+        }
+        return from + delta * ramp(secondsToMax);
+    }
+
     /**
      * worldSpeedPx()
      * --------------
@@ -94,55 +158,12 @@ public class LevelManager {
      * rápidos
      */
     public float worldSpeedPx() {
-        float base; // velocidade de partida da fase
-        float add; // quanto essa velocidade ainda pode crescer
-        float secs; // "ritmo" da curva de crescimento (quanto maior, mais lenta)
-
-        switch (fase) {
-            case 1:
-                // FASE 1:
-                // - começa em ~420 px/s
-                // - se o jogador ficar vivo bastante tempo, pode chegar perto de 420 + 420 =
-                // 840 px/s
-                base = 420f;
-                add = 420f;
-
-                // leva ~35s para QUASE atingir esse máximo (261, 90% etc... não é exato, é uma
-                // curva suave)
-                // ou seja: a fase 1 acelera mais rápido no começo.
-                secs = 35f;
-                break;
-
-            case 2:
-                // FASE 2:
-                // - já começa mais rápida: ~460 px/s
-                // - pode crescer até ~460 + 420 = 880 px/s
-                base = 460f;
-                add = 420f;
-
-                // secs = 50f:
-                // - a curva ramp(50f) cresce mais devagar do que ramp(35f)
-                // - isso significa que a Fase 2 leva MAIS TEMPO para sair do "meio" e atingir o
-                // limite máximo.
-                // - resumo: ela já começa rápida, mas não "explode" a dificuldade tão cedo
-                // quanto a 1.
-                secs = 50f;
-                break;
-
-            default: // fase 3
-                // FASE 3:
-                // - a mais rápida de todas
-                // - começa em ~520 px/s
-                // - pode chegar perto de ~520 + 400 = 920 px/s
-                base = 520f;
-                add = 400f;
-
-                // secs = 55f:
-                // - cresce ainda mais devagar (leva mais tempo pra chegar perto do máximo)
-                // - mas como base e add são altos, mesmo no meio da curva ela já é bem rápida.
-                secs = 55f;
-                break;
-        }
+        // base = velocidade de partida da fase (fase 1: ~420 px/s)
+        // add = quanto essa velocidade ainda pode crescer (fase 1: +420 px/s)
+        // secs = "ritmo" da curva de crescimento (quanto maior, mais lenta)
+        float base = params.get(fase, DifficultyParams.VELOCIDADE_BASE);
+        float add = params.get(fase, DifficultyParams.VELOCIDADE_ADD);
+        float secs = params.get(fase, DifficultyParams.VELOCIDADE_SECS);
 
         // Aqui JUNTAMOS TUDO:
         // ramp(secs) sempre devolve um número entre ~0 e ~1.
@@ -150,7 +171,7 @@ public class LevelManager {
         // - se time = 0 → ramp = 0 → speed = base + add * 0 = base
         // - se time muito grande → ramp ≈ 1 → speed = base + add * 1 = base + add
         // - se time no meio → ramp = 0.5 (ex) → speed = base + add * 0.5 (meio termo)
-        return base + add * ramp(secs);
+        return curve(base, add, secs);
     }
 
     /**
@@ -169,32 +190,14 @@ public class LevelManager {
      * - quando ramp ≈ 1 → intervalo ≈ min (muito trânsito)
      */
     public float spawnInterval() {
-        float start, min, secs;
-
-        switch (fase) {
-            case 1:
-                start = 1.10f; // início: 1 carro a cada 1.10s
-                min = 0.45f; // final: pode chegar a 1 carro a cada 0.45s
-                secs = 45f;
-                break;
-
-            case 2:
-                start = 0.95f;
-                min = 0.40f;
-                secs = 45f;
-                break;
-
-            default: // fase 3
-                start = 0.80f;
-                min = 0.32f;
-                secs = 40f;
-                break;
-        }
-
-        float t = ramp(secs); // entre 0 e 1
+        // fase 1: início 1 carro a cada 1.10 s, no fim até 1 a cada 0.45 s
+        float start = params.get(fase, DifficultyParams.SPAWN_INICIO);
+        float min = params.get(fase, DifficultyParams.SPAWN_MIN);
+        float secs = params.get(fase, DifficultyParams.SPAWN_SECS);
 
         // Calcula o intervalo interpolando entre start e min
-        float intervalo = start - (start - min) * t;
+        // (start - (start - min) * ramp(secs), com ramp entre 0 e 1)
+        float intervalo = curve(start, -(start - min), secs);
 
         // Garante que nunca fique menor que min
         return Math.max(min, intervalo);
@@ -209,18 +212,11 @@ public class LevelManager {
      * Fases 2 e 3: começa mais baixo e aumenta com o tempo usando ramp().
      */
     public float pDouble() {
-        switch (fase) {
-            case 1:
-                return 0.0f;
-
-            case 2:
-                // Começa em 22% e pode chegar perto de 22% + 26% = 48%
-                return 0.22f + 0.26f * ramp(60f);
-
-            default: // fase 3
-                // Começa em 30% e pode chegar perto de 30% + 32% = 62%
-                return 0.30f + 0.32f * ramp(50f);
-        }
+        // Fase 2: começa em 22% e pode chegar perto de 22% + 26% = 48%
+        // Fase 3: começa em 30% e pode chegar perto de 30% + 32% = 62%
+        return curve(params.get(fase, DifficultyParams.DUPLO_INICIO),
+                params.get(fase, DifficultyParams.DUPLO_ADD),
+                params.get(fase, DifficultyParams.DUPLO_SECS));
     }
 
     /**
@@ -232,19 +228,11 @@ public class LevelManager {
      * Fim da fase → nível difícil → gap menor (tudo mais apertado).
      */
     public float laneGapPx() {
-        switch (fase) {
-            case 1:
-                // de 300 px no começo até ~300 - 120 = ~180 px no fim
-                return 300f - 120f * ramp(80f);
-
-            case 2:
-                // de 260 px até ~260 - 120 = ~140 px
-                return 260f - 120f * ramp(75f);
-
-            default:
-                // de 240 px até ~240 - 130 = ~110 px
-                return 240f - 130f * ramp(70f);
-        }
+        // Fase 1: de 300 px no começo até ~300 - 120 = ~180 px no fim
+        // Fase 3: de 240 px até ~240 - 130 = ~110 px
+        return curve(params.get(fase, DifficultyParams.GAP_INICIO),
+                params.get(fase, DifficultyParams.GAP_DELTA),
+                params.get(fase, DifficultyParams.GAP_SECS));
     }
 
     /**
@@ -291,4 +279,17 @@ public class LevelManager {
     public float getTime() {
         return time;
     }
+
+    // Tempo da fase em ponto fixo (só é mantido no modo determinístico)
+    public long getTimeFx() {
+        return timeFx;
+    }
+
+    public DifficultyParams getParams() {
+        return params;
+    }
+
+    public boolean isDeterministic() {
+        return deterministic;
+    }
 }
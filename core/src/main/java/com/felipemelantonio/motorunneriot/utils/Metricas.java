@@ -0,0 +1,257 @@
+package com.felipemelantonio.motorunneriot.utils;
+
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Texture;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metricas
+ * ========
+ * Contadores do jogo para o endpoint Prometheus (MetricasHttp): tempo de
+ * frame (histogramas), tela ativa, partidas por fase, distância, moedas e
+ * memória de texturas.
+ *
+ * Quem escreve é SÓ a thread do jogo (render, telas, Carregador), sem
+ * lock: cada escrita é um punhado de somas num long[] entre dois
+ * incrementos de uma sequência (seqlock). Quem lê (as threads virtuais do
+ * servidor HTTP) copia o array inteiro com foto() e repete a cópia se a
+ * sequência mudou no meio, então sempre enxerga um retrato coerente (o
+ * _count do histograma bate com os buckets, por exemplo). O jogo nunca
+ * espera o leitor.
+ *
+ * Desligado (o padrão: o servidor não foi iniciado), cada chamada é só a
+ * leitura de um boolean estático.
+ */
+public final class Metricas {
+
+    /** Limites (em segundos) dos buckets dos histogramas de frame; o último bucket é o +Inf. */
+    public static final double[] LIMITES = { 0.005, 0.010, 0.0167, 0.020, 0.025, 0.033, 0.050, 0.100, 0.250 };
+    public static final int BUCKETS = LIMITES.length + 1;
+    private static final long[] LIMITES_NS = new long[LIMITES.length];
+
+    public static final int FASES = 3;
+
+    // Fim de partida
+    public static final int CONCLUIDA = 0; // chegou na meta (LevelComplete)
+    public static final int BATEU = 1; // colisão (GameOver)
+    public static final int ABANDONADA = 2; // ESC/R no meio da fase
+
+    // ==== Layout do array (posições) ====
+    // Histograma do intervalo entre frames (Gdx.graphics.getDeltaTime; só frames
+    // com renderização contínua, ver fimFrame)
+    public static final int INTERVALO_BUCKETS = 0;
+    public static final int INTERVALO_SOMA_NS = INTERVALO_BUCKETS + BUCKETS;
+    public static final int INTERVALO_FRAMES = INTERVALO_SOMA_NS + 1; // frames no histograma (<= FRAMES)
+    // Histograma do tempo de CPU do Game.render
+    public static final int CPU_BUCKETS = INTERVALO_FRAMES + 1;
+    public static final int CPU_SOMA_NS = CPU_BUCKETS + BUCKETS;
+    public static final int FRAMES = CPU_SOMA_NS + 1;
+    // Por fase (use porFase(campo, fase))
+    public static final int INICIADAS = FRAMES + 1;
+    public static final int CONCLUIDAS = INICIADAS + FASES;
+    public static final int BATIDAS = CONCLUIDAS + FASES;
+    public static final int ABANDONADAS = BATIDAS + FASES;
+    public static final int DISTANCIA_CM = ABANDONADAS + FASES; // soma das distâncias finais
+    public static final int MOEDAS = DISTANCIA_CM + FASES;
+    // Texturas vivas (carregadas pelo Carregador e ainda não liberadas)
+    public static final int TEXTURAS = MOEDAS + FASES;
+    public static final int TEXTURAS_BYTES = TEXTURAS + 1;
+    public static final int TAMANHO = TEXTURAS_BYTES + 1;
+
+    private static volatile boolean ligado;
+
+    private static final long[] valores = new long[TAMANHO];
+    private static final AtomicLong seq = new AtomicLong(); // ímpar = escrita em andamento
+    private static volatile String tela = "-";
+
+    private static long inicioFrame;
+
+    // Texturas vivas e quanto cada uma pesa (só a thread do jogo mexe).
+    // O dispose() do libGDX zera o handle GL da textura; fimFrame() tira da
+    // conta as que já foram liberadas. Assim as texturas continuam sendo
+    // Texture de verdade (sem subclasse), e o histograma de classes do
+    // SoakRunner continua contando todas.
+    private static Texture[] texturas = new Texture[32];
+    private static long[] bytesTexturas = new long[32];
+    private static int nTexturas;
+
+    static {
+        for (int i = 0; i < LIMITES.length; i++)
+            LIMITES_NS[i] = Math.round(LIMITES[i] * 1e9);
+    }
+
+    private Metricas() {
+    }
+
+    public static void liga() {
+        ligado = true;
+    }
+
+    public static void desliga() {
+        ligado = false;
+    }
+
+    public static boolean isLigado() {
+        return ligado;
+    }
+
+    /** Posição do campo para a fase 1..3. */
+    public static int porFase(int campo, int fase) {
+        return campo + Math.max(1, Math.min(FASES, fase)) - 1;
+    }
+
+    // ===================== Escrita (thread do jogo) =====================
+
+    // seqlock: ímpar antes de mexer, par (com release) depois
+    private static void abre() {
+        seq.setOpaque(seq.getPlain() + 1);
+        VarHandle.storeStoreFence();
+    }
+
+    private static void fecha() {
+        seq.setRelease(seq.getPlain() + 1);
+    }
+
+    /** Antes do Game.render. */
+    public static void inicioFrame() {
+        if (!ligado)
+            return;
+        inicioFrame = System.nanoTime();
+    }
+
+    /**
+     * Depois do Game.render: os dois histogramas de frame e as texturas liberadas.
+     *
+     * @param intervaloValido false se o deltaTime não é um intervalo de frame
+     *                        (frame acordado por input com a renderização
+     *                        contínua desligada): só o tempo de CPU entra
+     */
+    public static void fimFrame(float deltaTime, boolean intervaloValido) {
+        if (!ligado || inicioFrame == 0)
+            return;
+        confereTexturas();
+        long cpu = System.nanoTime() - inicioFrame;
+        long intervalo = (long) (deltaTime * 1e9);
+        abre();
+        if (intervaloValido) {
+            valores[INTERVALO_BUCKETS + bucket(intervalo)]++;
+            valores[INTERVALO_SOMA_NS] += intervalo;
+            valores[INTERVALO_FRAMES]++;
+        }
+        valores[CPU_BUCKETS + bucket(cpu)]++;
+        valores[CPU_SOMA_NS] += cpu;
+        valores[FRAMES]++;
+        fecha();
+    }
+
+    private static int bucket(long nanos) {
+        int i = 0;
+        while (i < LIMITES_NS.length && nanos > LIMITES_NS[i])
+            i++;
+        return i;
+    }
+
+    /** Tela que ganhou o foco (setScreen). */
+    public static void tela(Screen s) {
+        if (!ligado)
+            return;
+        tela = s == null ? "-" : s.getClass().getSimpleName();
+    }
+
+    public static void partidaIniciada(int fase) {
+        if (!ligado)
+            return;
+        abre();
+        valores[porFase(INICIADAS, fase)]++;
+        fecha();
+    }
+
+    /**
+     * @param resultado CONCLUIDA, BATEU ou ABANDONADA
+     * @param distancia distância final em metros do jogo
+     */
+    public static void partidaEncerrada(int fase, int resultado, float distancia) {
+        if (!ligado)
+            return;
+        int campo = resultado == CONCLUIDA ? CONCLUIDAS : resultado == BATEU ? BATIDAS : ABANDONADAS;
+        abre();
+        valores[porFase(campo, fase)]++;
+        valores[porFase(DISTANCIA_CM, fase)] += Math.round(distancia * 100.0);
+        fecha();
+    }
+
+    public static void moedas(int fase, int n) {
+        if (!ligado || n == 0)
+            return;
+        abre();
+        valores[porFase(MOEDAS, fase)] += n;
+        fecha();
+    }
+
+    /**
+     * Textura criada pelo Carregador: entra na conta até o dispose() dela
+     * (percebido no fimFrame seguinte).
+     *
+     * @param bytes memória estimada (pixels)
+     */
+    public static void textura(Texture t, long bytes) {
+        if (!ligado)
+            return;
+        if (nTexturas == texturas.length) {
+            texturas = Arrays.copyOf(texturas, nTexturas * 2);
+            bytesTexturas = Arrays.copyOf(bytesTexturas, nTexturas * 2);
+        }
+        texturas[nTexturas] = t;
+        bytesTexturas[nTexturas] = bytes;
+        nTexturas++;
+        abre();
+        valores[TEXTURAS]++;
+        valores[TEXTURAS_BYTES] += bytes;
+        fecha();
+    }
+
+    // Tira da conta as texturas cujo handle GL já foi liberado (dispose)
+    private static void confereTexturas() {
+        for (int i = nTexturas - 1; i >= 0; i--) {
+            if (texturas[i].getTextureObjectHandle() != 0)
+                continue;
+            abre();
+            valores[TEXTURAS]--;
+            valores[TEXTURAS_BYTES] -= bytesTexturas[i];
+            fecha();
+            nTexturas--;
+            texturas[i] = texturas[nTexturas];
+            bytesTexturas[i] = bytesTexturas[nTexturas];
+            texturas[nTexturas] = null;
+        }
+    }
+
+    // ===================== Leitura (qualquer thread) =====================
+
+    /**
+     * Copia um retrato coerente dos contadores para destino (TAMANHO
+     * posições). Nunca bloqueia o jogo: se ele escreveu durante a cópia,
+     * copia de novo.
+     */
+    public static void foto(long[] destino) {
+        while (true) {
+            long antes = seq.getAcquire();
+            if ((antes & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            System.arraycopy(valores, 0, destino, 0, TAMANHO);
+            VarHandle.loadLoadFence();
+            if (seq.getOpaque() == antes)
+                return;
+        }
+    }
+
+    /** Nome da classe da tela ativa ("-" antes da primeira). */
+    public static String getTela() {
+        return tela;
+    }
+}
@@ -0,0 +1,211 @@
+package com.felipemelantonio.motorunneriot.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * MetricasHttp
+ * ============
+ * Endpoint GET /metrics no formato texto do Prometheus, para a ferramenta
+ * da frota raspar os totens.
+ *
+ * - Opcional: só sobe com -Dmotorunner.metrics.port=PORTA (ou
+ * ./gradlew lwjgl3:run -Pmetrics); sem isso, as Metricas ficam desligadas.
+ * - Só em localhost (loopback): quem expõe para a rede é o agente da frota.
+ * - Servidor HTTP do próprio JDK (com.sun.net.httpserver), uma thread
+ * virtual por requisição: nenhuma thread de plataforma parada esperando.
+ *
+ * Os números do jogo vêm de Metricas.foto() (retrato coerente, sem travar
+ * a thread do jogo); GC e heap vêm direto dos MXBeans da JVM, que já são
+ * seguros para ler de qualquer thread.
+ */
+public final class MetricasHttp {
+
+    public static final String PORT_PROPERTY = "motorunner.metrics.port";
+
+    private static final String TIPO = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static HttpServer servidor;
+    private static ExecutorService threads;
+
+    private MetricasHttp() {
+    }
+
+    /** Sobe o endpoint se -Dmotorunner.metrics.port foi passado. */
+    public static void iniciaSePedido() {
+        int porta = Integer.getInteger(PORT_PROPERTY, 0);
+        if (porta > 0)
+            inicia(porta);
+    }
+
+    /**
+     * Sobe o endpoint em 127.0.0.1:porta (0 = porta livre qualquer) e liga
+     * as Metricas. Se a porta estiver ocupada, avisa no log e o jogo segue.
+     *
+     * @return a porta em uso, ou -1 se não subiu
+     */
+    public static synchronized int inicia(int porta) {
+        if (servidor != null)
+            return servidor.getAddress().getPort();
+        try {
+            HttpServer s = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), porta), 0);
+            threads = Executors.newVirtualThreadPerTaskExecutor();
+            s.setExecutor(threads);
+            s.createContext("/metrics", MetricasHttp::responde);
+            s.start();
+            servidor = s;
+        } catch (IOException e) {
+            log("Métricas: não subiu na porta " + porta + ": " + e);
+            return -1;
+        }
+        Metricas.liga();
+        int usada = servidor.getAddress().getPort();
+        log("Métricas: http://127.0.0.1:" + usada + "/metrics");
+        return usada;
+    }
+
+    public static synchronized void para() {
+        if (servidor == null)
+            return;
+        Metricas.desliga();
+        servidor.stop(0);
+        threads.close();
+        servidor = null;
+        threads = null;
+    }
+
+    private static void responde(HttpExchange troca) throws IOException {
+        try (troca) {
+            if (!"GET".equals(troca.getRequestMethod())) {
+                troca.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] corpo = texto().getBytes(StandardCharsets.UTF_8);
+            troca.getResponseHeaders().set("Content-Type", TIPO);
+            troca.sendResponseHeaders(200, corpo.length);
+            try (OutputStream out = troca.getResponseBody()) {
+                out.write(corpo);
+            }
+        }
+    }
+
+    // ===================== Formato texto do Prometheus =====================
+
+    /** O corpo do /metrics (também usado pelas ferramentas headless). */
+    public static String texto() {
+        long[] v = new long[Metricas.TAMANHO];
+        Metricas.foto(v);
+        StringBuilder sb = new StringBuilder(4096);
+
+        histograma(sb, "motorunner_frame_interval_seconds",
+                "Tempo entre frames (Gdx.graphics.getDeltaTime, inclui vsync; só com renderização contínua).", v,
+                Metricas.INTERVALO_BUCKETS, Metricas.INTERVALO_SOMA_NS, Metricas.INTERVALO_FRAMES);
+        histograma(sb, "motorunner_frame_cpu_seconds", "Tempo de CPU do render de um frame (tela + overlays).", v,
+                Metricas.CPU_BUCKETS, Metricas.CPU_SOMA_NS, Metricas.FRAMES);
+
+        cabecalho(sb, "motorunner_screen_info", "gauge", "Tela com o foco (valor 1).");
+        sb.append("motorunner_screen_info{screen=\"").append(Metricas.getTela()).append("\"} 1\n");
+
+        porFase(sb, "motorunner_sessions_started_total", "counter", "Partidas iniciadas.", v, Metricas.INICIADAS);
+        porFase(sb, "motorunner_sessions_completed_total", "counter", "Partidas que chegaram na meta.", v,
+                Metricas.CONCLUIDAS);
+        porFase(sb, "motorunner_sessions_crashed_total", "counter", "Partidas encerradas por colisão.", v,
+                Metricas.BATIDAS);
+        porFase(sb, "motorunner_sessions_abandoned_total", "counter", "Partidas largadas no meio (ESC/R).", v,
+                Metricas.ABANDONADAS);
+
+        // Distância média = _sum / _count
+        cabecalho(sb, "motorunner_session_distance_meters", "summary",
+                "Distância final das partidas encerradas (média = _sum / _count).");
+        for (int f = 1; f <= Metricas.FASES; f++) {
+            long encerradas = v[Metricas.porFase(Metricas.CONCLUIDAS, f)] + v[Metricas.porFase(Metricas.BATIDAS, f)]
+                    + v[Metricas.porFase(Metricas.ABANDONADAS, f)];
+            sb.append("motorunner_session_distance_meters_sum{phase=\"").append(f).append("\"} ");
+            numero(sb, v[Metricas.porFase(Metricas.DISTANCIA_CM, f)] / 100.0).append('\n');
+            sb.append("motorunner_session_distance_meters_count{phase=\"").append(f).append("\"} ")
+                    .append(encerradas).append('\n');
+        }
+
+        porFase(sb, "motorunner_coins_collected_total", "counter", "Moedas coletadas.", v, Metricas.MOEDAS);
+
+        cabecalho(sb, "motorunner_textures", "gauge", "Texturas vivas carregadas pelo Carregador.");
+        sb.append("motorunner_textures ").append(v[Metricas.TEXTURAS]).append('\n');
+        cabecalho(sb, "motorunner_texture_bytes", "gauge", "Memória estimada das texturas vivas (pixels).");
+        sb.append("motorunner_texture_bytes ").append(v[Metricas.TEXTURAS_BYTES]).append('\n');
+
+        jvm(sb);
+        return sb.toString();
+    }
+
+    private static void jvm(StringBuilder sb) {
+        cabecalho(sb, "motorunner_jvm_gc_collections_total", "counter", "Coletas por coletor de lixo.");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+            sb.append("motorunner_jvm_gc_collections_total{gc=\"").append(gc.getName()).append("\"} ")
+                    .append(Math.max(0, gc.getCollectionCount())).append('\n');
+        cabecalho(sb, "motorunner_jvm_gc_seconds_total", "counter", "Tempo acumulado em coleta por coletor.");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sb.append("motorunner_jvm_gc_seconds_total{gc=\"").append(gc.getName()).append("\"} ");
+            numero(sb, Math.max(0, gc.getCollectionTime()) / 1000.0).append('\n');
+        }
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        cabecalho(sb, "motorunner_jvm_heap_bytes", "gauge", "Heap da JVM.");
+        sb.append("motorunner_jvm_heap_bytes{area=\"used\"} ").append(heap.getUsed()).append('\n');
+        sb.append("motorunner_jvm_heap_bytes{area=\"committed\"} ").append(heap.getCommitted()).append('\n');
+        sb.append("motorunner_jvm_heap_bytes{area=\"max\"} ").append(heap.getMax()).append('\n');
+    }
+
+    // Buckets cumulativos (le="..."), _sum em segundos e _count
+    private static void histograma(StringBuilder sb, String nome, String ajuda, long[] v, int buckets, int somaNs,
+            int total) {
+        cabecalho(sb, nome, "histogram", ajuda);
+        long acumulado = 0;
+        for (int i = 0; i < Metricas.BUCKETS; i++) {
+            acumulado += v[buckets + i];
+            sb.append(nome).append("_bucket{le=\"");
+            if (i < Metricas.LIMITES.length)
+                numero(sb, Metricas.LIMITES[i]);
+            else
+                sb.append("+Inf");
+            sb.append("\"} ").append(acumulado).append('\n');
+        }
+        sb.append(nome).append("_sum ");
+        numero(sb, v[somaNs] / 1e9).append('\n');
+        sb.append(nome).append("_count ").append(v[total]).append('\n');
+    }
+
+    private static void porFase(StringBuilder sb, String nome, String tipo, String ajuda, long[] v, int campo) {
+        cabecalho(sb, nome, tipo, ajuda);
+        for (int f = 1; f <= Metricas.FASES; f++)
+            sb.append(nome).append("{phase=\"").append(f).append("\"} ")
+                    .append(v[Metricas.porFase(campo, f)]).append('\n');
+    }
+
+    private static void cabecalho(StringBuilder sb, String nome, String tipo, String ajuda) {
+        sb.append("# HELP ").append(nome).append(' ').append(ajuda).append('\n');
+        sb.append("# TYPE ").append(nome).append(' ').append(tipo).append('\n');
+    }
+
+    // Double.toString ("0.005", "1.5E7") é aceito pelo parser do Prometheus
+    private static StringBuilder numero(StringBuilder sb, double x) {
+        return sb.append(x);
+    }
+
+    private static void log(String msg) {
+        if (Gdx.app != null)
+            Gdx.app.log("MetricasHttp", msg);
+        else
+            System.out.println(msg);
+    }
+}
@@ -0,0 +1,61 @@
+package com.felipemelantonio.motorunneriot.utils;
+
+/**
+ * Numeros
+ * =======
+ * Números em texto SEM alocar: escrevem direto num StringBuilder
+ * reaproveitado (HUD, overlays, caixa-preta da IA).
+ *
+ * String.format("%.2f", x) cria Formatter, Matcher, Object[] e a String a
+ * cada chamada; num texto redesenhado todo frame isso vira lixo constante.
+ * StringBuilder.append(int/long/char) não aloca se o builder já tiver
+ * capacidade, então aqui só usamos esses.
+ */
+public final class Numeros {
+
+    private Numeros() {
+    }
+
+    /**
+     * Acrescenta v com `casas` casas decimais (0 a 3), arredondado.
+     * Ex.: appendDecimal(sb, 3.14159f, 2) → "3.14".
+     */
+    public static StringBuilder appendDecimal(StringBuilder sb, float v, int casas) {
+        if (Float.isNaN(v))
+            return sb.append("NaN");
+        if (Float.isInfinite(v))
+            return sb.append(v > 0 ? "inf" : "-inf");
+        return appendFixo(sb, fixo(v, casas), casas);
+    }
+
+    /**
+     * v em ponto fixo com `casas` casas decimais (0 a 3), arredondado:
+     * fixo(1.2345f, 2) → 123. É exatamente o número que appendDecimal
+     * mostraria, então serve de chave para saber se o texto mudou.
+     */
+    public static long fixo(float v, int casas) {
+        long f = Math.round(Math.abs(v) * (double) escala(casas));
+        return v < 0f ? -f : f;
+    }
+
+    /** Acrescenta um valor de fixo(): appendFixo(sb, 123, 2) → "1.23". */
+    public static StringBuilder appendFixo(StringBuilder sb, long fixo, int casas) {
+        long escala = escala(casas);
+        if (fixo < 0) {
+            sb.append('-');
+            fixo = -fixo;
+        }
+        sb.append(fixo / escala);
+        if (escala == 1)
+            return sb;
+        sb.append('.');
+        long resto = fixo % escala;
+        for (long e = escala / 10; e > 1 && resto < e; e /= 10)
+            sb.append('0');
+        return sb.append(resto);
+    }
+
+    private static long escala(int casas) {
+        return casas <= 0 ? 1 : casas == 1 ? 10 : casas == 2 ? 100 : 1000;
+    }
+}
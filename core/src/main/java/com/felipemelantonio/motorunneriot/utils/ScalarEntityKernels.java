@@ -0,0 +1,63 @@
+package com.felipemelantonio.motorunneriot.utils;
+
+/**
+ * Implementação escalar (laços simples) dos EntityKernels.
+ * É a referência: a versão vetorial tem que dar exatamente o mesmo resultado.
+ */
+public final class ScalarEntityKernels implements EntityKernels {
+
+    @Override
+    public void advance(EntityBuffer b, float dt, float worldSpeed) {
+        for (int i = 0; i < b.size; i++) {
+            b.prevY[i] = b.y[i];
+            b.y[i] -= (worldSpeed + b.vel[i]) * dt;
+        }
+    }
+
+    @Override
+    public int collectSweptOverlaps(EntityBuffer b, float minX, float minY, float maxX, float maxY,
+            int[] out) {
+        int count = 0;
+        for (int i = 0; i < b.size; i++) {
+            float lo = Math.min(b.prevY[i], b.y[i]);
+            float hi = Math.max(b.prevY[i], b.y[i]) + b.h[i];
+            if (b.x[i] < maxX && b.x[i] + b.w[i] > minX && lo < maxY && hi > minY)
+                out[count++] = i;
+        }
+        return count;
+    }
+
+    @Override
+    public int collectBelow(EntityBuffer b, float limitY, int[] out) {
+        int count = 0;
+        for (int i = 0; i < b.size; i++) {
+            if (b.y[i] + b.h[i] < limitY)
+                out[count++] = i;
+        }
+        return count;
+    }
+
+    @Override
+    public int laneOccupancy(EntityBuffer b, float start, float end) {
+        int mask = 0;
+        for (int i = 0; i < b.size; i++) {
+            float mid = b.y[i] + b.h[i] * 0.5f;
+            if (mid >= start && mid <= end)
+                mask |= 1 << b.lane[i];
+        }
+        return mask;
+    }
+
+    @Override
+    public void topYByLane(EntityBuffer b, int laneCount, float[] out) {
+        for (int l = 0; l < laneCount; l++)
+            out[l] = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < b.size; i++)
+            out[b.lane[i]] = Math.max(out[b.lane[i]], b.y[i]);
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,62 @@
+package com.felipemelantonio.motorunneriot.utils;
+
+/**
+ * SimChecksum
+ * ===========
+ * Checksum incremental (FNV-1a de 64 bits) do estado da simulação.
+ *
+ * A cada frame a GameScreen "mistura" aqui os valores que definem a partida
+ * (tempo, distância, velocidade, posição de cada carro/moeda...). No fim da
+ * sessão o valor é impresso no log junto com a seed.
+ *
+ * Duas execuções com a mesma seed, o mesmo input e o modo determinístico
+ * ligado devem terminar com o MESMO checksum, em qualquer máquina. Se o valor
+ * mudar, alguma parte da simulação deixou de ser determinística.
+ */
+public final class SimChecksum {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private long hash = FNV_OFFSET;
+    private long frames;
+
+    /** Mistura um valor de 64 bits (byte a byte, como o FNV-1a manda). */
+    public void add(long v) {
+        long h = hash;
+        for (int i = 0; i < 8; i++) {
+            h ^= (v >>> (i * 8)) & 0xff;
+            h *= FNV_PRIME;
+        }
+        hash = h;
+    }
+
+    /** Mistura um float pelo seu padrão de bits exato. */
+    public void add(float v) {
+        add((long) Float.floatToIntBits(v));
+    }
+
+    /** Marca o fim de um frame (só conta quantos frames entraram no hash). */
+    public void endFrame() {
+        frames++;
+    }
+
+    public long value() {
+        return hash;
+    }
+
+    public long frames() {
+        return frames;
+    }
+
+    public void reset() {
+        hash = FNV_OFFSET;
+        frames = 0;
+    }
+
+    /** Checksum em hexadecimal, para log. */
+    @Override
+    public String toString() {
+        return String.format("%016x (%d frames)", hash, frames);
+    }
+}
@@ -0,0 +1,183 @@
+package com.felipemelantonio.motorunneriot.utils;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementação SIMD dos EntityKernels com a Vector API
+ * (jdk.incubator.vector).
+ *
+ * Cada laço processa F.length() entidades por vez (4, 8 ou 16 floats,
+ * dependendo da CPU) e termina com um "rabo" escalar para o que sobrar.
+ * As contas são as mesmas da ScalarEntityKernels, na mesma ordem, então os
+ * resultados são idênticos.
+ *
+ * Só é instanciada, por reflexão, por EntityKernels.get()/vector() quando
+ * o módulo está presente (--add-modules jdk.incubator.vector). Mora no
+ * source set "vector" do core, o único compilado com o módulo incubado.
+ */
+public final class VectorEntityKernels implements EntityKernels {
+
+    private static final VectorSpecies<Float> F = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> I = IntVector.SPECIES_PREFERRED;
+
+    // topYByLane usa um acumulador por faixa; o jogo tem no máximo 4 faixas
+    private static final int MAX_VECTOR_LANES = 4;
+
+    public VectorEntityKernels() {
+        // Os laços assumem que float e int têm o mesmo número de lanes
+        // (os dois têm 32 bits, então isso vale em todas as CPUs conhecidas)
+        if (F.length() != I.length())
+            throw new IllegalStateException("Vector shapes incompatíveis: " + F + " / " + I);
+    }
+
+    @Override
+    public void advance(EntityBuffer b, float dt, float worldSpeed) {
+        int n = b.size;
+        System.arraycopy(b.y, 0, b.prevY, 0, n);
+        int i = 0;
+        int upper = F.loopBound(n);
+        for (; i < upper; i += F.length()) {
+            // (worldSpeed + vel) * dt, subtraído do Y: sem FMA, para dar o
+            // mesmo float da versão escalar
+            FloatVector passo = FloatVector.fromArray(F, b.vel, i).add(worldSpeed).mul(dt);
+            FloatVector.fromArray(F, b.y, i).sub(passo).intoArray(b.y, i);
+        }
+        for (; i < n; i++)
+            b.y[i] -= (worldSpeed + b.vel[i]) * dt;
+    }
+
+    @Override
+    public int collectSweptOverlaps(EntityBuffer b, float minX, float minY, float maxX, float maxY,
+            int[] out) {
+        int n = b.size;
+        int count = 0;
+        int i = 0;
+        int upper = F.loopBound(n);
+        for (; i < upper; i += F.length()) {
+            FloatVector x = FloatVector.fromArray(F, b.x, i);
+            FloatVector w = FloatVector.fromArray(F, b.w, i);
+            FloatVector y = FloatVector.fromArray(F, b.y, i);
+            FloatVector py = FloatVector.fromArray(F, b.prevY, i);
+            FloatVector h = FloatVector.fromArray(F, b.h, i);
+
+            FloatVector lo = py.min(y);
+            FloatVector hi = py.max(y).add(h);
+
+            VectorMask<Float> m = x.compare(VectorOperators.LT, maxX)
+                    .and(x.add(w).compare(VectorOperators.GT, minX))
+                    .and(lo.compare(VectorOperators.LT, maxY))
+                    .and(hi.compare(VectorOperators.GT, minY));
+            count = appendIndices(m.toLong(), i, out, count);
+        }
+        for (; i < n; i++) {
+            float lo = Math.min(b.prevY[i], b.y[i]);
+            float hi = Math.max(b.prevY[i], b.y[i]) + b.h[i];
+            if (b.x[i] < maxX && b.x[i] + b.w[i] > minX && lo < maxY && hi > minY)
+                out[count++] = i;
+        }
+        return count;
+    }
+
+    @Override
+    public int collectBelow(EntityBuffer b, float limitY, int[] out) {
+        int n = b.size;
+        int count = 0;
+        int i = 0;
+        int upper = F.loopBound(n);
+        for (; i < upper; i += F.length()) {
+            FloatVector top = FloatVector.fromArray(F, b.y, i).add(FloatVector.fromArray(F, b.h, i));
+            count = appendIndices(top.compare(VectorOperators.LT, limitY).toLong(), i, out, count);
+        }
+        for (; i < n; i++) {
+            if (b.y[i] + b.h[i] < limitY)
+                out[count++] = i;
+        }
+        return count;
+    }
+
+    @Override
+    public int laneOccupancy(EntityBuffer b, float start, float end) {
+        int n = b.size;
+        int mask = 0;
+        int i = 0;
+        int upper = F.loopBound(n);
+        for (; i < upper; i += F.length()) {
+            FloatVector mid = FloatVector.fromArray(F, b.y, i)
+                    .add(FloatVector.fromArray(F, b.h, i).mul(0.5f));
+            long bits = mid.compare(VectorOperators.GE, start)
+                    .and(mid.compare(VectorOperators.LE, end))
+                    .toLong();
+            // Poucas entidades caem na zona: o OR das faixas fica escalar
+            while (bits != 0L) {
+                int k = Long.numberOfTrailingZeros(bits);
+                mask |= 1 << b.lane[i + k];
+                bits &= bits - 1;
+            }
+        }
+        for (; i < n; i++) {
+            float mid = b.y[i] + b.h[i] * 0.5f;
+            if (mid >= start && mid <= end)
+                mask |= 1 << b.lane[i];
+        }
+        return mask;
+    }
+
+    @Override
+    public void topYByLane(EntityBuffer b, int laneCount, float[] out) {
+        for (int l = 0; l < laneCount; l++)
+            out[l] = Float.NEGATIVE_INFINITY;
+        if (laneCount > MAX_VECTOR_LANES) {
+            // Pistas com mais faixas que acumuladores: usa o laço escalar
+            for (int i = 0; i < b.size; i++)
+                out[b.lane[i]] = Math.max(out[b.lane[i]], b.y[i]);
+            return;
+        }
+        int n = b.size;
+        int i = 0;
+        int upper = F.loopBound(n);
+
+        // Um acumulador vetorial por faixa: cada lane guarda o maior Y visto
+        // naquela posição. Só reduzimos (max entre lanes) uma vez, no fim.
+        FloatVector neg = FloatVector.broadcast(F, Float.NEGATIVE_INFINITY);
+        FloatVector acc0 = neg, acc1 = neg, acc2 = neg, acc3 = neg;
+        for (; i < upper; i += F.length()) {
+            FloatVector y = FloatVector.fromArray(F, b.y, i);
+            IntVector lanes = IntVector.fromArray(I, b.lane, i);
+            acc0 = acc0.max(neg.blend(y, lanes.compare(VectorOperators.EQ, 0).cast(F)));
+            if (laneCount > 1)
+                acc1 = acc1.max(neg.blend(y, lanes.compare(VectorOperators.EQ, 1).cast(F)));
+            if (laneCount > 2)
+                acc2 = acc2.max(neg.blend(y, lanes.compare(VectorOperators.EQ, 2).cast(F)));
+            if (laneCount > 3)
+                acc3 = acc3.max(neg.blend(y, lanes.compare(VectorOperators.EQ, 3).cast(F)));
+        }
+        out[0] = acc0.reduceLanes(VectorOperators.MAX);
+        if (laneCount > 1)
+            out[1] = acc1.reduceLanes(VectorOperators.MAX);
+        if (laneCount > 2)
+            out[2] = acc2.reduceLanes(VectorOperators.MAX);
+        if (laneCount > 3)
+            out[3] = acc3.reduceLanes(VectorOperators.MAX);
+
+        for (; i < n; i++)
+            out[b.lane[i]] = Math.max(out[b.lane[i]], b.y[i]);
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + F.length() + "x32";
+    }
+
+    // Escreve em out os índices (base + bit) de cada bit ligado, em ordem
+    private static int appendIndices(long bits, int base, int[] out, int count) {
+        while (bits != 0L) {
+            out[count++] = base + Long.numberOfTrailingZeros(bits);
+            bits &= bits - 1;
+        }
+        return count;
+    }
+}
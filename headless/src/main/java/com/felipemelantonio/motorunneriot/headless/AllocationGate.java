@@ -0,0 +1,336 @@
+package com.felipemelantonio.motorunneriot.headless;
+
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.utils.FloatArray;
+import com.felipemelantonio.motorunneriot.screens.GameScreen;
+import com.felipemelantonio.motorunneriot.screens.MenuScreen;
+import com.felipemelantonio.motorunneriot.utils.GameRandom;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * AllocationGate
+ * ==============
+ * Trava de regressão de ALOCAÇÃO por frame do GameScreen em regime.
+ *
+ * Lixo criado a cada frame (Strings do HUD montadas com + e String.format,
+ * iteradores de Array, temporários do spawnWave, new Carro/new Moeda...)
+ * vira pausa de GC periódica em sessões longas de totem. Esta ferramenta
+ * joga cada fase com o piloto automático no ScreenDriver (telas de verdade,
+ * GL falso que não aloca) e mede os bytes alocados pela thread do jogo em
+ * cada frame (com.sun.management.ThreadMXBean).
+ *
+ * Regime = depois do aquecimento (JIT, texturas, primeiros carros) e antes
+ * da animação de fim de fase. Se a média de bytes/frame de alguma fase
+ * passar do orçamento, a ferramenta sai com código 1.
+ *
+ * Para mostrar ONDE aloca, a medição roda com um Flight Recorder
+ * (evento jdk.ObjectAllocationSample, com pilha) ligado: cada amostra é
+ * atribuída ao primeiro método do jogo na pilha (ex.: GameScreen.render:412)
+ * e ao tipo alocado. O JFR só dá a PROPORÇÃO de cada ponto (amostragem);
+ * os bytes por ponto são essa proporção aplicada ao total exato medido
+ * pelo contador da thread.
+ *
+ * Como rodar (a partir da raiz do projeto):
+ * ./gradlew headless:allocationGate
+ *
+ * Opções:
+ * --phases=1,2,3 fases medidas
+ * --budget=BYTES orçamento de bytes por frame (média em regime; padrão 256)
+ * --warmup=S segundos de aquecimento por fase (padrão 5)
+ * --seconds=S segundos medidos por fase (padrão 30; menos se a fase acabar)
+ * --seed=N seed das partidas (padrão 1)
+ * --top=N pontos de alocação impressos (padrão 15)
+ * --perf-overlay mede com o overlay de desempenho (F3) aberto: ele também
+ * precisa caber no orçamento
+ * --out=DIR pasta do alocacao.csv com todos os pontos (padrão sim-out)
+ */
+public final class AllocationGate {
+
+    private static final float DT = 1f / 60f;
+
+    /**
+     * Orçamento padrão (bytes por frame, média em regime): logo acima do
+     * regime medido (61-66 B/frame nas três fases, com ou sem o overlay
+     * F3, depois do Hud sem lixo), para pegar qualquer alocação nova por
+     * frame. Quando o regime cair, o orçamento desce junto.
+     */
+    static final long ORCAMENTO_PADRAO = 256;
+
+    // Amostras de alocação por segundo pedidas ao JFR (mais = estimativa melhor)
+    private static final String JFR_THROTTLE = "20000/s";
+
+    private final ScreenDriver driver;
+    private final Map<String, long[]> pontos = new HashMap<>(); // chave -> { bytes, amostras }
+    private long framesMedidos;
+    private long bytesMedidos;
+
+    private AllocationGate(ScreenDriver driver) {
+        this.driver = driver;
+    }
+
+    /** Medição de uma fase. */
+    static final class Resultado {
+        final int fase;
+        final FloatArray bytes = new FloatArray();
+        String fim = "tempo";
+
+        Resultado(int fase) {
+            this.fase = fase;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int[] phases = { 1, 2, 3 };
+        long budget = ORCAMENTO_PADRAO;
+        float warmup = 5f, seconds = 30f;
+        long seed = 1L;
+        int top = 15;
+        String out = "sim-out";
+        boolean perfOverlay = false;
+
+        for (String arg : args) {
+            if (arg.startsWith("--phases="))
+                phases = BatchSimulator.parseFases(valor(arg));
+            else if (arg.startsWith("--budget="))
+                budget = Long.parseLong(valor(arg));
+            else if (arg.startsWith("--warmup="))
+                warmup = Float.parseFloat(valor(arg));
+            else if (arg.startsWith("--seconds="))
+                seconds = Float.parseFloat(valor(arg));
+            else if (arg.startsWith("--seed="))
+                seed = Long.parseLong(valor(arg));
+            else if (arg.startsWith("--top="))
+                top = Integer.parseInt(valor(arg));
+            else if (arg.startsWith("--out="))
+                out = valor(arg);
+            else if (arg.equals("--perf-overlay"))
+                perfOverlay = true;
+            else {
+                System.err.println("Opção desconhecida: " + arg);
+                System.exit(2);
+            }
+        }
+
+        System.setProperty(GameRandom.SEED_PROPERTY, Long.toString(seed));
+        AllocationGate gate = new AllocationGate(new ScreenDriver(1920, 1080, DT));
+        gate.driver.frames(10); // menu
+        if (perfOverlay)
+            gate.driver.aperta(Input.Keys.F3); // vale para todas as telas
+
+        List<Resultado> resultados = new ArrayList<>();
+        for (int fase : phases)
+            resultados.add(gate.mede(fase, (int) (warmup / DT), (int) (seconds / DT)));
+        gate.driver.encerra();
+
+        // ================= Relatório =================
+        System.out.println();
+        System.out.printf(Locale.ROOT, "Orçamento: %d B/frame (média em regime)%n", budget);
+        System.out.printf(Locale.ROOT, "%-5s %7s %11s %9s %9s %9s %8s  %s%n",
+                "fase", "frames", "média B/f", "p50", "p99", "máx", "zero%", "fim");
+        boolean estourou = false;
+        for (Resultado r : resultados) {
+            if (r.bytes.size == 0) {
+                System.out.printf(Locale.ROOT, "%-5d %7d %11s %9s %9s %9s %8s  %s%n",
+                        r.fase, 0, "-", "-", "-", "-", "-", r.fim);
+                continue;
+            }
+            Distribution d = new Distribution(r.bytes.toArray());
+            int zeros = 0;
+            for (int i = 0; i < r.bytes.size; i++)
+                if (r.bytes.get(i) == 0f)
+                    zeros++;
+            boolean acima = d.media() > budget;
+            estourou |= acima;
+            System.out.printf(Locale.ROOT, "%-5d %7d %11.0f %9.0f %9.0f %9.0f %7.1f%%  %s%s%n",
+                    r.fase, d.n(), d.media(), d.percentil(50), d.percentil(99), d.max(),
+                    100.0 * zeros / d.n(), r.fim, acima ? "  <-- ACIMA DO ORÇAMENTO" : "");
+        }
+        gate.imprimePontos(top);
+        Path csv = gate.gravaPontos(Paths.get(out));
+        System.out.println("Todos os pontos em " + csv);
+
+        if (estourou) {
+            System.out.println("FALHOU: alocação por frame acima do orçamento");
+            System.exit(1);
+        }
+        System.out.println("OK: alocação por frame dentro do orçamento");
+        System.exit(0);
+    }
+
+    // ==================== Medição ====================
+
+    private Resultado mede(int fase, int framesAquecimento, int framesMedidos) throws IOException {
+        Resultado r = new Resultado(fase);
+
+        // Menu → seleção → fase, com o piloto automático
+        driver.aperta(Input.Keys.ENTER);
+        driver.aperta(Input.Keys.NUM_0 + fase);
+        Screen s = driver.tela();
+        if (!(s instanceof GameScreen)) {
+            r.fim = "não abriu (" + s.getClass().getSimpleName() + ")";
+            return r;
+        }
+        GameScreen jogo = (GameScreen) s;
+        driver.aperta(Input.Keys.F);
+
+        for (int i = 0; i < framesAquecimento && emRegime(jogo); i++)
+            driver.frame();
+
+        Recording gravacao = new Recording();
+        gravacao.enable("jdk.ObjectAllocationSample").with("throttle", JFR_THROTTLE).withStackTrace();
+        gravacao.start();
+        for (int i = 0; i < framesMedidos; i++) {
+            if (!emRegime(jogo)) {
+                r.fim = driver.tela() == jogo ? "animação final" : driver.tela().getClass().getSimpleName();
+                break;
+            }
+            driver.frame();
+            // O frame que trocou de tela não é regime (cria a tela nova)
+            if (driver.tela() == jogo)
+                r.bytes.add(driver.getUltimoBytes());
+        }
+        gravacao.stop();
+        this.framesMedidos += r.bytes.size;
+        for (int i = 0; i < r.bytes.size; i++)
+            bytesMedidos += (long) r.bytes.get(i);
+        acumula(gravacao);
+        gravacao.close();
+
+        voltaAoMenu();
+        return r;
+    }
+
+    // ESC volta ao menu do GameScreen, do GameOver e do LevelComplete; na
+    // animação de fim de fase ele é ignorado, então espera ela acabar
+    private void voltaAoMenu() {
+        for (int i = 0; i < 1200 && !(driver.tela() instanceof MenuScreen); i++) {
+            if (driver.tela() instanceof GameScreen && ((GameScreen) driver.tela()).getSimulation().isFinishing())
+                driver.frame();
+            else
+                driver.aperta(Input.Keys.ESCAPE);
+        }
+        driver.frames(5);
+    }
+
+    private boolean emRegime(GameScreen jogo) {
+        return driver.tela() == jogo && !jogo.getSimulation().isFinishing() && !jogo.getSimulation().isOver();
+    }
+
+    // ==================== Pontos de alocação (JFR) ====================
+
+    private void acumula(Recording gravacao) throws IOException {
+        Path arquivo = Files.createTempFile("alocacao", ".jfr");
+        try {
+            gravacao.dump(arquivo);
+            long thread = Thread.currentThread().threadId();
+            for (RecordedEvent e : RecordingFile.readAllEvents(arquivo)) {
+                // A gravação também recebe os eventos do jogo (JfrEventos)
+                if (!e.getEventType().getName().equals("jdk.ObjectAllocationSample"))
+                    continue;
+                if (e.getThread() == null || e.getThread().getJavaThreadId() != thread)
+                    continue;
+                String chave = pontoDoJogo(e.getStackTrace()) + "  [" + tipoAlocado(e) + "]";
+                long[] acc = pontos.computeIfAbsent(chave, k -> new long[2]);
+                acc[0] += e.getLong("weight");
+                acc[1]++;
+            }
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    // Primeiro método do jogo na pilha (de cima para baixo); se não houver,
+    // o método do topo (alocação dentro do libGDX/JDK chamada por fora do jogo)
+    private static String pontoDoJogo(RecordedStackTrace pilha) {
+        if (pilha == null || pilha.getFrames().isEmpty())
+            return "(sem pilha)";
+        for (RecordedFrame f : pilha.getFrames()) {
+            String classe = f.getMethod().getType().getName();
+            if (classe.startsWith("com.felipemelantonio.motorunneriot.")
+                    && !classe.startsWith("com.felipemelantonio.motorunneriot.headless."))
+                return descreve(f);
+        }
+        return descreve(pilha.getFrames().get(0));
+    }
+
+    private static String descreve(RecordedFrame f) {
+        String classe = f.getMethod().getType().getName();
+        return classe.substring(classe.lastIndexOf('.') + 1) + "." + f.getMethod().getName() + ":" + f.getLineNumber();
+    }
+
+    private static String tipoAlocado(RecordedEvent e) {
+        String nome = e.getClass("objectClass").getName();
+        return nome.substring(nome.lastIndexOf('.') + 1);
+    }
+
+    private List<Map.Entry<String, long[]>> ordenados() {
+        List<Map.Entry<String, long[]>> lista = new ArrayList<>(pontos.entrySet());
+        lista.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+        return lista;
+    }
+
+    // Fração das amostras do JFR de um ponto
+    private double fracao(long peso) {
+        long total = 0;
+        for (long[] acc : pontos.values())
+            total += acc[0];
+        return total == 0 ? 0.0 : (double) peso / total;
+    }
+
+    // Bytes por frame de um ponto: fração do JFR x total exato por frame
+    private double bytesPorFrame(long peso) {
+        return fracao(peso) * bytesMedidos / Math.max(1, framesMedidos);
+    }
+
+    private void imprimePontos(int top) {
+        System.out.println();
+        System.out.println("Pontos de alocação em regime (todas as fases):");
+        System.out.printf(Locale.ROOT, "%10s %7s  %s%n", "B/frame", "%", "ponto [tipo]");
+        List<Map.Entry<String, long[]>> lista = ordenados();
+        for (int i = 0; i < Math.min(top, lista.size()); i++) {
+            long peso = lista.get(i).getValue()[0];
+            System.out.printf(Locale.ROOT, "%10.1f %6.1f%%  %s%n",
+                    bytesPorFrame(peso), 100.0 * fracao(peso), lista.get(i).getKey());
+        }
+        if (lista.isEmpty())
+            System.out.println("  (nenhuma amostra: o jogo não alocou em regime)");
+    }
+
+    private Path gravaPontos(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Path csv = dir.resolve("alocacao.csv");
+        try (PrintWriter w = new PrintWriter(Files.newBufferedWriter(csv, StandardCharsets.UTF_8))) {
+            w.println("ponto,tipo,fracao,bytes_por_frame,amostras");
+            for (Map.Entry<String, long[]> e : ordenados()) {
+                String chave = e.getKey();
+                int sep = chave.lastIndexOf("  [");
+                long[] acc = e.getValue();
+                w.printf(Locale.ROOT, "%s,%s,%.5f,%.2f,%d%n", chave.substring(0, sep),
+                        chave.substring(sep + 3, chave.length() - 1), fracao(acc[0]),
+                        bytesPorFrame(acc[0]), acc[1]);
+            }
+        }
+        return csv;
+    }
+
+    private static String valor(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+}
@@ -0,0 +1,311 @@
+package com.felipemelantonio.motorunneriot.headless;
+
+import com.felipemelantonio.motorunneriot.sim.AutopilotInput;
+import com.felipemelantonio.motorunneriot.sim.RiderInput;
+import com.felipemelantonio.motorunneriot.utils.EntityKernels;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * BatchSimulator
+ * ==============
+ * Simulador em lote, sem janela: joga milhares de partidas das fases 1–3
+ * com a mesma lógica do jogo (GameSimulation: curvas do LevelManager, IA do
+ * spawnWave, colisão) usando todos os núcleos da máquina.
+ *
+ * Serve para ajustar a dificuldade olhando DISTRIBUIÇÕES (tempo de
+ * sobrevivência, distância, moedas) em vez de jogar na mão.
+ *
+ * Como rodar (a partir da raiz do projeto):
+ * ./gradlew headless:run --args="--sessions=2000 --policy=random"
+ *
+ * Opções:
+ * --sessions=N partidas POR FASE (padrão 500)
+ * --phases=1,2,3 fases simuladas
+ * --policy=NOME quem pilota (ver InputPolicies)
+ * --seed=N seed base; a partida i da fase f usa seed + f * 1000000 + i
+ * --threads=N tamanho do pool (padrão: núcleos disponíveis)
+ * --max-seconds=S limite de tempo simulado por partida (padrão 300)
+ * --width=W --height=H tamanho da tela simulada (padrão 1920x1080)
+ * --deterministic modo de ponto fixo (FixedPoint)
+ * --autopilot-budget-us=N orçamento por decisão do autopilot em µs
+ * (padrão 0 = profundidade máxima sempre, partida reproduzível)
+ * --out=DIR pasta dos CSVs (padrão sim-out)
+ *
+ * Saída:
+ * - DIR/sessoes.csv: uma linha por partida (a seed permite repetir a
+ * partida no jogo com --seed);
+ * - DIR/distribuicoes.csv: por fase e métrica, média/desvio/percentis;
+ * - no console: resumo por fase e a vazão em segundos simulados por
+ * segundo de relógio (e, com --policy=autopilot, profundidade e latência
+ * médias das decisões).
+ */
+public final class BatchSimulator {
+
+    // Partidas por tarefa folha do fork-join (abaixo disso não divide mais)
+    private static final int TAREFA_MINIMA = 8;
+
+    private BatchSimulator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int sessions = 500;
+        int[] phases = { 1, 2, 3 };
+        String policyName = "random";
+        long baseSeed = 1L;
+        int threads = Runtime.getRuntime().availableProcessors();
+        float maxSeconds = 300f;
+        float width = 1920f, height = 1080f;
+        boolean deterministic = false;
+        String out = "sim-out";
+        long autopilotBudgetNanos = 0L;
+
+        for (String arg : args) {
+            if (arg.startsWith("--sessions="))
+                sessions = Integer.parseInt(valor(arg));
+            else if (arg.startsWith("--phases="))
+                phases = parseFases(valor(arg));
+            else if (arg.startsWith("--policy="))
+                policyName = valor(arg);
+            else if (arg.startsWith("--seed="))
+                baseSeed = Long.parseLong(valor(arg));
+            else if (arg.startsWith("--threads="))
+                threads = Integer.parseInt(valor(arg));
+            else if (arg.startsWith("--max-seconds="))
+                maxSeconds = Float.parseFloat(valor(arg));
+            else if (arg.startsWith("--width="))
+                width = Float.parseFloat(valor(arg));
+            else if (arg.startsWith("--height="))
+                height = Float.parseFloat(valor(arg));
+            else if (arg.equals("--deterministic"))
+                deterministic = true;
+            else if (arg.startsWith("--autopilot-budget-us="))
+                autopilotBudgetNanos = Long.parseLong(valor(arg)) * 1000L;
+            else if (arg.startsWith("--out="))
+                out = valor(arg);
+            else {
+                System.err.println("Opção desconhecida: " + arg);
+                System.exit(2);
+            }
+        }
+
+        LongFunction<RiderInput> policy = InputPolicies.byName(policyName, autopilotBudgetNanos);
+        if (policy == null) {
+            System.err.println("Política desconhecida: " + policyName + " (use: " + InputPolicies.NOMES + ")");
+            System.exit(2);
+        }
+
+        HeadlessBootstrap.init();
+        SessionRunner runner = new SessionRunner(width, height, 1f / 60f, maxSeconds, deterministic);
+
+        // Uma "vaga" por partida; cada tarefa escreve só nas suas posições
+        int total = sessions * phases.length;
+        int[] faseDe = new int[total];
+        long[] seedDe = new long[total];
+        for (int p = 0; p < phases.length; p++) {
+            for (int i = 0; i < sessions; i++) {
+                faseDe[p * sessions + i] = phases[p];
+                seedDe[p * sessions + i] = baseSeed + phases[p] * 1_000_000L + i;
+            }
+        }
+        SessionResult[] results = new SessionResult[total];
+        EstatisticasPiloto piloto = new EstatisticasPiloto();
+
+        System.out.println("Simulando " + total + " partidas (" + sessions + " por fase), política "
+                + policyName + ", " + threads + " threads, kernels " + EntityKernels.get().name()
+                + (deterministic ? ", determinístico" : ""));
+
+        long inicio = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.invoke(new Lote(runner, policy, faseDe, seedDe, results, piloto, 0, total));
+        } finally {
+            pool.shutdown();
+        }
+        double segundosRelogio = (System.nanoTime() - inicio) / 1e9;
+
+        // Vazão: segundos de jogo simulados por segundo de relógio
+        double segundosSimulados = 0;
+        for (SessionResult r : results)
+            segundosSimulados += r.frames * runner.getDt();
+
+        Path dir = Paths.get(out);
+        Files.createDirectories(dir);
+        escreveSessoes(dir.resolve("sessoes.csv"), results);
+        escreveDistribuicoes(dir.resolve("distribuicoes.csv"), phases, results);
+
+        for (int fase : phases)
+            imprimeResumo(fase, results);
+        System.out.printf(Locale.ROOT, "%.1f s simulados em %.2f s de relógio: %.0f s simulados/s (%.0f partidas/s)%n",
+                segundosSimulados, segundosRelogio, segundosSimulados / segundosRelogio,
+                total / segundosRelogio);
+        if (piloto.decisoes.sum() > 0)
+            piloto.imprime();
+        System.out.println("CSVs em " + dir.toAbsolutePath());
+    }
+
+    /**
+     * Lote
+     * ----
+     * Tarefa fork-join sobre um intervalo [de, ate) de partidas: divide ao
+     * meio até TAREFA_MINIMA e então joga as partidas em sequência. Cada
+     * partida é independente (GameSimulation e RiderInput próprios).
+     */
+    private static final class Lote extends RecursiveAction {
+        private final SessionRunner runner;
+        private final LongFunction<RiderInput> policy;
+        private final int[] faseDe;
+        private final long[] seedDe;
+        private final SessionResult[] results;
+        private final EstatisticasPiloto piloto;
+        private final int de, ate;
+
+        Lote(SessionRunner runner, LongFunction<RiderInput> policy, int[] faseDe, long[] seedDe,
+                SessionResult[] results, EstatisticasPiloto piloto, int de, int ate) {
+            this.runner = runner;
+            this.policy = policy;
+            this.faseDe = faseDe;
+            this.seedDe = seedDe;
+            this.results = results;
+            this.piloto = piloto;
+            this.de = de;
+            this.ate = ate;
+        }
+
+        @Override
+        protected void compute() {
+            if (ate - de <= TAREFA_MINIMA) {
+                for (int i = de; i < ate; i++) {
+                    RiderInput input = policy.apply(seedDe[i]);
+                    results[i] = runner.run(faseDe[i], seedDe[i], input);
+                    if (input instanceof AutopilotInput)
+                        piloto.soma((AutopilotInput) input);
+                }
+                return;
+            }
+            int meio = (de + ate) >>> 1;
+            invokeAll(new Lote(runner, policy, faseDe, seedDe, results, piloto, de, meio),
+                    new Lote(runner, policy, faseDe, seedDe, results, piloto, meio, ate));
+        }
+    }
+
+    /**
+     * EstatisticasPiloto
+     * ------------------
+     * Soma as métricas dos AutopilotInput de todas as partidas. Várias
+     * threads do pool somam ao mesmo tempo, por isso LongAdder/LongAccumulator.
+     */
+    private static final class EstatisticasPiloto {
+        final LongAdder decisoes = new LongAdder();
+        final LongAdder somaNanos = new LongAdder();
+        final LongAdder somaDepth = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+        void soma(AutopilotInput a) {
+            decisoes.add(a.getDecisoes());
+            somaNanos.add(a.getSomaNanos());
+            somaDepth.add(a.getSomaDepth());
+            maxNanos.accumulate(a.getMaxNanos());
+        }
+
+        void imprime() {
+            long n = decisoes.sum();
+            System.out.printf(Locale.ROOT,
+                    "Autopilot: %d decisões | profundidade média %.1f passos (%.1f s) | latência média %.1f µs, máx %.1f µs%n",
+                    n, (double) somaDepth.sum() / n, somaDepth.sum() * AutopilotInput.STEP_S / n,
+                    somaNanos.sum() / 1000.0 / n, maxNanos.get() / 1000.0);
+        }
+    }
+
+    private static void escreveSessoes(Path arquivo, SessionResult[] results) throws IOException {
+        try (PrintWriter w = new PrintWriter(Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8))) {
+            w.println("fase,seed,fim,tempo_s,distancia_m,moedas,frames,checksum");
+            for (SessionResult r : results) {
+                w.printf(Locale.ROOT, "%d,%d,%s,%.3f,%.2f,%d,%d,%016x%n",
+                        r.fase, r.seed, r.fim.name().toLowerCase(Locale.ROOT), r.tempo, r.distancia,
+                        r.moedas, r.frames, r.checksum);
+            }
+        }
+    }
+
+    private static void escreveDistribuicoes(Path arquivo, int[] phases, SessionResult[] results)
+            throws IOException {
+        try (PrintWriter w = new PrintWriter(Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8))) {
+            StringBuilder cab = new StringBuilder("fase,metrica,n,media,desvio,min");
+            for (int p : Distribution.PERCENTIS)
+                cab.append(",p").append(p);
+            w.println(cab.append(",max"));
+
+            for (int fase : phases) {
+                escreveLinha(w, fase, "tempo_s", metrica(results, fase, 0));
+                escreveLinha(w, fase, "distancia_m", metrica(results, fase, 1));
+                escreveLinha(w, fase, "moedas", metrica(results, fase, 2));
+            }
+        }
+    }
+
+    private static void escreveLinha(PrintWriter w, int fase, String nome, Distribution d) {
+        w.printf(Locale.ROOT, "%d,%s,%d,%.3f,%.3f,%.3f", fase, nome, d.n(), d.media(), d.desvio(), d.min());
+        for (int p : Distribution.PERCENTIS)
+            w.printf(Locale.ROOT, ",%.3f", d.percentil(p));
+        w.printf(Locale.ROOT, ",%.3f%n", d.max());
+    }
+
+    // 0 = tempo, 1 = distância, 2 = moedas
+    private static Distribution metrica(SessionResult[] results, int fase, int qual) {
+        int n = 0;
+        for (SessionResult r : results)
+            if (r.fase == fase)
+                n++;
+        float[] v = new float[n];
+        int k = 0;
+        for (SessionResult r : results) {
+            if (r.fase != fase)
+                continue;
+            v[k++] = qual == 0 ? r.tempo : qual == 1 ? r.distancia : r.moedas;
+        }
+        return new Distribution(v);
+    }
+
+    private static void imprimeResumo(int fase, SessionResult[] results) {
+        int n = 0, concluidas = 0, batidas = 0;
+        for (SessionResult r : results) {
+            if (r.fase != fase)
+                continue;
+            n++;
+            if (r.fim == SessionResult.Fim.CONCLUIDA)
+                concluidas++;
+            else if (r.fim == SessionResult.Fim.COLISAO)
+                batidas++;
+        }
+        Distribution tempo = metrica(results, fase, 0);
+        Distribution dist = metrica(results, fase, 1);
+        System.out.printf(Locale.ROOT,
+                "Fase %d: %d partidas, %.1f%% concluídas, %.1f%% batidas | tempo p50 %.1f s | distância p50 %.0f m%n",
+                fase, n, 100.0 * concluidas / Math.max(1, n), 100.0 * batidas / Math.max(1, n),
+                tempo.percentil(50), dist.percentil(50));
+    }
+
+    private static String valor(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    static int[] parseFases(String s) {
+        String[] partes = s.split(",");
+        int[] fases = new int[partes.length];
+        for (int i = 0; i < partes.length; i++)
+            fases[i] = Integer.parseInt(partes[i].trim());
+        return fases;
+    }
+}
@@ -0,0 +1,399 @@
+package com.felipemelantonio.motorunneriot.headless;
+
+import com.felipemelantonio.motorunneriot.sim.RiderInput;
+import com.felipemelantonio.motorunneriot.utils.DifficultyParams;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongFunction;
+
+/**
+ * DifficultyTuner
+ * ===============
+ * Ajuste automático das curvas de dificuldade (DifficultyParams): para cada
+ * fase, procura as 12 constantes do LevelManager (velocidade, intervalo de
+ * spawn, spawn duplo e gap) que fazem a distribuição do TEMPO DE
+ * SOBREVIVÊNCIA de um piloto de habilidade fixa (SkilledRiderInput) chegar
+ * perto de uma distribuição alvo.
+ *
+ * Busca
+ * -----
+ * Algoritmo genético simples, uma fase por vez:
+ * - população inicial = valores atuais + variações aleatórias;
+ * - seleção por torneio, cruzamento por mistura (BLX) e mutação gaussiana
+ * que diminui ao longo das gerações; os ELITE melhores passam direto;
+ * - todos os candidatos de uma geração jogam as MESMAS seeds (comparação
+ * justa) e as partidas de todos rodam juntas no pool fork-join.
+ *
+ * Tempo de sobrevivência: segundos até bater. Quem conclui a fase (ou chega
+ * ao --max-seconds) conta como --max-seconds ("sobreviveu à fase"), então
+ * um alvo igual a --max-seconds quer dizer "esse percentil conclui".
+ *
+ * Erro (fitness, menor é melhor): soma, nos percentis 25/50/75, do erro
+ * relativo ao quadrado entre o observado e o alvo.
+ *
+ * No fim, os melhores parâmetros são conferidos em seeds NOVAS (para não
+ * premiar quem só decorou as seeds do treino) e gravados em JSON. O jogo
+ * carrega o arquivo se ele for copiado para assets/dificuldade.json ou
+ * passado com -Dmotorunner.difficulty=CAMINHO.
+ *
+ * Como rodar (a partir da raiz do projeto):
+ * ./gradlew headless:tuneDifficulty --args="--skill=0.5 --generations=30"
+ *
+ * Opções:
+ * --phases=1,2,3 fases ajustadas (as outras ficam como estão)
+ * --skill=H habilidade do piloto, 0 a 1 (padrão 0.5)
+ * --target=F:P25,P50,P75 alvo da fase F em segundos (pode repetir)
+ * --generations=N gerações por fase (padrão 20)
+ * --population=N candidatos por geração (padrão 16)
+ * --sessions=N partidas por candidato (padrão 64)
+ * --seed=N seed base das partidas e da busca
+ * --threads=N tamanho do pool (padrão: núcleos disponíveis)
+ * --max-seconds=S limite de tempo simulado por partida (padrão 90)
+ * --width=W --height=H tamanho da tela simulada (padrão 1920x1080)
+ * --deterministic modo de ponto fixo (FixedPoint)
+ * --out=ARQUIVO JSON gerado (padrão sim-out/dificuldade.json)
+ */
+public final class DifficultyTuner {
+
+    // Partidas por tarefa folha do fork-join
+    private static final int TAREFA_MINIMA = 4;
+
+    // Percentis comparados com o alvo
+    private static final int[] PERCENTIS = { 25, 50, 75 };
+
+    // Alvos padrão (s) para um piloto mediano (habilidade 0.5):
+    // fase 1 quase todo mundo conclui, fase 3 quase ninguém
+    private static final float[][] ALVO_PADRAO = {
+            { 20f, 90f, 90f },
+            { 12f, 22f, 90f },
+            { 8f, 16f, 30f },
+    };
+
+    // Limites de busca de cada parâmetro (mesma ordem de DifficultyParams.NOMES)
+    private static final float[] MINIMO = {
+            250f, 0f, 10f, // velocidade: base, add, secs
+            0.40f, 0.20f, 10f, // spawn: início, mínimo, secs
+            0f, 0f, 10f, // duplo: início, add, secs
+            150f, -200f, 10f // gap: início, delta, secs
+    };
+    private static final float[] MAXIMO = {
+            700f, 700f, 120f,
+            2.00f, 1.00f, 120f,
+            0.60f, 0.50f, 120f,
+            400f, 0f, 120f
+    };
+
+    // Parâmetros do algoritmo genético
+    private static final int ELITE = 2;
+    private static final int TORNEIO = 3;
+    private static final float BLX_ALFA = 0.3f; // quanto o filho pode sair do intervalo dos pais
+    private static final float P_MUTACAO = 0.3f; // chance de cada gene sofrer mutação
+    private static final float SIGMA_INICIAL = 0.15f; // desvio da mutação (fração do intervalo)
+    private static final float SIGMA_FINAL = 0.03f;
+
+    // Seeds de conferência ficam longe das de treino
+    private static final long SALTO_VALIDACAO = 500_000L;
+
+    private DifficultyTuner() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int[] phases = { 1, 2, 3 };
+        float skill = 0.5f;
+        float[][] alvo = new float[3][];
+        for (int f = 0; f < 3; f++)
+            alvo[f] = ALVO_PADRAO[f].clone();
+        int generations = 20;
+        int population = 16;
+        int sessions = 64;
+        long baseSeed = 1L;
+        int threads = Runtime.getRuntime().availableProcessors();
+        float maxSeconds = 90f;
+        float width = 1920f, height = 1080f;
+        boolean deterministic = false;
+        String out = "sim-out/dificuldade.json";
+
+        for (String arg : args) {
+            if (arg.startsWith("--phases="))
+                phases = BatchSimulator.parseFases(valor(arg));
+            else if (arg.startsWith("--skill="))
+                skill = Float.parseFloat(valor(arg));
+            else if (arg.startsWith("--target="))
+                parseAlvo(valor(arg), alvo);
+            else if (arg.startsWith("--generations="))
+                generations = Integer.parseInt(valor(arg));
+            else if (arg.startsWith("--population="))
+                population = Math.max(ELITE + 1, Integer.parseInt(valor(arg)));
+            else if (arg.startsWith("--sessions="))
+                sessions = Integer.parseInt(valor(arg));
+            else if (arg.startsWith("--seed="))
+                baseSeed = Long.parseLong(valor(arg));
+            else if (arg.startsWith("--threads="))
+                threads = Integer.parseInt(valor(arg));
+            else if (arg.startsWith("--max-seconds="))
+                maxSeconds = Float.parseFloat(valor(arg));
+            else if (arg.startsWith("--width="))
+                width = Float.parseFloat(valor(arg));
+            else if (arg.startsWith("--height="))
+                height = Float.parseFloat(valor(arg));
+            else if (arg.equals("--deterministic"))
+                deterministic = true;
+            else if (arg.startsWith("--out="))
+                out = valor(arg);
+            else {
+                System.err.println("Opção desconhecida: " + arg);
+                System.exit(2);
+            }
+        }
+
+        LongFunction<RiderInput> policy = InputPolicies.byName("skilled:" + skill);
+        HeadlessBootstrap.init();
+        SessionRunner runner = new SessionRunner(width, height, 1f / 60f, maxSeconds, deterministic);
+        DifficultyParams melhores = DifficultyParams.atual();
+        Random rng = new Random(baseSeed);
+
+        System.out.printf(Locale.ROOT,
+                "Ajustando fases %s: habilidade %.2f, %d gerações x %d candidatos x %d partidas, %d threads%n",
+                Arrays.toString(phases), skill, generations, population, sessions, threads);
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (int fase : phases) {
+                float[] alvoFase = alvo[fase - 1];
+                // Alvo maior que o limite de tempo não tem como ser observado
+                for (int i = 0; i < alvoFase.length; i++)
+                    alvoFase[i] = Math.min(alvoFase[i], maxSeconds);
+                long seedTreino = baseSeed + fase * 1_000_000L;
+                long inicio = System.nanoTime();
+
+                float[][] pop = populacaoInicial(melhores.daFase(fase), population, rng);
+                float[] erro = new float[population];
+                float[] melhor = pop[0];
+                float erroMelhor = Float.MAX_VALUE;
+                float erroInicial = Float.NaN;
+
+                for (int g = 0; g < generations; g++) {
+                    float[][] tempos = avalia(pool, runner, policy, melhores, fase, pop, sessions, seedTreino);
+                    for (int c = 0; c < population; c++)
+                        erro[c] = erro(tempos[c], alvoFase);
+                    if (g == 0)
+                        erroInicial = erro[0];
+
+                    int[] ordem = ordena(erro);
+                    if (erro[ordem[0]] < erroMelhor) {
+                        erroMelhor = erro[ordem[0]];
+                        melhor = pop[ordem[0]].clone();
+                    }
+                    Distribution d = new Distribution(tempos[ordem[0]]);
+                    System.out.printf(Locale.ROOT, "Fase %d, geração %2d: erro %.4f (melhor até aqui %.4f) | p25 %.1f p50 %.1f p75 %.1f s%n",
+                            fase, g + 1, erro[ordem[0]], erroMelhor, d.percentil(25), d.percentil(50), d.percentil(75));
+
+                    if (g + 1 < generations) {
+                        float sigma = SIGMA_INICIAL + (SIGMA_FINAL - SIGMA_INICIAL) * g / Math.max(1, generations - 1);
+                        pop = proximaGeracao(pop, erro, ordem, sigma, rng);
+                    }
+                }
+
+                // Conferência em seeds novas: parâmetros atuais x ajustados
+                long seedValidacao = seedTreino + SALTO_VALIDACAO;
+                float[][] antesDepois = avalia(pool, runner, policy, melhores, fase,
+                        new float[][] { melhores.daFase(fase), melhor }, sessions, seedValidacao);
+                float erroAntes = erro(antesDepois[0], alvoFase);
+                float erroDepois = erro(antesDepois[1], alvoFase);
+                System.out.printf(Locale.ROOT, "Fase %d em %.1f s: erro no treino %.4f -> %.4f; em seeds novas %.4f -> %.4f%n",
+                        fase, (System.nanoTime() - inicio) / 1e9, erroInicial, erroMelhor, erroAntes, erroDepois);
+                System.out.printf(Locale.ROOT, "  alvo     p25 %5.1f  p50 %5.1f  p75 %5.1f s%n",
+                        alvoFase[0], alvoFase[1], alvoFase[2]);
+                imprimeDistribuicao("  antes    ", antesDepois[0]);
+                imprimeDistribuicao("  ajustado ", antesDepois[1]);
+
+                // Só troca se também melhorou fora do treino
+                if (erroDepois < erroAntes)
+                    melhores = melhores.comFase(fase, melhor);
+                else
+                    System.out.println("  (ajuste não melhorou em seeds novas; fase " + fase + " fica como estava)");
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        Path arquivo = Paths.get(out);
+        if (arquivo.getParent() != null)
+            Files.createDirectories(arquivo.getParent());
+        Files.write(arquivo, melhores.toJson().getBytes(StandardCharsets.UTF_8));
+        System.out.println("Parâmetros em " + arquivo + " (copie para assets/" + DifficultyParams.ARQUIVO_PADRAO
+                + " ou rode o jogo com -D" + DifficultyParams.PROPERTY + "=" + arquivo + ")");
+    }
+
+    // ===== Algoritmo genético =====
+
+    // Candidato 0 = parâmetros atuais; os outros, variações em volta deles
+    private static float[][] populacaoInicial(float[] atual, int tamanho, Random rng) {
+        float[][] pop = new float[tamanho][];
+        pop[0] = atual.clone();
+        for (int c = 1; c < tamanho; c++) {
+            float[] g = atual.clone();
+            for (int i = 0; i < g.length; i++)
+                g[i] += (float) rng.nextGaussian() * SIGMA_INICIAL * 2f * (MAXIMO[i] - MINIMO[i]);
+            pop[c] = repara(g);
+        }
+        return pop;
+    }
+
+    private static float[][] proximaGeracao(float[][] pop, float[] erro, int[] ordem, float sigma, Random rng) {
+        float[][] nova = new float[pop.length][];
+        for (int e = 0; e < ELITE; e++)
+            nova[e] = pop[ordem[e]];
+        for (int c = ELITE; c < pop.length; c++) {
+            float[] pai = pop[torneio(erro, rng)];
+            float[] mae = pop[torneio(erro, rng)];
+            float[] filho = new float[pai.length];
+            for (int i = 0; i < filho.length; i++) {
+                // BLX-alfa: sorteia no intervalo dos pais alargado de alfa
+                float lo = Math.min(pai[i], mae[i]);
+                float hi = Math.max(pai[i], mae[i]);
+                float folga = (hi - lo) * BLX_ALFA;
+                filho[i] = lo - folga + rng.nextFloat() * (hi - lo + 2f * folga);
+                if (rng.nextFloat() < P_MUTACAO)
+                    filho[i] += (float) rng.nextGaussian() * sigma * (MAXIMO[i] - MINIMO[i]);
+            }
+            nova[c] = repara(filho);
+        }
+        return nova;
+    }
+
+    private static int torneio(float[] erro, Random rng) {
+        int melhor = rng.nextInt(erro.length);
+        for (int t = 1; t < TORNEIO; t++) {
+            int c = rng.nextInt(erro.length);
+            if (erro[c] < erro[melhor])
+                melhor = c;
+        }
+        return melhor;
+    }
+
+    // Prende cada gene nos limites e mantém o intervalo mínimo <= inicial
+    private static float[] repara(float[] g) {
+        for (int i = 0; i < g.length; i++)
+            g[i] = Math.max(MINIMO[i], Math.min(MAXIMO[i], g[i]));
+        g[DifficultyParams.SPAWN_MIN] = Math.min(g[DifficultyParams.SPAWN_MIN], g[DifficultyParams.SPAWN_INICIO]);
+        return g;
+    }
+
+    // Índices dos candidatos do menor para o maior erro
+    private static int[] ordena(float[] erro) {
+        Integer[] idx = new Integer[erro.length];
+        for (int i = 0; i < idx.length; i++)
+            idx[i] = i;
+        Arrays.sort(idx, (a, b) -> Float.compare(erro[a], erro[b]));
+        int[] ordem = new int[idx.length];
+        for (int i = 0; i < idx.length; i++)
+            ordem[i] = idx[i];
+        return ordem;
+    }
+
+    // ===== Avaliação =====
+
+    private static float erro(float[] tempos, float[] alvo) {
+        Distribution d = new Distribution(tempos);
+        float soma = 0f;
+        for (int i = 0; i < PERCENTIS.length; i++) {
+            float rel = (d.percentil(PERCENTIS[i]) - alvo[i]) / Math.max(1f, alvo[i]);
+            soma += rel * rel;
+        }
+        return soma;
+    }
+
+    /**
+     * Joga `sessions` partidas de cada candidato (as mesmas seeds para
+     * todos) e devolve os tempos de sobrevivência [candidato][partida].
+     */
+    private static float[][] avalia(ForkJoinPool pool, SessionRunner runner, LongFunction<RiderInput> policy,
+            DifficultyParams base, int fase, float[][] candidatos, int sessions, long seed) {
+        DifficultyParams[] params = new DifficultyParams[candidatos.length];
+        for (int c = 0; c < candidatos.length; c++)
+            params[c] = base.comFase(fase, candidatos[c]);
+        float[][] tempos = new float[candidatos.length][sessions];
+        pool.invoke(new Lote(runner, policy, fase, seed, params, tempos, 0, candidatos.length * sessions));
+        return tempos;
+    }
+
+    /**
+     * Lote
+     * ----
+     * Tarefa fork-join sobre as partidas [de, ate) de TODOS os candidatos
+     * (índice = candidato * partidas + partida), para o pool ficar cheio
+     * mesmo com poucas partidas por candidato.
+     */
+    private static final class Lote extends RecursiveAction {
+        private final SessionRunner runner;
+        private final LongFunction<RiderInput> policy;
+        private final int fase;
+        private final long seed;
+        private final DifficultyParams[] params;
+        private final float[][] tempos;
+        private final int de, ate;
+
+        Lote(SessionRunner runner, LongFunction<RiderInput> policy, int fase, long seed,
+                DifficultyParams[] params, float[][] tempos, int de, int ate) {
+            this.runner = runner;
+            this.policy = policy;
+            this.fase = fase;
+            this.seed = seed;
+            this.params = params;
+            this.tempos = tempos;
+            this.de = de;
+            this.ate = ate;
+        }
+
+        @Override
+        protected void compute() {
+            if (ate - de <= TAREFA_MINIMA) {
+                int sessions = tempos[0].length;
+                for (int i = de; i < ate; i++) {
+                    int c = i / sessions, s = i % sessions;
+                    long seedPartida = seed + s;
+                    SessionResult r = runner.run(fase, seedPartida, policy.apply(seedPartida), params[c]);
+                    // Concluir a fase (ou chegar ao limite) = sobreviveu o tempo todo
+                    tempos[c][s] = r.fim == SessionResult.Fim.COLISAO ? r.tempo : runner.getMaxSeconds();
+                }
+                return;
+            }
+            int meio = (de + ate) >>> 1;
+            invokeAll(new Lote(runner, policy, fase, seed, params, tempos, de, meio),
+                    new Lote(runner, policy, fase, seed, params, tempos, meio, ate));
+        }
+    }
+
+    // ===== Linha de comando =====
+
+    private static void imprimeDistribuicao(String rotulo, float[] tempos) {
+        Distribution d = new Distribution(tempos);
+        System.out.printf(Locale.ROOT, "%sp25 %5.1f  p50 %5.1f  p75 %5.1f s%n", rotulo,
+                d.percentil(25), d.percentil(50), d.percentil(75));
+    }
+
+    // --target=F:P25,P50,P75
+    private static void parseAlvo(String s, float[][] alvo) {
+        String[] partes = s.split(":");
+        int fase = Integer.parseInt(partes[0].trim());
+        String[] valores = partes[1].split(",");
+        if (fase < 1 || fase > 3 || valores.length != PERCENTIS.length)
+            throw new IllegalArgumentException("--target=FASE:P25,P50,P75 (ex.: 2:12,22,90)");
+        for (int i = 0; i < valores.length; i++)
+            alvo[fase - 1][i] = Float.parseFloat(valores[i].trim());
+    }
+
+    private static String valor(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+}
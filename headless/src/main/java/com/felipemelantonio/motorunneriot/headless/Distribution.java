@@ -0,0 +1,62 @@
+package com.felipemelantonio.motorunneriot.headless;
+
+import java.util.Arrays;
+
+/**
+ * Distribution
+ * ============
+ * Resumo estatístico de uma amostra (média, desvio, mínimo, máximo e
+ * percentis), usado nos CSVs do simulador.
+ */
+public final class Distribution {
+
+    /** Percentis escritos no CSV de distribuições. */
+    public static final int[] PERCENTIS = { 10, 25, 50, 75, 90 };
+
+    private final float[] ordenado;
+    private final double media;
+    private final double desvio;
+
+    public Distribution(float[] valores) {
+        ordenado = valores.clone();
+        Arrays.sort(ordenado);
+
+        double soma = 0;
+        for (float v : ordenado)
+            soma += v;
+        media = ordenado.length == 0 ? 0 : soma / ordenado.length;
+
+        double quad = 0;
+        for (float v : ordenado)
+            quad += (v - media) * (v - media);
+        desvio = ordenado.length < 2 ? 0 : Math.sqrt(quad / (ordenado.length - 1));
+    }
+
+    public int n() {
+        return ordenado.length;
+    }
+
+    public double media() {
+        return media;
+    }
+
+    public double desvio() {
+        return desvio;
+    }
+
+    public float min() {
+        return ordenado.length == 0 ? 0f : ordenado[0];
+    }
+
+    public float max() {
+        return ordenado.length == 0 ? 0f : ordenado[ordenado.length - 1];
+    }
+
+    /** Percentil p (0..100) pelo método "nearest rank". */
+    public float percentil(int p) {
+        if (ordenado.length == 0)
+            return 0f;
+        int rank = (int) Math.ceil(p / 100.0 * ordenado.length);
+        return ordenado[Math.max(0, Math.min(ordenado.length - 1, rank - 1))];
+    }
+}
@@ -0,0 +1,282 @@
+package com.felipemelantonio.motorunneriot.headless;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.felipemelantonio.motorunneriot.entities.Carro;
+import com.felipemelantonio.motorunneriot.entities.Moto;
+import com.felipemelantonio.motorunneriot.sim.GameSimulation;
+
+/**
+ * EscapeRouteOracle
+ * =================
+ * Responde a pergunta do FairnessValidator: "com os carros que estão na
+ * pista AGORA, existe alguma sequência de trocas de faixa que passa por
+ * todos eles sem bater?".
+ *
+ * É um oráculo independente da IA de spawn (não usa nenhuma das heurísticas
+ * do spawnWave): avança o trânsito frame a frame com o mesmo dt da partida
+ * e mantém o CONJUNTO de estados possíveis da moto (busca em largura).
+ *
+ * Modelo
+ * ------
+ * - Carros descem com (velocidade do mundo + velocidade própria); o boost
+ * atual decai como na GameSimulation e ninguém pedala mais.
+ * - A moto troca uma faixa por vez, com a mesma interpolação do Moto.update
+ * (fração dt * moveSpeed por frame), e só pede outra troca depois de
+ * assentar (a até ASSENTADA_PX do centro da faixa).
+ * - Bater = retângulos se cruzam durante o frame (colisão contínua, como
+ * na simulação, sem a máscara de pixels). Por isso o oráculo é
+ * conservador: uma rota que ele aprova é segura; um contraexemplo pode, em
+ * raros casos, passar raspando na máscara.
+ * - Sucesso quando todos os carros conhecidos já passaram pela moto (ou
+ * depois de HORIZONTE_MAX_S).
+ * - Carros que JÁ encostam na moto agora são ignorados (no modo
+ * invulnerável a batida já aconteceu; não é culpa do spawn).
+ *
+ * Não é thread-safe (reaproveita os arrays); use uma instância por thread.
+ */
+final class EscapeRouteOracle {
+
+    static final float HORIZONTE_MAX_S = 8f;
+    static final float ASSENTADA_PX = 6f;
+
+    private final float dt;
+
+    // Estados: [0, laneCount) = assentada na faixa l;
+    // depois, um bloco de `passos` estados para cada troca (de -> para).
+    private int laneCount = -1;
+    private int passos; // frames de uma troca até assentar
+    private float alfa; // fração da distância andada por frame (dt * moveSpeed)
+    private int nEstados;
+    private int[] deFaixa, paraFaixa, passo;
+    private float[] xc0, xc1; // centro X da moto no início/fim do frame do estado
+    private boolean[] atual, proximo;
+
+    // Meia-largura do carro mais largo que cruza a faixa vertical da moto,
+    // por faixa, no frame sendo avaliado (0 = faixa livre)
+    private float[] meiaLargura;
+
+    // Último resultado (para relatórios)
+    private int framesAvaliados;
+    private int frameDaFalha;
+
+    EscapeRouteOracle(float dt) {
+        this.dt = dt;
+    }
+
+    /**
+     * @return true se existe pelo menos uma rota de faixas que sobrevive aos
+     *         carros que estão na pista
+     */
+    boolean temRota(GameSimulation sim) {
+        return temRota(sim, 0);
+    }
+
+    /**
+     * Mesma pergunta, mas fingindo que os últimos `ignorarUltimos` carros da
+     * lista (os que acabaram de nascer) não existem: responde se havia rota
+     * ANTES do spawn.
+     */
+    boolean temRota(GameSimulation sim, int ignorarUltimos) {
+        Moto moto = sim.getMoto();
+        Rectangle rm = moto.getBounds();
+        float[] centros = sim.getLaneCenters();
+        preparaEstados(centros, moto.getMoveSpeed());
+
+        // Estado inicial: assentada, ou no meio de uma troca
+        for (int i = 0; i < nEstados; i++)
+            atual[i] = false;
+        atual[estadoInicial(centros, moto.getCurrentLaneIndex(), rm.x + rm.width / 2f)] = true;
+
+        Array<Carro> carros = sim.getCarros();
+        float motoBase = rm.y;
+        float motoTopo = rm.y + rm.height;
+        float motoMeia = rm.width / 2f;
+
+        float base = sim.getWorldSpeedBase();
+        float boost = sim.getWorldSpeedBoost();
+        float deslocamento = 0f; // quanto o mundo já andou desde agora
+
+        int maxFrames = (int) Math.ceil(HORIZONTE_MAX_S / dt);
+        frameDaFalha = -1;
+        for (int f = 1; f <= maxFrames; f++) {
+            boost = Math.max(1f, boost - GameSimulation.BOOST_DECAY * dt);
+            float passoMundo = base * boost * dt;
+            float t0 = (f - 1) * dt, t1 = f * dt;
+
+            // Quais faixas têm carro cruzando a altura da moto neste frame?
+            boolean algumAcima = false;
+            for (int l = 0; l < laneCount; l++)
+                meiaLargura[l] = 0f;
+            for (int i = 0; i < carros.size - ignorarUltimos; i++) {
+                Carro c = carros.get(i);
+                Rectangle rc = c.getBounds();
+                if (rc.overlaps(rm))
+                    continue;
+                float yIni = rc.y - deslocamento - c.getVelocidade() * t0;
+                float yFim = rc.y - deslocamento - passoMundo - c.getVelocidade() * t1;
+                if (yFim + rc.height >= motoBase)
+                    algumAcima = true;
+                if (yFim < motoTopo && yIni + rc.height > motoBase)
+                    meiaLargura[c.getLaneIndex()] = Math.max(meiaLargura[c.getLaneIndex()], rc.width / 2f);
+            }
+            deslocamento += passoMundo;
+
+            if (!algumAcima) {
+                framesAvaliados = f;
+                return true; // todos os carros já passaram
+            }
+
+            // Expande os estados: cada estado vivo gera os sucessores que não batem
+            boolean vivo = false;
+            for (int i = 0; i < nEstados; i++)
+                proximo[i] = false;
+            for (int s = 0; s < nEstados; s++) {
+                if (!atual[s])
+                    continue;
+                if (s < laneCount) {
+                    vivo |= tenta(s, centros, motoMeia);
+                    int l = s;
+                    if (l > 0)
+                        vivo |= tenta(estadoTroca(l, l - 1, 1), centros, motoMeia);
+                    if (l < laneCount - 1)
+                        vivo |= tenta(estadoTroca(l, l + 1, 1), centros, motoMeia);
+                } else {
+                    int p = passo[s] + 1;
+                    vivo |= tenta(p >= passos ? paraFaixa[s] : s + 1, centros, motoMeia);
+                }
+            }
+            if (!vivo) {
+                framesAvaliados = f;
+                frameDaFalha = f;
+                return false;
+            }
+            boolean[] tmp = atual;
+            atual = proximo;
+            proximo = tmp;
+        }
+        framesAvaliados = maxFrames;
+        return true;
+    }
+
+    // Marca o estado no próximo conjunto se ele não encosta em nenhum carro
+    private boolean tenta(int s, float[] centros, float motoMeia) {
+        float a = Math.min(xc0[s], xc1[s]);
+        float b = Math.max(xc0[s], xc1[s]);
+        for (int l = 0; l < laneCount; l++) {
+            float ml = meiaLargura[l];
+            if (ml <= 0f)
+                continue;
+            // distância do centro da faixa até o trecho [a, b] percorrido pela moto
+            float c = centros[l];
+            float d = c < a ? a - c : c > b ? c - b : 0f;
+            if (d < motoMeia + ml)
+                return false;
+        }
+        proximo[s] = true;
+        return true;
+    }
+
+    /**
+     * Monta a tabela de estados para o layout de faixas (só quando muda).
+     * Uma troca dura `passos` frames: o suficiente para a interpolação do
+     * Moto.update chegar a ASSENTADA_PX do centro da faixa de destino.
+     */
+    private void preparaEstados(float[] centros, float moveSpeed) {
+        int n = centros.length;
+        alfa = Math.min(1f, dt * moveSpeed);
+        float maiorDist = 0f;
+        for (int l = 0; l + 1 < n; l++)
+            maiorDist = Math.max(maiorDist, Math.abs(centros[l + 1] - centros[l]));
+        int p = 1;
+        float resto = maiorDist;
+        while (resto * (1f - alfa) > ASSENTADA_PX && p < 120) {
+            resto *= 1f - alfa;
+            p++;
+        }
+        if (n == laneCount && p == passos && xc0 != null) {
+            atualizaCentros(centros);
+            return;
+        }
+
+        laneCount = n;
+        passos = p;
+        int trocas = 2 * (n - 1);
+        nEstados = n + trocas * passos;
+        deFaixa = new int[nEstados];
+        paraFaixa = new int[nEstados];
+        passo = new int[nEstados];
+        xc0 = new float[nEstados];
+        xc1 = new float[nEstados];
+        atual = new boolean[nEstados];
+        proximo = new boolean[nEstados];
+        meiaLargura = new float[n];
+        for (int l = 0; l < n; l++) {
+            deFaixa[l] = l;
+            paraFaixa[l] = l;
+        }
+        for (int de = 0; de < n; de++) {
+            for (int d = -1; d <= 1; d += 2) {
+                int para = de + d;
+                if (para < 0 || para >= n)
+                    continue;
+                for (int k = 1; k <= passos; k++) {
+                    int s = estadoTroca(de, para, k);
+                    deFaixa[s] = de;
+                    paraFaixa[s] = para;
+                    passo[s] = k;
+                }
+            }
+        }
+        atualizaCentros(centros);
+    }
+
+    // Centro X da moto em cada estado (o resize pode mudar as faixas)
+    private void atualizaCentros(float[] centros) {
+        for (int s = 0; s < nEstados; s++) {
+            if (s < laneCount) {
+                xc0[s] = xc1[s] = centros[s];
+                continue;
+            }
+            float de = centros[deFaixa[s]], para = centros[paraFaixa[s]];
+            xc0[s] = para + (de - para) * (float) Math.pow(1f - alfa, passo[s] - 1);
+            xc1[s] = para + (de - para) * (float) Math.pow(1f - alfa, passo[s]);
+        }
+    }
+
+    // Índice do estado "passo k da troca de -> para" (k de 1 a passos)
+    private int estadoTroca(int de, int para, int k) {
+        // Trocas numeradas: 2*de + (0 = esquerda, 1 = direita), ajustado para
+        // faixas das pontas (a faixa 0 não tem troca para a esquerda)
+        int idx = para < de ? 2 * de - 1 : 2 * de;
+        return laneCount + idx * passos + (k - 1);
+    }
+
+    // Estado que melhor descreve a moto agora (x da moto, faixa alvo)
+    private int estadoInicial(float[] centros, int alvo, float xMoto) {
+        float resto = Math.abs(xMoto - centros[alvo]);
+        if (resto <= ASSENTADA_PX)
+            return alvo;
+        int de = xMoto < centros[alvo] ? alvo - 1 : alvo + 1;
+        if (de < 0 || de >= laneCount)
+            return alvo;
+        // Passo k da troca (de -> alvo) cujo resto mais se aproxima do observado
+        float frac = resto / Math.abs(centros[de] - centros[alvo]);
+        int k = 1;
+        float r = 1f - alfa;
+        while (r > frac && k < passos - 1) {
+            r *= 1f - alfa;
+            k++;
+        }
+        return estadoTroca(de, alvo, k);
+    }
+
+    int getFramesAvaliados() {
+        return framesAvaliados;
+    }
+
+    /** Frame (a partir de agora) em que todas as rotas batem; -1 se há rota. */
+    int getFrameDaFalha() {
+        return frameDaFalha;
+    }
+}
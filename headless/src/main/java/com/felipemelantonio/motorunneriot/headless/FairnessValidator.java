@@ -0,0 +1,344 @@
+package com.felipemelantonio.motorunneriot.headless;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.felipemelantonio.motorunneriot.entities.Carro;
+import com.felipemelantonio.motorunneriot.sim.GameSimulation;
+import com.felipemelantonio.motorunneriot.sim.RiderInput;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * FairnessValidator
+ * =================
+ * Validação em massa da IA de spawn: joga milhares de partidas (várias
+ * seeds, fases e históricos de faixa do piloto) e, depois de CADA spawn de
+ * carro (onda do spawnWave ou carro "despertador" do tryForceStickSpawn),
+ * pergunta ao EscapeRouteOracle se ainda existe uma rota de faixas que
+ * escapa de todos os carros na pista.
+ *
+ * A propriedade checada é a que as proteções do spawnWave (paredão com
+ * blockedCount >= laneCount - 1, F1_STREAK_CAP, F23_STREAK_CAP,
+ * STICK_SAFE_FRONT_PX) deveriam garantir: "nenhum spawn cria uma situação
+ * impossível". Só conta como contraexemplo o spawn que QUEBRA a rota: se
+ * mesmo sem os carros novos já não havia saída (o piloto aleatório se
+ * enfiou num beco), o caso é contado à parte e não culpa o spawn.
+ * As partidas rodam em modo invulnerável para que a validação
+ * cubra a fase inteira, não importa o quanto o piloto é ruim.
+ *
+ * Todo contraexemplo sai com fase + seed + frame: rodar de novo com
+ * --replay=FASE:SEED mostra o trânsito no momento da falha.
+ *
+ * Como rodar (a partir da raiz do projeto):
+ * ./gradlew headless:validateFairness --args="--sessions=5000"
+ *
+ * Opções:
+ * --sessions=N partidas POR FASE (padrão 2000)
+ * --phases=1,2,3 fases validadas
+ * --policy=NOME quem pilota (padrão mixed; ver InputPolicies)
+ * --seed=N seed base (mesma regra do BatchSimulator)
+ * --threads=N tamanho do pool (padrão: núcleos disponíveis)
+ * --max-seconds=S limite de tempo simulado por partida (padrão 300)
+ * --width=W --height=H tamanho da tela simulada (padrão 1920x1080)
+ * --deterministic modo de ponto fixo (FixedPoint)
+ * --out=DIR pasta do contraexemplos.csv (padrão sim-out)
+ * --replay=FASE:SEED repete uma partida e detalha o primeiro contraexemplo
+ *
+ * Sai com código 1 se encontrar algum contraexemplo (dá para usar no CI).
+ */
+public final class FairnessValidator {
+
+    // Partidas por tarefa folha do fork-join
+    private static final int TAREFA_MINIMA = 8;
+
+    // Quantos contraexemplos imprimir no console (o CSV tem todos)
+    private static final int MAX_IMPRESSOS = 10;
+
+    private FairnessValidator() {
+    }
+
+    /** Um spawn depois do qual nenhuma rota escapa. */
+    static final class Contraexemplo {
+        final int fase;
+        final long seed;
+        final int frame; // frame da partida logo após o spawn
+        final float tempo; // tempo da fase (s)
+        final String origem; // "onda" ou "forcado"
+        final int carros; // carros na pista
+        final float segundosAteBater; // quando todas as rotas batem
+
+        Contraexemplo(int fase, long seed, int frame, float tempo, String origem, int carros,
+                float segundosAteBater) {
+            this.fase = fase;
+            this.seed = seed;
+            this.frame = frame;
+            this.tempo = tempo;
+            this.origem = origem;
+            this.carros = carros;
+            this.segundosAteBater = segundosAteBater;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int sessions = 2000;
+        int[] phases = { 1, 2, 3 };
+        String policyName = "mixed";
+        long baseSeed = 1L;
+        int threads = Runtime.getRuntime().availableProcessors();
+        float maxSeconds = 300f;
+        float width = 1920f, height = 1080f;
+        boolean deterministic = false;
+        String out = "sim-out";
+        String replay = null;
+
+        for (String arg : args) {
+            if (arg.startsWith("--sessions="))
+                sessions = Integer.parseInt(valor(arg));
+            else if (arg.startsWith("--phases="))
+                phases = parseFases(valor(arg));
+            else if (arg.startsWith("--policy="))
+                policyName = valor(arg);
+            else if (arg.startsWith("--seed="))
+                baseSeed = Long.parseLong(valor(arg));
+            else if (arg.startsWith("--threads="))
+                threads = Integer.parseInt(valor(arg));
+            else if (arg.startsWith("--max-seconds="))
+                maxSeconds = Float.parseFloat(valor(arg));
+            else if (arg.startsWith("--width="))
+                width = Float.parseFloat(valor(arg));
+            else if (arg.startsWith("--height="))
+                height = Float.parseFloat(valor(arg));
+            else if (arg.equals("--deterministic"))
+                deterministic = true;
+            else if (arg.startsWith("--out="))
+                out = valor(arg);
+            else if (arg.startsWith("--replay="))
+                replay = valor(arg);
+            else {
+                System.err.println("Opção desconhecida: " + arg);
+                System.exit(2);
+            }
+        }
+
+        LongFunction<RiderInput> policy = InputPolicies.byName(policyName);
+        if (policy == null) {
+            System.err.println("Política desconhecida: " + policyName + " (use: " + InputPolicies.NOMES + ")");
+            System.exit(2);
+        }
+
+        HeadlessBootstrap.init();
+        SessionRunner runner = new SessionRunner(width, height, 1f / 60f, maxSeconds, deterministic);
+        int maxFrames = (int) Math.ceil(maxSeconds / runner.getDt());
+
+        if (replay != null) {
+            String[] partes = replay.split(":");
+            int fase = Integer.parseInt(partes[0]);
+            long seed = Long.parseLong(partes[1]);
+            Contraexemplo c = valida(runner, fase, seed, policy.apply(seed), maxFrames,
+                    new EscapeRouteOracle(runner.getDt()), new LongAdder(), new LongAdder(), true);
+            if (c == null)
+                System.out.println("Fase " + fase + ", seed " + seed + ": nenhum contraexemplo");
+            System.exit(c == null ? 0 : 1);
+        }
+
+        int total = sessions * phases.length;
+        int[] faseDe = new int[total];
+        long[] seedDe = new long[total];
+        for (int p = 0; p < phases.length; p++) {
+            for (int i = 0; i < sessions; i++) {
+                faseDe[p * sessions + i] = phases[p];
+                seedDe[p * sessions + i] = baseSeed + phases[p] * 1_000_000L + i;
+            }
+        }
+
+        System.out.println("Validando " + total + " partidas (" + sessions + " por fase), política "
+                + policyName + ", " + threads + " threads" + (deterministic ? ", determinístico" : ""));
+
+        ConcurrentLinkedQueue<Contraexemplo> achados = new ConcurrentLinkedQueue<>();
+        LongAdder checagens = new LongAdder();
+        LongAdder semRotaAntes = new LongAdder();
+        long inicio = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.invoke(new Lote(runner, policy, maxFrames, faseDe, seedDe, achados, checagens, semRotaAntes, 0, total));
+        } finally {
+            pool.shutdown();
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        List<Contraexemplo> lista = new ArrayList<>(achados);
+        lista.sort((a, b) -> a.fase != b.fase ? Integer.compare(a.fase, b.fase) : Long.compare(a.seed, b.seed));
+
+        Path dir = Paths.get(out);
+        Files.createDirectories(dir);
+        Path csv = dir.resolve("contraexemplos.csv");
+        try (PrintWriter w = new PrintWriter(Files.newBufferedWriter(csv, StandardCharsets.UTF_8))) {
+            w.println("fase,seed,frame,tempo_s,origem,carros,bate_em_s");
+            for (Contraexemplo c : lista)
+                w.printf(Locale.ROOT, "%d,%d,%d,%.3f,%s,%d,%.3f%n", c.fase, c.seed, c.frame, c.tempo,
+                        c.origem, c.carros, c.segundosAteBater);
+        }
+
+        long n = checagens.sum();
+        System.out.printf(Locale.ROOT, "%d spawns checados em %.2f s (%.0f checagens/s); %d já sem rota antes do spawn%n",
+                n, segundos, n / segundos, semRotaAntes.sum());
+        for (int fase : phases) {
+            int ondas = 0, forcados = 0;
+            for (Contraexemplo c : lista) {
+                if (c.fase != fase)
+                    continue;
+                if (c.origem.equals("onda"))
+                    ondas++;
+                else
+                    forcados++;
+            }
+            System.out.printf(Locale.ROOT, "Fase %d: %d partidas com contraexemplo (%d após onda, %d após spawn forçado)%n",
+                    fase, ondas + forcados, ondas, forcados);
+        }
+        for (int i = 0; i < Math.min(MAX_IMPRESSOS, lista.size()); i++) {
+            Contraexemplo c = lista.get(i);
+            System.out.printf(Locale.ROOT, "  --replay=%d:%d  (frame %d, %.2f s, %s, bate em %.2f s)%n",
+                    c.fase, c.seed, c.frame, c.tempo, c.origem, c.segundosAteBater);
+        }
+        System.out.println("CSV em " + csv.toAbsolutePath());
+        System.exit(lista.isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * Joga uma partida (invulnerável) checando a rota de fuga depois de cada
+     * spawn. Para no primeiro contraexemplo.
+     *
+     * @param detalha imprime o trânsito no momento da falha (--replay)
+     * @return o contraexemplo, ou null se todos os spawns deixaram rota
+     */
+    static Contraexemplo valida(SessionRunner runner, int fase, long seed, RiderInput input, int maxFrames,
+            EscapeRouteOracle oracle, LongAdder checagens, LongAdder semRotaAntes, boolean detalha) {
+        GameSimulation sim = runner.newSimulation(fase, seed);
+        sim.setInvulneravel(true);
+        float dt = runner.getDt();
+        int checadas = 0;
+        try {
+            for (int frame = 1; frame <= maxFrames && !sim.isOver(); frame++) {
+                int ondas = sim.getOndas();
+                int gerados = sim.getCarrosGerados();
+                sim.step(dt, input.poll(sim, dt));
+                int novos = sim.getCarrosGerados() - gerados;
+                if (novos == 0 || sim.isFinishing())
+                    continue;
+
+                checadas++;
+                if (oracle.temRota(sim))
+                    continue;
+                if (!oracle.temRota(sim, novos)) {
+                    semRotaAntes.increment(); // já estava sem saída: não é culpa do spawn
+                    continue;
+                }
+                oracle.temRota(sim); // refaz para getFrameDaFalha() ser do cenário com os novos
+                boolean onda = sim.getOndas() != ondas;
+
+                Contraexemplo c = new Contraexemplo(fase, seed, frame, sim.getTempo(),
+                        onda ? "onda" : "forcado", sim.getCarros().size, oracle.getFrameDaFalha() * dt);
+                if (detalha)
+                    imprimeCena(sim, c);
+                return c;
+            }
+            return null;
+        } finally {
+            checagens.add(checadas);
+        }
+    }
+
+    private static void imprimeCena(GameSimulation sim, Contraexemplo c) {
+        Rectangle rm = sim.getMoto().getBounds();
+        System.out.printf(Locale.ROOT,
+                "Contraexemplo: fase %d, seed %d, frame %d (%.2f s), após %s; todas as rotas batem em %.2f s%n",
+                c.fase, c.seed, c.frame, c.tempo, c.origem, c.segundosAteBater);
+        System.out.printf(Locale.ROOT, "Moto: faixa %d, x %.0f, y %.0f, %.0fx%.0f | mundo %.0f px/s (boost x%.2f)%n",
+                sim.getMoto().getCurrentLaneIndex(), rm.x, rm.y, rm.width, rm.height, sim.getWorldSpeed(),
+                sim.getWorldSpeedBoost());
+        for (Carro carro : sim.getCarros()) {
+            Rectangle r = carro.getBounds();
+            System.out.printf(Locale.ROOT, "  carro faixa %d: y %.0f, %.0fx%.0f, velocidade própria %.0f px/s%n",
+                    carro.getLaneIndex(), r.y, r.width, r.height, carro.getVelocidade());
+        }
+        // O que a IA olhou nas últimas decisões (a última é a do spawn da falha)
+        StringBuilder sb = new StringBuilder();
+        sim.getSpawnTrace().imprime(sb, 6);
+        System.out.print("Últimas decisões de spawn:\n" + sb);
+    }
+
+    /**
+     * Lote
+     * ----
+     * Mesma divisão do BatchSimulator: metade/metade até TAREFA_MINIMA. Cada
+     * folha tem o seu EscapeRouteOracle (ele reaproveita arrays).
+     */
+    private static final class Lote extends RecursiveAction {
+        private final SessionRunner runner;
+        private final LongFunction<RiderInput> policy;
+        private final int maxFrames;
+        private final int[] faseDe;
+        private final long[] seedDe;
+        private final ConcurrentLinkedQueue<Contraexemplo> achados;
+        private final LongAdder checagens;
+        private final LongAdder semRotaAntes;
+        private final int de, ate;
+
+        Lote(SessionRunner runner, LongFunction<RiderInput> policy, int maxFrames, int[] faseDe, long[] seedDe,
+                ConcurrentLinkedQueue<Contraexemplo> achados, LongAdder checagens, LongAdder semRotaAntes,
+                int de, int ate) {
+            this.runner = runner;
+            this.policy = policy;
+            this.maxFrames = maxFrames;
+            this.faseDe = faseDe;
+            this.seedDe = seedDe;
+            this.achados = achados;
+            this.checagens = checagens;
+            this.semRotaAntes = semRotaAntes;
+            this.de = de;
+            this.ate = ate;
+        }
+
+        @Override
+        protected void compute() {
+            if (ate - de <= TAREFA_MINIMA) {
+                EscapeRouteOracle oracle = new EscapeRouteOracle(runner.getDt());
+                for (int i = de; i < ate; i++) {
+                    Contraexemplo c = valida(runner, faseDe[i], seedDe[i], policy.apply(seedDe[i]), maxFrames,
+                            oracle, checagens, semRotaAntes, false);
+                    if (c != null)
+                        achados.add(c);
+                }
+                return;
+            }
+            int meio = (de + ate) >>> 1;
+            invokeAll(new Lote(runner, policy, maxFrames, faseDe, seedDe, achados, checagens, semRotaAntes, de, meio),
+                    new Lote(runner, policy, maxFrames, faseDe, seedDe, achados, checagens, semRotaAntes, meio,
+                            ate));
+        }
+    }
+
+    private static String valor(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    private static int[] parseFases(String s) {
+        String[] partes = s.split(",");
+        int[] fases = new int[partes.length];
+        for (int i = 0; i < partes.length; i++)
+            fases[i] = Integer.parseInt(partes[i].trim());
+        return fases;
+    }
+}
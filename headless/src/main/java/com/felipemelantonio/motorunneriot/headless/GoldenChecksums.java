@@ -0,0 +1,157 @@
+package com.felipemelantonio.motorunneriot.headless;
+
+import com.felipemelantonio.motorunneriot.sim.RiderInput;
+import com.felipemelantonio.motorunneriot.utils.DifficultyParams;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+/**
+ * GoldenChecksums
+ * ===============
+ * Confere que o modo determinístico continua dando EXATAMENTE as mesmas
+ * partidas de uma execução para outra (e de uma máquina para outra).
+ *
+ * Joga um conjunto fixo de partidas (seeds fixas, dt fixo de 1/60 s, modo
+ * de ponto fixo, curvas de dificuldade padrão) e compara o número de
+ * frames e o checksum final de cada uma com o arquivo "dourado"
+ * commitado em assets/checksums/golden.csv.
+ *
+ * Se uma mudança alterar a simulação DE PROPÓSITO (curva nova, IA de
+ * spawn nova...), os checksums mudam: rode com --update, confira o diff do
+ * arquivo e commite junto com a mudança.
+ *
+ * Como rodar (a partir da raiz do projeto):
+ * ./gradlew headless:verifyChecksums
+ *
+ * Opções:
+ * --file=ARQ arquivo dourado (padrão checksums/golden.csv, relativo a assets)
+ * --update regrava o arquivo com os valores desta execução
+ *
+ * Sai com código 1 se alguma partida divergir (dá para usar no CI).
+ */
+public final class GoldenChecksums {
+
+    private static final String ARQUIVO_PADRAO = "checksums/golden.csv";
+    private static final float DT = 1f / 60f;
+    private static final float MAX_SEGUNDOS = 300f;
+    private static final long SEED_BASE = 1L;
+
+    // Partidas por fase de cada política (o autopilot joga bem mais tempo)
+    private static final String[] POLITICAS = { "random", "mixed", "autopilot" };
+    private static final int[] PARTIDAS = { 10, 10, 3 };
+
+    private GoldenChecksums() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        String arquivo = ARQUIVO_PADRAO;
+        boolean update = false;
+        for (String arg : args) {
+            if (arg.startsWith("--file="))
+                arquivo = arg.substring("--file=".length());
+            else if (arg.equals("--update"))
+                update = true;
+            else {
+                System.err.println("Opção desconhecida: " + arg);
+                System.exit(2);
+            }
+        }
+
+        HeadlessBootstrap.init();
+        Map<String, String> atual = joga();
+        Path caminho = Paths.get(arquivo);
+
+        if (update) {
+            grava(caminho, atual);
+            System.out.println(atual.size() + " checksums gravados em " + caminho);
+            return;
+        }
+        if (!Files.exists(caminho)) {
+            System.err.println("Arquivo dourado não encontrado: " + caminho + " (gere com --update)");
+            System.exit(2);
+        }
+
+        Map<String, String> dourado = le(caminho);
+        List<String> falhas = new ArrayList<>();
+        for (Map.Entry<String, String> e : dourado.entrySet()) {
+            String obtido = atual.get(e.getKey());
+            if (obtido == null)
+                falhas.add(e.getKey() + ": partida não existe mais no conjunto");
+            else if (!obtido.equals(e.getValue()))
+                falhas.add(e.getKey() + ": esperado " + e.getValue() + ", obtido " + obtido);
+        }
+        for (String chave : atual.keySet())
+            if (!dourado.containsKey(chave))
+                falhas.add(chave + ": partida nova, fora do arquivo (rode com --update)");
+
+        if (falhas.isEmpty()) {
+            System.out.println("OK: " + dourado.size() + " partidas com o checksum dourado");
+            return;
+        }
+        for (String f : falhas)
+            System.out.println("DIVERGIU " + f);
+        System.out.println(falhas.size() + " de " + dourado.size() + " partidas divergiram (JVM "
+                + System.getProperty("java.vm.name") + " " + System.getProperty("java.version") + ", "
+                + System.getProperty("os.name") + "/" + System.getProperty("os.arch") + ")");
+        System.exit(1);
+    }
+
+    /** Joga o conjunto fixo: chave "politica,fase,seed" -> "frames,checksum". */
+    private static Map<String, String> joga() {
+        SessionRunner runner = new SessionRunner(1920f, 1080f, DT, MAX_SEGUNDOS, true);
+        DifficultyParams dificuldade = DifficultyParams.padrao();
+        Map<String, String> resultado = new LinkedHashMap<>();
+        for (int p = 0; p < POLITICAS.length; p++) {
+            LongFunction<RiderInput> politica = InputPolicies.byName(POLITICAS[p]);
+            for (int fase = 1; fase <= 3; fase++) {
+                for (int i = 0; i < PARTIDAS[p]; i++) {
+                    // Mesmas seeds do BatchSimulator (seed + fase * 1000000 + i)
+                    long seed = SEED_BASE + fase * 1_000_000L + i;
+                    SessionResult r = runner.run(fase, seed, politica.apply(seed), dificuldade);
+                    resultado.put(POLITICAS[p] + "," + fase + "," + seed,
+                            r.frames + "," + String.format(Locale.ROOT, "%016x", r.checksum));
+                }
+            }
+        }
+        return resultado;
+    }
+
+    private static Map<String, String> le(Path caminho) throws IOException {
+        Map<String, String> m = new LinkedHashMap<>();
+        for (String linha : Files.readAllLines(caminho, StandardCharsets.UTF_8)) {
+            linha = linha.trim();
+            if (linha.isEmpty() || linha.startsWith("#") || linha.startsWith("politica,"))
+                continue;
+            // politica,fase,seed,frames,checksum
+            String[] c = linha.split(",");
+            if (c.length != 5)
+                throw new IOException("Linha inválida em " + caminho + ": " + linha);
+            m.put(c[0] + "," + c[1] + "," + c[2], c[3] + "," + c[4]);
+        }
+        return m;
+    }
+
+    private static void grava(Path caminho, Map<String, String> valores) throws IOException {
+        if (caminho.getParent() != null)
+            Files.createDirectories(caminho.getParent());
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(caminho, StandardCharsets.UTF_8))) {
+            out.println("# Checksums dourados do modo determinístico (GoldenChecksums).");
+            out.println("# dt = 1/60 s, tela 1920x1080, no máximo 300 s, DifficultyParams.padrao().");
+            out.println("# Gerado com: ./gradlew headless:verifyChecksums --args=\"--update\"");
+            out.println("politica,fase,seed,frames,checksum");
+            for (Map.Entry<String, String> e : valores.entrySet())
+                out.println(e.getKey() + "," + e.getValue());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.felipemelantonio.motorunneriot.headless;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.graphics.GL20;
+
+/**
+ * HarnessGraphics
+ * ===============
+ * Gdx.graphics do ScreenHarness: tamanho de tela fixo (o MockGraphics do
+ * backend headless diz 0 x 0) e passo de tempo fixo, para o Game.render()
+ * entregar sempre o mesmo delta às telas, frame após frame.
+ *
+ * getGL20/setGL20 apontam para o Gdx.gl (o MockGL): o GLProfiler do
+ * overlay F3 se instala trocando o GL20 da Graphics, e o MockGraphics
+ * devolve null e ignora a troca.
+ *
+ * Renderização não contínua (GameOver, LevelComplete): guarda o modo e
+ * os requestRendering() para o ScreenDriver decidir, como o backend de
+ * desktop, se o frame roda ou fica ocioso.
+ */
+final class HarnessGraphics extends MockGraphics {
+
+    private final int largura, altura;
+    private final float dt;
+    private long frame;
+    private boolean continuo = true;
+    private boolean pedido;
+
+    HarnessGraphics(int largura, int altura, float dt) {
+        this.largura = largura;
+        this.altura = altura;
+        this.dt = dt;
+    }
+
+    void proximoFrame() {
+        frame++;
+    }
+
+    @Override
+    public int getWidth() {
+        return largura;
+    }
+
+    @Override
+    public int getHeight() {
+        return altura;
+    }
+
+    @Override
+    public int getBackBufferWidth() {
+        return largura;
+    }
+
+    @Override
+    public int getBackBufferHeight() {
+        return altura;
+    }
+
+    @Override
+    public float getDeltaTime() {
+        return dt;
+    }
+
+    @Override
+    public long getFrameId() {
+        return frame;
+    }
+
+    @Override
+    public GL20 getGL20() {
+        return Gdx.gl20;
+    }
+
+    @Override
+    public void setGL20(GL20 gl20) {
+        Gdx.gl = Gdx.gl20 = gl20;
+    }
+
+    @Override
+    public void setContinuousRendering(boolean continuo) {
+        this.continuo = continuo;
+    }
+
+    @Override
+    public boolean isContinuousRendering() {
+        return continuo;
+    }
+
+    @Override
+    public void requestRendering() {
+        pedido = true;
+    }
+
+    /** Alguém pediu um frame desde a última vez? (e esquece o pedido) */
+    boolean consomePedido() {
+        boolean p = pedido;
+        pedido = false;
+        return p;
+    }
+
+    @Override
+    public int getFramesPerSecond() {
+        return Math.round(1f / dt);
+    }
+}
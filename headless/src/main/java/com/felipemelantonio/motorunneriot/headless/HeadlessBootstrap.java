@@ -0,0 +1,40 @@
+package com.felipemelantonio.motorunneriot.headless;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessFiles;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.felipemelantonio.motorunneriot.entities.Carro;
+import com.felipemelantonio.motorunneriot.entities.Moeda;
+import com.felipemelantonio.motorunneriot.entities.Moto;
+
+/**
+ * HeadlessBootstrap
+ * =================
+ * O mínimo do LibGDX para a GameSimulation rodar sem janela:
+ * - natives (o Pixmap decodifica os PNGs das máscaras de colisão);
+ * - Gdx.files (para achar os PNGs em assets/ ou no classpath).
+ *
+ * Não cria Gdx.graphics nem GL: a simulação não desenha nada.
+ * As máscaras são carregadas aqui, na thread principal, antes de qualquer
+ * partida; depois disso as threads do pool só leem o cache.
+ */
+public final class HeadlessBootstrap {
+
+    private static boolean initialized;
+
+    private HeadlessBootstrap() {
+    }
+
+    public static synchronized void init() {
+        if (initialized)
+            return;
+        GdxNativesLoader.load();
+        if (Gdx.files == null)
+            Gdx.files = new HeadlessFiles();
+
+        Carro.initMasksIfNeeded();
+        Moeda.initMaskIfNeeded();
+        Moto.initMaskIfNeeded();
+        initialized = true;
+    }
+}
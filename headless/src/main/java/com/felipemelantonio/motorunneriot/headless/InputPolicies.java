@@ -0,0 +1,81 @@
+package com.felipemelantonio.motorunneriot.headless;
+
+import com.felipemelantonio.motorunneriot.sim.AutopilotInput;
+import com.felipemelantonio.motorunneriot.sim.RandomRiderInput;
+import com.felipemelantonio.motorunneriot.sim.RiderInput;
+import com.felipemelantonio.motorunneriot.sim.SkilledRiderInput;
+
+import java.util.Random;
+import java.util.function.LongFunction;
+
+/**
+ * InputPolicies
+ * =============
+ * Políticas de input disponíveis no simulador (--policy=NOME).
+ *
+ * Cada política é uma "fábrica": recebe a seed da partida e cria um
+ * RiderInput NOVO (os pilotos podem ter estado, então nunca são
+ * compartilhados entre partidas/threads).
+ */
+public final class InputPolicies {
+
+    // Mistura a seed da partida para o Random do piloto não repetir a
+    // sequência dos sub-fluxos do GameRandom
+    private static final long PILOT_SALT = 0x5DEECE66DL;
+
+    private InputPolicies() {
+    }
+
+    /** Nomes aceitos em --policy. */
+    public static final String NOMES = "idle, random, mixed, autopilot, skilled:H (H de 0 a 1)";
+
+    /**
+     * Política pelo nome, ou null se não existir. O autopilot roda sem
+     * orçamento de tempo (profundidade máxima sempre), então a partida só
+     * depende da seed.
+     */
+    public static LongFunction<RiderInput> byName(String nome) {
+        return byName(nome, 0L);
+    }
+
+    /**
+     * Política pelo nome, ou null se não existir.
+     *
+     * @param autopilotBudgetNanos orçamento por decisão do autopilot
+     *                             (0 = sem limite, reproduzível)
+     */
+    public static LongFunction<RiderInput> byName(String nome, long autopilotBudgetNanos) {
+        if (nome.startsWith("skilled:")) {
+            // Autopilot com horizonte curto e tempo de reação (habilidade 0..1)
+            float habilidade;
+            try {
+                habilidade = Float.parseFloat(nome.substring("skilled:".length()));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            return seed -> new SkilledRiderInput(habilidade);
+        }
+        switch (nome) {
+            case "idle":
+                // Nunca aperta nada: mede o quanto a IA de trânsito derruba
+                // quem fica parado
+                return seed -> RiderInput.NONE;
+            case "random":
+                // Troca de faixa ~0.8x/s e pedala ~1.5x/s, sem olhar o trânsito
+                return seed -> new RandomRiderInput(new Random(seed ^ PILOT_SALT), 0.8f, 1.5f);
+            case "mixed":
+                // Piloto aleatório com taxas sorteadas por partida (de quem
+                // quase não troca de faixa a quem troca o tempo todo): varia o
+                // histórico de faixas que a IA de spawn enxerga
+                return seed -> {
+                    Random r = new Random(seed ^ PILOT_SALT);
+                    return new RandomRiderInput(r, 0.1f + r.nextFloat() * 2.4f, r.nextFloat() * 2f);
+                };
+            case "autopilot":
+                // Olha alguns segundos à frente e escolhe a rota mais segura
+                return seed -> new AutopilotInput(autopilotBudgetNanos);
+            default:
+                return null;
+        }
+    }
+}
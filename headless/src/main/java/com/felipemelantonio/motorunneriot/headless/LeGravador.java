@@ -0,0 +1,150 @@
+package com.felipemelantonio.motorunneriot.headless;
+
+import com.felipemelantonio.motorunneriot.sim.RiderInput;
+import com.felipemelantonio.motorunneriot.utils.GravadorDeVoo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * LeGravador
+ * ==========
+ * Abre um despejo do GravadorDeVoo (gravador-*.bin) e conta o que
+ * aconteceu nos últimos segundos antes dele:
+ * - motivo (manual, orcamento, excecao) e a pilha da exceção, se houver;
+ * - dt por frame (p50/p99/máx) e os frames mais lentos, com a tela, o
+ * tempo de simulação x render, entidades e eventos de cada um;
+ * - contagem dos eventos (ondas, despertadores, moedas, teclas...).
+ *
+ * Como rodar (a partir da raiz do projeto):
+ * ./gradlew headless:leGravador --args="gravador/gravador-20250101-120000-orcamento.bin"
+ *
+ * Opções:
+ * --csv=ARQ escreve todos os frames em CSV (um por linha)
+ * --piores=N quantos frames lentos listar (padrão 10)
+ */
+public final class LeGravador {
+
+    private static final String[] NOMES_EVENTOS = { "esq", "dir", "boost", "onda", "despertador", "recusado",
+            "moeda", "tela", "pausa", "colisao" };
+
+    private LeGravador() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        String arquivo = null, csv = null;
+        int piores = 10;
+        for (String arg : args) {
+            if (arg.startsWith("--csv="))
+                csv = arg.substring("--csv=".length());
+            else if (arg.startsWith("--piores="))
+                piores = Integer.parseInt(arg.substring("--piores=".length()));
+            else if (arg.startsWith("--")) {
+                System.err.println("Opção desconhecida: " + arg);
+                System.exit(2);
+            } else
+                arquivo = arg;
+        }
+        if (arquivo == null) {
+            System.err.println("Uso: LeGravador ARQUIVO.bin [--csv=SAIDA.csv] [--piores=N]");
+            System.exit(2);
+        }
+
+        GravadorDeVoo.Despejo d;
+        try (InputStream in = Files.newInputStream(Paths.get(arquivo))) {
+            d = GravadorDeVoo.le(in);
+        }
+        imprime(d, piores);
+        if (csv != null)
+            escreveCsv(d, Paths.get(csv));
+    }
+
+    static void imprime(GravadorDeVoo.Despejo d, int piores) {
+        System.out.println("Despejo: " + d.motivo + " em "
+                + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.ROOT).format(new Date(d.quando)));
+        if (d.n == 0) {
+            System.out.println("(vazio)");
+            return;
+        }
+        double janela = d.tempo[d.n - 1] / 1e9;
+        System.out.printf(Locale.ROOT, "%d frames em %.1f s | telas: %s%n", d.n, janela, String.join(", ", d.telas));
+        if (!d.erro.isEmpty()) {
+            System.out.println("Exceção:");
+            String[] linhas = d.erro.split("\n");
+            for (int i = 0; i < Math.min(12, linhas.length); i++)
+                System.out.println("  " + linhas[i]);
+        }
+
+        float[] dts = Arrays.copyOf(d.dt, d.n);
+        Arrays.sort(dts);
+        System.out.printf(Locale.ROOT, "dt ms: p50 %.1f | p99 %.1f | máx %.1f%n", dts[d.n / 2] * 1000f,
+                dts[Math.min(d.n - 1, (int) (d.n * 0.99))] * 1000f, dts[d.n - 1] * 1000f);
+
+        int[] contagem = new int[NOMES_EVENTOS.length];
+        for (int i = 0; i < d.n; i++)
+            for (int b = 0; b < NOMES_EVENTOS.length; b++)
+                if ((d.eventos[i] & (1 << b)) != 0)
+                    contagem[b]++;
+        StringBuilder sb = new StringBuilder("Eventos (frames):");
+        for (int b = 0; b < NOMES_EVENTOS.length; b++)
+            sb.append(' ').append(NOMES_EVENTOS[b]).append('=').append(contagem[b]);
+        System.out.println(sb);
+
+        // Frames mais caros (simulação + render), do pior para o melhor
+        Integer[] ordem = new Integer[d.n];
+        for (int i = 0; i < d.n; i++)
+            ordem[i] = i;
+        Arrays.sort(ordem, (a, b) -> Long.compare(custo(d, b), custo(d, a)));
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-6s %9s %8s %8s %8s %-20s %7s %5s %5s %s%n", "frame", "t (s)", "dt ms",
+                "sim ms", "rend ms", "tela", "vel", "carros", "moedas", "eventos");
+        for (int k = 0; k < Math.min(piores, d.n); k++) {
+            int i = ordem[k];
+            System.out.printf(Locale.ROOT, "%-6d %9.3f %8.2f %8.3f %8.3f %-20s %7.1f %5d %5d %s%n", i - d.n + 1,
+                    d.tempo[i] / 1e9, d.dt[i] * 1000f, d.simNanos[i] / 1e6, d.renderNanos[i] / 1e6, d.nomeTela(i),
+                    d.velocidade[i], d.carros[i], d.moedas[i], eventos(d.eventos[i]));
+        }
+        System.out.println("(frame 0 = o último antes do despejo)");
+    }
+
+    private static long custo(GravadorDeVoo.Despejo d, int i) {
+        return (long) d.simNanos[i] + d.renderNanos[i];
+    }
+
+    private static String eventos(int bits) {
+        StringBuilder sb = new StringBuilder();
+        for (int b = 0; b < NOMES_EVENTOS.length; b++) {
+            if ((bits & (1 << b)) == 0)
+                continue;
+            if (sb.length() > 0)
+                sb.append('|');
+            sb.append(NOMES_EVENTOS[b]);
+        }
+        return sb.length() == 0 ? "-" : sb.toString();
+    }
+
+    private static void escreveCsv(GravadorDeVoo.Despejo d, Path saida) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(saida, StandardCharsets.UTF_8))) {
+            out.println("frame,t_s,dt_ms,velocidade,boost,carros,moedas,novos_carros,esq,dir,boost_tecla,eventos,"
+                    + "sim_ms,render_ms,tela");
+            for (int i = 0; i < d.n; i++) {
+                int ev = d.eventos[i];
+                out.printf(Locale.ROOT, "%d,%.6f,%.3f,%.2f,%.4f,%d,%d,%d,%d,%d,%d,%s,%.4f,%.4f,%s%n", i - d.n + 1,
+                        d.tempo[i] / 1e9, d.dt[i] * 1000f, d.velocidade[i], d.boost[i], d.carros[i], d.moedas[i],
+                        d.novosCarros[i], (ev & RiderInput.LEFT) != 0 ? 1 : 0, (ev & RiderInput.RIGHT) != 0 ? 1 : 0,
+                        (ev & RiderInput.BOOST) != 0 ? 1 : 0, eventos(ev & ~7), d.simNanos[i] / 1e6,
+                        d.renderNanos[i] / 1e6, d.nomeTela(i));
+            }
+        }
+        System.out.println("CSV em " + saida);
+    }
+}
@@ -0,0 +1,930 @@
+package com.felipemelantonio.motorunneriot.headless;
+
+import com.badlogic.gdx.graphics.GL20;
+
+import java.nio.Buffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * MockGL
+ * ======
+ * GL20 "de mentira" para rodar as telas de verdade sem janela nem GPU
+ * (ScreenHarness, AllocationGate). Toda chamada glXxx só conta e devolve
+ * um valor neutro.
+ *
+ * O suficiente para o SpriteBatch, o ShapeRenderer, as Textures e as
+ * BitmapFonts do libGDX serem criados e usados:
+ * - glCreateShader/glCreateProgram/glGen* devolvem ids novos (nunca 0,
+ * que o libGDX trata como erro);
+ * - glGetShaderiv/glGetProgramiv respondem "compilou/linkou" (1);
+ * - glCheckFramebufferStatus responde "completo" (FrameBuffers funcionam);
+ * - métodos que devolvem String devolvem "" (logs de shader vazios);
+ * - o resto devolve 0/false.
+ *
+ * É uma classe concreta (e não um java.lang.reflect.Proxy) de propósito:
+ * o Proxy aloca o array de argumentos e "encaixota" ints/floats em TODA
+ * chamada, e isso apareceria como alocação do jogo no AllocationGate.
+ * Aqui nenhuma chamada aloca.
+ *
+ * Também conta as chamadas de desenho (glDrawElements/glDrawArrays), para
+ * o harness mostrar quantos draw calls cada tela faz por frame, e os
+ * objetos GL vivos (glGen/glCreate menos glDelete), para o SoakRunner
+ * achar tela que não libera textura, SpriteBatch ou fonte.
+ */
+final class MockGL implements GL20 {
+
+    private int proximoId = 1;
+    private long drawCalls;
+    private long chamadas;
+    private long objetosVivos; // texturas, buffers, shaders... criados e ainda não apagados
+
+    /** Um GL20 novo (cada instância tem seus contadores). */
+    static MockGL cria() {
+        return new MockGL();
+    }
+
+    GL20 gl() {
+        return this;
+    }
+
+    /** Chamadas de desenho desde o começo. */
+    long getDrawCalls() {
+        return drawCalls;
+    }
+
+    /** Chamadas GL de qualquer tipo desde o começo. */
+    long getChamadas() {
+        return chamadas;
+    }
+
+    /** Objetos GL criados e ainda não apagados. */
+    long getObjetosVivos() {
+        return objetosVivos;
+    }
+
+    // Resposta do glGetShaderiv/glGetProgramiv: "compilou" e "linkou"
+    private static void status(int pname, IntBuffer params) {
+        boolean ok = pname == GL_COMPILE_STATUS || pname == GL_LINK_STATUS;
+        params.put(params.position(), ok ? 1 : 0);
+    }
+
+    // ==================== GL20 ====================
+
+    @Override
+    public void glActiveTexture(int texture) {
+        chamadas++;
+    }
+
+    @Override
+    public void glBindTexture(int target, int texture) {
+        chamadas++;
+    }
+
+    @Override
+    public void glBlendFunc(int sfactor, int dfactor) {
+        chamadas++;
+    }
+
+    @Override
+    public void glClear(int mask) {
+        chamadas++;
+    }
+
+    @Override
+    public void glClearColor(float red, float green, float blue, float alpha) {
+        chamadas++;
+    }
+
+    @Override
+    public void glClearDepthf(float depth) {
+        chamadas++;
+    }
+
+    @Override
+    public void glClearStencil(int s) {
+        chamadas++;
+    }
+
+    @Override
+    public void glColorMask(boolean red, boolean green, boolean blue, boolean alpha) {
+        chamadas++;
+    }
+
+    @Override
+    public void glCompressedTexImage2D(int target, int level, int internalformat, int width, int height, int border, int imageSize, Buffer data) {
+        chamadas++;
+    }
+
+    @Override
+    public void glCompressedTexSubImage2D(int target, int level, int xoffset, int yoffset, int width, int height, int format, int imageSize, Buffer data) {
+        chamadas++;
+    }
+
+    @Override
+    public void glCopyTexImage2D(int target, int level, int internalformat, int x, int y, int width, int height, int border) {
+        chamadas++;
+    }
+
+    @Override
+    public void glCopyTexSubImage2D(int target, int level, int xoffset, int yoffset, int x, int y, int width, int height) {
+        chamadas++;
+    }
+
+    @Override
+    public void glCullFace(int mode) {
+        chamadas++;
+    }
+
+    @Override
+    public void glDeleteTextures(int n, IntBuffer textures) {
+        chamadas++;
+        objetosVivos -= n;
+    }
+
+    @Override
+    public void glDeleteTexture(int texture) {
+        chamadas++;
+        objetosVivos--;
+    }
+
+    @Override
+    public void glDepthFunc(int func) {
+        chamadas++;
+    }
+
+    @Override
+    public void glDepthMask(boolean flag) {
+        chamadas++;
+    }
+
+    @Override
+    public void glDepthRangef(float zNear, float zFar) {
+        chamadas++;
+    }
+
+    @Override
+    public void glDisable(int cap) {
+        chamadas++;
+    }
+
+    @Override
+    public void glDrawArrays(int mode, int first, int count) {
+        chamadas++;
+        drawCalls++;
+    }
+
+    @Override
+    public void glDrawElements(int mode, int count, int type, Buffer indices) {
+        chamadas++;
+        drawCalls++;
+    }
+
+    @Override
+    public void glEnable(int cap) {
+        chamadas++;
+    }
+
+    @Override
+    public void glFinish() {
+        chamadas++;
+    }
+
+    @Override
+    public void glFlush() {
+        chamadas++;
+    }
+
+    @Override
+    public void glFrontFace(int mode) {
+        chamadas++;
+    }
+
+    @Override
+    public void glGenTextures(int n, IntBuffer textures) {
+        chamadas++;
+        objetosVivos += n;
+    }
+
+    @Override
+    public int glGenTexture() {
+        chamadas++;
+        objetosVivos++;
+        return proximoId++;
+    }
+
+    @Override
+    public int glGetError() {
+        chamadas++;
+        return 0;
+    }
+
+    @Override
+    public void glGetIntegerv(int pname, IntBuffer params) {
+        chamadas++;
+    }
+
+    @Override
+    public String glGetString(int name) {
+        chamadas++;
+        return "";
+    }
+
+    @Override
+    public void glHint(int target, int mode) {
+        chamadas++;
+    }
+
+    @Override
+    public void glLineWidth(float width) {
+        chamadas++;
+    }
+
+    @Override
+    public void glPixelStorei(int pname, int param) {
+        chamadas++;
+    }
+
+    @Override
+    public void glPolygonOffset(float factor, float units) {
+        chamadas++;
+    }
+
+    @Override
+    public void glReadPixels(int x, int y, int width, int height, int format, int type, Buffer pixels) {
+        chamadas++;
+    }
+
+    @Override
+    public void glScissor(int x, int y, int width, int height) {
+        chamadas++;
+    }
+
+    @Override
+    public void glStencilFunc(int func, int ref, int mask) {
+        chamadas++;
+    }
+
+    @Override
+    public void glStencilMask(int mask) {
+        chamadas++;
+    }
+
+    @Override
+    public void glStencilOp(int fail, int zfail, int zpass) {
+        chamadas++;
+    }
+
+    @Override
+    public void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, Buffer pixels) {
+        chamadas++;
+    }
+
+    @Override
+    public void glTexParameterf(int target, int pname, float param) {
+        chamadas++;
+    }
+
+    @Override
+    public void glTexSubImage2D(int target, int level, int xoffset, int yoffset, int width, int height, int format, int type, Buffer pixels) {
+        chamadas++;
+    }
+
+    @Override
+    public void glViewport(int x, int y, int width, int height) {
+        chamadas++;
+    }
+
+    @Override
+    public void glAttachShader(int program, int shader) {
+        chamadas++;
+    }
+
+    @Override
+    public void glBindAttribLocation(int program, int index, String name) {
+        chamadas++;
+    }
+
+    @Override
+    public void glBindBuffer(int target, int buffer) {
+        chamadas++;
+    }
+
+    @Override
+    public void glBindFramebuffer(int target, int framebuffer) {
+        chamadas++;
+    }
+
+    @Override
+    public void glBindRenderbuffer(int target, int renderbuffer) {
+        chamadas++;
+    }
+
+    @Override
+    public void glBlendColor(float red, float green, float blue, float alpha) {
+        chamadas++;
+    }
+
+    @Override
+    public void glBlendEquation(int mode) {
+        chamadas++;
+    }
+
+    @Override
+    public void glBlendEquationSeparate(int modeRGB, int modeAlpha) {
+        chamadas++;
+    }
+
+    @Override
+    public void glBlendFuncSeparate(int srcRGB, int dstRGB, int srcAlpha, int dstAlpha) {
+        chamadas++;
+    }
+
+    @Override
+    public void glBufferData(int target, int size, Buffer data, int usage) {
+        chamadas++;
+    }
+
+    @Override
+    public void glBufferSubData(int target, int offset, int size, Buffer data) {
+        chamadas++;
+    }
+
+    @Override
+    public int glCheckFramebufferStatus(int target) {
+        chamadas++;
+        return GL_FRAMEBUFFER_COMPLETE; // FrameBuffer do QuadroEstatico
+    }
+
+    @Override
+    public void glCompileShader(int shader) {
+        chamadas++;
+    }
+
+    @Override
+    public int glCreateProgram() {
+        chamadas++;
+        objetosVivos++;
+        return proximoId++;
+    }
+
+    @Override
+    public int glCreateShader(int type) {
+        chamadas++;
+        objetosVivos++;
+        return proximoId++;
+    }
+
+    @Override
+    public void glDeleteBuffer(int buffer) {
+        chamadas++;
+        objetosVivos--;
+    }
+
+    @Override
+    public void glDeleteBuffers(int n, IntBuffer buffers) {
+        chamadas++;
+        objetosVivos -= n;
+    }
+
+    @Override
+    public void glDeleteFramebuffer(int framebuffer) {
+        chamadas++;
+        objetosVivos--;
+    }
+
+    @Override
+    public void glDeleteFramebuffers(int n, IntBuffer framebuffers) {
+        chamadas++;
+        objetosVivos -= n;
+    }
+
+    @Override
+    public void glDeleteProgram(int program) {
+        chamadas++;
+        objetosVivos--;
+    }
+
+    @Override
+    public void glDeleteRenderbuffer(int renderbuffer) {
+        chamadas++;
+        objetosVivos--;
+    }
+
+    @Override
+    public void glDeleteRenderbuffers(int n, IntBuffer renderbuffers) {
+        chamadas++;
+        objetosVivos -= n;
+    }
+
+    @Override
+    public void glDeleteShader(int shader) {
+        chamadas++;
+        objetosVivos--;
+    }
+
+    @Override
+    public void glDetachShader(int program, int shader) {
+        chamadas++;
+    }
+
+    @Override
+    public void glDisableVertexAttribArray(int index) {
+        chamadas++;
+    }
+
+    @Override
+    public void glDrawElements(int mode, int count, int type, int indices) {
+        chamadas++;
+        drawCalls++;
+    }
+
+    @Override
+    public void glEnableVertexAttribArray(int index) {
+        chamadas++;
+    }
+
+    @Override
+    public void glFramebufferRenderbuffer(int target, int attachment, int renderbuffertarget, int renderbuffer) {
+        chamadas++;
+    }
+
+    @Override
+    public void glFramebufferTexture2D(int target, int attachment, int textarget, int texture, int level) {
+        chamadas++;
+    }
+
+    @Override
+    public int glGenBuffer() {
+        chamadas++;
+        objetosVivos++;
+        return proximoId++;
+    }
+
+    @Override
+    public void glGenBuffers(int n, IntBuffer buffers) {
+        chamadas++;
+        objetosVivos += n;
+    }
+
+    @Override
+    public void glGenerateMipmap(int target) {
+        chamadas++;
+    }
+
+    @Override
+    public int glGenFramebuffer() {
+        chamadas++;
+        objetosVivos++;
+        return proximoId++;
+    }
+
+    @Override
+    public void glGenFramebuffers(int n, IntBuffer framebuffers) {
+        chamadas++;
+        objetosVivos += n;
+    }
+
+    @Override
+    public int glGenRenderbuffer() {
+        chamadas++;
+        objetosVivos++;
+        return proximoId++;
+    }
+
+    @Override
+    public void glGenRenderbuffers(int n, IntBuffer renderbuffers) {
+        chamadas++;
+        objetosVivos += n;
+    }
+
+    @Override
+    public String glGetActiveAttrib(int program, int index, IntBuffer size, IntBuffer type) {
+        chamadas++;
+        return "";
+    }
+
+    @Override
+    public String glGetActiveUniform(int program, int index, IntBuffer size, IntBuffer type) {
+        chamadas++;
+        return "";
+    }
+
+    @Override
+    public void glGetAttachedShaders(int program, int maxcount, Buffer count, IntBuffer shaders) {
+        chamadas++;
+    }
+
+    @Override
+    public int glGetAttribLocation(int program, String name) {
+        chamadas++;
+        return 0;
+    }
+
+    @Override
+    public void glGetBooleanv(int pname, Buffer params) {
+        chamadas++;
+    }
+
+    @Override
+    public void glGetBufferParameteriv(int target, int pname, IntBuffer params) {
+        chamadas++;
+    }
+
+    @Override
+    public void glGetFloatv(int pname, FloatBuffer params) {
+        chamadas++;
+    }
+
+    @Override
+    public void glGetFramebufferAttachmentParameteriv(int target, int attachment, int pname, IntBuffer params) {
+        chamadas++;
+    }
+
+    @Override
+    public void glGetProgramiv(int program, int pname, IntBuffer params) {
+        chamadas++;
+        status(pname, params);
+    }
+
+    @Override
+    public String glGetProgramInfoLog(int program) {
+        chamadas++;
+        return "";
+    }
+
+    @Override
+    public void glGetRenderbufferParameteriv(int target, int pname, IntBuffer params) {
+        chamadas++;
+    }
+
+    @Override
+    public void glGetShaderiv(int shader, int pname, IntBuffer params) {
+        chamadas++;
+        status(pname, params);
+    }
+
+    @Override
+    public String glGetShaderInfoLog(int shader) {
+        chamadas++;
+        return "";
+    }
+
+    @Override
+    public void glGetShaderPrecisionFormat(int shadertype, int precisiontype, IntBuffer range, IntBuffer precision) {
+        chamadas++;
+    }
+
+    @Override
+    public void glGetTexParameterfv(int target, int pname, FloatBuffer params) {
+        chamadas++;
+    }
+
+    @Override
+    public void glGetTexParameteriv(int target, int pname, IntBuffer params) {
+        chamadas++;
+    }
+
+    @Override
+    public void glGetUniformfv(int program, int location, FloatBuffer params) {
+        chamadas++;
+    }
+
+    @Override
+    public void glGetUniformiv(int program, int location, IntBuffer params) {
+        chamadas++;
+    }
+
+    @Override
+    public int glGetUniformLocation(int program, String name) {
+        chamadas++;
+        return 0;
+    }
+
+    @Override
+    public void glGetVertexAttribfv(int index, int pname, FloatBuffer params) {
+        chamadas++;
+    }
+
+    @Override
+    public void glGetVertexAttribiv(int index, int pname, IntBuffer params) {
+        chamadas++;
+    }
+
+    @Override
+    public void glGetVertexAttribPointerv(int index, int pname, Buffer pointer) {
+        chamadas++;
+    }
+
+    @Override
+    public boolean glIsBuffer(int buffer) {
+        chamadas++;
+        return false;
+    }
+
+    @Override
+    public boolean glIsEnabled(int cap) {
+        chamadas++;
+        return false;
+    }
+
+    @Override
+    public boolean glIsFramebuffer(int framebuffer) {
+        chamadas++;
+        return false;
+    }
+
+    @Override
+    public boolean glIsProgram(int program) {
+        chamadas++;
+        return false;
+    }
+
+    @Override
+    public boolean glIsRenderbuffer(int renderbuffer) {
+        chamadas++;
+        return false;
+    }
+
+    @Override
+    public boolean glIsShader(int shader) {
+        chamadas++;
+        return false;
+    }
+
+    @Override
+    public boolean glIsTexture(int texture) {
+        chamadas++;
+        return false;
+    }
+
+    @Override
+    public void glLinkProgram(int program) {
+        chamadas++;
+    }
+
+    @Override
+    public void glReleaseShaderCompiler() {
+        chamadas++;
+    }
+
+    @Override
+    public void glRenderbufferStorage(int target, int internalformat, int width, int height) {
+        chamadas++;
+    }
+
+    @Override
+    public void glSampleCoverage(float value, boolean invert) {
+        chamadas++;
+    }
+
+    @Override
+    public void glShaderBinary(int n, IntBuffer shaders, int binaryformat, Buffer binary, int length) {
+        chamadas++;
+    }
+
+    @Override
+    public void glShaderSource(int shader, String string) {
+        chamadas++;
+    }
+
+    @Override
+    public void glStencilFuncSeparate(int face, int func, int ref, int mask) {
+        chamadas++;
+    }
+
+    @Override
+    public void glStencilMaskSeparate(int face, int mask) {
+        chamadas++;
+    }
+
+    @Override
+    public void glStencilOpSeparate(int face, int fail, int zfail, int zpass) {
+        chamadas++;
+    }
+
+    @Override
+    public void glTexParameterfv(int target, int pname, FloatBuffer params) {
+        chamadas++;
+    }
+
+    @Override
+    public void glTexParameteri(int target, int pname, int param) {
+        chamadas++;
+    }
+
+    @Override
+    public void glTexParameteriv(int target, int pname, IntBuffer params) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform1f(int location, float x) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform1fv(int location, int count, FloatBuffer v) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform1fv(int location, int count, float[] v, int offset) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform1i(int location, int x) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform1iv(int location, int count, IntBuffer v) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform1iv(int location, int count, int[] v, int offset) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform2f(int location, float x, float y) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform2fv(int location, int count, FloatBuffer v) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform2fv(int location, int count, float[] v, int offset) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform2i(int location, int x, int y) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform2iv(int location, int count, IntBuffer v) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform2iv(int location, int count, int[] v, int offset) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform3f(int location, float x, float y, float z) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform3fv(int location, int count, FloatBuffer v) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform3fv(int location, int count, float[] v, int offset) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform3i(int location, int x, int y, int z) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform3iv(int location, int count, IntBuffer v) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform3iv(int location, int count, int[] v, int offset) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform4f(int location, float x, float y, float z, float w) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform4fv(int location, int count, FloatBuffer v) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform4fv(int location, int count, float[] v, int offset) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform4i(int location, int x, int y, int z, int w) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform4iv(int location, int count, IntBuffer v) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniform4iv(int location, int count, int[] v, int offset) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniformMatrix2fv(int location, int count, boolean transpose, FloatBuffer value) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniformMatrix2fv(int location, int count, boolean transpose, float[] value, int offset) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniformMatrix3fv(int location, int count, boolean transpose, FloatBuffer value) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniformMatrix3fv(int location, int count, boolean transpose, float[] value, int offset) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniformMatrix4fv(int location, int count, boolean transpose, FloatBuffer value) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUniformMatrix4fv(int location, int count, boolean transpose, float[] value, int offset) {
+        chamadas++;
+    }
+
+    @Override
+    public void glUseProgram(int program) {
+        chamadas++;
+    }
+
+    @Override
+    public void glValidateProgram(int program) {
+        chamadas++;
+    }
+
+    @Override
+    public void glVertexAttrib1f(int indx, float x) {
+        chamadas++;
+    }
+
+    @Override
+    public void glVertexAttrib1fv(int indx, FloatBuffer values) {
+        chamadas++;
+    }
+
+    @Override
+    public void glVertexAttrib2f(int indx, float x, float y) {
+        chamadas++;
+    }
+
+    @Override
+    public void glVertexAttrib2fv(int indx, FloatBuffer values) {
+        chamadas++;
+    }
+
+    @Override
+    public void glVertexAttrib3f(int indx, float x, float y, float z) {
+        chamadas++;
+    }
+
+    @Override
+    public void glVertexAttrib3fv(int indx, FloatBuffer values) {
+        chamadas++;
+    }
+
+    @Override
+    public void glVertexAttrib4f(int indx, float x, float y, float z, float w) {
+        chamadas++;
+    }
+
+    @Override
+    public void glVertexAttrib4fv(int indx, FloatBuffer values) {
+        chamadas++;
+    }
+
+    @Override
+    public void glVertexAttribPointer(int indx, int size, int type, boolean normalized, int stride, Buffer buffer) {
+        chamadas++;
+    }
+
+    @Override
+    public void glVertexAttribPointer(int indx, int size, int type, boolean normalized, int stride, int ptr) {
+        chamadas++;
+    }
+}
@@ -0,0 +1,160 @@
+package com.felipemelantonio.motorunneriot.headless;
+
+import com.felipemelantonio.motorunneriot.sim.Cenario;
+import com.felipemelantonio.motorunneriot.sim.GameSimulation;
+import com.felipemelantonio.motorunneriot.sim.ScriptedRiderInput;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * ScenarioRunner
+ * ==============
+ * Joga os cenários roteirizados (Cenario, arquivos .json em
+ * assets/cenarios) e confere o "espera" de cada um: é a bateria de
+ * regressão das situações de trânsito conhecidas (paredão, troca fechada,
+ * coleta de moedas...).
+ *
+ * Cada cenário roda em passos fixos de 1/60 s até a "duracao" ou até a
+ * partida acabar. Com --repeat=N ele é jogado N vezes: serve de carga fixa
+ * para medir tempo por frame e também confere que todas as repetições
+ * dão o MESMO checksum (o cenário é reproduzível).
+ *
+ * Como rodar (a partir da raiz do projeto):
+ * ./gradlew headless:runScenarios
+ *
+ * Opções:
+ * --dir=PASTA pasta dos cenários (padrão cenarios, relativa a assets)
+ * --scenario=ARQUIVO roda só este arquivo
+ * --repeat=N repetições por cenário (padrão 1)
+ * --deterministic modo de ponto fixo (FixedPoint)
+ *
+ * Sai com código 1 se algum cenário falhar (dá para usar no CI).
+ */
+public final class ScenarioRunner {
+
+    private static final float DT = 1f / 60f;
+
+    private ScenarioRunner() {
+    }
+
+    /** Uma partida de um cenário. */
+    static final class Jogada {
+        GameSimulation sim;
+        int frames;
+        float instante; // quando chegou no estado final (ou a duração jogada)
+        long nanos;
+    }
+
+    /** Joga um cenário do começo ao fim (ou até a partida acabar). */
+    static Jogada joga(Cenario cenario, boolean deterministic) {
+        Jogada j = new Jogada();
+        GameSimulation sim = cenario.criaSimulacao(deterministic);
+        ScriptedRiderInput entrada = cenario.criaEntrada();
+        int maxFrames = Math.round(cenario.getDuracao() / DT);
+        long t0 = System.nanoTime();
+        while (j.frames < maxFrames && !sim.isOver()) {
+            sim.step(DT, entrada.poll(sim, DT));
+            j.frames++;
+        }
+        j.nanos = System.nanoTime() - t0;
+        j.sim = sim;
+        j.instante = j.frames * DT;
+        return j;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String dir = Cenario.PASTA;
+        String unico = null;
+        int repeat = 1;
+        boolean deterministic = false;
+
+        for (String arg : args) {
+            if (arg.startsWith("--dir="))
+                dir = valor(arg);
+            else if (arg.startsWith("--scenario="))
+                unico = valor(arg);
+            else if (arg.startsWith("--repeat="))
+                repeat = Math.max(1, Integer.parseInt(valor(arg)));
+            else if (arg.equals("--deterministic"))
+                deterministic = true;
+            else {
+                System.err.println("Opção desconhecida: " + arg);
+                System.exit(2);
+            }
+        }
+
+        HeadlessBootstrap.init();
+
+        List<Path> arquivos = new ArrayList<>();
+        if (unico != null) {
+            arquivos.add(Paths.get(unico));
+        } else {
+            try (DirectoryStream<Path> ds = Files.newDirectoryStream(Paths.get(dir), "*.json")) {
+                for (Path p : ds)
+                    arquivos.add(p);
+            }
+            Collections.sort(arquivos);
+        }
+        if (arquivos.isEmpty()) {
+            System.err.println("Nenhum cenário em " + dir);
+            System.exit(2);
+        }
+
+        System.out.printf(Locale.ROOT, "%-24s %4s %6s %-12s %7s %6s %10s %18s  %s%n",
+                "cenário", "fase", "frames", "estado", "t (s)", "moedas", "µs/frame", "checksum", "resultado");
+        int falhas = 0;
+        for (Path arquivo : arquivos) {
+            Cenario cenario;
+            try {
+                cenario = Cenario.carrega(arquivo);
+            } catch (IOException | RuntimeException e) {
+                System.out.printf(Locale.ROOT, "%-24s ERRO ao carregar: %s%n", arquivo.getFileName(), e.getMessage());
+                falhas++;
+                continue;
+            }
+
+            Jogada primeira = joga(cenario, deterministic);
+            long checksum = primeira.sim.getChecksum().value();
+            long nanos = primeira.nanos, frames = primeira.frames;
+            String problema = cenario.confere(primeira.sim, primeira.instante);
+
+            for (int r = 1; r < repeat && problema == null; r++) {
+                Jogada j = joga(cenario, deterministic);
+                nanos += j.nanos;
+                frames += j.frames;
+                if (j.sim.getChecksum().value() != checksum)
+                    problema = String.format(Locale.ROOT, "repetição %d deu outro checksum (%016x)",
+                            r + 1, j.sim.getChecksum().value());
+            }
+
+            String resultado = problema != null ? "FALHOU: " + problema
+                    : cenario.temEspera() ? "ok" : "ok (sem espera)";
+            if (problema != null)
+                falhas++;
+            System.out.printf(Locale.ROOT, "%-24s %4d %6d %-12s %7.2f %6d %10.1f   %016x  %s%n",
+                    cenario.getNome(), cenario.getFase(), primeira.frames, primeira.sim.getEstado(),
+                    primeira.instante, primeira.sim.getMoedasColetadas(),
+                    nanos / 1000.0 / Math.max(1, frames), checksum, resultado);
+        }
+
+        System.out.println();
+        if (falhas > 0) {
+            System.out.println("FALHOU: " + falhas + " de " + arquivos.size() + " cenários");
+            System.exit(1);
+        }
+        System.out.println("OK: " + arquivos.size() + " cenários");
+        System.exit(0);
+    }
+
+    private static String valor(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+}
@@ -0,0 +1,221 @@
+package com.felipemelantonio.motorunneriot.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.FloatArray;
+import com.felipemelantonio.motorunneriot.MotoRunnerGame;
+import com.felipemelantonio.motorunneriot.utils.GravadorDeVoo;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * ScreenDriver
+ * ============
+ * Roda o MotoRunnerGame DE VERDADE (MenuScreen, GameScreen, etc.) sem
+ * janela, um frame por vez, na thread de quem chama:
+ * - backend headless do libGDX para Gdx.app/files/audio (o loop dele fica
+ * desligado: quem chama render() é o driver);
+ * - MockGL no lugar da GPU, HarnessGraphics com tela e dt fixos;
+ * - ScriptedInput no lugar do teclado.
+ *
+ * Cada frame é medido em tempo de CPU e bytes alocados da thread
+ * (ThreadMXBean) e somado na tela que estava ativa quando o frame começou.
+ *
+ * Com a renderização não contínua ligada por uma tela, o driver faz o
+ * que o backend de desktop faz: o frame só roda se chegou input ou se
+ * alguém chamou requestRendering(); senão ele fica "ocioso" (o tempo
+ * passa, nada é desenhado) e entra só na contagem de ociosos da tela.
+ *
+ * Só pode existir um por JVM (o libGDX guarda tudo em Gdx.*).
+ */
+final class ScreenDriver {
+
+    private final MotoRunnerGame game;
+    private final ScriptedInput input = new ScriptedInput();
+    private final HarnessGraphics graphics;
+    private final MockGL gl = MockGL.cria();
+    // A versão com.sun.management tem o contador de bytes alocados por thread
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final Map<String, Medidas> porTela = new LinkedHashMap<>();
+    private long frames;
+    private long ultimoCpuNanos;
+    private long ultimoBytes;
+    private boolean guardaMedidas = true;
+
+    /** Medidas de uma tela: CPU (µs) e alocação (bytes) por frame, draw calls. */
+    static final class Medidas {
+        final FloatArray cpuMicros = new FloatArray();
+        final FloatArray bytes = new FloatArray();
+        long drawCalls;
+        long ociosos; // frames sem render (renderização não contínua)
+
+        int frames() {
+            return cpuMicros.size;
+        }
+    }
+
+    ScreenDriver(int largura, int altura, float dt) {
+        HeadlessApplicationConfiguration cfg = new HeadlessApplicationConfiguration();
+        cfg.updatesPerSecond = -1; // sem loop próprio: o render() é nosso
+        new HeadlessApplication(new ApplicationAdapter() {
+        }, cfg);
+
+        graphics = new HarnessGraphics(largura, altura, dt);
+        Gdx.graphics = graphics;
+        Gdx.gl = Gdx.gl20 = gl.gl();
+        Gdx.gl30 = null;
+        Gdx.input = input;
+        // O MockGL não conhece os uniforms dos shaders: sem isso o
+        // SpriteBatch reclamaria de "u_projTrans" não encontrado
+        ShaderProgram.pedantic = false;
+
+        if (threads.isCurrentThreadCpuTimeSupported())
+            threads.setThreadCpuTimeEnabled(true);
+        if (threads.isThreadAllocatedMemorySupported())
+            threads.setThreadAllocatedMemoryEnabled(true);
+
+        // Frame lento aqui é JIT/GL falso, não engasgo: as ferramentas só
+        // despejam o GravadorDeVoo quando pedem (F5)
+        GravadorDeVoo.setOrcamentoMs(0);
+
+        game = new MotoRunnerGame();
+        game.create();
+    }
+
+    /** Joga um frame (input agendado vale para este frame). */
+    void frame() {
+        input.proximoFrame();
+        graphics.proximoFrame();
+        Medidas m = porTela.computeIfAbsent(nomeDaTela(), k -> new Medidas());
+        // pedido de frame é consumido sempre, como no backend
+        boolean pedido = graphics.consomePedido();
+        if (!graphics.isContinuousRendering() && !pedido && !input.temEvento()) {
+            m.ociosos++;
+            ultimoCpuNanos = 0;
+            ultimoBytes = 0;
+            frames++;
+            return;
+        }
+        long draws0 = gl.getDrawCalls();
+        long bytes0 = threads.getCurrentThreadAllocatedBytes();
+        long cpu0 = threads.getCurrentThreadCpuTime();
+        game.render();
+        ultimoCpuNanos = threads.getCurrentThreadCpuTime() - cpu0;
+        ultimoBytes = threads.getCurrentThreadAllocatedBytes() - bytes0;
+        if (guardaMedidas) {
+            m.cpuMicros.add(ultimoCpuNanos / 1000f);
+            m.bytes.add(ultimoBytes);
+        }
+        m.drawCalls += gl.getDrawCalls() - draws0;
+        frames++;
+    }
+
+    void frames(int n) {
+        for (int i = 0; i < n; i++)
+            frame();
+    }
+
+    /**
+     * Joga frames até a condição valer (ou maxFrames).
+     *
+     * @return quantos frames foram jogados, ou -1 se a condição não valeu
+     */
+    int ate(Predicate<Screen> condicao, int maxFrames) {
+        for (int i = 0; i < maxFrames; i++) {
+            if (condicao.test(game.getScreen()))
+                return i;
+            frame();
+        }
+        return condicao.test(game.getScreen()) ? maxFrames : -1;
+    }
+
+    /** Aperta uma tecla (ou várias no MESMO frame) e joga o frame em que são lidas. */
+    void aperta(int... teclas) {
+        for (int tecla : teclas)
+            input.aperta(tecla);
+        frame();
+    }
+
+    Screen tela() {
+        return game.getScreen();
+    }
+
+    MotoRunnerGame jogo() {
+        return game;
+    }
+
+    ScriptedInput input() {
+        return input;
+    }
+
+    long getFrames() {
+        return frames;
+    }
+
+    /** CPU da thread gasta no último frame (ns). */
+    long getUltimoCpuNanos() {
+        return ultimoCpuNanos;
+    }
+
+    /** Bytes alocados pela thread no último frame. */
+    long getUltimoBytes() {
+        return ultimoBytes;
+    }
+
+    /**
+     * Liga/desliga o histórico por frame das Medidas (ligado por padrão).
+     * Execuções longas (SoakRunner) desligam: senão o próprio histórico
+     * cresce o heap a cada frame e parece vazamento do jogo.
+     */
+    void setGuardaMedidas(boolean guarda) {
+        this.guardaMedidas = guarda;
+    }
+
+    /** Objetos GL (texturas, buffers, shaders) criados e ainda não apagados. */
+    long getObjetosGlVivos() {
+        return gl.getObjetosVivos();
+    }
+
+    Map<String, Medidas> getMedidas() {
+        return porTela;
+    }
+
+    private String nomeDaTela() {
+        Screen s = game.getScreen();
+        return s == null ? "(nenhuma)" : s.getClass().getSimpleName();
+    }
+
+    /** Tabela de CPU e alocação por frame de cada tela. */
+    void imprimeMedidas(PrintStream out) {
+        out.printf(Locale.ROOT, "%-22s %7s %10s %10s %10s %10s %10s %8s %8s%n",
+                "tela", "frames", "média µs", "p50 µs", "p99 µs", "máx µs", "B/frame", "draws/f", "ociosos");
+        for (Map.Entry<String, Medidas> e : porTela.entrySet()) {
+            Medidas m = e.getValue();
+            Distribution d = new Distribution(m.cpuMicros.toArray());
+            Distribution b = new Distribution(m.bytes.toArray());
+            out.printf(Locale.ROOT, "%-22s %7d %10.1f %10.1f %10.1f %10.1f %10.0f %8.1f %8d%n",
+                    e.getKey(), m.frames(), d.media(), d.percentil(50), d.percentil(99), d.max(),
+                    b.media(), (double) m.drawCalls / Math.max(1, m.frames()), m.ociosos);
+        }
+    }
+
+    /** Libera a tela atual e desliga o backend. */
+    void encerra() {
+        Screen s = game.getScreen();
+        if (s != null) {
+            s.hide();
+            s.dispose();
+        }
+        Gdx.app.exit();
+    }
+}
@@ -0,0 +1,443 @@
+package com.felipemelantonio.motorunneriot.headless;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.Screen;
+import com.felipemelantonio.motorunneriot.screens.GameOverScreen;
+import com.felipemelantonio.motorunneriot.screens.GameScreen;
+import com.felipemelantonio.motorunneriot.screens.LevelCompleteScreen;
+import com.felipemelantonio.motorunneriot.screens.LevelSelectScreen;
+import com.felipemelantonio.motorunneriot.screens.MenuScreen;
+import com.felipemelantonio.motorunneriot.screens.PerfOverlay;
+import com.felipemelantonio.motorunneriot.utils.FrameTimeline;
+import com.felipemelantonio.motorunneriot.utils.GameRandom;
+import com.felipemelantonio.motorunneriot.utils.GravadorDeVoo;
+import com.felipemelantonio.motorunneriot.utils.MetricasHttp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+
+/**
+ * ScreenHarness
+ * =============
+ * Teste de integração das TELAS de verdade (não só da GameSimulation):
+ * sobe o MotoRunnerGame no ScreenDriver (backend headless, GL falso,
+ * teclado roteirizado) e percorre o caminho de um jogador:
+ *
+ * 1. menu com o overlay de desempenho (F3) → seleção de fase → fase 1
+ * 2. pausa e volta (o tempo da partida não anda pausado e a tela
+ * congelada não desenha nada sem input)
+ * 3. liga o piloto automático (F) e espera a fase ser concluída
+ * 4. LevelComplete → R → fase 1 de novo, agora sem ninguém pilotando,
+ * até bater (GameOver); nas duas telas paradas, confere que nada é
+ * desenhado sem input e que o quadro pronto só é refeito no resize
+ * 5. GameOver → ENTER → fase 1 → ESC → menu
+ * 6. menu parado 20 s → modo demonstração → qualquer tecla → menu
+ * 7. menu → seleção → fase 3 com o overlay da IA (F2) por alguns
+ * segundos → ESC → menu
+ *
+ * Em cada passo confere a tela ativa e o estado dela (fase, pausa, etc.).
+ * No final imprime o tempo de CPU por frame de cada tela.
+ *
+ * Como rodar (a partir da raiz do projeto):
+ * ./gradlew headless:screenHarness
+ *
+ * Opções:
+ * --seed=N seed das partidas (padrão 1; vira -Dmotorunner.seed)
+ * --max-seconds=S limite de tempo de jogo por espera (padrão 300)
+ * --width=W --height=H tamanho da tela (padrão 1920x1080)
+ * --trace=ARQ grava o FrameTimeline da rodada inteira e escreve o JSON
+ * (Chrome Trace Event) em ARQ no final
+ * --metrics sobe o endpoint Prometheus (porta livre em localhost) e, no
+ * final, lê o /metrics por HTTP e confere as partidas contadas
+ *
+ * No fim, aperta F5 e confere o despejo do GravadorDeVoo (gravado numa
+ * pasta temporária, lido de volta com GravadorDeVoo.le).
+ *
+ * Sai com código 1 se algum passo falhar (dá para usar no CI).
+ */
+public final class ScreenHarness {
+
+    private static final float DT = 1f / 60f;
+
+    // Menu abre a demonstração depois de 20 s parado (MenuScreen.IDLE_ATTRACT_S)
+    private static final int FRAMES_ATE_DEMONSTRACAO = (int) (21f / DT);
+
+    private final ScreenDriver driver;
+    private final int maxFrames;
+    private final List<String> falhas = new ArrayList<>();
+
+    private ScreenHarness(ScreenDriver driver, int maxFrames) {
+        this.driver = driver;
+        this.maxFrames = maxFrames;
+    }
+
+    public static void main(String[] args) throws IOException {
+        long seed = 1L;
+        float maxSeconds = 300f;
+        int width = 1920, height = 1080;
+        String trace = null;
+        boolean metricas = false;
+
+        for (String arg : args) {
+            if (arg.startsWith("--seed="))
+                seed = Long.parseLong(valor(arg));
+            else if (arg.startsWith("--max-seconds="))
+                maxSeconds = Float.parseFloat(valor(arg));
+            else if (arg.startsWith("--width="))
+                width = Integer.parseInt(valor(arg));
+            else if (arg.startsWith("--height="))
+                height = Integer.parseInt(valor(arg));
+            else if (arg.startsWith("--trace="))
+                trace = valor(arg);
+            else if (arg.equals("--metrics"))
+                metricas = true;
+            else {
+                System.err.println("Opção desconhecida: " + arg);
+                System.exit(2);
+            }
+        }
+
+        // Seed fixa: a mesma linha de comando joga sempre as mesmas partidas
+        System.setProperty(GameRandom.SEED_PROPERTY, Long.toString(seed));
+        // Despejos do gravador da rodada vão para uma pasta descartável
+        Path pastaGravador = Files.createTempDirectory("gravador");
+        System.setProperty(GravadorDeVoo.DIR_PROPERTY, pastaGravador.toString());
+
+        int porta = metricas ? MetricasHttp.inicia(0) : -1;
+        ScreenDriver driver = new ScreenDriver(width, height, DT);
+        ScreenHarness h = new ScreenHarness(driver, (int) (maxSeconds / DT));
+        if (trace != null) {
+            FrameTimeline.liga(); // thread do driver = thread do jogo
+            FrameTimeline.setHitchMs(0); // a rodada inteira já vai para o --trace
+        }
+        long t0 = System.nanoTime();
+        try {
+            h.roteiro();
+        } catch (RuntimeException e) {
+            h.falhas.add("exceção na tela " + nome(driver.tela()) + ": " + e);
+            e.printStackTrace();
+        }
+        double wall = (System.nanoTime() - t0) / 1e9;
+
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%d frames em %.1f s (seed %d)%n", driver.getFrames(), wall, seed);
+        driver.imprimeMedidas(System.out);
+        if (metricas)
+            h.confereMetricas(porta);
+        h.confereGravador(pastaGravador);
+        driver.encerra();
+        if (trace != null)
+            gravaTrace(Paths.get(trace));
+
+        if (h.falhas.isEmpty()) {
+            System.out.println("OK: todas as telas passaram");
+            System.exit(0);
+        }
+        System.out.println("FALHOU:");
+        for (String f : h.falhas)
+            System.out.println("  - " + f);
+        System.exit(1);
+    }
+
+    // ==================== Roteiro ====================
+
+    private void roteiro() {
+        // 1. Menu → seleção → fase 1
+        driver.frames(30);
+        if (!confere("menu inicial", driver.tela() instanceof MenuScreen))
+            return;
+        PerfOverlay perf = driver.jogo().getPerfOverlay();
+        driver.aperta(Input.Keys.F3);
+        confere("F3 liga o overlay de desempenho", perf.isVisivel());
+        driver.frames(30);
+        confere("GLProfiler conta os draw calls do menu", perf.getDrawCallsPorFrame() > 0f);
+        for (int i = 0; i < 3; i++)
+            System.out.println("         " + perf.getLinha(i));
+        driver.aperta(Input.Keys.F3);
+        confere("F3 de novo desliga o overlay", !perf.isVisivel());
+        driver.aperta(Input.Keys.ENTER);
+        if (!confere("ENTER no menu abre a seleção", driver.tela() instanceof LevelSelectScreen))
+            return;
+        driver.frames(30);
+        // Duas teclas no mesmo frame: só a primeira troca de tela (uma GameScreen
+        // a mais contaria uma partida iniciada que nunca termina)
+        driver.aperta(Input.Keys.NUM_1, Input.Keys.NUM_2);
+        GameScreen jogo = jogo("NUM_1 (+NUM_2 no mesmo frame) na seleção abre só a fase 1", 1);
+        if (jogo == null)
+            return;
+        confere("fase 1 não é demonstração", !jogo.isAttract());
+
+        // 2. Pausa: o tempo da partida não anda
+        driver.frames(60);
+        driver.aperta(Input.Keys.P);
+        confere("P pausa", jogo.isPaused());
+        float tempo = jogo.getSimulation().getTempo();
+        ScreenDriver.Medidas m = driver.getMedidas().get("GameScreen");
+        long ociosos = m.ociosos;
+        driver.frames(60);
+        confere("pausado o tempo não anda", jogo.getSimulation().getTempo() == tempo);
+        // O frame pedido ao pausar desenha o quadro congelado; o resto fica ocioso
+        confere("pausado: quadro congelado uma vez, 59 frames sem render",
+                jogo.getQuadrosCongelados() == 1 && m.ociosos - ociosos == 59);
+        driver.aperta(Input.Keys.F2);
+        driver.aperta(Input.Keys.F2);
+        confere("pausado: F2 desenha sem refazer o quadro", jogo.getQuadrosCongelados() == 1);
+        driver.aperta(Input.Keys.P);
+        confere("P de novo retoma", !jogo.isPaused());
+        confere("fora da pausa a renderização volta a ser contínua", Gdx.graphics.isContinuousRendering());
+
+        // 3. Piloto automático até concluir
+        driver.aperta(Input.Keys.F);
+        confere("F liga o piloto automático", jogo.isAutopilot());
+
+        // HUD: só refaz o layout das linhas cujo número mudou (antes: todas as
+        // 8, com a linha do piloto, em todo frame)
+        long antes = jogo.getHud().getRelayouts();
+        driver.frames(120);
+        long refeitas = jogo.getHud().getRelayouts() - antes;
+        System.out.printf(Locale.ROOT, "HUD: %d linhas refeitas em 120 frames (%.2f por frame)%n", refeitas,
+                refeitas / 120.0);
+        confere("HUD refaz menos da metade das linhas", refeitas < 120 * 8 / 2);
+        if (!espera("piloto automático conclui a fase 1", s -> s instanceof LevelCompleteScreen))
+            return;
+        LevelCompleteScreen fim = (LevelCompleteScreen) driver.tela();
+        confere("LevelComplete é da fase 1", fim.getFase() == 1);
+        confere("distância final positiva", fim.getDistanciaFinal() > 0);
+        telaParada(fim, fim::getQuadrosRefeitos);
+
+        // 4. R → fase 1 sem piloto: bate
+        driver.aperta(Input.Keys.R);
+        jogo = jogo("R no LevelComplete reinicia a fase 1", 1);
+        if (jogo == null)
+            return;
+        confere("reinício começa sem piloto automático", !jogo.isAutopilot());
+        confere("na fase a renderização volta a ser contínua", Gdx.graphics.isContinuousRendering());
+        if (!espera("sem piloto a moto bate", s -> s instanceof GameOverScreen))
+            return;
+        GameOverScreen over = (GameOverScreen) driver.tela();
+        confere("GameOver é da fase 1", over.getFase() == 1);
+        confere("GameOver guarda a distância", over.getDistanciaFinal() > 0f);
+        telaParada(over, over::getQuadrosRefeitos);
+
+        // 5. GameOver → ENTER → fase 1 → ESC → menu
+        driver.aperta(Input.Keys.ENTER);
+        if (jogo("ENTER no GameOver reinicia a fase 1", 1) == null)
+            return;
+        driver.frames(30);
+        driver.aperta(Input.Keys.ESCAPE);
+        if (!confere("ESC na fase volta ao menu", driver.tela() instanceof MenuScreen))
+            return;
+
+        // 6. Menu parado → demonstração → qualquer tecla → menu
+        if (!espera("menu parado abre a demonstração",
+                s -> s instanceof GameScreen && ((GameScreen) s).isAttract(), FRAMES_ATE_DEMONSTRACAO))
+            return;
+        driver.frames(120);
+        driver.aperta(Input.Keys.SPACE);
+        if (!confere("tecla na demonstração volta ao menu", driver.tela() instanceof MenuScreen))
+            return;
+
+        // 7. Fase 3 por alguns segundos
+        driver.aperta(Input.Keys.ENTER);
+        driver.aperta(Input.Keys.NUM_3);
+        jogo = jogo("NUM_3 na seleção abre a fase 3", 3);
+        if (jogo == null)
+            return;
+        driver.aperta(Input.Keys.F2);
+        confere("F2 liga o overlay da IA", jogo.isOverlayIa());
+        driver.frames(300);
+        confere("SpawnTrace registrou as ondas", jogo.getSimulation().getSpawnTrace().total() > 0);
+        if (driver.tela() instanceof GameScreen) {
+            driver.aperta(Input.Keys.ESCAPE);
+            confere("ESC na fase 3 volta ao menu", driver.tela() instanceof MenuScreen);
+        }
+    }
+
+    // ==================== Asserções ====================
+
+    private boolean confere(String passo, boolean ok) {
+        System.out.printf(Locale.ROOT, "[%s] %-45s frame %6d  %s%n",
+                ok ? " ok " : "FAIL", passo, driver.getFrames(), nome(driver.tela()));
+        if (!ok)
+            falhas.add(passo + " (tela: " + nome(driver.tela()) + ")");
+        return ok;
+    }
+
+    private boolean espera(String passo, Predicate<Screen> condicao) {
+        return espera(passo, condicao, maxFrames);
+    }
+
+    private boolean espera(String passo, Predicate<Screen> condicao, int limite) {
+        return confere(passo, driver.ate(condicao, limite) >= 0);
+    }
+
+    /**
+     * GameOver/LevelComplete: sem input, 60 frames passam sem render; teclas
+     * que não trocam de tela (F3 duas vezes) desenham, mas com o quadro
+     * pronto; um resize faz o quadro ser refeito uma vez.
+     */
+    private void telaParada(Screen tela, IntSupplier refeitos) {
+        String nome = nome(tela);
+        confere(nome + " sem renderização contínua", !Gdx.graphics.isContinuousRendering());
+        driver.frame(); // o frame que a tela pediu no show(): desenha o quadro
+        confere(nome + " desenha o quadro no primeiro frame", refeitos.getAsInt() == 1);
+        ScreenDriver.Medidas m = driver.getMedidas().get(nome);
+        long ociosos = m.ociosos;
+        int renders = m.frames();
+        driver.frames(60);
+        confere(nome + " parada: 60 frames sem render", m.ociosos - ociosos == 60 && m.frames() == renders);
+        driver.aperta(Input.Keys.F3);
+        driver.aperta(Input.Keys.F3);
+        confere(nome + " com input desenha o quadro pronto", m.frames() == renders + 2 && refeitos.getAsInt() == 1);
+        tela.resize(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        Gdx.graphics.requestRendering(); // o backend pede um frame no resize
+        driver.frame();
+        confere(nome + " refaz o quadro no resize", refeitos.getAsInt() == 2);
+    }
+
+    /** Confere que a tela ativa é uma GameScreen da fase e a devolve (ou null). */
+    private GameScreen jogo(String passo, int fase) {
+        Screen s = driver.tela();
+        boolean ok = s instanceof GameScreen && ((GameScreen) s).getFase() == fase;
+        return confere(passo, ok) ? (GameScreen) s : null;
+    }
+
+    // ==================== --metrics ====================
+
+    /**
+     * Lê o /metrics como o Prometheus leria e confere as partidas do
+     * roteiro: fase 1 = concluída, batida e largada (ESC); fase 3 = uma
+     * partida encerrada (bate sozinha ou sai no ESC).
+     */
+    private void confereMetricas(int porta) {
+        if (!confere("endpoint de métricas subiu", porta > 0))
+            return;
+        String corpo;
+        try (HttpClient cliente = HttpClient.newHttpClient()) {
+            HttpResponse<String> r = cliente.send(
+                    HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + porta + "/metrics")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            confere("GET /metrics responde 200", r.statusCode() == 200);
+            corpo = r.body();
+        } catch (IOException | InterruptedException e) {
+            falhas.add("GET /metrics: " + e);
+            return;
+        }
+        Map<String, Double> m = new HashMap<>();
+        for (String linha : corpo.split("\n")) {
+            if (linha.isEmpty() || linha.startsWith("#"))
+                continue;
+            int sp = linha.lastIndexOf(' ');
+            m.put(linha.substring(0, sp), Double.parseDouble(linha.substring(sp + 1)));
+        }
+        System.out.println();
+        System.out.println("Métricas (/metrics, " + corpo.length() + " bytes):");
+        for (String k : new String[] { "motorunner_frame_interval_seconds_count",
+                "motorunner_frame_cpu_seconds_bucket{le=\"0.0167\"}",
+                "motorunner_sessions_started_total{phase=\"1\"}", "motorunner_sessions_completed_total{phase=\"1\"}",
+                "motorunner_sessions_crashed_total{phase=\"1\"}", "motorunner_sessions_abandoned_total{phase=\"1\"}",
+                "motorunner_sessions_started_total{phase=\"3\"}", "motorunner_session_distance_meters_sum{phase=\"1\"}",
+                "motorunner_coins_collected_total{phase=\"1\"}", "motorunner_textures", "motorunner_texture_bytes" })
+            System.out.println("  " + k + " = " + m.get(k));
+        String tela = "motorunner_screen_info{screen=\"" + nome(driver.tela()) + "\"}";
+        confere("métricas: " + tela, m.containsKey(tela));
+
+        confere("métricas: frames contados", m.getOrDefault("motorunner_frame_interval_seconds_count", 0.0) > 0);
+        // GameOver/LevelComplete rodam sem renderização contínua: esses frames
+        // contam no tempo de CPU, mas não no intervalo entre frames
+        confere("métricas: frames sem renderização contínua fora do intervalo",
+                m.getOrDefault("motorunner_frame_interval_seconds_count", 0.0) < m.getOrDefault(
+                        "motorunner_frame_cpu_seconds_count", 0.0));
+        confere("métricas: partidas da fase 1 (3 iniciadas, 1 concluída, 1 batida, 1 largada)",
+                m.getOrDefault("motorunner_sessions_started_total{phase=\"1\"}", 0.0) == 3
+                        && m.getOrDefault("motorunner_sessions_completed_total{phase=\"1\"}", 0.0) == 1
+                        && m.getOrDefault("motorunner_sessions_crashed_total{phase=\"1\"}", 0.0) == 1
+                        && m.getOrDefault("motorunner_sessions_abandoned_total{phase=\"1\"}", 0.0) == 1);
+        confere("métricas: fase 3 (1 iniciada, 1 encerrada)",
+                m.getOrDefault("motorunner_sessions_started_total{phase=\"3\"}", 0.0) == 1
+                        && m.getOrDefault("motorunner_session_distance_meters_count{phase=\"3\"}", 0.0) == 1);
+        confere("métricas: texturas vivas", m.getOrDefault("motorunner_texture_bytes", 0.0) > 0);
+    }
+
+    // ==================== GravadorDeVoo ====================
+
+    /**
+     * F5 despeja os últimos segundos; o arquivo tem que voltar inteiro e
+     * ter o que a rodada fez: frames com simulação, teclas e ondas.
+     */
+    private void confereGravador(Path pasta) {
+        driver.aperta(Input.Keys.F5);
+        GravadorDeVoo.aguarda(5000);
+        List<Path> arquivos = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(pasta, "gravador-*-manual.bin")) {
+            ds.forEach(arquivos::add);
+        } catch (IOException e) {
+            falhas.add("gravador: " + e);
+            return;
+        }
+        if (!confere("F5 gravou o despejo do gravador", arquivos.size() == 1))
+            return;
+        GravadorDeVoo.Despejo d;
+        try (InputStream in = Files.newInputStream(arquivos.get(0))) {
+            d = GravadorDeVoo.le(in);
+        } catch (IOException e) {
+            falhas.add("gravador: despejo ilegível: " + e);
+            return;
+        }
+        int comSimulacao = 0, ondas = 0, teclas = 0;
+        for (int i = 0; i < d.n; i++) {
+            if (d.simNanos[i] > 0)
+                comSimulacao++;
+            if ((d.eventos[i] & GravadorDeVoo.ONDA) != 0)
+                ondas++;
+            if ((d.eventos[i] & 7) != 0)
+                teclas++;
+        }
+        System.out.println();
+        System.out.printf(Locale.ROOT, "Gravador: %d frames (%d com simulação, %d com onda, %d com tecla), %d bytes%n",
+                d.n, comSimulacao, ondas, teclas, arquivos.get(0).toFile().length());
+        confere("gravador: janela cheia", d.n == GravadorDeVoo.tamanho());
+        confere("gravador: frames da partida (simulação, ondas e teclas)",
+                comSimulacao > 0 && ondas > 0 && teclas > 0);
+        confere("gravador: último frame na tela atual", nome(driver.tela()).equals(d.nomeTela(d.n - 1)));
+    }
+
+    private static void gravaTrace(Path arquivo) {
+        try {
+            if (arquivo.toAbsolutePath().getParent() != null)
+                Files.createDirectories(arquivo.toAbsolutePath().getParent());
+            try (Writer w = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+                FrameTimeline.escreveJson(w);
+            }
+            System.out.println("Trace (" + FrameTimeline.tamanho() + " intervalos) em " + arquivo);
+        } catch (IOException e) {
+            System.err.println("Falha ao gravar o trace: " + e);
+        }
+    }
+
+    private static String nome(Screen s) {
+        return s == null ? "(nenhuma)" : s.getClass().getSimpleName();
+    }
+
+    private static String valor(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+}
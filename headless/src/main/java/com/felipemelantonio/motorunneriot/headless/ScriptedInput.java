@@ -0,0 +1,126 @@
+package com.felipemelantonio.motorunneriot.headless;
+
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+
+/**
+ * ScriptedInput
+ * =============
+ * Input do libGDX controlado pelo harness em vez do teclado: as telas leem
+ * Gdx.input.isKeyJustPressed(...) como sempre, e quem "aperta" é o
+ * roteiro (ScreenDriver).
+ *
+ * - aperta(tecla): a tecla fica "just pressed" no PRÓXIMO frame e
+ * pressionada só nele (um toque);
+ * - segura(tecla) / solta(tecla): pressionada até soltar;
+ * - toca(x, y): um toque/clique no próximo frame (coordenadas de tela,
+ * origem em cima, como no libGDX).
+ *
+ * proximoFrame() é chamado pelo driver ANTES de cada render(): promove o
+ * que foi agendado para "agora" e limpa o frame anterior.
+ */
+final class ScriptedInput extends MockInput {
+
+    private static final int TECLAS = Input.Keys.MAX_KEYCODE + 1;
+
+    private final boolean[] agendadas = new boolean[TECLAS];
+    private final boolean[] justPressed = new boolean[TECLAS];
+    private final boolean[] seguradas = new boolean[TECLAS];
+    private boolean algumaJust, toqueAgendado, toqueAgora;
+    private int toqueX, toqueY;
+
+    /** Toque de uma tecla no próximo frame. */
+    void aperta(int tecla) {
+        agendadas[tecla] = true;
+    }
+
+    void segura(int tecla) {
+        seguradas[tecla] = true;
+    }
+
+    void solta(int tecla) {
+        seguradas[tecla] = false;
+    }
+
+    /** Toque na tela no próximo frame. */
+    void toca(int x, int y) {
+        toqueAgendado = true;
+        toqueX = x;
+        toqueY = y;
+    }
+
+    /** Começo de um frame: o agendado vira "just pressed"; o resto some. */
+    void proximoFrame() {
+        algumaJust = false;
+        for (int i = 0; i < TECLAS; i++) {
+            justPressed[i] = agendadas[i];
+            algumaJust |= agendadas[i];
+            agendadas[i] = false;
+        }
+        toqueAgora = toqueAgendado;
+        toqueAgendado = false;
+    }
+
+    /**
+     * Chegou tecla ou toque neste frame? (no backend de verdade, é o que
+     * provoca um frame com a renderização não contínua)
+     */
+    boolean temEvento() {
+        return algumaJust || toqueAgora;
+    }
+
+    @Override
+    public boolean isKeyJustPressed(int key) {
+        if (key == Input.Keys.ANY_KEY)
+            return algumaJust;
+        return key >= 0 && key < TECLAS && justPressed[key];
+    }
+
+    @Override
+    public boolean isKeyPressed(int key) {
+        if (key == Input.Keys.ANY_KEY) {
+            if (algumaJust)
+                return true;
+            for (boolean s : seguradas)
+                if (s)
+                    return true;
+            return false;
+        }
+        return key >= 0 && key < TECLAS && (justPressed[key] || seguradas[key]);
+    }
+
+    @Override
+    public boolean justTouched() {
+        return toqueAgora;
+    }
+
+    @Override
+    public boolean isTouched() {
+        return toqueAgora;
+    }
+
+    @Override
+    public boolean isTouched(int pointer) {
+        return pointer == 0 && toqueAgora;
+    }
+
+    @Override
+    public int getX() {
+        return toqueX;
+    }
+
+    @Override
+    public int getX(int pointer) {
+        return toqueX;
+    }
+
+    @Override
+    public int getY() {
+        return toqueY;
+    }
+
+    @Override
+    public int getY(int pointer) {
+        return toqueY;
+    }
+}
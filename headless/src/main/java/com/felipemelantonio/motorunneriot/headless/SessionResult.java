@@ -0,0 +1,35 @@
+package com.felipemelantonio.motorunneriot.headless;
+
+/**
+ * Resultado de UMA partida simulada (uma linha do CSV de sessões).
+ */
+public final class SessionResult {
+
+    /** Como a partida terminou. */
+    public enum Fim {
+        COLISAO, // bateu em um carro
+        CONCLUIDA, // chegou à meta e terminou a animação
+        TEMPO_ESGOTADO // passou do limite de tempo simulado
+    }
+
+    public final int fase;
+    public final long seed;
+    public final Fim fim;
+    public final float tempo; // segundos simulados até o fim (sobrevivência)
+    public final float distancia; // metros
+    public final int moedas;
+    public final int frames;
+    public final long checksum;
+
+    public SessionResult(int fase, long seed, Fim fim, float tempo, float distancia, int moedas,
+            int frames, long checksum) {
+        this.fase = fase;
+        this.seed = seed;
+        this.fim = fim;
+        this.tempo = tempo;
+        this.distancia = distancia;
+        this.moedas = moedas;
+        this.frames = frames;
+        this.checksum = checksum;
+    }
+}
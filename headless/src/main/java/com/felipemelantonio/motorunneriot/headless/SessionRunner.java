@@ -0,0 +1,85 @@
+package com.felipemelantonio.motorunneriot.headless;
+
+import com.felipemelantonio.motorunneriot.sim.GameSimulation;
+import com.felipemelantonio.motorunneriot.sim.RiderInput;
+import com.felipemelantonio.motorunneriot.utils.DifficultyParams;
+import com.felipemelantonio.motorunneriot.utils.GameRandom;
+
+/**
+ * SessionRunner
+ * =============
+ * Joga uma partida inteira da GameSimulation, do início até bater, concluir
+ * a fase ou estourar o limite de tempo, com passo fixo (dt) e o RiderInput
+ * informado.
+ *
+ * Não guarda estado entre partidas: a mesma instância pode ser usada por
+ * várias threads ao mesmo tempo.
+ */
+public final class SessionRunner {
+
+    private final float screenW;
+    private final float screenH;
+    private final float dt;
+    private final float maxSeconds;
+    private final boolean deterministic;
+
+    /**
+     * @param screenW       largura da "tela" simulada (px)
+     * @param screenH       altura da "tela" simulada (px)
+     * @param dt            passo fixo de cada frame (s), ex.: 1/60
+     * @param maxSeconds    limite de tempo simulado por partida (s)
+     * @param deterministic modo de ponto fixo (FixedPoint)
+     */
+    public SessionRunner(float screenW, float screenH, float dt, float maxSeconds, boolean deterministic) {
+        this.screenW = screenW;
+        this.screenH = screenH;
+        this.dt = dt;
+        this.maxSeconds = maxSeconds;
+        this.deterministic = deterministic;
+    }
+
+    /** Cria a partida (sem jogar nenhum frame). */
+    public GameSimulation newSimulation(int fase, long seed) {
+        return newSimulation(fase, seed, DifficultyParams.atual());
+    }
+
+    /** Cria a partida com curvas de dificuldade próprias (DifficultyTuner). */
+    public GameSimulation newSimulation(int fase, long seed, DifficultyParams dificuldade) {
+        return new GameSimulation(fase, new GameRandom(seed), deterministic, screenW, screenH, dificuldade);
+    }
+
+    /** Joga uma partida completa e devolve o resumo. */
+    public SessionResult run(int fase, long seed, RiderInput input) {
+        return run(fase, seed, input, DifficultyParams.atual());
+    }
+
+    /** Joga uma partida completa com as curvas de dificuldade informadas. */
+    public SessionResult run(int fase, long seed, RiderInput input, DifficultyParams dificuldade) {
+        GameSimulation sim = newSimulation(fase, seed, dificuldade);
+        int maxFrames = (int) Math.ceil(maxSeconds / dt);
+        int frames = 0;
+        while (!sim.isOver() && frames < maxFrames) {
+            sim.step(dt, input.poll(sim, dt));
+            frames++;
+        }
+
+        SessionResult.Fim fim;
+        if (sim.getEstado() == GameSimulation.Estado.COLISAO)
+            fim = SessionResult.Fim.COLISAO;
+        else if (sim.getEstado() == GameSimulation.Estado.CONCLUIDA)
+            fim = SessionResult.Fim.CONCLUIDA;
+        else
+            fim = SessionResult.Fim.TEMPO_ESGOTADO;
+
+        return new SessionResult(sim.getFase(), seed, fim, sim.getTempo(), sim.getDistancia(),
+                sim.getMoedasColetadas(), frames, sim.getChecksum().value());
+    }
+
+    public float getMaxSeconds() {
+        return maxSeconds;
+    }
+
+    public float getDt() {
+        return dt;
+    }
+}
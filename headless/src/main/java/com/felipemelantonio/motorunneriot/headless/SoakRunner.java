@@ -0,0 +1,482 @@
+package com.felipemelantonio.motorunneriot.headless;
+
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.felipemelantonio.motorunneriot.screens.GameOverScreen;
+import com.felipemelantonio.motorunneriot.screens.GameScreen;
+import com.felipemelantonio.motorunneriot.screens.LevelCompleteScreen;
+import com.felipemelantonio.motorunneriot.screens.LevelSelectScreen;
+import com.felipemelantonio.motorunneriot.screens.MenuScreen;
+import com.felipemelantonio.motorunneriot.utils.GameRandom;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SoakRunner
+ * ==========
+ * Teste de resistência (soak) para vazamento de memória e de recursos.
+ *
+ * Os totens ficam ligados por dias; cada tela nova carrega texturas, um
+ * SpriteBatch, fontes... e se a tela anterior não for liberada, isso tudo
+ * fica vivo (na GPU e na memória nativa) até o processo morrer. Esta
+ * ferramenta roda as telas de verdade no ScreenDriver e repete milhares de
+ * vezes o ciclo que um totem faz ao longo do dia:
+ * menu → seleção → fase → pausa → GameOver → reinício → menu, com
+ * variações (LevelComplete com piloto automático, reinício pela pausa,
+ * ESC na seleção, modo demonstração depois do menu parado).
+ *
+ * Todo ciclo termina no MenuScreen; a cada --sample-every ciclos (e sempre
+ * no mesmo ponto do roteiro) é tirada uma amostra:
+ * - heap usado depois de um GC completo;
+ * - instâncias vivas de Texture, SpriteBatch, BitmapFont, ShaderProgram,
+ * Mesh e das telas (histograma de classes do GC, via DiagnosticCommand);
+ * - texturas/shaders gerenciados pelo libGDX e objetos GL vivos no
+ * MockGL (glGen/glCreate menos glDelete);
+ * - memória nativa: buffers do BufferUtils (SpriteBatch, Mesh), buffers
+ * diretos da JVM, total do Native Memory Tracking (se a JVM foi iniciada
+ * com -XX:NativeMemoryTracking=summary) e RSS do processo (/proc).
+ *
+ * Critério (a partir da primeira amostra depois do aquecimento):
+ * - contagens (instâncias, objetos GL, bytes do BufferUtils) são exatas no
+ * menu: qualquer valor final acima da referência é vazamento;
+ * - bytes (heap, diretos, NMT) oscilam um pouco: ajusta-se uma reta
+ * (mínimos quadrados) e falha se a inclinação, projetada sobre todos os
+ * ciclos medidos, passar da tolerância de cada métrica;
+ * - RSS só é mostrado (o malloc do sistema não devolve memória na hora).
+ *
+ * Como rodar (a partir da raiz do projeto):
+ * ./gradlew headless:soakTest --args="--cycles=5000"
+ *
+ * Opções:
+ * --cycles=N ciclos completos (padrão 1000)
+ * --warmup=N ciclos antes da amostra de referência (padrão 20)
+ * --sample-every=N ciclos entre amostras (padrão 25)
+ * --heap-tolerance-mb=MB crescimento máximo do heap (padrão 4)
+ * --native-tolerance-mb=MB crescimento máximo de diretos/NMT (padrão 16)
+ * --seed=N seed das partidas (padrão 1)
+ * --out=DIR pasta do soak.csv com todas as amostras (padrão sim-out)
+ */
+public final class SoakRunner {
+
+    private static final float DT = 1f / 60f;
+
+    // Limites de frames de cada etapa do roteiro (60 fps)
+    private static final int MAX_TRANSICAO = 30;
+    private static final int MAX_PARTIDA = 60 * 60 * 3; // fase 3 com piloto automático dura ~2 min
+    private static final int FRAMES_DEMONSTRACAO = 21 * 60; // IDLE_ATTRACT_S do MenuScreen + folga
+
+    /** Classes contadas no histograma do GC (nome curto na tabela). */
+    private static final String[] CLASSES = {
+            "com.badlogic.gdx.graphics.Texture",
+            "com.badlogic.gdx.graphics.g2d.SpriteBatch",
+            "com.badlogic.gdx.graphics.g2d.BitmapFont",
+            "com.badlogic.gdx.graphics.glutils.ShaderProgram",
+            "com.badlogic.gdx.graphics.Mesh",
+            "com.badlogic.gdx.graphics.glutils.ShapeRenderer",
+            "com.felipemelantonio.motorunneriot.screens.MenuScreen",
+            "com.felipemelantonio.motorunneriot.screens.LevelSelectScreen",
+            "com.felipemelantonio.motorunneriot.screens.GameScreen",
+            "com.felipemelantonio.motorunneriot.screens.GameOverScreen",
+            "com.felipemelantonio.motorunneriot.screens.LevelCompleteScreen",
+    };
+
+    // Linha do histograma: " 12:   345   67890  com.exemplo.Classe (java.base@21)"
+    private static final Pattern LINHA_HISTOGRAMA = Pattern.compile("^\\s*\\d+:\\s+(\\d+)\\s+\\d+\\s+(\\S+)");
+    private static final Pattern TOTAL_NMT = Pattern.compile("Total: reserved=(\\d+)KB, committed=(\\d+)KB");
+    private static final Pattern RSS = Pattern.compile("VmRSS:\\s+(\\d+) kB");
+
+    /** Métricas de cada amostra, na ordem das colunas do CSV. */
+    enum Metrica {
+        HEAP("heap_bytes", false),
+        TEXTURE("Texture", true),
+        SPRITE_BATCH("SpriteBatch", true),
+        BITMAP_FONT("BitmapFont", true),
+        SHADER_PROGRAM("ShaderProgram", true),
+        MESH("Mesh", true),
+        SHAPE_RENDERER("ShapeRenderer", true),
+        MENU_SCREEN("MenuScreen", true),
+        LEVEL_SELECT_SCREEN("LevelSelectScreen", true),
+        GAME_SCREEN("GameScreen", true),
+        GAME_OVER_SCREEN("GameOverScreen", true),
+        LEVEL_COMPLETE_SCREEN("LevelCompleteScreen", true),
+        TEXTURAS_GERENCIADAS("gdx_texturas", true),
+        SHADERS_GERENCIADOS("gdx_shaders", true),
+        OBJETOS_GL("gl_objetos", true),
+        BUFFERUTILS("bufferutils_bytes", true),
+        DIRETOS("direct_bytes", false),
+        NMT("nmt_committed_bytes", false),
+        RSS("rss_bytes", false);
+
+        final String coluna;
+        final boolean contagem; // exata: qualquer aumento é vazamento
+
+        Metrica(String coluna, boolean contagem) {
+            this.coluna = coluna;
+            this.contagem = contagem;
+        }
+    }
+
+    private final ScreenDriver driver;
+    private final MBeanServer mbeans = ManagementFactory.getPlatformMBeanServer();
+    private final ObjectName diagnostico;
+    private final List<long[]> amostras = new ArrayList<>();
+    private final List<Integer> ciclosAmostrados = new ArrayList<>();
+    private boolean nmtLigado = true;
+
+    private SoakRunner(ScreenDriver driver) throws Exception {
+        this.driver = driver;
+        driver.setGuardaMedidas(false);
+        this.diagnostico = new ObjectName("com.sun.management:type=DiagnosticCommand");
+    }
+
+    public static void main(String[] args) throws Exception {
+        int cycles = 1000, warmup = 20, sampleEvery = 25;
+        double heapToleranceMb = 4, nativeToleranceMb = 16;
+        long seed = 1L;
+        String out = "sim-out";
+
+        for (String arg : args) {
+            if (arg.startsWith("--cycles="))
+                cycles = Integer.parseInt(valor(arg));
+            else if (arg.startsWith("--warmup="))
+                warmup = Integer.parseInt(valor(arg));
+            else if (arg.startsWith("--sample-every="))
+                sampleEvery = Math.max(1, Integer.parseInt(valor(arg)));
+            else if (arg.startsWith("--heap-tolerance-mb="))
+                heapToleranceMb = Double.parseDouble(valor(arg));
+            else if (arg.startsWith("--native-tolerance-mb="))
+                nativeToleranceMb = Double.parseDouble(valor(arg));
+            else if (arg.startsWith("--seed="))
+                seed = Long.parseLong(valor(arg));
+            else if (arg.startsWith("--out="))
+                out = valor(arg);
+            else {
+                System.err.println("Opção desconhecida: " + arg);
+                System.exit(2);
+            }
+        }
+
+        System.setProperty(GameRandom.SEED_PROPERTY, Long.toString(seed));
+        SoakRunner soak = new SoakRunner(new ScreenDriver(1920, 1080, DT));
+        soak.driver.frames(10); // menu
+
+        long inicio = System.nanoTime();
+        String travou = null;
+        for (int ciclo = 1; ciclo <= cycles && travou == null; ciclo++) {
+            travou = soak.ciclo(ciclo);
+            if (travou != null)
+                travou = "ciclo " + ciclo + ": " + travou;
+            else if (ciclo == warmup || (ciclo > warmup && (ciclo - warmup) % sampleEvery == 0) || ciclo == cycles)
+                soak.amostra(ciclo);
+            if (ciclo % 100 == 0)
+                System.out.printf(Locale.ROOT, "  %d/%d ciclos, %d frames, %.0f s%n",
+                        ciclo, cycles, soak.driver.getFrames(), (System.nanoTime() - inicio) / 1e9);
+        }
+        soak.driver.encerra();
+
+        Path csv = soak.grava(Paths.get(out));
+        System.out.println();
+        System.out.println("Amostras em " + csv);
+        if (travou != null) {
+            System.out.println("FALHOU: roteiro travou no " + travou);
+            System.exit(1);
+        }
+        boolean vazou = soak.relatorio(heapToleranceMb * 1024 * 1024, nativeToleranceMb * 1024 * 1024);
+        if (vazou) {
+            System.out.println("FALHOU: memória ou recursos crescendo a cada ciclo");
+            System.exit(1);
+        }
+        System.out.println("OK: nada cresceu ao longo dos ciclos");
+        System.exit(0);
+    }
+
+    // ==================== Roteiro ====================
+
+    /**
+     * Um ciclo completo, do menu ao menu. Devolve null ou o motivo de o
+     * roteiro ter travado (tela esperada não abriu).
+     */
+    private String ciclo(int n) {
+        int fase = 1 + n % 3;
+        int variacao = n % 4;
+
+        // De vez em quando o menu fica parado até abrir a demonstração
+        if (n % 25 == 0) {
+            if (driver.ate(s -> s instanceof GameScreen, FRAMES_DEMONSTRACAO) < 0)
+                return "demonstração não abriu";
+            driver.frames(60);
+            driver.aperta(Input.Keys.SPACE);
+            if (!espera(MenuScreen.class))
+                return "demonstração não voltou ao menu";
+        }
+
+        driver.frames(3);
+        driver.aperta(Input.Keys.ENTER);
+        if (!espera(LevelSelectScreen.class))
+            return "seleção não abriu";
+        if (n % 5 == 0) {
+            // Desiste na seleção e volta
+            driver.aperta(Input.Keys.ESCAPE);
+            if (!espera(MenuScreen.class))
+                return "ESC na seleção não voltou ao menu";
+            driver.aperta(Input.Keys.ENTER);
+            if (!espera(LevelSelectScreen.class))
+                return "seleção não abriu de novo";
+        }
+        driver.aperta(Input.Keys.NUM_0 + fase);
+        if (!espera(GameScreen.class))
+            return "fase " + fase + " não abriu";
+
+        // Pausa e volta
+        driver.frames(20);
+        driver.aperta(Input.Keys.P);
+        driver.frames(5);
+        driver.aperta(Input.Keys.P);
+
+        switch (variacao) {
+            case 0:
+                // Bate (ninguém pilota), reinicia pelo GameOver, sai com ESC
+                if (!bateOuCompleta())
+                    return "partida não terminou";
+                if (driver.tela() instanceof GameOverScreen) {
+                    driver.aperta(Input.Keys.ENTER);
+                    if (!espera(GameScreen.class))
+                        return "ENTER no GameOver não reiniciou";
+                    driver.frames(30);
+                }
+                return voltaAoMenu();
+            case 1:
+                // Bate e sai direto do GameOver
+                if (!bateOuCompleta())
+                    return "partida não terminou";
+                return voltaAoMenu();
+            case 2:
+                // Reinicia pela pausa
+                driver.aperta(Input.Keys.P);
+                driver.aperta(Input.Keys.R);
+                if (!espera(GameScreen.class))
+                    return "R na pausa não reiniciou";
+                driver.frames(30);
+                return voltaAoMenu();
+            default:
+                // Piloto automático até o fim (LevelComplete, ou GameOver se bater)
+                driver.aperta(Input.Keys.F);
+                if (!bateOuCompleta())
+                    return "partida com piloto automático não terminou";
+                if (driver.tela() instanceof LevelCompleteScreen) {
+                    driver.frames(10);
+                    driver.aperta(Input.Keys.R);
+                    if (!espera(GameScreen.class))
+                        return "R no LevelComplete não reiniciou";
+                    driver.frames(30);
+                }
+                return voltaAoMenu();
+        }
+    }
+
+    // Joga até sair do GameScreen (GameOver ou LevelComplete)
+    private boolean bateOuCompleta() {
+        return driver.ate(s -> s instanceof GameOverScreen || s instanceof LevelCompleteScreen, MAX_PARTIDA) >= 0;
+    }
+
+    private boolean espera(Class<? extends Screen> tela) {
+        Predicate<Screen> chegou = tela::isInstance;
+        return chegou.test(driver.tela()) || driver.ate(chegou, MAX_TRANSICAO) >= 0;
+    }
+
+    // ESC volta ao menu de qualquer tela; na animação de fim de fase ele é
+    // ignorado, então espera ela acabar
+    private String voltaAoMenu() {
+        for (int i = 0; i < MAX_PARTIDA && !(driver.tela() instanceof MenuScreen); i++) {
+            if (driver.tela() instanceof GameScreen && ((GameScreen) driver.tela()).getSimulation().isFinishing())
+                driver.frame();
+            else
+                driver.aperta(Input.Keys.ESCAPE);
+        }
+        return driver.tela() instanceof MenuScreen ? null : "não voltou ao menu";
+    }
+
+    // ==================== Amostras ====================
+
+    private void amostra(int ciclo) throws Exception {
+        driver.frames(2);
+        long[] v = new long[Metrica.values().length];
+
+        // O histograma faz um GC completo antes de contar: o heap lido
+        // logo depois é o "usado depois do GC"
+        Map<String, Long> instancias = histograma();
+        v[Metrica.HEAP.ordinal()] = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        for (int i = 0; i < CLASSES.length; i++)
+            v[Metrica.TEXTURE.ordinal() + i] = instancias.getOrDefault(CLASSES[i], 0L);
+
+        v[Metrica.TEXTURAS_GERENCIADAS.ordinal()] = Texture.getNumManagedTextures();
+        v[Metrica.SHADERS_GERENCIADOS.ordinal()] = ShaderProgram.getNumManagedShaderPrograms();
+        v[Metrica.OBJETOS_GL.ordinal()] = driver.getObjetosGlVivos();
+        v[Metrica.BUFFERUTILS.ordinal()] = BufferUtils.getAllocatedBytesUnsafe();
+        v[Metrica.DIRETOS.ordinal()] = bytesDiretos();
+        v[Metrica.NMT.ordinal()] = nmtCommitted();
+        v[Metrica.RSS.ordinal()] = rss();
+
+        amostras.add(v);
+        ciclosAmostrados.add(ciclo);
+    }
+
+    private Map<String, Long> histograma() throws Exception {
+        String texto = (String) mbeans.invoke(diagnostico, "gcClassHistogram",
+                new Object[] { new String[0] }, new String[] { String[].class.getName() });
+        Map<String, Long> contagem = new HashMap<>();
+        for (String linha : texto.split("\n")) {
+            Matcher m = LINHA_HISTOGRAMA.matcher(linha);
+            if (m.find())
+                contagem.put(m.group(2), Long.parseLong(m.group(1)));
+        }
+        return contagem;
+    }
+
+    private static long bytesDiretos() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class))
+            if ("direct".equals(pool.getName()))
+                return pool.getMemoryUsed();
+        return -1;
+    }
+
+    // Total "committed" do Native Memory Tracking; -1 se a JVM não foi
+    // iniciada com -XX:NativeMemoryTracking=summary
+    private long nmtCommitted() throws Exception {
+        if (!nmtLigado)
+            return -1;
+        String texto = (String) mbeans.invoke(diagnostico, "vmNativeMemory",
+                new Object[] { new String[] { "summary" } }, new String[] { String[].class.getName() });
+        Matcher m = TOTAL_NMT.matcher(texto);
+        if (!m.find()) {
+            nmtLigado = false;
+            return -1;
+        }
+        return Long.parseLong(m.group(2)) * 1024;
+    }
+
+    // Memória residente do processo (Linux); -1 em outros sistemas
+    private static long rss() {
+        try {
+            Matcher m = RSS.matcher(Files.readString(Paths.get("/proc/self/status")));
+            return m.find() ? Long.parseLong(m.group(1)) * 1024 : -1;
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    // ==================== Relatório ====================
+
+    private boolean relatorio(double toleranciaHeap, double toleranciaNativa) {
+        if (amostras.size() < 2) {
+            System.out.println("Poucas amostras para avaliar (aumente --cycles ou diminua --sample-every)");
+            return false;
+        }
+        long[] primeira = amostras.get(0);
+        long[] ultima = amostras.get(amostras.size() - 1);
+        int ciclos = ciclosAmostrados.get(ciclosAmostrados.size() - 1) - ciclosAmostrados.get(0);
+
+        System.out.printf(Locale.ROOT, "%d amostras entre os ciclos %d e %d%n",
+                amostras.size(), ciclosAmostrados.get(0), ciclosAmostrados.get(ciclosAmostrados.size() - 1));
+        System.out.printf(Locale.ROOT, "%-22s %14s %14s %14s %14s  %s%n",
+                "métrica", "referência", "final", "máximo", "tendência", "");
+        boolean vazou = false;
+        for (Metrica m : Metrica.values()) {
+            int i = m.ordinal();
+            if (primeira[i] < 0) {
+                System.out.printf(Locale.ROOT, "%-22s %14s%n", m.coluna, "(indisponível)");
+                continue;
+            }
+            long maximo = Long.MIN_VALUE;
+            for (long[] a : amostras)
+                maximo = Math.max(maximo, a[i]);
+            String veredito;
+            String tendencia;
+            if (m.contagem) {
+                tendencia = m == Metrica.BUFFERUTILS
+                        ? String.format(Locale.ROOT, "%+.2f MB", (ultima[i] - primeira[i]) / (1024.0 * 1024.0))
+                        : String.format(Locale.ROOT, "%+d", ultima[i] - primeira[i]);
+                veredito = ultima[i] > primeira[i] ? "<-- VAZANDO" : "";
+            } else {
+                double projetado = inclinacao(i) * ciclos;
+                tendencia = String.format(Locale.ROOT, "%+.2f MB", projetado / (1024 * 1024));
+                double tolerancia = m == Metrica.HEAP ? toleranciaHeap : toleranciaNativa;
+                if (m == Metrica.RSS)
+                    veredito = "(só informativo)";
+                else
+                    veredito = projetado > tolerancia ? "<-- CRESCENDO" : "";
+            }
+            vazou |= veredito.startsWith("<--");
+            System.out.printf(Locale.ROOT, "%-22s %14s %14s %14s %14s  %s%n",
+                    m.coluna, formata(m, primeira[i]), formata(m, ultima[i]), formata(m, maximo), tendencia, veredito);
+        }
+        return vazou;
+    }
+
+    // Inclinação (unidades por ciclo) da reta de mínimos quadrados da métrica
+    private double inclinacao(int metrica) {
+        int n = amostras.size();
+        double mx = 0, my = 0;
+        for (int k = 0; k < n; k++) {
+            mx += ciclosAmostrados.get(k);
+            my += amostras.get(k)[metrica];
+        }
+        mx /= n;
+        my /= n;
+        double sxy = 0, sxx = 0;
+        for (int k = 0; k < n; k++) {
+            double dx = ciclosAmostrados.get(k) - mx;
+            sxy += dx * (amostras.get(k)[metrica] - my);
+            sxx += dx * dx;
+        }
+        return sxx == 0 ? 0 : sxy / sxx;
+    }
+
+    private static String formata(Metrica m, long valor) {
+        if (m.contagem && m != Metrica.BUFFERUTILS)
+            return Long.toString(valor);
+        return String.format(Locale.ROOT, "%.2f MB", valor / (1024.0 * 1024.0));
+    }
+
+    private Path grava(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Path csv = dir.resolve("soak.csv");
+        try (PrintWriter w = new PrintWriter(Files.newBufferedWriter(csv, StandardCharsets.UTF_8))) {
+            StringBuilder cabecalho = new StringBuilder("ciclo");
+            for (Metrica m : Metrica.values())
+                cabecalho.append(',').append(m.coluna);
+            w.println(cabecalho);
+            for (int k = 0; k < amostras.size(); k++) {
+                StringBuilder linha = new StringBuilder().append(ciclosAmostrados.get(k));
+                for (long v : amostras.get(k))
+                    linha.append(',').append(v);
+                w.println(linha);
+            }
+        }
+        return csv;
+    }
+
+    private static String valor(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+}
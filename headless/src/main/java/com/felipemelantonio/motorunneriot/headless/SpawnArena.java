@@ -0,0 +1,341 @@
+package com.felipemelantonio.motorunneriot.headless;
+
+import com.felipemelantonio.motorunneriot.sim.GameSimulation;
+import com.felipemelantonio.motorunneriot.sim.RiderInput;
+import com.felipemelantonio.motorunneriot.sim.SpawnCommands;
+import com.felipemelantonio.motorunneriot.sim.SpawnStrategies;
+import com.felipemelantonio.motorunneriot.sim.SpawnStrategy;
+import com.felipemelantonio.motorunneriot.sim.SpawnView;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * SpawnArena
+ * ==========
+ * Comparação lado a lado de SpawnStrategy (SpawnStrategies): cada
+ * estratégia joga as MESMAS partidas (fase + seed + piloto) e a tabela
+ * mostra, por fase e piloto:
+ * - dificuldade: % de batidas, tempo de sobrevivência (p50), carros e
+ * spawns forçados por minuto;
+ * - justiça: spawns recusados pela ReachabilityGrid e spawns que deixaram
+ * a moto SEM rota de fuga (EscapeRouteOracle, mesmo critério do
+ * FairnessValidator), por 1000 spawns;
+ * - custo: tempo médio de CPU por decisão (onda, avulsos, moeda). Os
+ * comandos são aplicados na hora, então o tempo inclui criar o carro e
+ * conferi-lo na grade; isso vale igual para todas.
+ *
+ * As partidas não são invulneráveis (a batida faz parte da dificuldade),
+ * e as seeds são as do BatchSimulator: seed + fase * 1000000 + i.
+ *
+ * Como rodar (a partir da raiz do projeto):
+ * ./gradlew headless:spawnArena --args="--strategies=padrao,pressao --sessions=500"
+ *
+ * Opções:
+ * --strategies=a,b,c estratégias comparadas (padrão: todas de SpawnStrategies)
+ * --sessions=N partidas por fase e piloto (padrão 300)
+ * --phases=1,2,3 fases jogadas
+ * --policies=a,b pilotos (InputPolicies; padrão mixed,skilled:0.5)
+ * --seed=N seed base (padrão 1)
+ * --threads=N tamanho do pool (padrão: núcleos disponíveis)
+ * --max-seconds=S limite de tempo simulado por partida (padrão 300)
+ * --width=W --height=H tamanho da tela simulada (padrão 1920x1080)
+ * --deterministic modo de ponto fixo (FixedPoint)
+ * --warmup=N partidas descartadas por estratégia antes de medir, para o
+ * JIT não pesar só na primeira (padrão 20)
+ * --out=DIR pasta do arena.csv (padrão sim-out)
+ */
+public final class SpawnArena {
+
+    private SpawnArena() {
+    }
+
+    /** O que uma partida deixou (só números: junta-se depois por grupo). */
+    static final class Partida {
+        boolean bateu;
+        float tempo;
+        int carros, forcados, rejeitados;
+        int checados, semRota;
+        long nsOnda, nsAvulsos, nsMoeda;
+        int ondas, avulsos, moedas;
+    }
+
+    /**
+     * Cronometro
+     * ----------
+     * Envolve a estratégia medida e soma o tempo de cada chamada (decisão +
+     * comandos aplicados). Uma por partida: não precisa ser thread-safe.
+     */
+    static final class Cronometro implements SpawnStrategy {
+        private final SpawnStrategy alvo;
+        long nsOnda, nsAvulsos, nsMoeda;
+        int ondas, avulsos, moedas;
+
+        Cronometro(SpawnStrategy alvo) {
+            this.alvo = alvo;
+        }
+
+        @Override
+        public String nome() {
+            return alvo.nome();
+        }
+
+        @Override
+        public void reinicia(SpawnView pista) {
+            alvo.reinicia(pista);
+        }
+
+        @Override
+        public void atualiza(SpawnView pista, float dt) {
+            long t0 = System.nanoTime();
+            alvo.atualiza(pista, dt);
+            nsAvulsos += System.nanoTime() - t0;
+        }
+
+        @Override
+        public void onda(SpawnView pista, SpawnCommands comandos) {
+            long t0 = System.nanoTime();
+            alvo.onda(pista, comandos);
+            nsOnda += System.nanoTime() - t0;
+            ondas++;
+        }
+
+        @Override
+        public void avulsos(SpawnView pista, SpawnCommands comandos) {
+            long t0 = System.nanoTime();
+            alvo.avulsos(pista, comandos);
+            nsAvulsos += System.nanoTime() - t0;
+            avulsos++;
+        }
+
+        @Override
+        public void moeda(SpawnView pista, SpawnCommands comandos) {
+            long t0 = System.nanoTime();
+            alvo.moeda(pista, comandos);
+            nsMoeda += System.nanoTime() - t0;
+            moedas++;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String[] strategies = SpawnStrategies.NOMES.toArray(new String[0]);
+        int sessions = 300;
+        int[] phases = { 1, 2, 3 };
+        String[] policies = { "mixed", "skilled:0.5" };
+        long baseSeed = 1L;
+        int threads = Runtime.getRuntime().availableProcessors();
+        float maxSeconds = 300f;
+        float width = 1920f, height = 1080f;
+        boolean deterministic = false;
+        String out = "sim-out";
+        int warmup = 20;
+
+        for (String arg : args) {
+            if (arg.startsWith("--strategies="))
+                strategies = valor(arg).split(",");
+            else if (arg.startsWith("--sessions="))
+                sessions = Integer.parseInt(valor(arg));
+            else if (arg.startsWith("--phases="))
+                phases = BatchSimulator.parseFases(valor(arg));
+            else if (arg.startsWith("--policies="))
+                policies = valor(arg).split(",");
+            else if (arg.startsWith("--seed="))
+                baseSeed = Long.parseLong(valor(arg));
+            else if (arg.startsWith("--threads="))
+                threads = Integer.parseInt(valor(arg));
+            else if (arg.startsWith("--max-seconds="))
+                maxSeconds = Float.parseFloat(valor(arg));
+            else if (arg.startsWith("--width="))
+                width = Float.parseFloat(valor(arg));
+            else if (arg.startsWith("--height="))
+                height = Float.parseFloat(valor(arg));
+            else if (arg.equals("--deterministic"))
+                deterministic = true;
+            else if (arg.startsWith("--warmup="))
+                warmup = Integer.parseInt(valor(arg));
+            else if (arg.startsWith("--out="))
+                out = valor(arg);
+            else {
+                System.err.println("Opção desconhecida: " + arg);
+                System.exit(2);
+            }
+        }
+
+        for (String nome : strategies) {
+            if (!SpawnStrategies.NOMES.contains(nome)) {
+                System.err.println("Estratégia desconhecida: " + nome + " (use: " + SpawnStrategies.NOMES + ")");
+                System.exit(2);
+            }
+        }
+        @SuppressWarnings("unchecked")
+        LongFunction<RiderInput>[] pilotos = new LongFunction[policies.length];
+        for (int p = 0; p < policies.length; p++) {
+            pilotos[p] = InputPolicies.byName(policies[p], 0L);
+            if (pilotos[p] == null) {
+                System.err.println("Política desconhecida: " + policies[p] + " (use: " + InputPolicies.NOMES + ")");
+                System.exit(2);
+            }
+        }
+
+        HeadlessBootstrap.init();
+        SessionRunner runner = new SessionRunner(width, height, 1f / 60f, maxSeconds, deterministic);
+        int maxFrames = (int) Math.ceil(maxSeconds / runner.getDt());
+
+        // Uma tarefa por (estratégia, fase, piloto, partida); grupos contíguos
+        int porGrupo = sessions;
+        int grupos = strategies.length * phases.length * policies.length;
+        Partida[] partidas = new Partida[grupos * porGrupo];
+        String[] estrategiaDe = strategies;
+        int[] fases = phases;
+        long seedBase = baseSeed;
+        ThreadLocal<EscapeRouteOracle> oraculos = ThreadLocal.withInitial(() -> new EscapeRouteOracle(runner.getDt()));
+
+        System.out.println("Arena: " + String.join(", ", strategies) + " | " + sessions + " partidas por fase e piloto ("
+                + String.join(", ", policies) + "), " + threads + " threads" + (deterministic ? ", determinístico" : ""));
+        // Aquecimento: seeds fora da faixa medida, resultados descartados
+        for (String nome : strategies)
+            for (int i = 0; i < warmup; i++)
+                joga(runner, nome, phases[i % phases.length], -1L - i, pilotos[0].apply(-1L - i), maxFrames,
+                        oraculos.get());
+
+        long inicio = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> IntStream.range(0, partidas.length).parallel().forEach(k -> {
+                int g = k / porGrupo, i = k % porGrupo;
+                int e = g / (fases.length * pilotos.length);
+                int f = (g / pilotos.length) % fases.length;
+                int p = g % pilotos.length;
+                long seed = seedBase + fases[f] * 1_000_000L + i;
+                partidas[k] = joga(runner, estrategiaDe[e], fases[f], seed, pilotos[p].apply(seed), maxFrames,
+                        oraculos.get());
+            })).join();
+        } finally {
+            pool.shutdown();
+        }
+        System.out.printf(Locale.ROOT, "%d partidas em %.2f s%n%n", partidas.length, (System.nanoTime() - inicio) / 1e9);
+
+        // ================= Relatório =================
+        Path dir = Paths.get(out);
+        Files.createDirectories(dir);
+        Path csv = dir.resolve("arena.csv");
+        try (PrintWriter w = new PrintWriter(Files.newBufferedWriter(csv, StandardCharsets.UTF_8))) {
+            w.println("estrategia,fase,piloto,partidas,batidas_pct,sobrevivencia_p50_s,carros_por_min,"
+                    + "forcados_por_min,recusados_por_mil,sem_rota_por_mil,ns_onda,ns_avulsos,ns_moeda");
+            for (int f = 0; f < phases.length; f++) {
+                for (int p = 0; p < policies.length; p++) {
+                    System.out.printf(Locale.ROOT, "Fase %d, piloto %s%n", phases[f], policies[p]);
+                    System.out.printf(Locale.ROOT, "  %-10s %8s %9s %8s %9s %11s %10s %9s %9s %9s%n",
+                            "estratégia", "batidas", "sobr p50", "carros/m", "forçad/m", "recus/1000",
+                            "semrota/1k", "ns/onda", "ns/frame", "ns/moeda");
+                    for (int e = 0; e < strategies.length; e++) {
+                        int g = (e * phases.length + f) * policies.length + p;
+                        Linha l = resume(partidas, g * porGrupo, porGrupo);
+                        System.out.printf(Locale.ROOT, "  %-10s %7.1f%% %8.1fs %8.1f %9.2f %11.1f %10.2f %9.0f %9.0f %9.0f%n",
+                                strategies[e], l.batidas, l.sobrevivencia, l.carrosMin, l.forcadosMin, l.recusados,
+                                l.semRota, l.nsOnda, l.nsAvulsos, l.nsMoeda);
+                        w.printf(Locale.ROOT, "%s,%d,%s,%d,%.2f,%.2f,%.2f,%.3f,%.2f,%.3f,%.0f,%.0f,%.0f%n",
+                                strategies[e], phases[f], policies[p], porGrupo, l.batidas, l.sobrevivencia,
+                                l.carrosMin, l.forcadosMin, l.recusados, l.semRota, l.nsOnda, l.nsAvulsos, l.nsMoeda);
+                    }
+                    System.out.println();
+                }
+            }
+        }
+        System.out.println("CSV em " + csv.toAbsolutePath());
+        System.exit(0);
+    }
+
+    /**
+     * Joga uma partida com a estratégia informada, conferindo a rota de
+     * fuga depois de cada frame que criou carro (fora da animação final).
+     */
+    static Partida joga(SessionRunner runner, String estrategia, int fase, long seed, RiderInput input,
+            int maxFrames, EscapeRouteOracle oracle) {
+        GameSimulation sim = runner.newSimulation(fase, seed);
+        Cronometro cronometro = new Cronometro(SpawnStrategies.cria(estrategia));
+        sim.setSpawnStrategy(cronometro);
+        float dt = runner.getDt();
+        Partida r = new Partida();
+        for (int frame = 0; frame < maxFrames && !sim.isOver(); frame++) {
+            int gerados = sim.getCarrosGerados();
+            sim.step(dt, input.poll(sim, dt));
+            int novos = sim.getCarrosGerados() - gerados;
+            if (novos == 0 || sim.isFinishing())
+                continue;
+            r.checados++;
+            // Sem rota agora, mas com rota sem os carros novos: culpa do spawn
+            if (!oracle.temRota(sim) && oracle.temRota(sim, novos))
+                r.semRota++;
+        }
+        r.bateu = sim.getEstado() == GameSimulation.Estado.COLISAO;
+        r.tempo = sim.getTempo();
+        r.carros = sim.getCarrosGerados();
+        r.forcados = sim.getSpawnsForcados();
+        r.rejeitados = sim.getSpawnsRejeitados();
+        r.nsOnda = cronometro.nsOnda;
+        r.nsAvulsos = cronometro.nsAvulsos;
+        r.nsMoeda = cronometro.nsMoeda;
+        r.ondas = cronometro.ondas;
+        r.avulsos = cronometro.avulsos;
+        r.moedas = cronometro.moedas;
+        return r;
+    }
+
+    /** Uma linha da tabela (um grupo de partidas). */
+    static final class Linha {
+        double batidas, sobrevivencia, carrosMin, forcadosMin, recusados, semRota;
+        double nsOnda, nsAvulsos, nsMoeda;
+    }
+
+    private static Linha resume(Partida[] partidas, int de, int n) {
+        Linha l = new Linha();
+        float[] tempos = new float[n];
+        double minutos = 0;
+        long carros = 0, forcados = 0, rejeitados = 0, checados = 0, semRota = 0;
+        long nsOnda = 0, nsAvulsos = 0, nsMoeda = 0, ondas = 0, avulsos = 0, moedas = 0;
+        int bateram = 0;
+        for (int k = 0; k < n; k++) {
+            Partida p = partidas[de + k];
+            tempos[k] = p.tempo;
+            minutos += p.tempo / 60.0;
+            if (p.bateu)
+                bateram++;
+            carros += p.carros;
+            forcados += p.forcados;
+            rejeitados += p.rejeitados;
+            checados += p.checados;
+            semRota += p.semRota;
+            nsOnda += p.nsOnda;
+            nsAvulsos += p.nsAvulsos;
+            nsMoeda += p.nsMoeda;
+            ondas += p.ondas;
+            avulsos += p.avulsos;
+            moedas += p.moedas;
+        }
+        l.batidas = 100.0 * bateram / Math.max(1, n);
+        l.sobrevivencia = new Distribution(tempos).percentil(50);
+        l.carrosMin = carros / Math.max(1e-9, minutos);
+        l.forcadosMin = forcados / Math.max(1e-9, minutos);
+        // Recusados entre todos os pedidos de carro (aceitos + recusados)
+        l.recusados = 1000.0 * rejeitados / Math.max(1, carros + rejeitados);
+        l.semRota = 1000.0 * semRota / Math.max(1, checados);
+        l.nsOnda = (double) nsOnda / Math.max(1, ondas);
+        // atualiza() + avulsos() rodam todo frame: custo por frame de jogo
+        l.nsAvulsos = (double) nsAvulsos / Math.max(1, avulsos);
+        l.nsMoeda = (double) nsMoeda / Math.max(1, moedas);
+        return l;
+    }
+
+    private static String valor(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+}
@@ -3,6 +3,8 @@ package com.felipemelantonio.motorunneriot.lwjgl3;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 import com.felipemelantonio.motorunneriot.MotoRunnerGame;
+import com.felipemelantonio.motorunneriot.utils.GameRandom;
+import com.felipemelantonio.motorunneriot.utils.GravadorDeVoo;
 
 /**
  * Lwjgl3Launcher
@@ -16,6 +18,9 @@ import com.felipemelantonio.motorunneriot.MotoRunnerGame;
  */
 public class Lwjgl3Launcher {
 
+    // Voltas do loop por segundo quando nenhuma tela quer frame (ver setIdleFPS)
+    private static final int IDLE_FPS = 20;
+
     public static void main(String[] args) {
 
         // Essa linha cria uma nova JVM se preciso (suporte a macOS e Windows).
@@ -24,8 +29,24 @@ public class Lwjgl3Launcher {
         if (StartupHelper.startNewJvmIfRequired())
             return;
 
-        // Cria a instância da aplicação e inicia o jogo
-        createApplication();
+        // --seed=N fixa a semente de todas as partidas (mesmo que
+        // -Dmotorunner.seed=N), para reproduzir uma sessão.
+        for (String arg : args) {
+            if (arg.startsWith("--seed="))
+                System.setProperty(GameRandom.SEED_PROPERTY, arg.substring("--seed=".length()));
+        }
+
+        // Cria a instância da aplicação e inicia o jogo.
+        // Uma exceção no loop do jogo sobe até aqui: antes de deixar a JVM
+        // cair, despeja o GravadorDeVoo (os últimos segundos de jogo) e
+        // espera o arquivo ser escrito.
+        try {
+            createApplication();
+        } catch (Throwable t) {
+            if (GravadorDeVoo.despeja("excecao", t))
+                GravadorDeVoo.aguarda(5000);
+            throw t;
+        }
     }
 
     /** Cria a aplicação desktop do LibGDX */
@@ -51,6 +72,12 @@ public class Lwjgl3Launcher {
         configuration.setForegroundFPS(
                 Lwjgl3ApplicationConfiguration.getDisplayMode().refreshRate + 1);
 
+        // Telas paradas (pausa, Game Over, fase concluída) desligam a
+        // renderização contínua: sem frame para desenhar, o loop só confere
+        // teclado/áudio IDLE_FPS vezes por segundo (padrão do libGDX: 60).
+        // Uma tecla nessas telas leva no máximo 1/IDLE_FPS s para ser vista.
+        configuration.setIdleFPS(IDLE_FPS);
+
         // Deixa o jogo em tela cheia (full screen)
         configuration.setFullscreenMode(Lwjgl3ApplicationConfiguration.getDisplayMode());
 